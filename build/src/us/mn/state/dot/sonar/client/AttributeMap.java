@@ -0,0 +1,146 @@
+/*
+ * SONAR -- Simple Object Notification And Replication
+ * Copyright (C) 2012-2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.sonar.client;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import us.mn.state.dot.sonar.NamespaceError;
+
+/**
+ * An attribute map defines the attribute slots shared by all proxies of one
+ * type.  Each proxy stores its attribute values in an array indexed by slot,
+ * so a getter call is one method lookup and one array access.
+ *
+ * @author Douglas Lau
+ */
+final class AttributeMap {
+
+	/** Slot of name attribute */
+	static final int NAME = 0;
+
+	/** Slot of typeName attribute */
+	static final int TYPE_NAME = 1;
+
+	/** Get an attribute name from a method */
+	static private String attribute_name(String prefix, Method m) {
+		String n = m.getName();
+		if (n.startsWith(prefix) && n.length() > prefix.length()) {
+			int p = prefix.length();
+			StringBuilder b = new StringBuilder();
+			b.append(Character.toLowerCase(n.charAt(p)));
+			b.append(n.substring(p + 1));
+			return b.toString();
+		} else
+			return null;
+	}
+
+	/** Mapping of attribute names to slots */
+	private final HashMap<String, Integer> slots =
+		new HashMap<String, Integer>();
+
+	/** Mapping of accessor methods to slots.  Getters are mapped to the
+	 * slot number; setters are mapped to the complement of the slot. */
+	private final HashMap<Method, Integer> accessors =
+		new HashMap<Method, Integer>();
+
+	/** Attribute names, indexed by slot */
+	private final String[] names;
+
+	/** Attribute types, indexed by slot */
+	private final Class[] types;
+
+	/** Flags for attributes with getters, indexed by slot.  Setters for
+	 * these attributes check the cached value before sending. */
+	private final boolean[] readable;
+
+	/** Create an attribute map for the specified interface */
+	public AttributeMap(Class iface) {
+		ArrayList<String> n = new ArrayList<String>();
+		ArrayList<Class> t = new ArrayList<Class>();
+		addSlot("name", String.class, n, t);
+		addSlot("typeName", String.class, n, t);
+		for (Method m: iface.getMethods()) {
+			String a = attribute_name("get", m);
+			if (a != null)
+				accessors.put(m, addSlot(a, m.getReturnType(), n, t));
+		}
+		int n_get = t.size();
+		readable = new boolean[n_get];
+		for (int i = 0; i < n_get; i++)
+			readable[i] = true;
+		for (Method m: iface.getMethods()) {
+			String a = attribute_name("set", m);
+			if (a != null) {
+				Class[] p_types = m.getParameterTypes();
+				int s = addSlot(a, p_types[0], n, t);
+				accessors.put(m, ~s);
+			}
+		}
+		names = n.toArray(new String[0]);
+		types = t.toArray(new Class[0]);
+	}
+
+	/** Add a slot for an attribute (if it doesn't exist).
+	 * @return Slot number of attribute. */
+	private int addSlot(String a, Class c, ArrayList<String> n,
+		ArrayList<Class> t)
+	{
+		Integer s = slots.get(a);
+		if (s != null)
+			return s;
+		int i = t.size();
+		slots.put(a, i);
+		n.add(a);
+		t.add(c);
+		return i;
+	}
+
+	/** Get the number of slots */
+	public int size() {
+		return types.length;
+	}
+
+	/** Lookup the accessor code of a method.
+	 * @return Slot for getters, complement of slot for setters, or null
+	 *         if the method is not an accessor. */
+	public Integer lookupAccessor(Method m) {
+		return accessors.get(m);
+	}
+
+	/** Lookup the slot of an attribute */
+	public int lookupSlot(String a) throws NamespaceError {
+		Integer s = slots.get(a);
+		if (s != null)
+			return s;
+		else
+			throw NamespaceError.nameUnknown(a);
+	}
+
+	/** Get the name of an attribute slot */
+	public String getName(int s) {
+		return names[s];
+	}
+
+	/** Get the type of an attribute slot */
+	public Class getType(int s) {
+		return types[s];
+	}
+
+	/** Check if an attribute slot has a getter */
+	public boolean isReadable(int s) {
+		return s < readable.length && readable[s];
+	}
+}
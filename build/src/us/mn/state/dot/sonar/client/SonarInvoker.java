@@ -0,0 +1,98 @@
+/*
+ * SONAR -- Simple Object Notification And Replication
+ * Copyright (C) 2006-2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.sonar.client;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import us.mn.state.dot.sonar.NamespaceError;
+import us.mn.state.dot.sonar.SonarException;
+import us.mn.state.dot.sonar.SonarObject;
+
+/**
+ * A SonarInvoker handles method invocations on one SonarObject proxy.  It
+ * holds the attribute values of the proxy, indexed by AttributeMap slot.
+ *
+ * @author Douglas Lau
+ */
+final class SonarInvoker implements InvocationHandler {
+
+	/** Cache of all proxy objects of the specified type */
+	final TypeCache cache;
+
+	/** Attribute map (shared by all proxies of a type) */
+	final AttributeMap amap;
+
+	/** Attribute values, indexed by slot */
+	private final Object[] values;
+
+	/** Flag indicating the proxy is a zombie */
+	volatile boolean zombie = false;
+
+	/** Create an invoker for one proxy */
+	public SonarInvoker(TypeCache c, AttributeMap am, String name) {
+		cache = c;
+		amap = am;
+		values = new Object[am.size()];
+		values[AttributeMap.NAME] = name;
+		values[AttributeMap.TYPE_NAME] = c.tname;
+	}
+
+	/** Get the value of an attribute slot */
+	Object getValue(int s) {
+		return values[s];
+	}
+
+	/** Set the value of an attribute slot */
+	void setValue(int s, Object v) {
+		values[s] = v;
+	}
+
+	/** Check if an attribute slot value equals the given value */
+	boolean valueEquals(int s, Object[] v) {
+		Object value = values[s];
+		return (value != null) ? value.equals(v[0]) : v[0] == null;
+	}
+
+	/** Invoke a method call on a proxy instance */
+	@SuppressWarnings("unchecked")
+	@Override
+	public Object invoke(Object proxy, Method method, Object[] args)
+		throws SonarException
+	{
+		assert proxy instanceof SonarObject;
+		Integer acc = amap.lookupAccessor(method);
+		if (acc != null) {
+			int s = acc;
+			if (s >= 0)
+				return values[s];
+			s = ~s;
+			cache.setAttribute((SonarObject) proxy, s, args,
+				amap.isReadable(s));
+			return null;
+		}
+		String m = method.getName();
+		if (m.equals("hashCode"))
+			return System.identityHashCode(proxy);
+		if (m.equals("equals"))
+			return proxy == args[0];
+		if (m.equals("toString"))
+			return values[AttributeMap.NAME];
+		if (m.equals("destroy")) {
+			cache.removeObject((SonarObject) proxy);
+			return null;
+		}
+		throw NamespaceError.nameUnknown("*method*");
+	}
+}
@@ -0,0 +1,44 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2020  SRF Consulting Group, Inc.
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms;
+
+import java.util.Iterator;
+
+/**
+ * Helper class for AlertInfo.
+ *
+ * @author Gordon Parikh
+ * @author Douglas Lau
+ */
+public class AlertInfoHelper extends BaseHelper {
+
+	/** Don't instantiate */
+	private AlertInfoHelper() {
+		assert false;
+	}
+
+	/** Lookup the AlertInfo with the specified name */
+	static public AlertInfo lookup(String name) {
+		return (AlertInfo) namespace.lookupObject(AlertInfo.SONAR_TYPE,
+			name);
+	}
+
+	/** Get an AlertInfo object iterator */
+	static public Iterator<AlertInfo> iterator() {
+		return new IteratorWrapper<AlertInfo>(namespace.iterator(
+			AlertInfo.SONAR_TYPE));
+	}
+}
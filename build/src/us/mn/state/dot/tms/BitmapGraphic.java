@@ -0,0 +1,233 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2006-2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms;
+
+/**
+ * BitmapGraphic is a simple 1-bit graphic bitmap for DMS display feedback.
+ * Pixels are packed 8 per byte, most significant bit first.  Bulk raster
+ * operations between bitmaps work on whole bytes.
+ *
+ * @author Douglas Lau
+ */
+public class BitmapGraphic extends RasterGraphic {
+
+	/** Create a new bitmap graphic */
+	public BitmapGraphic(int w, int h) {
+		super(w, h);
+	}
+
+	/** Get the pixel data length in bytes */
+	@Override
+	public int length() {
+		return (width * height + 7) / 8;
+	}
+
+	/** Get the pixel index for the specified location */
+	private int pixelIndex(int x, int y) {
+		if (x < 0 || x >= width) {
+			throw new IndexOutOfBoundsException("x=" + x +
+				", width=" + width);
+		}
+		if (y < 0 || y >= height) {
+			throw new IndexOutOfBoundsException("y=" + y +
+				", height=" + height);
+		}
+		return (y * width) + x;
+	}
+
+	/** Check if the bit at a pixel index is set */
+	private boolean isSet(int p) {
+		return ((pixels[p >> 3] >> (7 - (p & 7))) & 1) != 0;
+	}
+
+	/** Set the bit at a pixel index */
+	private void setBit(int p) {
+		pixels[p >> 3] |= 1 << (7 - (p & 7));
+	}
+
+	/** Clear the bit at a pixel index */
+	private void clearBit(int p) {
+		pixels[p >> 3] &= ~(1 << (7 - (p & 7)));
+	}
+
+	/** Get a mask of the pixel bits in the last byte */
+	private int lastMask() {
+		int rem = (width * height) & 7;
+		return (rem != 0) ? (0xFF << (8 - rem)) & 0xFF : 0xFF;
+	}
+
+	/** Get the pixel color at the specified location */
+	@Override
+	public DmsColor getPixel(int x, int y) {
+		return getPixel(x, y, DmsColor.AMBER);
+	}
+
+	/** Get the pixel color at the specified location */
+	@Override
+	public DmsColor getPixel(int x, int y, DmsColor fg) {
+		return isSet(pixelIndex(x, y)) ? fg : DmsColor.BLACK;
+	}
+
+	/** Check if the pixel at the specified location is lit */
+	@Override
+	protected boolean isLit(int x, int y) {
+		return isSet(pixelIndex(x, y));
+	}
+
+	/** Set the pixel color at the specified location */
+	@Override
+	public void setPixel(int x, int y, DmsColor clr) {
+		int p = pixelIndex(x, y);
+		if (clr.isLit())
+			setBit(p);
+		else
+			clearBit(p);
+	}
+
+	/** Get the count of lit pixels */
+	@Override
+	public int getLitCount() {
+		int n = pixels.length;
+		if (n == 0)
+			return 0;
+		int n_lit = 0;
+		for (int i = 0; i < n - 1; i++)
+			n_lit += Integer.bitCount(pixels[i] & 0xFF);
+		return n_lit + Integer.bitCount(pixels[n - 1] & lastMask());
+	}
+
+	/** Copy the common region of the specified raster */
+	@Override
+	public void copy(RasterGraphic b) {
+		if (!(b instanceof BitmapGraphic)) {
+			super.copy(b);
+			return;
+		}
+		BitmapGraphic bg = (BitmapGraphic) b;
+		if (width == bg.width && height == bg.height) {
+			int n = pixels.length;
+			if (n > 0) {
+				System.arraycopy(bg.pixels, 0, pixels, 0, n-1);
+				int m = lastMask();
+				pixels[n - 1] = (byte) ((pixels[n - 1] & ~m) |
+					(bg.pixels[n - 1] & m));
+			}
+			return;
+		}
+		int x0 = Math.max(width - bg.width, 0) / 2;
+		int x1 = Math.max(bg.width - width, 0) / 2;
+		int y0 = Math.max(height - bg.height, 0) / 2;
+		int y1 = Math.max(bg.height - height, 0) / 2;
+		int w = Math.min(width, bg.width);
+		int h = Math.min(height, bg.height);
+		for (int y = 0; y < h; y++) {
+			int p = (y0 + y) * width + x0;
+			int q = (y1 + y) * bg.width + x1;
+			for (int x = 0; x < w; x++) {
+				if (bg.isSet(q + x))
+					setBit(p + x);
+				else
+					clearBit(p + x);
+			}
+		}
+	}
+
+	/** Copy another raster graphic onto the raster.
+	 * @param rg RasterGraphic to copy.
+	 * @param x0 X-position on raster (0-based).
+	 * @param y0 Y-position on raster (0-based).
+	 * @param fg Foreground color. */
+	@Override
+	public void copy(RasterGraphic rg, int x0, int y0, DmsColor fg) {
+		if (!(rg instanceof BitmapGraphic)) {
+			super.copy(rg, x0, y0, fg);
+			return;
+		}
+		if (!fg.isLit())
+			return;
+		BitmapGraphic bg = (BitmapGraphic) rg;
+		for (int y = 0; y < bg.height; y++) {
+			int q = y * bg.width;
+			for (int x = 0; x < bg.width; x++) {
+				if (bg.isSet(q + x))
+					setBit(pixelIndex(x0 + x, y0 + y));
+			}
+		}
+	}
+
+	/** Update the raster by clearing pixels not in another raster */
+	@Override
+	public void union(RasterGraphic rg) {
+		if (!(rg instanceof BitmapGraphic)) {
+			super.union(rg);
+			return;
+		}
+		checkDimensions(rg);
+		byte[] op = rg.pixels;
+		int n = pixels.length;
+		if (n == 0)
+			return;
+		for (int i = 0; i < n - 1; i++)
+			pixels[i] &= op[i];
+		pixels[n - 1] &= op[n - 1] | ~lastMask();
+	}
+
+	/** Update the raster by clearing pixels in another raster */
+	@Override
+	public void difference(RasterGraphic rg) {
+		if (!(rg instanceof BitmapGraphic)) {
+			super.difference(rg);
+			return;
+		}
+		checkDimensions(rg);
+		byte[] op = rg.pixels;
+		int n = pixels.length;
+		if (n == 0)
+			return;
+		for (int i = 0; i < n - 1; i++)
+			pixels[i] &= ~op[i];
+		pixels[n - 1] &= ~(op[n - 1] & lastMask());
+	}
+
+	/** Set all pixels adjacent to lit pixels (clearing lit pixels) */
+	public void outline() {
+		BitmapGraphic b = createBlankCopy();
+		b.copy(this);
+		for (int x = 0; x < width; x++) {
+			for (int y = 0; y < height; y++) {
+				if (b.isSet(y * width + x))
+					setNeighbors(x, y);
+			}
+		}
+		difference(b);
+	}
+
+	/** Set the neighbors of the specified pixel */
+	private void setNeighbors(int x, int y) {
+		int xmin = Math.max(x - 1, 0);
+		int xmax = Math.min(x + 2, width);
+		int ymin = Math.max(y - 1, 0);
+		int ymax = Math.min(y + 2, height);
+		for (int xx = xmin; xx < xmax; xx++) {
+			for (int yy = ymin; yy < ymax; yy++)
+				setBit(yy * width + xx);
+		}
+	}
+
+	/** Create a blank copy */
+	public BitmapGraphic createBlankCopy() {
+		return new BitmapGraphic(width, height);
+	}
+}
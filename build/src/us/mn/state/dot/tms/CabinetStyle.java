@@ -0,0 +1,34 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2008  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms;
+
+import us.mn.state.dot.sonar.SonarObject;
+
+/**
+ * Cabinet styles
+ *
+ * @author Douglas Lau
+ */
+public interface CabinetStyle extends SonarObject {
+
+	/** SONAR type name */
+	String SONAR_TYPE = "cabinet_style";
+
+	/** Set the DIP switch value */
+	void setDip(Integer d);
+
+	/** Get the DIP switch value */
+	Integer getDip();
+}
@@ -0,0 +1,45 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2018  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms;
+
+/**
+ * Color scheme enumeration.  Note: these values and ordering are taken from
+ * NTCIP 1203.
+ *
+ * @author Douglas Lau
+ */
+public enum ColorScheme {
+	UNKNOWN("???"),
+	MONOCHROME_1_BIT("monochrome1Bit"),
+	MONOCHROME_8_BIT("monochrome8Bit"),
+	COLOR_CLASSIC("colorClassic"),
+	COLOR_24_BIT("color24Bit");
+
+	/** Description string */
+	public final String description;
+
+	/** Create a new color scheme */
+	private ColorScheme(String d) {
+		description = d;
+	}
+
+	/** Enumerated values */
+	static private final ColorScheme[] VALUES = values();
+
+	/** Get a color scheme from an ordinal value */
+	static public ColorScheme fromOrdinal(int o) {
+		return (o >= 0 && o < values().length) ? VALUES[o] : UNKNOWN;
+	}
+}
@@ -0,0 +1,36 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2011-2012  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms;
+
+import java.util.Iterator;
+
+/**
+ * Helper for modems.
+ *
+ * @author Douglas Lau
+ */
+public class ModemHelper extends BaseHelper {
+
+	/** Disallow instantiation */
+	private ModemHelper() {
+		assert false;
+	}
+
+	/** Get a modem iterator */
+	static public Iterator<Modem> iterator() {
+		return new IteratorWrapper<Modem>(namespace.iterator(
+			Modem.SONAR_TYPE));
+	}
+}
@@ -0,0 +1,95 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2011-2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms;
+
+/**
+ * PixmapGraphic is a simple 24-bit graphic pixmap for DMS display feedback.
+ * Pixel data is stored in BGR order.
+ *
+ * @author Douglas Lau
+ */
+public class PixmapGraphic extends RasterGraphic {
+
+	/** Create a new pixmap graphic */
+	public PixmapGraphic(int w, int h) {
+		super(w, h);
+	}
+
+	/** Get the pixel data length in bytes */
+	@Override
+	public int length() {
+		return width * height * 3;
+	}
+
+	/** Get the pixel index for the specified location */
+	private int pixelIndex(int x, int y) {
+		if (x < 0 || x >= width) {
+			throw new IndexOutOfBoundsException("x=" + x +
+				", width=" + width);
+		}
+		if (y < 0 || y >= height) {
+			throw new IndexOutOfBoundsException("y=" + y +
+				", height=" + height);
+		}
+		return ((y * width) + x) * 3;
+	}
+
+	/** Get the pixel color at the specified location */
+	@Override
+	public DmsColor getPixel(int x, int y) {
+		int p = pixelIndex(x, y);
+		int blue = pixels[p + 0] & 0xFF;
+		int green = pixels[p + 1] & 0xFF;
+		int red = pixels[p + 2] & 0xFF;
+		return new DmsColor(red, green, blue);
+	}
+
+	/** Check if the pixel at the specified location is lit */
+	@Override
+	protected boolean isLit(int x, int y) {
+		int p = pixelIndex(x, y);
+		return (pixels[p] | pixels[p + 1] | pixels[p + 2]) != 0;
+	}
+
+	/** Set the pixel color at the specified location */
+	@Override
+	public void setPixel(int x, int y, DmsColor clr) {
+		int p = pixelIndex(x, y);
+		pixels[p + 0] = (byte)clr.blue;
+		pixels[p + 1] = (byte)clr.green;
+		pixels[p + 2] = (byte)clr.red;
+	}
+
+	/** Get the count of lit pixels */
+	@Override
+	public int getLitCount() {
+		int n_lit = 0;
+		for (int p = 0; p < pixels.length; p += 3) {
+			if ((pixels[p] | pixels[p + 1] | pixels[p + 2]) != 0)
+				n_lit++;
+		}
+		return n_lit;
+	}
+
+	/** Copy the common region of the specified raster */
+	@Override
+	public void copy(RasterGraphic b) {
+		if (b instanceof PixmapGraphic && width == b.width &&
+		    height == b.height)
+			System.arraycopy(b.pixels, 0, pixels, 0, pixels.length);
+		else
+			super.copy(b);
+	}
+}
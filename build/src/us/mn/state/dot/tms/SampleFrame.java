@@ -0,0 +1,39 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms;
+
+import us.mn.state.dot.sonar.SonarObject;
+
+/**
+ * A sample frame contains the most recent traffic samples for all sensors,
+ * encoded in a compact binary form.  It is pushed to clients as soon as
+ * each sample period has been calculated.
+ *
+ * @author Douglas Lau
+ */
+public interface SampleFrame extends SonarObject {
+
+	/** SONAR type name */
+	String SONAR_TYPE = "sample_frame";
+
+	/** Name of detector sample frame */
+	String DETECTOR = "detector";
+
+	/** Get the time stamp at end of sample period */
+	Long getStamp();
+
+	/** Get the encoded samples (see SampleFrameHelper) */
+	String getSamples();
+}
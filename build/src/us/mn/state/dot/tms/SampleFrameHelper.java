@@ -0,0 +1,132 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+import us.mn.state.dot.tms.utils.Base64;
+
+/**
+ * Helper class for sample frames.  A frame is encoded as a version byte,
+ * followed by a sample count and one record per sample: sensor name (UTF),
+ * flow (short), speed (short) and occupancy (short, hundredths of a
+ * percent).  Missing values are encoded as -1.  The frame is deflated and
+ * then Base64 encoded.
+ *
+ * @author Douglas Lau
+ */
+public class SampleFrameHelper extends BaseHelper {
+
+	/** Frame encoding version */
+	static private final int VERSION = 1;
+
+	/** Missing data value */
+	static public final int MISSING_DATA = -1;
+
+	/** Don't allow instances to be created */
+	private SampleFrameHelper() {
+		assert false;
+	}
+
+	/** Lookup the sample frame with the specified name */
+	static public SampleFrame lookup(String name) {
+		return (SampleFrame) namespace.lookupObject(
+			SampleFrame.SONAR_TYPE, name);
+	}
+
+	/** Clamp a value to the range of a short, or missing */
+	static private int clampShort(int v) {
+		return (v >= 0) ? Math.min(v, Short.MAX_VALUE) : MISSING_DATA;
+	}
+
+	/** Encoder for sample frames */
+	static public class Encoder {
+		private final ByteArrayOutputStream bos =
+			new ByteArrayOutputStream();
+		private final ByteArrayOutputStream body =
+			new ByteArrayOutputStream();
+		private final DataOutputStream dos = new DataOutputStream(body);
+		private int n_samples = 0;
+
+		/** Add one sensor sample.
+		 * @param sensor Sensor name.
+		 * @param flow Flow rate (vehicles per hour per lane).
+		 * @param speed Speed (miles per hour).
+		 * @param occ Occupancy (percent). */
+		public void add(String sensor, int flow, int speed, float occ)
+			throws IOException
+		{
+			dos.writeUTF(sensor);
+			dos.writeShort(clampShort(flow));
+			dos.writeShort(clampShort(speed));
+			dos.writeShort((occ >= 0)
+				? clampShort(Math.round(occ * 100))
+				: MISSING_DATA);
+			n_samples++;
+		}
+
+		/** Finish encoding the frame */
+		public String finish() throws IOException {
+			DataOutputStream out = new DataOutputStream(
+				new DeflaterOutputStream(bos));
+			out.writeByte(VERSION);
+			out.writeInt(n_samples);
+			body.writeTo(out);
+			out.close();
+			return Base64.encode(bos.toByteArray());
+		}
+	}
+
+	/** Receiver for decoded samples */
+	public interface Receiver {
+
+		/** Receive one sensor sample.  Missing values are
+		 * MISSING_DATA (or negative occupancy). */
+		void sample(String sensor, int flow, int speed, float occ);
+	}
+
+	/** Decode a sample frame.
+	 * @param samples Encoded samples.
+	 * @param r Receiver for decoded samples. */
+	static public void decode(String samples, Receiver r)
+		throws IOException
+	{
+		DataInputStream dis = new DataInputStream(
+			new InflaterInputStream(new ByteArrayInputStream(
+			Base64.decode(samples))));
+		try {
+			if (dis.readUnsignedByte() != VERSION)
+				throw new IOException("Invalid frame version");
+			int n_samples = dis.readInt();
+			for (int i = 0; i < n_samples; i++) {
+				String sensor = dis.readUTF();
+				int flow = dis.readShort();
+				int speed = dis.readShort();
+				int occ = dis.readShort();
+				r.sample(sensor, flow, speed, (occ >= 0)
+					? occ / 100f
+					: MISSING_DATA);
+			}
+		}
+		finally {
+			dis.close();
+		}
+	}
+}
@@ -0,0 +1,172 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2003-2021  Minnesota Department of Transportation
+ * Copyright (C) 2015  SRF Consulting Group
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.client.camera;
+
+import java.awt.Dimension;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.Calendar;
+import javax.swing.ImageIcon;
+import javax.swing.JComponent;
+import javax.swing.JLabel;
+import us.mn.state.dot.sched.Job;
+import us.mn.state.dot.sched.Scheduler;
+import us.mn.state.dot.tms.Camera;
+import us.mn.state.dot.tms.Encoding;
+import us.mn.state.dot.tms.utils.Base64;
+import static us.mn.state.dot.tms.client.widget.Widgets.UI;
+
+/**
+ * A video stream which reads an MJPEG source.
+ *
+ * @author Douglas Lau
+ * @author Timothy Johnson
+ */
+public class MJPEGStream implements VideoStream {
+
+	/** Default timeout for direct URL Connections */
+	static protected final int TIMEOUT_DIRECT = 5 * 1000;
+
+	/** Label to display video stream */
+	private final JLabel screen = new JLabel();
+
+	/** URL of the data source */
+	private final URL url;
+
+	/** Requested video size */
+	private final Dimension size;
+
+	/** Reader to parse and decode the stream */
+	private final MJPEGReader reader;
+
+	/** Flag to continue running stream */
+	private boolean running = true;
+
+	/** Stream error message */
+	private String error_msg = null;
+
+	/** Set the stream error message */
+	protected void setErrorMsg(String e) {
+		if(error_msg == null)
+			error_msg = e;
+	}
+
+	/** Create a new MJPEG stream */
+	public MJPEGStream(Scheduler s, VideoRequest req, Camera c)
+		throws IOException
+	{
+		try {
+			url = req.getUri(c).toURL();
+		}
+		catch (IllegalArgumentException e) {
+			// "URI is not absolute" thrown if scheme is null
+			throw new IOException(e);
+		}
+		size = UI.dimension(req.getSize().width, req.getSize().height);
+		reader = new MJPEGReader(createInputStream(), listener);
+		reader.setTargetSize(size.width, size.height);
+		s.addJob(job);
+	}
+
+	/** Create an input stream from an HTTP connection */
+	protected InputStream createInputStream() throws IOException {
+		URLConnection c = url.openConnection();
+		String upass = url.getUserInfo();
+		if (upass != null) {
+			String auth = "Basic " + new String(Base64.encode(
+				upass.getBytes()));
+			c.setRequestProperty("Authorization", auth);
+		}
+		c.setConnectTimeout(TIMEOUT_DIRECT);
+		c.setReadTimeout(TIMEOUT_DIRECT);
+		if (c instanceof HttpURLConnection) {
+			HttpURLConnection hc = (HttpURLConnection) c;
+			if (hc.getResponseCode() != HttpURLConnection.HTTP_OK)
+				throw new IOException(hc.getResponseMessage());
+		}
+		return c.getInputStream();
+	}
+
+	/** Anonymous thread to read video stream */
+	private final Job job = new Job(Calendar.MILLISECOND, 1) {
+		public void perform() {
+			if(running)
+				readStream();
+		}
+		public boolean isRepeating() {
+			return running;
+		}
+	};
+
+	/** Read a video stream */
+	private void readStream() {
+		try {
+			reader.readFrame();
+		}
+		catch(IOException e) {
+			setErrorMsg(e.getMessage());
+			screen.setIcon(null);
+			running = false;
+		}
+	}
+
+	/** Listener for decoded frames (called on the EDT) */
+	private final MJPEGReader.Listener listener =
+		new MJPEGReader.Listener()
+	{
+		public void frameDecoded(BufferedImage img) {
+			if(running)
+				screen.setIcon(new ImageIcon(img));
+		}
+	};
+
+	/** Get the MJPEG reader (for frame rate and decode metrics) */
+	public MJPEGReader getReader() {
+		return reader;
+	}
+
+	/** Get a component for displaying the video stream */
+	public JComponent getComponent() {
+		return screen;
+	}
+
+	/** Get the status of the stream */
+	public String getStatus() {
+		String e = error_msg;
+		return (e != null) ? e : Encoding.MJPEG.toString();
+	}
+
+	/** Test if the video is playing */
+	public boolean isPlaying() {
+		return running;
+	}
+
+	/** Dispose of the video stream */
+	public void dispose() {
+		running = false;
+		try {
+			reader.close();
+		}
+		catch(IOException e) {
+			setErrorMsg(e.getMessage());
+		}
+		screen.setIcon(null);
+	}
+}
@@ -0,0 +1,255 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2019-2020  SRF Consulting Group
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.client.camera;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.Calendar;
+
+import javax.swing.ImageIcon;
+import javax.swing.JLabel;
+
+import us.mn.state.dot.sched.Job;
+import us.mn.state.dot.tms.utils.Base64;
+
+/**
+ * Stream manager for an MJPEG Stream.
+ *
+ * (Note:  Major portions of this class were
+ *  adopted from an earlier Iris MJPEGStream
+ *  class created by Douglas Lau and Timothy
+ *  Johnson.)
+ *
+ * @author John L. Stanley - SRF Consulting Group
+ */
+public class VidStreamMgrMJPEG extends VidStreamMgr {
+
+	/** Component to display video stream */
+	private JLabel vcomponentLabel = new JLabel();
+
+	/** Input stream to read */
+	private InputStream stream;
+
+	/** Reader to parse and decode the stream */
+	private volatile MJPEGReader reader;
+	
+	//-------------------------------------------
+
+	/** Create an MJPEG stream manager.
+	 * @param vp The VideoPanel to use. 
+	 * @param vr The StreamReq to use.
+	 */
+	public VidStreamMgrMJPEG(VidPanel vp, VidStreamReq vr) {
+		super(vp, vr);
+	}
+
+	//-------------------------------------------
+	//-------------------------------------------
+	//-------------------------------------------
+	//-------------------------------------------
+
+	@Override
+	public boolean isStreaming() {
+		return (stream != null);
+	}
+
+	@Override
+	/** Start the stream.
+	 * (Queued job called from the STREAM_SCHED thread.) */
+	protected void doStartStream() {
+		vcomponentLabel.removeAll();
+		stream = createInputStream();
+		if (stream != null) {
+			try {
+				reader = new MJPEGReader(stream, frameListener);
+			}
+			catch (IOException e) {
+				setErrorMsg(e, "Generic IO Error");
+				closeStream();
+				return;
+			}
+			STREAM_SCHED.addJob(jobReadStream);
+		}
+	}
+
+	@Override
+	/** Stop the stream.
+	 * (Queued job called from the STREAM_SCHED thread.) */
+	protected void doStopStream() {
+		if (stream != null) {
+			setComponent(null);
+			STREAM_SCHED.removeJob(jobReadStream);
+			closeStream();
+		}
+	}
+
+	/** Close the stream (and reader) */
+	private void closeStream() {
+		MJPEGReader r = reader;
+		reader = null;
+		try {
+			if (r != null)
+				r.close();
+			else
+				stream.close();
+		} catch (Exception e) {
+			// ignore
+		}
+		stream = null;
+	}
+	
+	//-------------------------------------------
+	//-------------------------------------------
+	//-------------------------------------------
+	//-------------------------------------------
+
+	/** Does config appear to be OK for this video manager? */
+	public static boolean isOkConfig(String config) {
+		try {
+			URL url = new URL(config);
+			return true;
+		} catch (MalformedURLException e) {
+			return false;
+		}
+	}
+
+	//-------------------------------------------
+	//-------------------------------------------
+	//-------------------------------------------
+	//-------------------------------------------
+	// Handle MJPEG video stream
+	
+	/** Create an input stream from an HTTP connection */
+	protected InputStream createInputStream() {
+		URL url;
+		URLConnection c;
+		String errMsg;
+		try {
+			url = new URL(vreq.getConfig());
+			c = url.openConnection();
+			String upass = url.getUserInfo();
+			if (upass != null) {
+				String auth = "Basic " + new String(Base64.encode(
+					upass.getBytes()));
+				c.setRequestProperty("Authorization", auth);
+			}
+			c.setConnectTimeout(TIMEOUT_DIRECT);
+			c.setReadTimeout(TIMEOUT_DIRECT);
+			if (c instanceof HttpURLConnection) {
+				HttpURLConnection hc = (HttpURLConnection) c;
+				if (hc.getResponseCode() != HttpURLConnection.HTTP_OK)
+					throw new IOException(hc.getResponseMessage());
+			}
+			return c.getInputStream();
+		}
+		catch (MalformedURLException e) {
+			setErrorMsg(e, "Malformed URL Error");
+		}
+		catch (IOException e) {
+			setErrorMsg(e, "Generic IO Error");
+		}
+		return null;
+	}
+
+	//-------------------------------------------
+	//-------------------------------------------
+	//-------------------------------------------
+	//-------------------------------------------
+
+	/** Job to read the mjpeg stream */
+	private final Job jobReadStream = new Job(Calendar.MILLISECOND, 1) {
+		public void perform() {
+			try {
+				if (videoPanel.getStreamMgr() != VidStreamMgrMJPEG.this) {
+					queueStopStream();
+					return;
+				}
+				if (stream != null)
+					readStream();
+			}
+			catch (IOException e) {
+				setErrorMsg(e, "Generic IO Error");
+				vcomponentLabel.setIcon(null);
+				queueStopStream();
+			}
+		}
+		public boolean isRepeating() {
+			return (stream != null);
+		}
+	};
+
+	//-------------------------------------------
+	//-------------------------------------------
+	//-------------------------------------------
+	//-------------------------------------------
+
+	/** Read the next frame from the stream.  Frames are decoded
+	 * (and scaled to the video panel size) by the reader's decode stage,
+	 * which drops stale frames if the UI falls behind. */
+	private void readStream() throws IOException {
+		MJPEGReader r = reader;
+		if (r != null) {
+			r.setTargetSize(videoPanel.getWidth(),
+				videoPanel.getHeight());
+			r.readFrame();
+			incReceivedFrameCount();
+		}
+	}
+
+	//-------------------------------------------
+	//-------------------------------------------
+	//-------------------------------------------
+	//-------------------------------------------
+
+	/** Listener for decoded frames (called on the EDT) */
+	private final MJPEGReader.Listener frameListener =
+		new MJPEGReader.Listener()
+	{
+		public void frameDecoded(BufferedImage img) {
+			if (reader == null)
+				return;
+			vcomponentLabel.setIcon(new ImageIcon(img));
+			setComponent(vcomponentLabel);
+			streamingStarted();
+		}
+	};
+
+	/** Get the MJPEG reader (for frame rate and decode metrics) */
+	public MJPEGReader getReader() {
+		return reader;
+	}
+
+	//-------------------------------------------
+	//-------------------------------------------
+	//-------------------------------------------
+	//-------------------------------------------
+
+//	/** Dispose of the video stream */
+//	public void dispose() {
+//		try {
+//			stream.close();
+//		}
+//		catch(IOException e) {
+//			// ignore
+//		}
+//		vcomponent.setIcon(null);
+//	}
+}
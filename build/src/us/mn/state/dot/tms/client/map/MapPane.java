@@ -0,0 +1,397 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2000-2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.client.map;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Area;
+import java.awt.geom.NoninvertibleTransformException;
+import java.awt.geom.Point2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * This class can be used to generate map graphics when access to the graphics
+ * subsystem is not available.
+ *
+ * Each visible layer is rendered into its own back buffer, which is only
+ * invalidated by changes to that layer.  The screen buffer is composited from
+ * the layer buffers.  When the map is panned, layer buffers are shifted and
+ * only the newly exposed strips are repainted.
+ *
+ * @author Erik Engstrom
+ * @author Douglas Lau
+ */
+public class MapPane implements LayerChangeListener {
+
+	/** Minimum width/height of map pane */
+	static private final int MIN_SIZE = 1;
+
+	/** Buffer for map */
+	private BufferedImage screenBuffer;
+
+	/** Maximum error for a translation to be treated as a pixel shift */
+	static private final double SHIFT_EPSILON = 0.01;
+
+	/** Back buffer for one layer */
+	static private final class LayerBuffer {
+		private final BufferedImage image;
+		private Area damage;
+		private LayerBuffer(int width, int height) {
+			image = new BufferedImage(width, height,
+				BufferedImage.TYPE_INT_ARGB);
+			damage = fullArea(this);
+		}
+	}
+
+	/** Layer buffers.  All access must be synchronized on the "buffers"
+	 * lock; images are only drawn by the thread calling getImage. */
+	private final HashMap<LayerState, LayerBuffer> buffers =
+		new HashMap<LayerState, LayerBuffer>();
+
+	/** Dirty flag (screen buffer needs compositing) */
+	private boolean dirty = true;
+
+	/** Pending X shift of layer buffers (pixels) */
+	private int shift_x = 0;
+
+	/** Pending Y shift of layer buffers (pixels) */
+	private int shift_y = 0;
+
+	/** Count of layer buffer repaints */
+	private long n_repaints = 0;
+
+	/** Count of layer buffer shifts */
+	private long n_shifts = 0;
+
+	/** Transform from world to screen coordinates */
+	private final AffineTransform transform = new AffineTransform();
+
+	/** Transform from screen to world coordinates */
+	private AffineTransform inverseTransform = new AffineTransform();
+
+	/** Background color of map */
+	private Color background = Color.GRAY;
+
+	/** Map bean */
+	private final MapBean mapbean;
+
+	/** Create a new map pane */
+	public MapPane(MapBean b) {
+		mapbean = b;
+		setSize(new Dimension(MIN_SIZE, MIN_SIZE));
+	}
+
+	/** Set the pixel size of the map panel */
+	public void setSize(Dimension d) {
+		synchronized (buffers) {
+			screenBuffer = createImage(d.width, d.height);
+			rescale();
+			buffers.clear();
+			shift_x = 0;
+			shift_y = 0;
+			dirty = true;
+		}
+	}
+
+	/** Create a buffered image of the specified size */
+	private BufferedImage createImage(int width, int height) {
+		return new BufferedImage(
+			Math.max(width, MIN_SIZE),
+			Math.max(height, MIN_SIZE),
+			BufferedImage.TYPE_INT_RGB);
+	}
+
+	/** Get the size of the map */
+	public Dimension getSize() {
+		BufferedImage bi = screenBuffer;	// Avoid race
+		return new Dimension(bi.getWidth(), bi.getHeight());
+	}
+
+	/** Dispose of the map pane */
+	public void dispose() {
+		synchronized (buffers) {
+			buffers.clear();
+		}
+	}
+
+	/** Change the scale of the map panel */
+	private void rescale() {
+		BufferedImage bi = screenBuffer;	// Avoid race
+		int height = bi.getHeight();
+		int width = bi.getWidth();
+		// scale is pixels per meter
+		double scale = 1 / mapbean.getScale();
+		Point2D center = mapbean.getModel().getCenter();
+		transform.setToTranslation(
+			width / 2 - center.getX() * scale,
+			height / 2 + center.getY() * scale
+		);
+		transform.scale(scale, -scale);
+		try {
+			inverseTransform = transform.createInverse();
+		}
+		catch (NoninvertibleTransformException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/** Set the background color of the map */
+	public void setBackground(Color color) {
+		background = color;
+	}
+
+	/** Get the current image for the map panel */
+	public BufferedImage getImage() {
+		BufferedImage bi;
+		AffineTransform t;
+		ArrayList<LayerState> layers = new ArrayList<LayerState>();
+		ArrayList<LayerBuffer> lbufs = new ArrayList<LayerBuffer>();
+		ArrayList<Area> damages = new ArrayList<Area>();
+		synchronized (buffers) {
+			bi = screenBuffer;
+			if (!dirty)
+				return bi;
+			shiftBuffers();
+			collectBuffers(bi, layers, lbufs, damages);
+			t = new AffineTransform(transform);
+			dirty = false;
+		}
+		for (int i = 0; i < layers.size(); i++) {
+			Area dmg = damages.get(i);
+			if (dmg != null)
+				drawLayer(layers.get(i), lbufs.get(i).image, t, dmg);
+		}
+		composite(bi, lbufs);
+		return bi;
+	}
+
+	/** Collect buffers (and take damage) for all visible layers */
+	private void collectBuffers(BufferedImage bi, List<LayerState> layers,
+		List<LayerBuffer> lbufs, List<Area> damages)
+	{
+		HashMap<LayerState, LayerBuffer> prev =
+			new HashMap<LayerState, LayerBuffer>(buffers);
+		buffers.clear();
+		for (LayerState s: mapbean.getLayers()) {
+			if (!s.isVisible())
+				continue;
+			LayerBuffer lb = prev.get(s);
+			if (null == lb) {
+				lb = new LayerBuffer(bi.getWidth(),
+					bi.getHeight());
+			}
+			buffers.put(s, lb);
+			layers.add(s);
+			lbufs.add(lb);
+			damages.add(lb.damage);
+			lb.damage = null;
+		}
+	}
+
+	/** Apply pending shift to all layer buffers */
+	private void shiftBuffers() {
+		int dx = shift_x;
+		int dy = shift_y;
+		shift_x = 0;
+		shift_y = 0;
+		if (dx == 0 && dy == 0)
+			return;
+		for (LayerBuffer lb: buffers.values())
+			shiftBuffer(lb, dx, dy);
+	}
+
+	/** Shift one layer buffer, damaging the exposed strips */
+	private void shiftBuffer(LayerBuffer lb, int dx, int dy) {
+		int w = lb.image.getWidth();
+		int h = lb.image.getHeight();
+		if (Math.abs(dx) >= w || Math.abs(dy) >= h) {
+			lb.damage = fullArea(lb);
+			return;
+		}
+		Graphics2D g = lb.image.createGraphics();
+		g.copyArea(Math.max(0, -dx), Math.max(0, -dy),
+			w - Math.abs(dx), h - Math.abs(dy), dx, dy);
+		g.dispose();
+		Area dmg = new Area();
+		if (lb.damage != null) {
+			dmg.add(lb.damage);
+			dmg.transform(AffineTransform.getTranslateInstance(dx,
+				dy));
+		}
+		if (dx > 0)
+			dmg.add(new Area(new Rectangle(0, 0, dx, h)));
+		else if (dx < 0)
+			dmg.add(new Area(new Rectangle(w + dx, 0, -dx, h)));
+		if (dy > 0)
+			dmg.add(new Area(new Rectangle(0, 0, w, dy)));
+		else if (dy < 0)
+			dmg.add(new Area(new Rectangle(0, h + dy, w, -dy)));
+		dmg.intersect(fullArea(lb));
+		lb.damage = dmg;
+		n_shifts++;
+	}
+
+	/** Draw the damaged area of one layer buffer */
+	private void drawLayer(LayerState s, BufferedImage img,
+		AffineTransform t, Area dmg)
+	{
+		Graphics2D g = img.createGraphics();
+		g.clip(dmg);
+		g.setComposite(AlphaComposite.Clear);
+		g.fill(dmg);
+		g.setComposite(AlphaComposite.SrcOver);
+		g.transform(t);
+		g.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+			RenderingHints.VALUE_ANTIALIAS_ON);
+		s.paint(g);
+		g.dispose();
+		synchronized (buffers) {
+			n_repaints++;
+		}
+	}
+
+	/** Composite layer buffers onto the screen buffer */
+	private void composite(BufferedImage bi, List<LayerBuffer> lbufs) {
+		Graphics2D g = bi.createGraphics();
+		g.setBackground(background);
+		g.clearRect(0, 0, bi.getWidth(), bi.getHeight());
+		for (LayerBuffer lb: lbufs)
+			g.drawImage(lb.image, 0, 0, null);
+		g.dispose();
+	}
+
+	/** Get the count of layer buffer repaints */
+	public long getRepaintCount() {
+		synchronized (buffers) {
+			return n_repaints;
+		}
+	}
+
+	/** Get the count of layer buffer shifts */
+	public long getShiftCount() {
+		synchronized (buffers) {
+			return n_shifts;
+		}
+	}
+
+	/** Get the buffered image */
+	public BufferedImage getBufferedImage() {
+		return screenBuffer;
+	}
+
+	/** Map model has changed */
+	@Override
+	public void layerChanged(LayerChangeEvent ev) {
+		synchronized (buffers) {
+			switch (ev.getReason()) {
+			case selection:
+				return;
+			case extent:
+				if (isLayerSource(ev.getSource()))
+					damageLayer(ev.getSource());
+				else
+					changeExtent();
+				break;
+			case model:
+				rescale();
+				damageAll();
+				break;
+			default:
+				damageLayer(ev.getSource());
+			}
+			dirty = true;
+		}
+	}
+
+	/** Handle an extent change.  If the scale did not change and the
+	 * translation is a whole number of pixels, layer buffers can be
+	 * shifted; otherwise, they must be repainted. */
+	private void changeExtent() {
+		double sx = transform.getScaleX();
+		double tx = transform.getTranslateX();
+		double ty = transform.getTranslateY();
+		rescale();
+		double dx = transform.getTranslateX() - tx;
+		double dy = transform.getTranslateY() - ty;
+		long rx = Math.round(dx);
+		long ry = Math.round(dy);
+		if (transform.getScaleX() == sx &&
+		    Math.abs(dx - rx) < SHIFT_EPSILON &&
+		    Math.abs(dy - ry) < SHIFT_EPSILON &&
+		    Math.abs(shift_x + rx) < Integer.MAX_VALUE / 2 &&
+		    Math.abs(shift_y + ry) < Integer.MAX_VALUE / 2)
+		{
+			shift_x += (int) rx;
+			shift_y += (int) ry;
+		} else
+			damageAll();
+	}
+
+	/** Damage all layer buffers */
+	private void damageAll() {
+		for (LayerBuffer lb: buffers.values())
+			lb.damage = fullArea(lb);
+		shift_x = 0;
+		shift_y = 0;
+	}
+
+	/** Damage the buffer for one layer */
+	private void damageLayer(Object src) {
+		for (LayerState s: buffers.keySet()) {
+			if (s == src || s.getLayer() == src) {
+				LayerBuffer lb = buffers.get(s);
+				lb.damage = fullArea(lb);
+				return;
+			}
+		}
+		// Unknown source -- repaint everything
+		if (!isLayerSource(src))
+			damageAll();
+	}
+
+	/** Check if an event source is a layer (or layer state) */
+	static private boolean isLayerSource(Object src) {
+		return src instanceof LayerState || src instanceof Layer;
+	}
+
+	/** Get an area covering an entire layer buffer */
+	static private Area fullArea(LayerBuffer lb) {
+		return new Area(new Rectangle(lb.image.getWidth(),
+			lb.image.getHeight()));
+	}
+
+	/** Get the transform from world to screen coordinates */
+	public AffineTransform getTransform() {
+		return transform;
+	}
+
+	/** Get the transform from screen to world coordinates */
+	public AffineTransform getInverseTransform() {
+		return inverseTransform;
+	}
+
+	/** Get the pixel scale */
+	public double getScale() {
+		return mapbean.getScale();
+	}
+}
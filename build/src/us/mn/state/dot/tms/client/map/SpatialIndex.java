@@ -0,0 +1,204 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.client.map;
+
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * A spatial index of items with bounding rectangles in world (spherical
+ * mercator) coordinates.  This is a loose quadtree: each item is stored in
+ * the deepest node which is at least as large as the item and contains its
+ * center.  Node bounds are doubled when searching, so an item never needs
+ * to be split across nodes.  Items can be added, moved and removed
+ * incrementally.  This class is not thread-safe; callers must synchronize.
+ *
+ * @author Douglas Lau
+ */
+public class SpatialIndex<T> {
+
+	/** Half of the root node side (meters).  This covers the whole
+	 * spherical mercator plane (+/- 20037508 meters). */
+	static private final double ROOT_HALF = 1 << 25;
+
+	/** Maximum node depth (deepest nodes are 64 meters square) */
+	static private final int MAX_DEPTH = 20;
+
+	/** Node of the quadtree */
+	static private final class Node<T> {
+		private final Node<T> parent;
+		private final double cx;
+		private final double cy;
+		private final double half;
+		private final ArrayList<Entry<T>> entries =
+			new ArrayList<Entry<T>>(2);
+		private Node<T>[] children;
+		private int n_items;
+		private Node(Node<T> p, double x, double y, double h) {
+			parent = p;
+			cx = x;
+			cy = y;
+			half = h;
+		}
+
+		/** Check if the loose bounds intersect a region */
+		private boolean intersects(double x0, double y0, double x1,
+			double y1)
+		{
+			// Loose bounds are twice the node size
+			double lh = half * 2;
+			return cx - lh <= x1 && cx + lh >= x0 &&
+			       cy - lh <= y1 && cy + lh >= y0;
+		}
+
+		/** Get (or create) the child containing a point */
+		@SuppressWarnings("unchecked")
+		private Node<T> child(double x, double y) {
+			if (null == children)
+				children = new Node[4];
+			int i = (x < cx ? 0 : 1) + (y < cy ? 0 : 2);
+			if (null == children[i]) {
+				double h = half / 2;
+				children[i] = new Node<T>(this,
+					x < cx ? cx - h : cx + h,
+					y < cy ? cy - h : cy + h, h);
+			}
+			return children[i];
+		}
+	}
+
+	/** Entry for one item */
+	static private final class Entry<T> {
+		private final T item;
+		private final double x0;
+		private final double y0;
+		private final double x1;
+		private final double y1;
+		private final Node<T> node;
+		private Entry(T i, Rectangle2D b, Node<T> n) {
+			item = i;
+			x0 = b.getMinX();
+			y0 = b.getMinY();
+			x1 = b.getMaxX();
+			y1 = b.getMaxY();
+			node = n;
+		}
+	}
+
+	/** Root node */
+	private final Node<T> root = new Node<T>(null, 0, 0, ROOT_HALF);
+
+	/** Mapping of items to entries */
+	private final HashMap<T, Entry<T>> items = new HashMap<T, Entry<T>>();
+
+	/** Get the number of items in the index */
+	public int size() {
+		return items.size();
+	}
+
+	/** Remove all items from the index */
+	public void clear() {
+		items.clear();
+		root.entries.clear();
+		root.children = null;
+		root.n_items = 0;
+	}
+
+	/** Add an item to the index, or move it if already indexed.
+	 * @param item Item to add.
+	 * @param b Bounding rectangle of item. */
+	public void put(T item, Rectangle2D b) {
+		remove(item);
+		Node<T> n = findNode(b);
+		Entry<T> e = new Entry<T>(item, b, n);
+		n.entries.add(e);
+		items.put(item, e);
+		for (Node<T> p = n; p != null; p = p.parent)
+			p.n_items++;
+	}
+
+	/** Find the node to store an item with given bounds */
+	private Node<T> findNode(Rectangle2D b) {
+		double size = Math.max(b.getWidth(), b.getHeight());
+		double x = clamp(b.getCenterX());
+		double y = clamp(b.getCenterY());
+		Node<T> n = root;
+		for (int d = 0; d < MAX_DEPTH && n.half >= size; d++)
+			n = n.child(x, y);
+		return n;
+	}
+
+	/** Clamp a coordinate to the root node */
+	static private double clamp(double v) {
+		return Double.isNaN(v)
+		      ? 0
+		      : Math.max(-ROOT_HALF, Math.min(v, ROOT_HALF - 1));
+	}
+
+	/** Remove an item from the index.
+	 * @return true if the item was indexed. */
+	public boolean remove(T item) {
+		Entry<T> e = items.remove(item);
+		if (e != null) {
+			e.node.entries.remove(e);
+			for (Node<T> p = e.node; p != null; p = p.parent)
+				p.n_items--;
+			prune(e.node);
+			return true;
+		} else
+			return false;
+	}
+
+	/** Prune empty nodes from the tree */
+	private void prune(Node<T> n) {
+		while (n.parent != null && n.n_items == 0) {
+			Node<T> p = n.parent;
+			for (int i = 0; i < 4; i++) {
+				if (p.children[i] == n)
+					p.children[i] = null;
+			}
+			n = p;
+		}
+	}
+
+	/** Search for items which intersect a region.
+	 * @param r Search region.
+	 * @return List of items with bounds intersecting the region. */
+	public List<T> search(Rectangle2D r) {
+		ArrayList<T> found = new ArrayList<T>();
+		search(root, r.getMinX(), r.getMinY(), r.getMaxX(),
+			r.getMaxY(), found);
+		return found;
+	}
+
+	/** Search a node for items intersecting a region */
+	private void search(Node<T> n, double x0, double y0, double x1,
+		double y1, List<T> found)
+	{
+		for (Entry<T> e: n.entries) {
+			if (e.x0 <= x1 && e.x1 >= x0 && e.y0 <= y1 &&
+			    e.y1 >= y0)
+				found.add(e.item);
+		}
+		if (n.children != null) {
+			for (Node<T> c: n.children) {
+				if (c != null && c.intersects(x0, y0, x1, y1))
+					search(c, x0, y0, x1, y1, found);
+			}
+		}
+	}
+}
@@ -0,0 +1,371 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2011-2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.client.map;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.PriorityBlockingQueue;
+
+/**
+ * A two-tier LRU cache of image tiles.  The first tier holds decoded images,
+ * bounded by their size in bytes.  The second tier holds compressed image
+ * files, bounded by tile count.  Tiles are fetched asynchronously by a small
+ * pool of fetcher threads.  Requests for visible tiles nearest the viewport
+ * center are fetched first, and prefetch requests which are no longer
+ * adjacent to the viewport are dropped.
+ *
+ * @author Douglas Lau
+ */
+public class TileCache {
+
+	/** Number of tile fetcher threads */
+	static private final int N_FETCHERS = 4;
+
+	/** Maximum size of decoded image tier (bytes) */
+	static private final long MAX_DECODED_BYTES = Math.min(64L << 20,
+		Runtime.getRuntime().maxMemory() / 8);
+
+	/** Get the size of a decoded image (bytes) */
+	static private long imageBytes(BufferedImage img) {
+		DataBuffer db = img.getRaster().getDataBuffer();
+		return (long) db.getSize() * db.getNumBanks() *
+			DataBuffer.getDataTypeSize(db.getDataType()) / 8;
+	}
+
+	/** Convert an image to a type which can be drawn quickly */
+	static private BufferedImage toCompatible(BufferedImage img) {
+		int t = img.getType();
+		if (t == BufferedImage.TYPE_INT_RGB ||
+		    t == BufferedImage.TYPE_INT_ARGB_PRE)
+			return img;
+		int nt = img.getColorModel().hasAlpha()
+		       ? BufferedImage.TYPE_INT_ARGB_PRE
+		       : BufferedImage.TYPE_INT_RGB;
+		BufferedImage ci = new BufferedImage(img.getWidth(),
+			img.getHeight(), nt);
+		Graphics2D g = ci.createGraphics();
+		g.drawImage(img, 0, 0, null);
+		g.dispose();
+		return ci;
+	}
+
+	/** Tile fetch request */
+	static private final class Request implements Comparable<Request> {
+		private final String name;
+		private final long gen;
+		private final boolean visible;
+		private final int dist;
+		private final HashSet<Runnable> done = new HashSet<Runnable>();
+		private Request(String n, long g, boolean v, int d) {
+			name = n;
+			gen = g;
+			visible = v;
+			dist = d;
+		}
+
+		/** Compare for priority (newest viewport, visible, nearest) */
+		@Override
+		public int compareTo(Request o) {
+			if (gen != o.gen)
+				return (gen > o.gen) ? -1 : 1;
+			if (visible != o.visible)
+				return visible ? -1 : 1;
+			return Integer.compare(dist, o.dist);
+		}
+
+		/** Check if a request has higher priority */
+		private boolean isBefore(Request o) {
+			return compareTo(o) < 0;
+		}
+	}
+
+	/** LRU of tile names to compressed image files.
+	 * All access must be synchronized on the "tile_hash" lock. */
+	protected final LinkedHashMap<String, TempImageFile> tile_hash;
+
+	/** LRU of tile names to decoded images.
+	 * All access must be synchronized on the "tile_hash" lock. */
+	private final LinkedHashMap<String, BufferedImage> decoded =
+		new LinkedHashMap<String, BufferedImage>(64, 0.75f, true);
+
+	/** Total size of decoded images (bytes) */
+	private long decoded_bytes = 0;
+
+	/** Set of missing tiles.
+	 * All access must be synchronized on the "tile_hash" lock. */
+	private final HashSet<String> missing = new HashSet<String>();
+
+	/** Pending fetch requests.
+	 * All access must be synchronized on the "tile_hash" lock. */
+	private final HashMap<String, Request> pending =
+		new HashMap<String, Request>();
+
+	/** Queue of fetch requests */
+	private final PriorityBlockingQueue<Request> queue =
+		new PriorityBlockingQueue<Request>();
+
+	/** Fetcher threads */
+	private final ArrayList<Thread> fetchers = new ArrayList<Thread>();
+
+	/** Current viewport generation */
+	private volatile long generation = 0;
+
+	/** Image fetcher */
+	protected final ImageFetcher fetcher;
+
+	/** Size of cache (number of tiles) */
+	protected final int size;
+
+	/** Get the size of cache */
+	public int getSize() {
+		return size;
+	}
+
+	/** Create a new tile cache */
+	public TileCache(ImageFetcher f, int sz) {
+		fetcher = f;
+		size = sz;
+		tile_hash = new LinkedHashMap<String, TempImageFile>(64, 0.75f,
+			true)
+		{
+			@Override
+			protected boolean removeEldestEntry(
+				Map.Entry<String, TempImageFile> e)
+			{
+				return size() > TileCache.this.size;
+			}
+		};
+		for (int i = 0; i < N_FETCHERS; i++) {
+			Thread t = new Thread("tile_fetch_" + i) {
+				@Override
+				public void run() {
+					doFetch();
+				}
+			};
+			t.setDaemon(true);
+			t.start();
+			fetchers.add(t);
+		}
+	}
+
+	/** Get the named tile from the cache.
+	 * @return Decoded tile image, or null if not cached. */
+	public BufferedImage getTile(String n) throws IOException {
+		TempImageFile tif;
+		synchronized (tile_hash) {
+			BufferedImage img = decoded.get(n);
+			if (img != null)
+				return img;
+			tif = tile_hash.get(n);
+		}
+		return (tif != null) ? decodeTile(n, tif) : null;
+	}
+
+	/** Decode a tile and store it in the decoded tier */
+	private BufferedImage decodeTile(String n, TempImageFile tif)
+		throws IOException
+	{
+		BufferedImage img = tif.getImage();
+		if (null == img)
+			return null;
+		img = toCompatible(img);
+		synchronized (tile_hash) {
+			BufferedImage pi = decoded.put(n, img);
+			if (pi != null)
+				decoded_bytes -= imageBytes(pi);
+			decoded_bytes += imageBytes(img);
+			purgeDecoded();
+		}
+		return img;
+	}
+
+	/** Purge least recently used decoded images over the limit */
+	private void purgeDecoded() {
+		Iterator<BufferedImage> it = decoded.values().iterator();
+		while (decoded_bytes > MAX_DECODED_BYTES && it.hasNext()) {
+			decoded_bytes -= imageBytes(it.next());
+			it.remove();
+		}
+	}
+
+	/** Check if a tile is known to be missing */
+	public boolean isTileMissing(String n) {
+		synchronized (tile_hash) {
+			return missing.contains(n);
+		}
+	}
+
+	/** Start a new viewport.  Prefetch requests from earlier viewports
+	 * will be dropped. */
+	public void beginViewport() {
+		generation++;
+	}
+
+	/** Request a visible tile to be fetched (asynchronously).
+	 * @param n Tile name.
+	 * @param dist Distance from viewport center (tiles).
+	 * @param done Callback run (on a fetcher thread) after fetching. */
+	public void requestTile(String n, int dist, Runnable done) {
+		enqueue(new Request(n, generation, true, dist), done);
+	}
+
+	/** Request a tile adjacent to the viewport to be prefetched.
+	 * @param n Tile name.
+	 * @param dist Distance from viewport center (tiles). */
+	public void prefetchTile(String n, int dist) {
+		enqueue(new Request(n, generation, false, dist), null);
+	}
+
+	/** Enqueue a fetch request */
+	private void enqueue(Request req, Runnable done) {
+		synchronized (tile_hash) {
+			String n = req.name;
+			if (missing.contains(n) || decoded.containsKey(n))
+				return;
+			if (tile_hash.containsKey(n) && !req.visible)
+				return;
+			Request pr = pending.get(n);
+			if (pr != null) {
+				if (req.isBefore(pr) && queue.remove(pr)) {
+					req.done.addAll(pr.done);
+					pending.put(n, req);
+					queue.add(req);
+				} else
+					req = pr;
+			} else {
+				pending.put(n, req);
+				queue.add(req);
+			}
+			if (done != null)
+				req.done.add(done);
+		}
+	}
+
+	/** Fetch requested tiles until interrupted */
+	private void doFetch() {
+		try {
+			while (true)
+				fetchRequest(queue.take());
+		}
+		catch (InterruptedException e) {
+			// destroyed
+		}
+	}
+
+	/** Fetch one requested tile */
+	private void fetchRequest(Request req) {
+		if (isStale(req))
+			return;
+		boolean fetched = false;
+		try {
+			TempImageFile tif = getTempImageFile(req.name);
+			if (null == tif) {
+				tif = new TempImageFile(fetcher.fetchImage(
+					req.name));
+				putTempImageFile(req.name, tif);
+			}
+			if (req.visible || hasCallbacks(req))
+				decodeTile(req.name, tif);
+			fetched = true;
+		}
+		catch (FileNotFoundException e) {
+			synchronized (tile_hash) {
+				missing.add(req.name);
+			}
+		}
+		catch (IOException e) {
+			System.err.print("I/O Error ");
+			System.err.print(e.getMessage());
+			System.err.println(" loading tile: " + req.name);
+		}
+		Runnable[] done;
+		synchronized (tile_hash) {
+			if (pending.get(req.name) == req)
+				pending.remove(req.name);
+			done = req.done.toArray(new Runnable[0]);
+		}
+		if (fetched) {
+			for (Runnable r: done)
+				r.run();
+		}
+	}
+
+	/** Check if a request is a stale prefetch, and drop it if so.
+	 * Prefetches which have since been requested as visible (with a
+	 * callback attached) are not stale. */
+	private boolean isStale(Request req) {
+		synchronized (tile_hash) {
+			if (!req.visible && req.gen < generation &&
+			    req.done.isEmpty())
+			{
+				if (pending.get(req.name) == req)
+					pending.remove(req.name);
+				return true;
+			} else
+				return false;
+		}
+	}
+
+	/** Check if a request has callbacks attached */
+	private boolean hasCallbacks(Request req) {
+		synchronized (tile_hash) {
+			return !req.done.isEmpty();
+		}
+	}
+
+	/** Get the named temp image file from the cache */
+	protected TempImageFile getTempImageFile(String n) {
+		synchronized (tile_hash) {
+			return tile_hash.get(n);
+		}
+	}
+
+	/** Put a temp image file into the cache */
+	private void putTempImageFile(String n, TempImageFile tif) {
+		synchronized (tile_hash) {
+			tile_hash.put(n, tif);
+		}
+	}
+
+	/** Lookup a tile and put it in the cache (synchronously) */
+	public void lookupTile(String n) throws IOException {
+		TempImageFile tif = new TempImageFile(fetcher.fetchImage(n));
+		putTempImageFile(n, tif);
+	}
+
+	/** Destroy the tile cache */
+	public void destroy() throws IOException {
+		for (Thread t: fetchers)
+			t.interrupt();
+		fetchers.clear();
+		queue.clear();
+		synchronized (tile_hash) {
+			tile_hash.clear();
+			decoded.clear();
+			decoded_bytes = 0;
+			pending.clear();
+			missing.clear();
+		}
+	}
+}
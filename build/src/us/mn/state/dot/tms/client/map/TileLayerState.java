@@ -0,0 +1,174 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2011-2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.client.map;
+
+import java.awt.Dimension;
+import java.awt.Image;
+import java.awt.geom.Point2D;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import static us.mn.state.dot.tms.client.widget.SwingRunner.runSwing;
+import us.mn.state.dot.tms.geo.ZoomLevel;
+
+/**
+ * A tile layer state for drawing a Google-style tile map.
+ *
+ * @author Douglas Lau
+ */
+public class TileLayerState extends LayerState {
+
+	/** Cache of tiles */
+	private final TileCache cache;
+
+	/** Create a new tile layer state */
+	public TileLayerState(TileLayer layer, MapBean mb, TileCache c) {
+		super(layer, mb, new Theme("Tile", new TileSymbol(),
+			new Style("Tile")));
+		cache = c;
+	}
+
+	/** Call the specified callback for each map object in the layer */
+	@Override
+	public MapObject forEach(MapSearcher s) {
+		MapModel model = map.getModel();
+		ZoomLevel zoom = model.getZoomLevel();
+		Dimension sz = map.getSize();
+		Point2D center = model.getCenter();
+		int hx = (int) sz.getWidth() / 2;
+		int hy = (int) sz.getHeight() / 2;
+		int px = (int) zoom.getPixelX(center.getX());
+		int py = (int) zoom.getPixelY(center.getY());
+		int x0 = zoomLimit(zoom, (px - hx) / 256);
+		int x1 = zoomLimit(zoom, ((px + hx) / 256) + 1);
+		int ox = (px - hx) % 256;
+		int y0 = zoomLimit(zoom, (py - hy) / 256);
+		int y1 = zoomLimit(zoom, ((py + hy) / 256) + 1);
+		int oy = (py + hy) % 256 - 512;
+		int cx = px / 256;
+		int cy = py / 256;
+		checkViewport(zoom, x0, x1, y0, y1);
+		for (int x = x0; x <= x1; x++) {
+			int xp = (x - x0) * 256 - ox;
+			for (int y = y0; y <= y1; y++) {
+				int yp = (y1 - y) * 256 + oy;
+				String tile = getTileName(zoom, x, y);
+				Image img = getTile(tile);
+				if (img != null)
+					s.next(new TileMapObject(img, xp, yp));
+				else {
+					cache.requestTile(tile, distance(x, y,
+						cx, cy), fetched);
+				}
+			}
+		}
+		prefetchAdjacent(zoom, x0 - 1, x1 + 1, y0 - 1, y1 + 1, cx, cy);
+		return null;
+	}
+
+	/** Zoom level of current viewport */
+	private ZoomLevel vp_zoom;
+
+	/** Tile range of current viewport */
+	private int vp_x0, vp_x1, vp_y0, vp_y1;
+
+	/** Check if the viewport has changed.  The tile cache is only notified
+	 * of a new viewport when the zoom level or tile range changes, so
+	 * repaints do not drop pending prefetches. */
+	private void checkViewport(ZoomLevel zoom, int x0, int x1, int y0,
+		int y1)
+	{
+		if (zoom != vp_zoom || x0 != vp_x0 || x1 != vp_x1 ||
+		    y0 != vp_y0 || y1 != vp_y1)
+		{
+			vp_zoom = zoom;
+			vp_x0 = x0;
+			vp_x1 = x1;
+			vp_y0 = y0;
+			vp_y1 = y1;
+			cache.beginViewport();
+		}
+	}
+
+	/** Prefetch tiles on the perimeter of a tile range (adjacent to the
+	 * visible tiles), so they are ready when the map is panned */
+	private void prefetchAdjacent(ZoomLevel zoom, int x0, int x1, int y0,
+		int y1, int cx, int cy)
+	{
+		for (int x = x0; x <= x1; x++) {
+			for (int y = y0; y <= y1; y++) {
+				boolean edge = (x == x0 || x == x1 ||
+				                y == y0 || y == y1);
+				if (edge && isValidTile(zoom, x, y)) {
+					cache.prefetchTile(getTileName(zoom,
+						x, y), distance(x, y, cx, cy));
+				}
+			}
+		}
+	}
+
+	/** Check if tile X and Y are valid for a zoom level */
+	private boolean isValidTile(ZoomLevel zoom, int x, int y) {
+		return x >= 0 && x < zoom.n_tiles && y >= 0 && y < zoom.n_tiles;
+	}
+
+	/** Get the distance between two tiles (Chebyshev) */
+	static private int distance(int x, int y, int cx, int cy) {
+		return Math.max(Math.abs(x - cx), Math.abs(y - cy));
+	}
+
+	/** Limit X or Y tile based on zoom level */
+	private int zoomLimit(ZoomLevel zoom, int xory) {
+		return Math.max(0, Math.min(zoom.n_tiles - 1, xory));
+	}
+
+	/** Get a tile name */
+	private String getTileName(ZoomLevel zoom, int tx, int ty) {
+		int gy = zoom.n_tiles - 1 - ty;
+		return "" + zoom.ordinal() + '/' + tx + '/' + gy;
+	}
+
+	/** Get a tile from the tile cache */
+	private Image getTile(String tile) {
+		try {
+			return cache.getTile(tile);
+		}
+		catch (IOException e) {
+			System.err.print("I/O Error ");
+			System.err.print(e.getMessage());
+			System.err.println(" reading tile: " + tile);
+			return null;
+		}
+	}
+
+	/** Flag to indicate a geometry change is pending */
+	private final AtomicBoolean change_pending = new AtomicBoolean();
+
+	/** Callback for fetched tiles (called on a tile fetcher thread).
+	 * Changes are coalesced, so a burst of fetched tiles only causes
+	 * one repaint. */
+	private final Runnable fetched = new Runnable() {
+		public void run() {
+			if (change_pending.compareAndSet(false, true)) {
+				runSwing(new Runnable() {
+					public void run() {
+						change_pending.set(false);
+						fireLayerChanged(
+							LayerChange.geometry);
+					}
+				});
+			}
+		}
+	};
+}
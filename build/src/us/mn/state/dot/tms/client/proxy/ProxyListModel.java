@@ -0,0 +1,112 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2007-2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.client.proxy;
+
+import java.util.Comparator;
+import javax.swing.AbstractListModel;
+import us.mn.state.dot.sonar.SonarObject;
+import us.mn.state.dot.sonar.client.TypeCache;
+import us.mn.state.dot.tms.utils.NumericAlphaComparator;
+
+/**
+ * A swing ListModel kept in sync with a SONAR TypeCache.  Proxies are
+ * checked and sorted off the EDT, and interval events are fired in batches.
+ *
+ * @author Douglas Lau
+ */
+public class ProxyListModel<T extends SonarObject>
+	extends AbstractListModel<T>
+{
+	/** Proxy type cache */
+	private final TypeCache<T> cache;
+
+	/** Proxy comparator */
+	private final Comparator<T> comp = comparator();
+
+	/** Get a proxy comparator */
+	protected Comparator<T> comparator() {
+		return new NumericAlphaComparator<T>();
+	}
+
+	/** Sorted, filtered proxy rows */
+	private final ProxyRows<T> rows = new ProxyRows<T>(comp) {
+		protected boolean check(T proxy) {
+			return ProxyListModel.this.check(proxy);
+		}
+		protected void checkRemove(T proxy) {
+			ProxyListModel.this.checkRemove(proxy);
+		}
+		protected void rowsInserted(int r0, int r1) {
+			fireIntervalAdded(ProxyListModel.this, r0, r1);
+		}
+		protected void rowsDeleted(int r0, int r1) {
+			fireIntervalRemoved(ProxyListModel.this, r0, r1);
+		}
+		protected void rowsUpdated(int r0, int r1) {
+			fireContentsChanged(ProxyListModel.this, r0, r1);
+		}
+	};
+
+	/** Create a new proxy list model */
+	public ProxyListModel(TypeCache<T> c) {
+		cache = c;
+	}
+
+	/** Initialize the proxy list model. This cannot be done in the
+	 * constructor because subclasses may not be fully constructed. */
+	public void initialize() {
+		cache.addProxyListener(rows);
+	}
+
+	/** Dispose of the proxy model */
+	public void dispose() {
+		cache.removeProxyListener(rows);
+		rows.dispose();
+	}
+
+	/** Check if a proxy is included in the list.  This is called on a
+	 * worker thread, not the EDT. */
+	protected boolean check(T proxy) {
+		return true;
+	}
+
+	/** Check when proxy is removed (or changed).  This is called on a
+	 * worker thread, not the EDT. */
+	protected void checkRemove(T proxy) {
+		// subclasses can override
+	}
+
+	/** Get the size (for ListModel) */
+	@Override
+	public int getSize() {
+		return rows.size();
+	}
+
+	/** Get the element at the specified index (for ListModel) */
+	@Override
+	public T getElementAt(int index) {
+		return rows.get(index);
+	}
+
+	/** Get the proxy at the specified index */
+	public T getProxy(int i) {
+		return rows.get(i);
+	}
+
+	/** Get the index of the given proxy */
+	public int getIndex(T proxy) {
+		return rows.indexOf(proxy);
+	}
+}
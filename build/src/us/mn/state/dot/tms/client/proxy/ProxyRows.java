@@ -0,0 +1,457 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.client.proxy;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import us.mn.state.dot.sched.Job;
+import us.mn.state.dot.sched.Scheduler;
+import us.mn.state.dot.sonar.SonarObject;
+import us.mn.state.dot.sonar.client.ProxyListener;
+import us.mn.state.dot.tms.client.MainClient;
+import static us.mn.state.dot.tms.client.widget.SwingRunner.runSwing;
+
+/**
+ * Sorted, filtered rows of proxies for a Swing model.
+ *
+ * Proxy events are checked, filtered and sorted off the EDT, on a worker
+ * thread, using a rank tree.  The resulting row operations are published
+ * to the EDT in batches, where they are applied to the row list and
+ * delivered as minimal row insert, delete and update events.
+ *
+ * @author Douglas Lau
+ */
+abstract class ProxyRows<T extends SonarObject> implements ProxyListener<T> {
+
+	/** Worker thread for sorting and filtering proxies */
+	static private final Scheduler WORKER = new Scheduler("proxy_rows");
+
+	/** Proxy event: removed */
+	static private final int REMOVED = 0;
+
+	/** Proxy event: added */
+	static private final int ADDED = 1;
+
+	/** Proxy event: changed */
+	static private final int CHANGED = 2;
+
+	/** Row operation: reset all rows */
+	static private final int RESET = 0;
+
+	/** Row operation: insert a row */
+	static private final int INSERT = 1;
+
+	/** Row operation: delete a row */
+	static private final int DELETE = 2;
+
+	/** Row operation: move (or update) a row */
+	static private final int MOVE = 3;
+
+	/** Row operation: notify a changed proxy */
+	static private final int NOTIFY = 4;
+
+	/** Row operation */
+	static private final class Op<T> {
+		private final int kind;
+		private final int from;
+		private final int to;
+		private final T proxy;
+		private final ArrayList<T> all;
+		private Op(int k, int f, int t, T p, ArrayList<T> a) {
+			kind = k;
+			from = f;
+			to = t;
+			proxy = p;
+			all = a;
+		}
+	}
+
+	/** Lock for pending events and operations */
+	private final Object lock = new Object();
+
+	/** Flag indicating enumeration is complete.
+	 * All access must be synchronized on the "lock" lock. */
+	private boolean enumerated = false;
+
+	/** Flag indicating the initial proxies need to be loaded.
+	 * All access must be synchronized on the "lock" lock. */
+	private boolean load = false;
+
+	/** Proxies added before enumeration is complete.
+	 * All access must be synchronized on the "lock" lock. */
+	private final LinkedHashSet<T> initial = new LinkedHashSet<T>();
+
+	/** Pending proxy events.
+	 * All access must be synchronized on the "lock" lock. */
+	private final LinkedHashMap<T, Integer> events =
+		new LinkedHashMap<T, Integer>();
+
+	/** Flag indicating a worker job is scheduled.
+	 * All access must be synchronized on the "lock" lock. */
+	private boolean scheduled = false;
+
+	/** Row operations waiting for the EDT.
+	 * All access must be synchronized on the "lock" lock. */
+	private ArrayList<Op<T>> ops = new ArrayList<Op<T>>();
+
+	/** Flag indicating disposed */
+	private volatile boolean disposed = false;
+
+	/** Rank tree of proxies (only accessed on WORKER thread) */
+	private final RankTree<T> tree;
+
+	/** Rows of proxies (only accessed on EDT) */
+	private final ArrayList<T> rows = new ArrayList<T>();
+
+	/** Create proxy rows */
+	protected ProxyRows(Comparator<T> comp) {
+		tree = new RankTree<T>(comp);
+	}
+
+	/** Check if a proxy is included (called on WORKER thread) */
+	abstract protected boolean check(T proxy);
+
+	/** Check when a proxy is removed or changed (on WORKER thread) */
+	protected void checkRemove(T proxy) {
+		// subclasses can override
+	}
+
+	/** Check if an attribute change is interesting */
+	protected boolean checkAttributeChange(String attr) {
+		return true;
+	}
+
+	/** Rows were inserted (on EDT) */
+	abstract protected void rowsInserted(int r0, int r1);
+
+	/** Rows were deleted (on EDT) */
+	abstract protected void rowsDeleted(int r0, int r1);
+
+	/** Rows were updated (on EDT) */
+	abstract protected void rowsUpdated(int r0, int r1);
+
+	/** A proxy has been changed, after its row was updated (on EDT) */
+	protected void proxyChangedSwing(T proxy) {
+		// subclasses can override
+	}
+
+	/** Add a proxy.
+	 * @see us.mn.state.dot.sonar.client.ProxyListener */
+	@Override
+	public void proxyAdded(T proxy) {
+		synchronized (lock) {
+			if (enumerated)
+				addEvent(proxy, ADDED);
+			else
+				initial.add(proxy);
+		}
+	}
+
+	/** Enumeration of proxies is complete.
+	 * @see us.mn.state.dot.sonar.client.ProxyListener */
+	@Override
+	public void enumerationComplete() {
+		synchronized (lock) {
+			enumerated = true;
+			load = true;
+			schedule();
+		}
+	}
+
+	/** Remove a proxy.
+	 * @see us.mn.state.dot.sonar.client.ProxyListener */
+	@Override
+	public void proxyRemoved(T proxy) {
+		synchronized (lock) {
+			if (enumerated)
+				addEvent(proxy, REMOVED);
+			else
+				initial.remove(proxy);
+		}
+	}
+
+	/** A proxy has been changed.
+	 * @see us.mn.state.dot.sonar.client.ProxyListener */
+	@Override
+	public void proxyChanged(T proxy, String attr) {
+		if (checkAttributeChange(attr)) {
+			synchronized (lock) {
+				if (enumerated)
+					addEvent(proxy, CHANGED);
+			}
+		}
+	}
+
+	/** Check and sort a proxy again (asynchronously) */
+	public void update(T proxy) {
+		synchronized (lock) {
+			if (enumerated)
+				addEvent(proxy, CHANGED);
+		}
+	}
+
+	/** Add a pending proxy event.  A removal replaces any earlier
+	 * event, and an earlier addition is not replaced by a change. */
+	private void addEvent(T proxy, int ev) {
+		Integer pe = events.get(proxy);
+		if (ev == CHANGED && pe != null)
+			return;
+		events.put(proxy, ev);
+		schedule();
+	}
+
+	/** Schedule a worker job, if not already scheduled */
+	private void schedule() {
+		if (!scheduled && !disposed) {
+			scheduled = true;
+			WORKER.addJob(new Job() {
+				public void perform() {
+					processEvents();
+				}
+			});
+		}
+	}
+
+	/** Process pending proxy events (on WORKER thread) */
+	private void processEvents() {
+		ArrayList<T> init = null;
+		LinkedHashMap<T, Integer> evs;
+		synchronized (lock) {
+			scheduled = false;
+			if (load) {
+				load = false;
+				init = new ArrayList<T>(initial);
+				initial.clear();
+			}
+			evs = new LinkedHashMap<T, Integer>(events);
+			events.clear();
+		}
+		if (disposed)
+			return;
+		ArrayList<Op<T>> res = new ArrayList<Op<T>>();
+		if (init != null)
+			res.add(loadInitial(init));
+		for (Map.Entry<T, Integer> e: evs.entrySet())
+			processEvent(e.getKey(), e.getValue(), res);
+		publish(res);
+	}
+
+	/** Load the initial proxies */
+	private Op<T> loadInitial(ArrayList<T> init) {
+		tree.clear();
+		for (T proxy: init) {
+			if (check(proxy))
+				tree.insert(proxy);
+		}
+		return new Op<T>(RESET, 0, 0, null, tree.toList());
+	}
+
+	/** Process one proxy event */
+	private void processEvent(T proxy, int ev, ArrayList<Op<T>> res) {
+		if (ev != ADDED)
+			checkRemove(proxy);
+		int pre = tree.remove(proxy);
+		int post = (ev != REMOVED && check(proxy))
+		         ? tree.insert(proxy)
+		         : -1;
+		if (pre >= 0 && post >= 0)
+			res.add(new Op<T>(MOVE, pre, post, proxy, null));
+		else if (pre >= 0)
+			res.add(new Op<T>(DELETE, pre, pre, proxy, null));
+		else if (post >= 0)
+			res.add(new Op<T>(INSERT, post, post, proxy, null));
+		if (ev == CHANGED)
+			res.add(new Op<T>(NOTIFY, -1, -1, proxy, null));
+	}
+
+	/** Publish row operations to the EDT */
+	private void publish(ArrayList<Op<T>> res) {
+		if (res.isEmpty())
+			return;
+		boolean post;
+		synchronized (lock) {
+			post = ops.isEmpty();
+			ops.addAll(res);
+		}
+		if (post) {
+			runSwing(new Runnable() {
+				public void run() {
+					applyOps();
+				}
+			});
+		}
+	}
+
+	/** Apply pending row operations (on EDT) */
+	private void applyOps() {
+		ArrayList<Op<T>> aops;
+		synchronized (lock) {
+			aops = ops;
+			ops = new ArrayList<Op<T>>();
+		}
+		if (disposed)
+			return;
+		Batch b = new Batch();
+		ArrayList<T> changed = new ArrayList<T>();
+		for (Op<T> op: aops) {
+			if (op.kind == NOTIFY)
+				changed.add(op.proxy);
+			else
+				applyOp(op, b);
+		}
+		b.fire();
+		for (T proxy: changed) {
+			try {
+				proxyChangedSwing(proxy);
+			}
+			catch (Exception ex) {
+				MainClient.getHandler().handle(ex);
+			}
+		}
+	}
+
+	/** Apply one row operation.  The operation is added to the batch
+	 * first, so any earlier batch is fired before the rows change. */
+	private void applyOp(Op<T> op, Batch b) {
+		switch (op.kind) {
+		case RESET:
+			b.fire();
+			int n = rows.size();
+			rows.clear();
+			if (n > 0)
+				rowsDeleted(0, n - 1);
+			rows.addAll(op.all);
+			if (rows.size() > 0)
+				rowsInserted(0, rows.size() - 1);
+			break;
+		case INSERT:
+			b.add(INSERT, op.to, op.to);
+			rows.add(op.to, op.proxy);
+			break;
+		case DELETE:
+			b.add(DELETE, op.from, op.from);
+			rows.remove(op.from);
+			break;
+		case MOVE:
+			b.add(MOVE, Math.min(op.from, op.to),
+				Math.max(op.from, op.to));
+			rows.remove(op.from);
+			rows.add(op.to, op.proxy);
+			break;
+		}
+	}
+
+	/** Batch of contiguous row events of one kind */
+	private final class Batch {
+		private int kind = -1;
+		private int r0;
+		private int r1;
+
+		/** Add a row event, firing the batch if it can't be merged.
+		 * This must be called before the rows are changed. */
+		private void add(int k, int s0, int s1) {
+			if (k != kind || !merge(s0, s1)) {
+				fire();
+				kind = k;
+				r0 = s0;
+				r1 = s1;
+			}
+		}
+
+		/** Merge a row event into the batch.
+		 * @return true if the event was merged. */
+		private boolean merge(int s0, int s1) {
+			switch (kind) {
+			case INSERT:
+				// inserted within or next to inserted rows
+				if (s0 >= r0 && s0 <= r1 + 1) {
+					r1++;
+					return true;
+				}
+				return false;
+			case DELETE:
+				// deleted row following deleted rows
+				if (s0 == r0) {
+					r1++;
+					return true;
+				}
+				// deleted row preceding deleted rows
+				if (s0 == r0 - 1) {
+					r0 = s0;
+					return true;
+				}
+				return false;
+			case MOVE:
+				// updated rows overlap or adjoin
+				if (s0 <= r1 + 1 && s1 >= r0 - 1) {
+					r0 = Math.min(r0, s0);
+					r1 = Math.max(r1, s1);
+					return true;
+				}
+				return false;
+			default:
+				return false;
+			}
+		}
+
+		/** Fire the batched event */
+		private void fire() {
+			switch (kind) {
+			case INSERT:
+				rowsInserted(r0, r1);
+				break;
+			case DELETE:
+				rowsDeleted(r0, r1);
+				break;
+			case MOVE:
+				rowsUpdated(r0, r1);
+				break;
+			}
+			kind = -1;
+		}
+	}
+
+	/** Get the number of rows (on EDT) */
+	public int size() {
+		return rows.size();
+	}
+
+	/** Get the proxy at a row (on EDT) */
+	public T get(int row) {
+		return rows.get(row);
+	}
+
+	/** Get the row of a proxy (on EDT) */
+	public int indexOf(T proxy) {
+		for (int i = 0; i < rows.size(); i++) {
+			if (proxy == rows.get(i))
+				return i;
+		}
+		return -1;
+	}
+
+	/** Dispose of the rows */
+	public void dispose() {
+		disposed = true;
+		synchronized (lock) {
+			initial.clear();
+			events.clear();
+			ops.clear();
+		}
+	}
+}
@@ -0,0 +1,243 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.client.proxy;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+
+/**
+ * A rank tree is a sorted collection which can find the rank (index) of any
+ * item in logarithmic time.  It is a treap with subtree sizes and parent
+ * links.  Items are located by identity when removed, so an item can still
+ * be removed after its sort key has changed.  This class is not
+ * thread-safe; callers must synchronize.
+ *
+ * @author Douglas Lau
+ */
+final class RankTree<T> {
+
+	/** Node of the tree */
+	static private final class Node<T> {
+		private final T item;
+		private final int pri;
+		private Node<T> parent;
+		private Node<T> left;
+		private Node<T> right;
+		private int size = 1;
+		private Node(T i, int p) {
+			item = i;
+			pri = p;
+		}
+	}
+
+	/** Get the size of a subtree */
+	static private <T> int size(Node<T> n) {
+		return (n != null) ? n.size : 0;
+	}
+
+	/** Update the size of a node from its children */
+	static private <T> void resize(Node<T> n) {
+		n.size = 1 + size(n.left) + size(n.right);
+	}
+
+	/** Item comparator */
+	private final Comparator<T> comp;
+
+	/** Mapping of items to nodes */
+	private final IdentityHashMap<T, Node<T>> nodes =
+		new IdentityHashMap<T, Node<T>>();
+
+	/** Root node */
+	private Node<T> root;
+
+	/** Pseudo-random state for node priorities */
+	private int seed = 0x2545F491;
+
+	/** Create a new rank tree */
+	public RankTree(Comparator<T> c) {
+		comp = c;
+	}
+
+	/** Get the next node priority (xorshift) */
+	private int nextPriority() {
+		seed ^= seed << 13;
+		seed ^= seed >>> 17;
+		seed ^= seed << 5;
+		return seed;
+	}
+
+	/** Get the number of items */
+	public int size() {
+		return nodes.size();
+	}
+
+	/** Check if an item is in the tree */
+	public boolean contains(T item) {
+		return nodes.containsKey(item);
+	}
+
+	/** Remove all items */
+	public void clear() {
+		nodes.clear();
+		root = null;
+	}
+
+	/** Insert an item.
+	 * @param item Item to insert.
+	 * @return Index of inserted item, or -1 if an equal item (by
+	 *         comparator) or the same item is already in the tree. */
+	public int insert(T item) {
+		if (nodes.containsKey(item))
+			return -1;
+		Node<T> p = null;
+		Node<T> n = root;
+		boolean left = false;
+		int rank = 0;
+		while (n != null) {
+			int c = comp.compare(item, n.item);
+			if (c == 0)
+				return -1;
+			p = n;
+			left = (c < 0);
+			if (left)
+				n = n.left;
+			else {
+				rank += size(n.left) + 1;
+				n = n.right;
+			}
+		}
+		n = new Node<T>(item, nextPriority());
+		n.parent = p;
+		if (null == p)
+			root = n;
+		else if (left)
+			p.left = n;
+		else
+			p.right = n;
+		for (Node<T> a = p; a != null; a = a.parent)
+			a.size++;
+		while (n.parent != null && n.parent.pri < n.pri)
+			rotateUp(n);
+		nodes.put(item, n);
+		return rank;
+	}
+
+	/** Rotate a node up over its parent */
+	private void rotateUp(Node<T> n) {
+		Node<T> p = n.parent;
+		Node<T> g = p.parent;
+		if (p.left == n) {
+			p.left = n.right;
+			if (n.right != null)
+				n.right.parent = p;
+			n.right = p;
+		} else {
+			p.right = n.left;
+			if (n.left != null)
+				n.left.parent = p;
+			n.left = p;
+		}
+		p.parent = n;
+		n.parent = g;
+		if (null == g)
+			root = n;
+		else if (g.left == p)
+			g.left = n;
+		else
+			g.right = n;
+		resize(p);
+		resize(n);
+	}
+
+	/** Get the index of an item.
+	 * @return Index of item, or -1 if not in the tree. */
+	public int indexOf(T item) {
+		Node<T> n = nodes.get(item);
+		return (n != null) ? rank(n) : -1;
+	}
+
+	/** Get the rank of a node */
+	private int rank(Node<T> n) {
+		int r = size(n.left);
+		for (; n.parent != null; n = n.parent) {
+			if (n.parent.right == n)
+				r += size(n.parent.left) + 1;
+		}
+		return r;
+	}
+
+	/** Remove an item (by identity).
+	 * @return Index of removed item, or -1 if not in the tree. */
+	public int remove(T item) {
+		Node<T> n = nodes.remove(item);
+		if (null == n)
+			return -1;
+		int r = rank(n);
+		while (n.left != null || n.right != null) {
+			if (null == n.left)
+				rotateUp(n.right);
+			else if (null == n.right)
+				rotateUp(n.left);
+			else if (n.left.pri > n.right.pri)
+				rotateUp(n.left);
+			else
+				rotateUp(n.right);
+		}
+		Node<T> p = n.parent;
+		if (null == p)
+			root = null;
+		else if (p.left == n)
+			p.left = null;
+		else
+			p.right = null;
+		for (; p != null; p = p.parent)
+			p.size--;
+		return r;
+	}
+
+	/** Get the item at an index */
+	public T get(int i) {
+		if (i < 0 || i >= size(root))
+			throw new IndexOutOfBoundsException("" + i);
+		Node<T> n = root;
+		while (true) {
+			int ls = size(n.left);
+			if (i < ls)
+				n = n.left;
+			else if (i > ls) {
+				i -= ls + 1;
+				n = n.right;
+			} else
+				return n.item;
+		}
+	}
+
+	/** Get a list of all items, in order */
+	public ArrayList<T> toList() {
+		ArrayList<T> list = new ArrayList<T>(size());
+		addAll(root, list);
+		return list;
+	}
+
+	/** Add all items in a subtree to a list */
+	static private <T> void addAll(Node<T> n, ArrayList<T> list) {
+		while (n != null) {
+			addAll(n.left, list);
+			list.add(n.item);
+			n = n.right;
+		}
+	}
+}
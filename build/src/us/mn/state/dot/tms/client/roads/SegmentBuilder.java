@@ -0,0 +1,300 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2009-2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.client.roads;
+
+import java.awt.geom.Rectangle2D;
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentSkipListMap;
+import javax.xml.parsers.ParserConfigurationException;
+import org.xml.sax.SAXException;
+import static us.mn.state.dot.tms.client.widget.SwingRunner.runSwing;
+import us.mn.state.dot.tms.CorridorBase;
+import us.mn.state.dot.tms.Detector;
+import us.mn.state.dot.tms.R_Node;
+import us.mn.state.dot.tms.R_NodeHelper;
+import us.mn.state.dot.tms.SampleFrame;
+import us.mn.state.dot.tms.client.Session;
+import us.mn.state.dot.tms.client.map.SpatialIndex;
+import us.mn.state.dot.tms.client.proxy.MapGeoLoc;
+import us.mn.state.dot.tms.geo.SphericalMercatorPosition;
+
+/**
+ * SegmentBuilder is a class for building roadway segments.
+ *
+ * @author Douglas Lau
+  */
+public class SegmentBuilder implements Iterable<Segment> {
+
+	/** Reference to a segment within a corridor list */
+	static private final class SegRef {
+		private final String cor;
+		private final int idx;
+		private final List<Segment> segs;
+		private SegRef(String c, int i, List<Segment> s) {
+			cor = c;
+			idx = i;
+			segs = s;
+		}
+	}
+
+	/** Comparator to sort segment references in iteration order */
+	static private final Comparator<SegRef> REF_ORDER =
+		new Comparator<SegRef>()
+	{
+		public int compare(SegRef a, SegRef b) {
+			int c = a.cor.compareTo(b.cor);
+			return (c != 0) ? c : Integer.compare(a.idx, b.idx);
+		}
+	};
+
+	/** Get the bounding rectangle of a segment */
+	static private Rectangle2D getBounds(Segment seg) {
+		SphericalMercatorPosition a = seg.pos_a;
+		SphericalMercatorPosition b = (seg.pos_b != null)
+			? seg.pos_b : a;
+		if (null == a)
+			a = b;
+		if (null == a)
+			return null;
+		Rectangle2D r = new Rectangle2D.Double(a.getX(), a.getY(),0,0);
+		r.add(b.getX(), b.getY());
+		return r;
+	}
+
+	/** Mapping of corridor names to segment lists */
+	private final ConcurrentSkipListMap<String, List<Segment>> cor_segs =
+		new ConcurrentSkipListMap<String, List<Segment>>();
+
+	/** Spatial index of segments.  All access to "index" and "cor_refs"
+	 * must be synchronized on the "index" lock. */
+	private final SpatialIndex<SegRef> index = new SpatialIndex<SegRef>();
+
+	/** Mapping of corridor names to indexed segment references */
+	private final HashMap<String, List<SegRef>> cor_refs =
+		new HashMap<String, List<SegRef>>();
+
+	/** R_Node manager */
+	private final R_NodeManager manager;
+
+	/** Detector hash */
+	private final DetectorHash det_hash;
+
+	/** Sample data set */
+	private final SampleDataSet samples = new SampleDataSet();
+
+	/** Sample frame reader (pushed samples) */
+	private final SampleFrameReader frame_reader;
+
+	/** Sensor reader (polled XML samples) */
+	private final SensorReader reader;
+
+	/** Create a new segment builder */
+	public SegmentBuilder(Session s, R_NodeManager m, Properties p)
+		throws IOException, SAXException, ParserConfigurationException
+	{
+		manager = m;
+		det_hash = new DetectorHash(s);
+		frame_reader = createFrameReader(s);
+		reader = (null == frame_reader) ? createReader(p) : null;
+	}
+
+	/** Create a sample frame reader, if permitted */
+	private SampleFrameReader createFrameReader(Session s) {
+		return s.canRead(SampleFrame.SONAR_TYPE)
+		     ? new SampleFrameReader(s.getSonarState().getDetCache()
+		                              .getSampleFrames(), this)
+		     : null;
+	}
+
+	/** Create a sensor reader */
+	private SensorReader createReader(Properties props) throws IOException,
+		SAXException, ParserConfigurationException
+	{
+		String loc = props.getProperty("tdxml.detector.url");
+		return (loc != null)
+		     ? new SensorReader(new URL(loc), this)
+		     : null;
+	}
+
+	/** Initialize the segment builder */
+	public void initialize() {
+		det_hash.initialize();
+		if (frame_reader != null)
+			frame_reader.initialize();
+	}
+
+	/** Dispose of the segment builder */
+	public void dispose() {
+		if (frame_reader != null)
+			frame_reader.dispose();
+		if (reader != null)
+			reader.dispose();
+		det_hash.dispose();
+	}
+
+	/** Update one sensor sample */
+	public void update(SensorSample s) {
+		samples.updateSample(s);
+	}
+
+	/** Complete one sample update */
+	public void completeSamples() {
+		samples.swapSamples();
+		updateStatus();
+	}
+
+	/** Clear all sample data */
+	public void clearSamples() {
+		samples.clearSamples();
+		updateStatus();
+	}
+
+	/** Update the layer status */
+	public void updateStatus() {
+		runSwing(new Runnable() {
+			public void run() {
+				manager.getLayer().updateStatus();
+			}
+		});
+	}
+
+	/** Update a corridor */
+	public void updateCorridor(CorridorBase<R_Node> corridor) {
+		List<Segment> below = new ArrayList<Segment>();
+		List<Segment> above = new ArrayList<Segment>();
+		R_Node sn = null;       // station node
+		MapGeoLoc sl = null;    // station node location
+		MapGeoLoc al = null;    // upstream node location
+		R_NodeModel mdl = null; // node model
+		for (R_Node bn: corridor) {
+			MapGeoLoc bl = findGeoLoc(bn);
+			Segment seg = new Segment(mdl, al, bn, bl, sn, sl,
+				samples, det_hash);
+			if (seg.isGood()) {
+				mdl = seg.getModel();
+				if (bn.getAbove())
+					above.add(seg);
+				else
+					below.add(seg);
+			} else
+				mdl = null;
+			if (null == sn || R_NodeHelper.isStationBreak(bn)) {
+				sn = bn;
+				sl = bl;
+			}
+			al = bl;
+		}
+		// Prepend lowercase z, for sorting purposes
+		synchronized (index) {
+			cor_segs.put(corridor.getName(), below);
+			cor_segs.put('z' + corridor.getName(), above);
+			indexCorridor(corridor.getName(), below);
+			indexCorridor('z' + corridor.getName(), above);
+		}
+	}
+
+	/** Replace the indexed segments for one corridor */
+	private void indexCorridor(String cor, List<Segment> segs) {
+		List<SegRef> prev = cor_refs.remove(cor);
+		if (prev != null) {
+			for (SegRef ref: prev)
+				index.remove(ref);
+		}
+		ArrayList<SegRef> refs = new ArrayList<SegRef>(segs.size());
+		for (int i = 0; i < segs.size(); i++) {
+			Rectangle2D b = getBounds(segs.get(i));
+			if (b != null) {
+				SegRef ref = new SegRef(cor, i, segs);
+				index.put(ref, b);
+				refs.add(ref);
+			}
+		}
+		cor_refs.put(cor, refs);
+	}
+
+	/** Find segments within a region, in iteration order.  For parking
+	 * segments, the preceding run of parking segments (and the segment
+	 * before that run) are also included, since parking space geometry
+	 * depends on the preceding spaces.
+	 * @param r Region in world coordinates.
+	 * @return Segments within the region. */
+	public List<Segment> search(Rectangle2D r) {
+		List<SegRef> refs;
+		synchronized (index) {
+			refs = index.search(r);
+		}
+		Collections.sort(refs, REF_ORDER);
+		ArrayList<Segment> found = new ArrayList<Segment>(refs.size());
+		SegRef last = null;
+		for (SegRef ref: refs) {
+			int i = ref.idx;
+			if (ref.segs.get(i).parking) {
+				while (i > 0 && ref.segs.get(i - 1).parking)
+					i--;
+				if (i > 0)
+					i--;
+			}
+			if (last != null && last.segs == ref.segs)
+				i = Math.max(i, last.idx + 1);
+			for (; i <= ref.idx; i++)
+				found.add(ref.segs.get(i));
+			last = ref;
+		}
+		return found;
+	}
+
+	/** Find the map geo loc */
+	public MapGeoLoc findGeoLoc(R_Node n) {
+		return manager.findGeoLoc(n);
+	}
+
+	/** Create a segment iterator.  This uses the cor_segs mapping, which
+	 * allows a corridor to be updated without regenerating all segments. */
+	public Iterator<Segment> iterator() {
+		final Iterator<List<Segment>> cors =
+			cor_segs.values().iterator();
+		return new Iterator<Segment>() {
+			Iterator<Segment> segs;
+			public boolean hasNext() {
+				if (segs != null && segs.hasNext())
+					return true;
+				while (cors.hasNext()) {
+					segs = cors.next().iterator();
+					if (segs.hasNext())
+						return true;
+				}
+				return false;
+			}
+			public Segment next() {
+				if (segs != null)
+					return segs.next();
+				else
+					throw new NoSuchElementException();
+			}
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+}
@@ -0,0 +1,77 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2012-2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import us.mn.state.dot.sonar.server.AccessMonitor;
+import us.mn.state.dot.tms.EventType;
+import us.mn.state.dot.tms.server.event.ClientEvent;
+
+/**
+ * This is the main class to start the IRIS server.
+ *
+ * @author Douglas Lau
+ */
+public class AccessLogger implements AccessMonitor {
+
+	/** Create a new access logger */
+	public AccessLogger() { }
+
+	/** Log a connect event */
+	@Override
+	public void connect(String hostport) {
+		log_event(EventType.CLIENT_CONNECT, hostport, null);
+	}
+
+	/** Log an authenticate event */
+	@Override
+	public void authenticate(String hostport, String user) {
+		log_event(EventType.CLIENT_AUTHENTICATE, hostport, user);
+	}
+
+	/** Callback for a client fail domain login event */
+	@Override
+	public void failDomain(String hostport, String user) {
+		log_event(EventType.CLIENT_FAIL_DOMAIN, hostport, user);
+	}
+
+	/** Log a fail authentication event */
+	@Override
+	public void failAuthentication(String hostport, String user) {
+		log_event(EventType.CLIENT_FAIL_AUTHENTICATION, hostport, user);
+	}
+
+	/** Log a disconnect event */
+	@Override
+	public void disconnect(String hostport, String user) {
+		log_event(EventType.CLIENT_DISCONNECT, hostport, user);
+	}
+
+	/** Log a change password event */
+	@Override
+	public void changePassword(String hostport, String user) {
+		log_event(EventType.CLIENT_CHANGE_PASSWORD, hostport, user);
+	}
+
+	/** Log a fail password event */
+	@Override
+	public void failPassword(String hostport, String user) {
+		log_event(EventType.CLIENT_FAIL_PASSWORD, hostport, user);
+	}
+
+	/** Log an event */
+	private void log_event(EventType event, String hostport, String user) {
+		BaseObjectImpl.logEvent(new ClientEvent(event, hostport, user));
+	}
+}
@@ -0,0 +1,643 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2007-2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.text.NumberFormat;
+import java.util.Arrays;
+import java.util.Date;
+import us.mn.state.dot.sched.TimeSteward;
+import us.mn.state.dot.sonar.SonarException;
+import us.mn.state.dot.sonar.SonarObject;
+import us.mn.state.dot.sonar.server.Server;
+import us.mn.state.dot.sonar.server.ServerNamespace;
+import us.mn.state.dot.tms.TMSException;
+import us.mn.state.dot.tms.server.event.BaseEvent;
+
+/**
+ * Base object class for storable SONAR objects.
+ *
+ * @author Douglas Lau
+ */
+abstract public class BaseObjectImpl implements Storable, SonarObject {
+
+	/** SONAR namespace */
+	static public ServerNamespace namespace;
+
+	/** SQL connection to database */
+	static SQLConnection store;
+
+	/** Corridor manager */
+	static public final CorridorManager corridors = new CorridorManager();
+
+	/** Namespace snapshot for fast restart */
+	static NamespaceSnapshot snapshot;
+
+	/** Number of threads for loading objects.  Each thread can hold two
+	 * loader lane connections (for nested mapping lookups), so this must
+	 * be no more than half the size of that lane. */
+	static private final int LOAD_THREADS = 3;
+
+	/** Load all objects from the database into the SONAR Namespace */
+	static void loadAll(SQLConnection s, ServerNamespace ns)
+		throws TMSException
+	{
+		store = s;
+		namespace = ns;
+		long start = TimeSteward.currentTimeMillis();
+		snapshot = new NamespaceSnapshot(NamespaceSnapshot.SNAPSHOT_FILE);
+		snapshot.readVersions(store);
+		snapshot.read();
+		store.setSnapshot(snapshot);
+		try {
+			// System attributes are needed by nearly everything else
+			SystemAttributeImpl.loadAll();
+			createLoader().run();
+		}
+		finally {
+			store.setSnapshot(null);
+			store.getLane(SQLConnection.Lane.LOADER).closeIdle();
+			snapshot.finishLoad();
+		}
+		DMSImpl.updateAllStyles();
+		long ms = TimeSteward.currentTimeMillis() - start;
+		System.err.println("Loaded objects in " + ms + " ms (" +
+			snapshot.getHitCount() + " from snapshot, " +
+			snapshot.getMissCount() + " from SQL)");
+	}
+
+	/** Create the startup loader.  Dependencies must include every type
+	 * which is looked up while loading, plus any other type which must be
+	 * completely loaded first. */
+	static private StartupLoader createLoader() {
+		StartupLoader ld = new StartupLoader(LOAD_THREADS);
+		ld.add(GraphicImpl.class);
+		ld.add(FontImpl.class);
+		ld.add(GlyphImpl.class, FontImpl.class);
+		ld.add(RoadImpl.class);
+		ld.add(RoadAffixImpl.class);
+		ld.add(GeoLocImpl.class, RoadImpl.class);
+		ld.add(MapExtentImpl.class);
+		ld.add(IncidentDetailImpl.class);
+		ld.add(CommConfigImpl.class);
+		ld.add(CommLinkImpl.class, CommConfigImpl.class);
+		ld.add(ModemImpl.class);
+		ld.add(CabinetStyleImpl.class);
+		ld.add(CabinetImpl.class, CabinetStyleImpl.class,
+			GeoLocImpl.class);
+		ld.add(ControllerImpl.class, CabinetImpl.class,
+			CommLinkImpl.class);
+		ld.add(SignConfigImpl.class, FontImpl.class);
+		ld.add(SignDetailImpl.class);
+		ld.add(DayMatcherImpl.class);
+		ld.add(DayPlanImpl.class, DayMatcherImpl.class);
+		ld.add(PlanPhaseImpl.class);
+		ld.add(ActionPlanImpl.class, PlanPhaseImpl.class);
+		ld.add(new StartupLoader.Step(R_NodeImpl.class,
+			GeoLocImpl.class)
+		{
+			protected void load() throws TMSException {
+				R_NodeImpl.loadAll();
+				/* NOTE: must happen after r_nodes are loaded */
+				corridors.createCorridors();
+			}
+		});
+		ld.add(AlarmImpl.class, ControllerImpl.class);
+		ld.add(GpsImpl.class, ControllerImpl.class);
+		ld.add(CameraTemplateImpl.class);
+		ld.add(VidSourceTemplateImpl.class);
+		ld.add(CameraVidSourceOrderImpl.class, CameraTemplateImpl.class,
+			VidSourceTemplateImpl.class);
+		ld.add(DetectorImpl.class, ControllerImpl.class,
+			GeoLocImpl.class, R_NodeImpl.class);
+		ld.add(TollZoneImpl.class, DetectorImpl.class,
+			R_NodeImpl.class);
+		ld.add(EncoderTypeImpl.class);
+		ld.add(EncoderStreamImpl.class, EncoderTypeImpl.class);
+		ld.add(CameraImpl.class, CameraTemplateImpl.class,
+			ControllerImpl.class, EncoderTypeImpl.class,
+			GeoLocImpl.class);
+		ld.add(CameraPresetImpl.class, CameraImpl.class);
+		ld.add(PlayListImpl.class, CameraImpl.class);
+		ld.add(CatalogImpl.class, PlayListImpl.class);
+		ld.add(MonitorStyleImpl.class);
+		ld.add(VideoMonitorImpl.class, CameraImpl.class,
+			ControllerImpl.class, MonitorStyleImpl.class);
+		ld.add(FlowStreamImpl.class, CameraImpl.class,
+			ControllerImpl.class, VideoMonitorImpl.class);
+		ld.add(BeaconImpl.class, ControllerImpl.class,
+			GeoLocImpl.class, CameraPresetImpl.class);
+		ld.add(WeatherSensorImpl.class, ControllerImpl.class,
+			GeoLocImpl.class);
+		ld.add(RampMeterImpl.class, BeaconImpl.class,
+			ControllerImpl.class, DetectorImpl.class,
+			GeoLocImpl.class, CameraPresetImpl.class,
+			R_NodeImpl.class);
+		ld.add(SignMessageImpl.class, SignConfigImpl.class);
+		ld.add(DMSImpl.class, FontImpl.class, SignConfigImpl.class,
+			SignDetailImpl.class, SignMessageImpl.class,
+			BeaconImpl.class, ControllerImpl.class,
+			GeoLocImpl.class, GpsImpl.class, GraphicImpl.class,
+			CameraPresetImpl.class);
+		ld.add(SignGroupImpl.class);
+		ld.add(DmsSignGroupImpl.class, DMSImpl.class,
+			SignGroupImpl.class);
+		ld.add(QuickMessageImpl.class, SignConfigImpl.class,
+			SignGroupImpl.class);
+		ld.add(SignTextImpl.class, SignGroupImpl.class);
+		ld.add(GateArmArrayImpl.class, ActionPlanImpl.class,
+			CameraImpl.class, ControllerImpl.class,
+			GeoLocImpl.class);
+		ld.add(GateArmImpl.class, GateArmArrayImpl.class,
+			ControllerImpl.class);
+		ld.add(TagReaderImpl.class, DMSImpl.class,
+			ControllerImpl.class, GeoLocImpl.class,
+			TollZoneImpl.class);
+		ld.add(LaneMarkingImpl.class, ControllerImpl.class,
+			GeoLocImpl.class);
+		ld.add(LCSArrayImpl.class, DMSImpl.class, ControllerImpl.class);
+		ld.add(LCSImpl.class, LCSArrayImpl.class, DMSImpl.class);
+		ld.add(LCSIndicationImpl.class, ControllerImpl.class,
+			LCSImpl.class);
+		ld.add(LaneUseMultiImpl.class, QuickMessageImpl.class);
+		ld.add(ParkingAreaImpl.class, GeoLocImpl.class,
+			CameraPresetImpl.class, R_NodeImpl.class);
+		ld.add(IncidentImpl.class, CameraImpl.class,
+			IncidentDetailImpl.class, RoadImpl.class,
+			R_NodeImpl.class);
+		ld.add(IncDescriptorImpl.class, IncidentDetailImpl.class);
+		ld.add(IncLocatorImpl.class);
+		ld.add(IncAdviceImpl.class);
+		ld.add(TimeActionImpl.class, ActionPlanImpl.class,
+			DayPlanImpl.class);
+		ld.add(DmsActionImpl.class, ActionPlanImpl.class,
+			QuickMessageImpl.class, SignGroupImpl.class);
+		ld.add(BeaconActionImpl.class, ActionPlanImpl.class,
+			BeaconImpl.class);
+		ld.add(CameraActionImpl.class, ActionPlanImpl.class,
+			CameraPresetImpl.class);
+		ld.add(LaneActionImpl.class, ActionPlanImpl.class,
+			LaneMarkingImpl.class);
+		ld.add(MeterActionImpl.class, ActionPlanImpl.class,
+			RampMeterImpl.class);
+		ld.add(WordImpl.class);
+		ld.add(RptConduitImpl.class);
+		ld.add(AlertConfigImpl.class, SignGroupImpl.class);
+		ld.add(AlertMessageImpl.class, AlertConfigImpl.class,
+			QuickMessageImpl.class);
+		ld.add(AlertInfoImpl.class, ActionPlanImpl.class,
+			SignGroupImpl.class, AlertConfigImpl.class,
+			AlertMessageImpl.class);
+		return ld;
+	}
+
+	/** Get the time as a time stamp */
+	static protected Date asTimestamp(Long ts) {
+		return (ts != null) ? new Date(ts) : null;
+	}
+
+	/** Get time as milliseconds since epoch */
+	static protected Long stampMillis(Date ts) {
+		if (ts != null)
+			return ts.getTime();
+		else
+			return null;
+	}
+
+	/** Compare two (possibly-null) objects for equality */
+	static protected boolean objectEquals(Object o0, Object o1) {
+		return (o0 != null) ? o0.equals(o1) : o1 == null;
+	}
+
+	/** Lookup a sonar object */
+	static private SonarObject lookupObject(String st, String name) {
+		if (namespace != null)
+			return namespace.lookupObject(st, name);
+		else
+			return null;
+	}
+
+	/** Lookup a road */
+	static protected RoadImpl lookupRoad(String name) {
+		SonarObject so = lookupObject(RoadImpl.SONAR_TYPE, name);
+		return (so instanceof RoadImpl) ? (RoadImpl) so : null;
+	}
+
+	/** Lookup a geo location */
+	static protected GeoLocImpl lookupGeoLoc(String name) {
+		SonarObject so = lookupObject(GeoLocImpl.SONAR_TYPE, name);
+		return (so instanceof GeoLocImpl) ? (GeoLocImpl) so : null;
+	}
+
+	/** Lookup an r_node */
+	static protected R_NodeImpl lookupR_Node(String name) {
+		SonarObject so = lookupObject(R_NodeImpl.SONAR_TYPE, name);
+		return (so instanceof R_NodeImpl) ? (R_NodeImpl) so : null;
+	}
+
+	/** Lookup a cabinet */
+	static protected CabinetImpl lookupCabinet(String name) {
+		SonarObject so = lookupObject(CabinetImpl.SONAR_TYPE, name);
+		if (so instanceof CabinetImpl)
+			return (CabinetImpl) so;
+		else
+			return null;
+	}
+
+	/** Lookup a comm config */
+	static protected CommConfigImpl lookupCommConfig(String name) {
+		SonarObject so = lookupObject(CommConfigImpl.SONAR_TYPE, name);
+		return (so instanceof CommConfigImpl)
+		      ? (CommConfigImpl) so
+		      : null;
+	}
+
+	/** Lookup a comm link */
+	static protected CommLinkImpl lookupCommLink(String name) {
+		SonarObject so = lookupObject(CommLinkImpl.SONAR_TYPE, name);
+		if (so instanceof CommLinkImpl)
+			return (CommLinkImpl) so;
+		else
+			return null;
+	}
+
+	/** Lookup a controller */
+	static protected ControllerImpl lookupController(String name) {
+		SonarObject so = lookupObject(ControllerImpl.SONAR_TYPE, name);
+		return (so instanceof ControllerImpl)
+		      ? (ControllerImpl) so
+		      : null;
+	}
+
+	/** Lookup a toll zone */
+	static protected TollZoneImpl lookupTollZone(String name) {
+		SonarObject so = lookupObject(TollZoneImpl.SONAR_TYPE, name);
+		if (so instanceof TollZoneImpl)
+			return (TollZoneImpl)so;
+		else
+			return null;
+	}
+
+	/** Lookup a GPS */
+	static protected GpsImpl lookupGps(String name) {
+		SonarObject so = lookupObject(GpsImpl.SONAR_TYPE, name);
+		return (so instanceof GpsImpl) ? (GpsImpl) so : null;
+	}
+
+	/** Lookup a graphic */
+	static protected GraphicImpl lookupGraphic(String name) {
+		SonarObject so = lookupObject(GraphicImpl.SONAR_TYPE, name);
+		return (so instanceof GraphicImpl) ? (GraphicImpl) so : null;
+	}
+
+	/** Lookup a beacon */
+	static protected BeaconImpl lookupBeacon(String name) {
+		SonarObject so = lookupObject(BeaconImpl.SONAR_TYPE, name);
+		if (so instanceof BeaconImpl)
+			return (BeaconImpl)so;
+		else
+			return null;
+	}
+
+	/** Lookup an encoder type */
+	static protected EncoderTypeImpl lookupEncoderType(String name) {
+		SonarObject so = lookupObject(EncoderTypeImpl.SONAR_TYPE, name);
+		return (so instanceof EncoderTypeImpl)
+		      ? (EncoderTypeImpl) so
+		      :	null;
+	}
+
+	/** Lookup a camera template */
+	static protected CameraTemplateImpl lookupCameraTemplate(String name) {
+		SonarObject so = lookupObject(CameraTemplateImpl.SONAR_TYPE, name);
+		return (so instanceof CameraTemplateImpl)
+				? (CameraTemplateImpl) so
+				: null;
+	}
+
+	/** Lookup a monitor style */
+	static protected MonitorStyleImpl lookupMonitorStyle(String name) {
+		SonarObject so = lookupObject(MonitorStyleImpl.SONAR_TYPE,name);
+		return (so instanceof MonitorStyleImpl)
+		      ? (MonitorStyleImpl) so
+		      :	null;
+	}
+
+	/** Lookup a camera */
+	static protected CameraImpl lookupCamera(String name) {
+		SonarObject so = lookupObject(CameraImpl.SONAR_TYPE, name);
+		return (so instanceof CameraImpl) ? (CameraImpl) so : null;
+	}
+
+	/** Lookup a play list */
+	static protected PlayListImpl lookupPlayList(String name) {
+		SonarObject so = lookupObject(PlayListImpl.SONAR_TYPE, name);
+		return (so instanceof PlayListImpl) ? (PlayListImpl) so : null;
+	}
+
+	/** Lookup a camera preset */
+	static protected CameraPresetImpl lookupPreset(String name) {
+		SonarObject so = lookupObject(CameraPresetImpl.SONAR_TYPE,name);
+		if (so instanceof CameraPresetImpl)
+			return (CameraPresetImpl)so;
+		else
+			return null;
+	}
+
+	/** Assign a camera preset */
+	static protected void assignPreset(CameraPresetImpl op,
+		CameraPresetImpl np)
+	{
+		if (op != null)
+			op.setAssignedNotify(false);
+		if (np != null)
+			np.setAssignedNotify(true);
+	}
+
+	/** Lookup a DMS */
+	static protected DMSImpl lookupDMS(String name) {
+		SonarObject so = lookupObject(DMSImpl.SONAR_TYPE, name);
+		return (so instanceof DMSImpl) ? (DMSImpl) so : null;
+	}
+
+	/** Lookup a sign config */
+	static protected SignConfigImpl lookupSignConfig(String name) {
+		SonarObject so = lookupObject(SignConfigImpl.SONAR_TYPE, name);
+		return (so instanceof SignConfigImpl)
+		      ? (SignConfigImpl) so
+		      : null;
+	}
+
+	/** Lookup a sign group */
+	static protected SignGroupImpl lookupSignGroup(String name) {
+		SonarObject so = lookupObject(SignGroupImpl.SONAR_TYPE, name);
+		return (so instanceof SignGroupImpl) ? (SignGroupImpl)so : null;
+	}
+
+	/** Lookup a DMS sign group */
+	static protected DmsSignGroupImpl lookupDmsSignGroup(String name) {
+		SonarObject so = lookupObject(DmsSignGroupImpl.SONAR_TYPE,name);
+		return (so instanceof DmsSignGroupImpl)
+		      ? (DmsSignGroupImpl) so
+		      : null;
+	}
+
+	/** Lookup a quick message */
+	static protected QuickMessageImpl lookupQuickMessage(String name) {
+		SonarObject so = lookupObject(QuickMessageImpl.SONAR_TYPE,name);
+		return (so instanceof QuickMessageImpl)
+		      ? (QuickMessageImpl) so
+		      : null;
+	}
+
+	/** Lookup an LCS */
+	static protected LCSImpl lookupLCS(String name) {
+		SonarObject so = lookupObject(LCSImpl.SONAR_TYPE, name);
+		return (so instanceof LCSImpl) ? (LCSImpl) so : null;
+	}
+
+	/** Lookup an incident detail */
+	static protected IncidentDetailImpl lookupIncDetail(String name) {
+		SonarObject so = lookupObject(IncidentDetailImpl.SONAR_TYPE,
+			name);
+		return (so instanceof IncidentDetailImpl)
+		      ? (IncidentDetailImpl) so
+		      : null;
+	}
+
+	/** Lookup an incident */
+	static protected IncidentImpl lookupIncident(String name) {
+		SonarObject so = lookupObject(IncidentImpl.SONAR_TYPE, name);
+		return (so instanceof IncidentImpl) ? (IncidentImpl) so : null;
+	}
+
+	/** Lookup an action plan */
+	static protected ActionPlanImpl lookupActionPlan(String name) {
+		SonarObject so = lookupObject(ActionPlanImpl.SONAR_TYPE, name);
+		return (so instanceof ActionPlanImpl)
+		      ? (ActionPlanImpl) so
+		      : null;
+	}
+
+	/** Lookup a plan phase */
+	static protected PlanPhaseImpl lookupPlanPhase(String name) {
+		SonarObject so = lookupObject(PlanPhaseImpl.SONAR_TYPE, name);
+		return (so instanceof PlanPhaseImpl) ? (PlanPhaseImpl)so : null;
+	}
+
+	/** Lookup a time action */
+	static protected TimeActionImpl lookupTimeAction(String name) {
+		SonarObject so = lookupObject(TimeActionImpl.SONAR_TYPE, name);
+		return (so instanceof TimeActionImpl)
+		      ? (TimeActionImpl) so
+		      : null;
+	}
+
+	/** Lookup a DMS action */
+	static protected DmsActionImpl lookupDmsAction(String name) {
+		SonarObject so = lookupObject(DmsActionImpl.SONAR_TYPE, name);
+		return (so instanceof DmsActionImpl)
+		      ? (DmsActionImpl) so
+		      : null;
+	}
+
+	/** Lookup an alert config */
+	static protected AlertConfigImpl lookupAlertConfig(String name) {
+		SonarObject so = lookupObject(AlertConfigImpl.SONAR_TYPE, name);
+		return (so instanceof AlertConfigImpl)
+		      ? (AlertConfigImpl) so
+		      : null;
+	}
+
+	/** Lookup an alert info */
+	static protected AlertInfoImpl lookupAlertInfo(String name) {
+		SonarObject so = lookupObject(AlertInfoImpl.SONAR_TYPE, name);
+		return (so instanceof AlertInfoImpl)
+		      ? (AlertInfoImpl) so
+		      : null;
+	}
+
+	/** Lookup an alert message */
+	static protected AlertMessageImpl lookupAlertMessage(String name) {
+		SonarObject so = lookupObject(AlertMessageImpl.SONAR_TYPE,name);
+		return (so instanceof AlertMessageImpl)
+		      ? (AlertMessageImpl) so
+		      : null;
+	}
+
+	/** Get the primary key name */
+	@Override
+	public String getKeyName() {
+		return "name";
+	}
+
+	/** Get the primary key */
+	@Override
+	public String getKey() {
+		return name;
+	}
+
+	/** Base object name */
+	protected final String name;
+
+	/** Get the object name */
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	/** Create a new base object */
+	protected BaseObjectImpl(String n) {
+		// FIXME: validate for SQL injection
+		name = n;
+	}
+
+	/** Get a string representation of the object */
+	@Override
+	public final String toString() {
+		return name;
+	}
+
+	/** Calculate a hash code */
+	@Override
+	public int hashCode() {
+		return name.hashCode();
+	}
+
+	/** Test if the object equals another */
+	@Override
+	public boolean equals(Object o) {
+		if (o instanceof BaseObjectImpl)
+			return name.equals(((BaseObjectImpl) o).name);
+		else
+			return false;
+	}
+
+	/** Store an object */
+	public void doStore() throws TMSException {
+		store.create(this);
+		initTransients();
+	}
+
+	/** Destroy an object */
+	@Override
+	public void destroy() {
+		// Handled by doDestroy() method
+	}
+
+	/** Destroy an object */
+	public void doDestroy() throws TMSException {
+		store.destroy(this);
+	}
+
+	/** Initialize the transient fields */
+	protected void initTransients() throws TMSException {
+		// Override this to initialize new objects
+	}
+
+	/** Get user for current SONAR message processing */
+	public String getProcUser() {
+		Server s = MainServer.server;
+		if (s != null) {
+			String u = s.getProcUser();
+			if (u != null)
+				return u;
+		}
+		return "IRIS user";
+	}
+
+	/** Notify SONAR clients of an object created */
+	public void notifyCreate() throws SonarException {
+		Server s = MainServer.server;
+		if (s != null)
+			s.createObject(this);
+		else
+			namespace.storeObject(this);
+	}
+
+	/** Notify SONAR clients of an object removed */
+	public void notifyRemove() {
+		Server s = MainServer.server;
+		if (s != null)
+			s.removeObject(this);
+	}
+
+	/** Notify SONAR clients of a change to an attribute. Attribute names
+	 *  should use lower camel case instead of underscores (e.g.
+	 *  "someAttribute" instead of "some_attribute").
+	 */
+	protected void notifyAttribute(String aname) {
+		Server s = MainServer.server;
+		if (s != null)
+			s.setAttribute(this, aname);
+	}
+
+	/** Format a float value */
+	static String formatFloat(float value, int digits) {
+		NumberFormat nf = NumberFormat.getNumberInstance();
+		nf.setGroupingUsed(false);
+		nf.setMaximumFractionDigits(digits);
+		return nf.format(value);
+	}
+
+	/** Format a double value */
+	static String formatDouble(double value) {
+		NumberFormat nf = NumberFormat.getNumberInstance();
+		nf.setGroupingUsed(false);
+		nf.setMaximumFractionDigits(5);
+		return nf.format(value);
+	}
+
+	/** Get a Boolean value from a particular column of a ResultSet. Supports
+	 *  returning null values.
+	 */
+	static protected Boolean getBoolean(ResultSet row, int columnIndex)
+			throws SQLException {
+		boolean b = row.getBoolean(columnIndex);
+		if (row.wasNull())
+			return null;
+		return b;
+	}
+
+	/** Get a String array from a particular column of a ResultSet. Guards
+	 *  against null pointer exceptions.
+	 */
+	static protected String[] getStringArray(ResultSet row, int columnIndex)
+			throws SQLException {
+		Array arr = row.getArray(columnIndex);
+		if (!row.wasNull())
+			return (String[]) arr.getArray();
+		return null;
+	}
+
+	/** Get an array representation of a string given a string array.  If
+	 *  the array provided is null, null is returned (instead of the string
+	 *  "null" returned by Arrays.toString(). */
+	static protected String arrayToString(String[] a) {
+		return (a != null)
+		      ? Arrays.toString(a).replace("[", "{").replace("]", "}")
+		      : null;
+	}
+
+	/** Event queue */
+	static EventQueue events;
+
+	/** Log an event */
+	static public void logEvent(BaseEvent ev) {
+		events.add(ev);
+	}
+}
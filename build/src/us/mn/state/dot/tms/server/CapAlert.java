@@ -0,0 +1,341 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ * Copyright (C) 2020  SRF Consulting Group, Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import us.mn.state.dot.sched.DebugLog;
+import us.mn.state.dot.sched.TimeSteward;
+import us.mn.state.dot.sonar.SonarException;
+import us.mn.state.dot.tms.AlertInfo;
+import us.mn.state.dot.tms.AlertInfoHelper;
+import us.mn.state.dot.tms.CapMsgType;
+import us.mn.state.dot.tms.CapScope;
+import us.mn.state.dot.tms.CapStatus;
+import us.mn.state.dot.tms.SystemAttrEnum;
+import us.mn.state.dot.tms.TMSException;
+
+/**
+ * Common Alert Protocol alert.
+ * 
+ * These alerts are unprocessed, directly from a CAP feed, such as IPAWS.
+ * The process method parses alert data to create AlertInfoImpl objects.
+ *
+ * @author Douglas Lau
+ * @author Michael Janson
+ * @author Gordon Parikh
+ */
+public class CapAlert implements Storable {
+
+	/** Alert debug log */
+	static public final DebugLog LOG = new DebugLog("alert");
+
+	/** Database table name */
+	static private final String TABLE = "cap.alert";
+
+	/** SQL state for unique constraint violations */
+	static private final String UNIQUE_VIOLATION = "23505";
+
+	/** Number of threads for preparing alert infos */
+	static private final int GEO_THREADS = 4;
+
+	/** Thread pool for preparing alert infos (geometry tests) */
+	static private final ExecutorService GEO_POOL =
+		Executors.newFixedThreadPool(GEO_THREADS, new ThreadFactory()
+	{
+		private int n_thread = 0;
+		public synchronized Thread newThread(Runnable r) {
+			n_thread++;
+			Thread t = new Thread(r, "alert_geo_" + n_thread);
+			t.setDaemon(true);
+			return t;
+		}
+	});
+
+	/** Get purge threshold (days) */
+	static private int getPurgeDays() {
+		return SystemAttrEnum.CAP_ALERT_PURGE_DAYS.getInt();
+	}
+
+	/** Purge old records */
+	static public void purgeRecords() throws TMSException {
+		int age = getPurgeDays();
+		if (BaseObjectImpl.store != null && age > 0) {
+			BaseObjectImpl.store.update(SQLConnection.Lane.REPORTS,
+				"DELETE FROM " + TABLE +
+				" WHERE receive_date < now() - '" + age +
+				" days'::interval;");
+		}
+	}
+
+	/** Log a message */
+	private void log(String msg) {
+		if (LOG.isOpen())
+			LOG.log("alert " + identifier + ": " + msg);
+	}
+
+	/** CAP alert message identifier */
+	private final String identifier;
+
+	/** Get the alert identifier */
+	public String getIdentifier() {
+		return identifier;
+	}
+
+	/** CAP alert in JSON form */
+	private final JSONObject alert;
+
+	/** Receive date */
+	private final Date receive_date = TimeSteward.getDateInstance();
+
+	/** Flag indicating alert content changed since it was stored */
+	private final boolean changed;
+
+	/** Create a new event.
+	 * @param id CAP alert message identifier.
+	 * @param al Alert in JSON form.
+	 * @param ch Flag indicating content changed since it was stored. */
+	public CapAlert(String id, JSONObject al, boolean ch) {
+		identifier = id;
+		alert = al;
+		changed = ch;
+	}
+
+	/** Create a new event.
+	 * @param id CAP alert message identifier.
+	 * @param al Alert in JSON form. */
+	public CapAlert(String id, JSONObject al) {
+		this(id, al, false);
+	}
+
+	/** Get the database table name */
+	@Override
+	public String getTable() {
+		return TABLE;
+	}
+
+	/** Get the primary key name */
+	@Override
+	public String getKeyName() {
+		return "identifier";
+	}
+
+	/** Get the primary key */
+	@Override
+	public String getKey() {
+		return identifier;
+	}
+
+	/** Get a mapping of the columns */
+	@Override
+	public Map<String, Object> getColumns() {
+		HashMap<String, Object> map = new HashMap<String, Object>();
+		map.put("identifier", identifier);
+		map.put("alert", alert.toString());
+		map.put("receive_date", receive_date);
+		return map;
+	}
+
+	/** Check the alert for relevance to this system and process it for
+	 *  posting.
+	 *
+	 *  Relevance is determined based on whether there is one or more
+	 *  existing AlertConfig objects that match the alert values and
+	 *  whether the alert area(s) encompass any DMS known to the system.
+	 *
+	 *  DMS selection uses cached zone polygons and an in-memory sign
+	 *  index, falling back to PostGIS for very large areas.  Info
+	 *  sections are prepared in parallel, then processed in order.
+	 *  If at least one sign is selected, an ActionPlan object is created
+	 *  to deploy the alert.
+	 *
+	 *  One AlertInfo object is created for each matching AlertConfig,
+	 *  allowing different messages to be posted to different sign types.
+	 *
+	 *  @return false if the alert could not be stored.
+	 */
+	public boolean process() {
+		log("processing");
+		try {
+			if (storeAlert() && checkStatus() && checkScope())
+				processData();
+			return true;
+		}
+		catch (TMSException e) {
+			log("store failed, " + e.getMessage());
+			return false;
+		}
+	}
+
+	/** Store the alert in the database.
+	 * @return true if the alert should be processed. */
+	private boolean storeAlert() throws TMSException {
+		if (changed)
+			return updateAlert();
+		try {
+			BaseObjectImpl.store.create(this);
+			log("stored");
+			return true;
+		}
+		catch (TMSException e) {
+			if (isUniqueViolation(e))
+				return checkStored();
+			else
+				throw e;
+		}
+	}
+
+	/** Check if an exception is a unique constraint violation */
+	static private boolean isUniqueViolation(TMSException e) {
+		Throwable c = e.getCause();
+		return (c instanceof SQLException) && UNIQUE_VIOLATION
+			.equals(((SQLException) c).getSQLState());
+	}
+
+	/** Check an alert which was already stored.  This happens when an
+	 *  alert is first seen after a server restart, since seen digests
+	 *  are only kept in memory.  If the stored content differs, the alert
+	 *  is handled as changed.
+	 *  @return true if the alert should be processed. */
+	private boolean checkStored() throws TMSException {
+		final JSONObject[] stored = new JSONObject[1];
+		BaseObjectImpl.store.queryPrepared(
+			SQLConnection.Lane.INTERACTIVE, "SELECT alert FROM " +
+			TABLE + " WHERE identifier = ?;", new ResultFactory()
+		{
+			public void create(ResultSet row) throws Exception {
+				stored[0] = new JSONObject(row.getString(1));
+			}
+		}, identifier);
+		if (stored[0] != null && stored[0].similar(alert)) {
+			log("already processed");
+			return false;
+		} else
+			return updateAlert();
+	}
+
+	/** Update a changed alert in the database.  Alert infos created from
+	 *  the previous content are cleared, so it can be re-evaluated. */
+	private boolean updateAlert() throws TMSException {
+		BaseObjectImpl.store.update(this, "alert", alert.toString());
+		log("content changed");
+		Iterator<AlertInfo> it = AlertInfoHelper.iterator();
+		while (it.hasNext()) {
+			AlertInfo ai = it.next();
+			if (identifier.equals(ai.getAlert()) &&
+			    ai instanceof AlertInfoImpl)
+			{
+				((AlertInfoImpl) ai).clear();
+				log("clearing alert info " + ai.getName());
+			}
+		}
+		return true;
+	}
+
+	/** Check alert status */
+	private boolean checkStatus() {
+		try {
+			CapStatus status = CapStatus.fromValue(alert.getString(
+				"status"));
+			log("status " + status);
+			return status == CapStatus.ACTUAL;
+		}
+		catch (JSONException e) {
+			log("get status, " + e.getMessage());
+			return false;
+		}
+	}
+
+	/** Check alert scope */
+	private boolean checkScope() {
+		try {
+			CapScope scope = CapScope.fromValue(alert.getString(
+				"scope"));
+			log("scope " + scope);
+			return scope == CapScope.PUBLIC;
+		}
+		catch (JSONException e) {
+			log("get scope, " + e.getMessage());
+			return false;
+		}
+	}
+
+	/** Process alert data */
+	private void processData() {
+		try {
+			ArrayList<Future<AlertData>> futures = prepareData();
+			for (Future<AlertData> f: futures)
+				processData(f);
+		}
+		catch (JSONException e) {
+			log("processData failed, " + e.getMessage());
+		}
+	}
+
+	/** Prepare alert data for all info sections in parallel */
+	private ArrayList<Future<AlertData>> prepareData()
+		throws JSONException
+	{
+		final CapMsgType msg_type = CapMsgType.fromValue(
+			alert.getString("msgType"));
+		final String references = alert.optString("references", "");
+		final String sent = alert.getString("sent");
+		JSONArray infos = alert.getJSONArray("info");
+		ArrayList<Future<AlertData>> futures =
+			new ArrayList<Future<AlertData>>();
+		for (int i = 0; i < infos.length(); i++) {
+			final JSONObject info = infos.getJSONObject(i);
+			futures.add(GEO_POOL.submit(new Callable<AlertData>() {
+				public AlertData call() throws Exception {
+					AlertData data = new AlertData(
+						identifier, msg_type,
+						references, sent, info);
+					data.prepare();
+					return data;
+				}
+			}));
+		}
+		return futures;
+	}
+
+	/** Process prepared alert data, in order of info sections */
+	private void processData(Future<AlertData> f) {
+		try {
+			f.get().process();
+		}
+		catch (InterruptedException | SonarException | TMSException e) {
+			log("processData failed, " + e.getMessage());
+		}
+		catch (ExecutionException e) {
+			Throwable t = e.getCause();
+			log("processData failed, " + t.getMessage());
+		}
+	}
+}
@@ -0,0 +1,363 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.Map;
+import us.mn.state.dot.sched.DebugLog;
+import us.mn.state.dot.sched.TimeSteward;
+import us.mn.state.dot.tms.TMSException;
+
+/**
+ * A connection lane is a small pool of database connections reserved for
+ * one kind of work, so that (for example) a slow report query cannot block
+ * interactive updates.  Each pooled connection has its own prepared
+ * statement cache.
+ *
+ * @author Douglas Lau
+ */
+public class ConnectionLane {
+
+	/** SQL debug log */
+	static private final DebugLog SQL_LOG = new DebugLog("sql");
+
+	/** Maximum number of cached prepared statements per connection */
+	static private final int STMT_CACHE_SIZE = 64;
+
+	/** Time a connection can be idle before a health check (ms) */
+	static private final long HEALTH_CHECK_MS = 60 * 1000;
+
+	/** Timeout for connection health check (seconds) */
+	static private final int HEALTH_TIMEOUT_SEC = 5;
+
+	/** Maximum time to wait for a connection to be released (ms) */
+	static private final long BORROW_TIMEOUT_MS = 30 * 1000;
+
+	/** A pooled connection with a prepared statement cache */
+	public final class Pooled {
+
+		/** JDBC connection */
+		private final Connection connection;
+
+		/** Prepared statement cache (least-recently used order) */
+		private final LinkedHashMap<String, PreparedStatement> stmts =
+			new LinkedHashMap<String, PreparedStatement>(16, 0.75f,
+			true)
+		{
+			protected boolean removeEldestEntry(
+				Map.Entry<String, PreparedStatement> e)
+			{
+				if (!pinned && size() > STMT_CACHE_SIZE) {
+					closeQuietly(e.getValue());
+					return true;
+				}
+				return false;
+			}
+		};
+
+		/** Flag to keep cached statements open (while they may hold
+		 * batched rows) */
+		private boolean pinned = false;
+
+		/** Plain statement for ad-hoc SQL */
+		private Statement statement;
+
+		/** Time of last use */
+		private long used = TimeSteward.currentTimeMillis();
+
+		/** Create a pooled connection */
+		private Pooled(Connection c) {
+			connection = c;
+		}
+
+		/** Get the JDBC connection */
+		public Connection getConnection() {
+			return connection;
+		}
+
+		/** Get a plain statement */
+		public Statement getStatement() throws SQLException {
+			if (null == statement)
+				statement = connection.createStatement();
+			return statement;
+		}
+
+		/** Get (or create) a cached prepared statement */
+		public PreparedStatement prepare(String sql)
+			throws SQLException
+		{
+			PreparedStatement ps = stmts.get(sql);
+			if (null == ps) {
+				ps = connection.prepareStatement(sql);
+				stmts.put(sql, ps);
+			}
+			return ps;
+		}
+
+		/** Pin cached statements, so that none are closed until
+		 * unpinned.  The cache may grow past its size while pinned. */
+		public void pin() {
+			pinned = true;
+		}
+
+		/** Unpin cached statements, closing least-recently used
+		 * statements over the cache size */
+		public void unpin() {
+			pinned = false;
+			Iterator<PreparedStatement> it =
+				stmts.values().iterator();
+			while (stmts.size() > STMT_CACHE_SIZE && it.hasNext()) {
+				closeQuietly(it.next());
+				it.remove();
+			}
+		}
+
+		/** Check if the connection is healthy */
+		private boolean isHealthy() {
+			long now = TimeSteward.currentTimeMillis();
+			if (now - used < check_ms)
+				return true;
+			try {
+				return connection.isValid(HEALTH_TIMEOUT_SEC);
+			}
+			catch (SQLException e) {
+				return false;
+			}
+		}
+
+		/** Close the connection */
+		private void close() {
+			stmts.clear();
+			try {
+				connection.close();
+			}
+			catch (SQLException e) {
+				SQL_LOG.log(name + " close -> " + e);
+			}
+		}
+	}
+
+	/** Close a statement, ignoring errors */
+	static private void closeQuietly(Statement s) {
+		try {
+			s.close();
+		}
+		catch (SQLException e) {
+			// ignore
+		}
+	}
+
+	/** Lane name */
+	public final String name;
+
+	/** SQL connection (for connection parameters) */
+	private final SQLConnection store;
+
+	/** Maximum number of connections */
+	private final int size;
+
+	/** Maximum time to wait for a connection (ms) */
+	private final long timeout_ms;
+
+	/** Idle time before a health check (ms) */
+	private final long check_ms;
+
+	/** Idle connections.
+	 * All access must be synchronized on the "ConnectionLane" lock. */
+	private final LinkedList<Pooled> idle = new LinkedList<Pooled>();
+
+	/** Number of open connections (idle or borrowed) */
+	private int n_open = 0;
+
+	/** Number of completed operations */
+	private long n_ops = 0;
+
+	/** Number of failed operations */
+	private long n_errors = 0;
+
+	/** Number of times a caller waited for a connection */
+	private long n_waits = 0;
+
+	/** Number of times a caller gave up waiting for a connection */
+	private long n_timeouts = 0;
+
+	/** Number of connections replaced after a failed health check */
+	private long n_unhealthy = 0;
+
+	/** Total operation time (ms) */
+	private long total_ms = 0;
+
+	/** Maximum operation time (ms) */
+	private long max_ms = 0;
+
+	/** Create a new connection lane.
+	 * @param s SQL connection.
+	 * @param n Lane name.
+	 * @param sz Maximum number of connections.
+	 * @param to Maximum time to wait for a connection (ms).
+	 * @param cm Idle time before a health check (ms). */
+	ConnectionLane(SQLConnection s, String n, int sz, long to, long cm) {
+		store = s;
+		name = n;
+		size = sz;
+		timeout_ms = to;
+		check_ms = cm;
+	}
+
+	/** Create a new connection lane */
+	public ConnectionLane(SQLConnection s, String n, int sz) {
+		this(s, n, sz, BORROW_TIMEOUT_MS, HEALTH_CHECK_MS);
+	}
+
+	/** Borrow a connection, waiting if all are in use.
+	 * @throws TMSException if no connection is released within the
+	 *         timeout, or a new connection could not be opened. */
+	public Pooled borrow() throws TMSException {
+		Pooled pc = takeIdle();
+		if (pc != null)
+			return pc;
+		try {
+			return new Pooled(store.openConnection());
+		}
+		catch (SQLException e) {
+			synchronized (this) {
+				n_open--;
+				notify();
+			}
+			SQL_LOG.log(name + " open -> " + e);
+			throw new TMSException(e);
+		}
+	}
+
+	/** Take a healthy idle connection, or reserve a new one.
+	 * @return Idle connection, or null if a new one must be opened. */
+	private Pooled takeIdle() throws TMSException {
+		while (true) {
+			Pooled pc = null;
+			synchronized (this) {
+				waitAvailable();
+				if (idle.isEmpty()) {
+					n_open++;
+					return null;
+				}
+				pc = idle.removeLast();
+			}
+			if (pc.isHealthy())
+				return pc;
+			pc.close();
+			synchronized (this) {
+				n_unhealthy++;
+				n_open--;
+			}
+		}
+	}
+
+	/** Wait until a connection is idle or another can be opened */
+	private void waitAvailable() throws TMSException {
+		if (idle.isEmpty() && n_open >= size)
+			n_waits++;
+		long end = TimeSteward.currentTimeMillis() + timeout_ms;
+		while (idle.isEmpty() && n_open >= size) {
+			long ms = end - TimeSteward.currentTimeMillis();
+			if (ms <= 0) {
+				n_timeouts++;
+				throw new TMSException(name +
+					": connection wait timeout");
+			}
+			try {
+				wait(ms);
+			}
+			catch (InterruptedException e) {
+				throw new TMSException(e);
+			}
+		}
+	}
+
+	/** Release a borrowed connection.
+	 * @param pc Pooled connection.
+	 * @param ms Operation time (ms).
+	 * @param ok false if the connection failed (and should be closed). */
+	public void release(Pooled pc, long ms, boolean ok) {
+		pc.used = TimeSteward.currentTimeMillis();
+		if (!ok)
+			pc.close();
+		synchronized (this) {
+			n_ops++;
+			total_ms += ms;
+			max_ms = Math.max(max_ms, ms);
+			if (ok)
+				idle.add(pc);
+			else {
+				n_errors++;
+				n_open--;
+			}
+			notify();
+		}
+	}
+
+	/** Close all idle connections */
+	public void closeIdle() {
+		LinkedList<Pooled> closing = new LinkedList<Pooled>();
+		synchronized (this) {
+			closing.addAll(idle);
+			n_open -= idle.size();
+			idle.clear();
+			notify();
+		}
+		for (Pooled pc: closing)
+			pc.close();
+	}
+
+	/** Get the mean operation latency (ms) */
+	public synchronized float getMeanMs() {
+		return (n_ops > 0) ? (float) total_ms / n_ops : 0;
+	}
+
+	/** Get the maximum operation latency (ms) */
+	public synchronized long getMaxMs() {
+		return max_ms;
+	}
+
+	/** Get the number of failed operations */
+	public synchronized long getErrorCount() {
+		return n_errors;
+	}
+
+	/** Get the number of connection wait timeouts */
+	public synchronized long getTimeoutCount() {
+		return n_timeouts;
+	}
+
+	/** Get the number of unhealthy connections replaced */
+	public synchronized long getUnhealthyCount() {
+		return n_unhealthy;
+	}
+
+	/** Get lane statistics as a string */
+	public synchronized String getStats() {
+		return name + ": open " + n_open + "/" + size +
+			", ops " + n_ops + ", errors " + n_errors +
+			", waits " + n_waits + ", timeouts " + n_timeouts +
+			", unhealthy " + n_unhealthy +
+			", mean " + Math.round(getMeanMs()) + " ms" +
+			", max " + max_ms + " ms";
+	}
+}
@@ -0,0 +1,173 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import us.mn.state.dot.sched.DebugLog;
+import us.mn.state.dot.sched.TimeSteward;
+import us.mn.state.dot.tms.TMSException;
+
+/**
+ * A cursor query reads rows using a server-side cursor, so that only one
+ * block of rows (the fetch size) is in memory at a time.  The query can be
+ * canceled from another thread, which stops it on the database server.
+ *
+ * @author Douglas Lau
+ */
+public class CursorQuery {
+
+	/** SQL debug log */
+	static private final DebugLog SQL_LOG = new DebugLog("sql");
+
+	/** SQL connection */
+	private final SQLConnection store;
+
+	/** Connection lane */
+	private final SQLConnection.Lane lane;
+
+	/** SQL query */
+	private final String sql;
+
+	/** Number of rows to fetch at a time */
+	private final int fetch_size;
+
+	/** Running statement.
+	 * All access must be synchronized on the "CursorQuery" lock. */
+	private Statement stmt;
+
+	/** Flag to indicate query was canceled */
+	private boolean canceled = false;
+
+	/** Number of rows read */
+	private int n_rows = 0;
+
+	/** Create a new cursor query */
+	public CursorQuery(SQLConnection s, SQLConnection.Lane l, String q,
+		int fs)
+	{
+		store = s;
+		lane = l;
+		sql = q;
+		fetch_size = fs;
+	}
+
+	/** Cancel the query */
+	public void cancel() {
+		Statement st;
+		synchronized (this) {
+			canceled = true;
+			st = stmt;
+		}
+		if (st != null) {
+			try {
+				st.cancel();
+			}
+			catch (SQLException e) {
+				SQL_LOG.log("cancel -> " + e);
+			}
+		}
+	}
+
+	/** Check if the query was canceled */
+	public synchronized boolean isCanceled() {
+		return canceled;
+	}
+
+	/** Set the running statement.
+	 * @return false if the query was canceled. */
+	private synchronized boolean setStatement(Statement st) {
+		stmt = st;
+		return !canceled;
+	}
+
+	/** Get the number of rows read */
+	public int getRowCount() {
+		return n_rows;
+	}
+
+	/** Run the query and call a factory for each row.  If the query is
+	 * canceled, this returns normally without reading more rows. */
+	public void run(ResultFactory factory) throws TMSException {
+		ConnectionLane cl = store.getLane(lane);
+		ConnectionLane.Pooled pc = cl.borrow();
+		long start = TimeSteward.currentTimeMillis();
+		boolean ok = false;
+		try {
+			Connection c = pc.getConnection();
+			// A server-side cursor only exists in a transaction
+			c.setAutoCommit(false);
+			try {
+				fetchRows(c, factory);
+			}
+			finally {
+				c.rollback();
+				c.setAutoCommit(true);
+			}
+			ok = true;
+		}
+		catch (TMSException e) {
+			ok = true;
+			throw e;
+		}
+		catch (SQLException e) {
+			// The connection is discarded after a cancel, since
+			// its state is not known
+			if (!isCanceled()) {
+				SQL_LOG.log(sql + " -> " + e);
+				throw new TMSException(e);
+			}
+		}
+		finally {
+			cl.release(pc, TimeSteward.currentTimeMillis() - start,
+				ok);
+		}
+	}
+
+	/** Fetch all rows of the query */
+	private void fetchRows(Connection c, ResultFactory factory)
+		throws SQLException, TMSException
+	{
+		Statement st = c.createStatement(ResultSet.TYPE_FORWARD_ONLY,
+			ResultSet.CONCUR_READ_ONLY);
+		try {
+			if (!setStatement(st))
+				return;
+			st.setFetchSize(fetch_size);
+			ResultSet rs = st.executeQuery(sql);
+			try {
+				while (!isCanceled() && rs.next()) {
+					factory.create(rs);
+					n_rows++;
+				}
+			}
+			catch (SQLException e) {
+				throw e;
+			}
+			catch (Exception e) {
+				throw new TMSException(e);
+			}
+			finally {
+				rs.close();
+			}
+		}
+		finally {
+			setStatement(null);
+			st.close();
+		}
+	}
+}
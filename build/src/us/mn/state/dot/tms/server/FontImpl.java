@@ -0,0 +1,258 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2000-2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.util.HashMap;
+import java.util.Map;
+import us.mn.state.dot.tms.BitmapCache;
+import us.mn.state.dot.tms.ChangeVetoException;
+import us.mn.state.dot.tms.Font;
+import us.mn.state.dot.tms.FontHelper;
+import us.mn.state.dot.tms.TMSException;
+
+/**
+ * The FontImpl class defines all the attributes of a pixel font. These
+ * fonts are used for VMS messages, and are downloaded to NTCIP sign
+ * controllers.
+ *
+ * @author Douglas Lau
+ */
+public class FontImpl extends BaseObjectImpl implements Font {
+
+	/** Load all the fonts */
+	static protected void loadAll() throws TMSException {
+		namespace.registerType(SONAR_TYPE, FontImpl.class);
+		store.query("SELECT name, f_number, height, width, " +
+			"line_spacing, char_spacing, version_id FROM " +
+			"iris." + SONAR_TYPE + ";", new ResultFactory()
+		{
+			public void create(ResultSet row) throws Exception {
+				namespace.addObject(new FontImpl(
+					row.getString(1),	// name
+					row.getInt(2),		// f_number
+					row.getInt(3),		// height
+					row.getInt(4),		// width
+					row.getInt(5),		// line_spacing
+					row.getInt(6),		// char_spacing
+					row.getInt(7)		// version_id
+				));
+			}
+		});
+	}
+
+	/** Get a mapping of the columns */
+	@Override
+	public Map<String, Object> getColumns() {
+		HashMap<String, Object> map = new HashMap<String, Object>();
+		map.put("name", name);
+		map.put("f_number", f_number);
+		map.put("height", height);
+		map.put("width", width);
+		map.put("line_spacing", lineSpacing);
+		map.put("char_spacing", charSpacing);
+		map.put("version_id", versionID);
+		return map;
+	}
+
+	/** Get the database table name */
+	@Override
+	public String getTable() {
+		return "iris." + SONAR_TYPE;
+	}
+
+	/** Get the SONAR type name */
+	@Override
+	public String getTypeName() {
+		return SONAR_TYPE;
+	}
+
+	/** Store an object */
+	@Override
+	public void doStore() throws TMSException {
+		super.doStore();
+		BitmapCache.invalidate();
+	}
+
+	/** Destroy an object */
+	@Override
+	public void doDestroy() throws TMSException {
+		super.doDestroy();
+		BitmapCache.invalidate();
+	}
+
+	/** Create a new font */
+	public FontImpl(String n) {
+		super(n);
+		f_number = FontHelper.findUnusedFontNumber();
+	}
+
+	/** Create a new font */
+	private FontImpl(String n, int num, int h, int w, int ls, int cs,
+		int v)
+	{
+		this(n);
+		f_number = num;
+		height = h;
+		width = w;
+		lineSpacing = ls;
+		charSpacing = cs;
+		versionID = v;
+	}
+
+	/** Font number */
+	private int f_number;
+
+	/** Set the font number */
+	@Override
+	public void setNumber(int n) {
+		f_number = n;
+	}
+
+	/** Set the font number */
+	public void doSetNumber(int n) throws TMSException {
+		if (n != f_number) {
+			store.update(this, "f_number", n);
+			setNumber(n);
+			BitmapCache.invalidate();
+		}
+	}
+
+	/** Get the font number */
+	@Override
+	public int getNumber() {
+		return f_number;
+	}
+
+	/** Font height (in pixels) */
+	private int height = 7;
+
+	/** Set the font height (pixels) */
+	@Override
+	public void setHeight(int h) {
+		height = h;
+	}
+
+	/** Set the font height (pixels) */
+	public void doSetHeight(int h) throws TMSException {
+		if (h != height) {
+			store.update(this, "height", h);
+			setHeight(h);
+			BitmapCache.invalidate();
+		}
+	}
+
+	/** Get the font height (pixels) */
+	@Override
+	public int getHeight() {
+		return height;
+	}
+
+	/** Font width (in pixels) */
+	private int width = 5;
+
+	/** Set the font width (pixels) */
+	@Override
+	public void setWidth(int w) {
+		width = w;
+	}
+
+	/** Set the font width (pixels) */
+	public void doSetWidth(int w) throws TMSException {
+		if (w != width) {
+			store.update(this, "width", w);
+			setWidth(w);
+			BitmapCache.invalidate();
+		}
+	}
+
+	/** Get the font width (pixels) */
+	@Override
+	public int getWidth() {
+		return width;
+	}
+
+	/** Default horizontal spacing between characters (in pixels) */
+	private int charSpacing = 0;
+
+	/** Set the default horizontal spacing between characters (pixels) */
+	@Override
+	public void setCharSpacing(int s) {
+		charSpacing = s;
+	}
+
+	/** Set the default horizontal spacing between characters (pixels) */
+	public void doSetCharSpacing(int s) throws TMSException {
+		if (s != charSpacing) {
+			store.update(this, "char_spacing", s);
+			setCharSpacing(s);
+			BitmapCache.invalidate();
+		}
+	}
+
+	/** Get the default horizontal spacing between characters (pixels) */
+	@Override
+	public int getCharSpacing() {
+		return charSpacing;
+	}
+
+	/** Default vetical spacing between lines (in pixels) */
+	private int lineSpacing = 0;
+
+	/** Set the default vertical spacing between lines (pixels) */
+	@Override
+	public void setLineSpacing(int s) {
+		lineSpacing = s;
+	}
+
+	/** Set the default vertical spacing between lines (pixels) */
+	public void doSetLineSpacing(int s) throws TMSException {
+		if (s != lineSpacing) {
+			store.update(this, "line_spacing", s);
+			setLineSpacing(s);
+			BitmapCache.invalidate();
+		}
+	}
+
+	/** Get the default vertical spacing between lines (pixels) */
+	@Override
+	public int getLineSpacing() {
+		return lineSpacing;
+	}
+
+	/** Font version ID */
+	private int versionID = 0;
+
+	/** Set the font version ID */
+	@Override
+	public void setVersionID(int v) {
+		versionID = v;
+	}
+
+	/** Set the font version ID */
+	public void doSetVersionID(int v) throws TMSException {
+		if (v != versionID) {
+			store.update(this, "version_id", v);
+			setVersionID(v);
+		}
+	}
+
+	/** Get the font version ID */
+	@Override
+	public int getVersionID() {
+		return versionID;
+	}
+}
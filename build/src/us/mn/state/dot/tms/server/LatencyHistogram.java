@@ -0,0 +1,101 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+/**
+ * Histogram of operation latencies, for percentiles.  Latencies below 8 ms
+ * are counted exactly; above that, each power of two is split into 8
+ * buckets, so a percentile is within 12.5% of the true value.  This class
+ * is not thread-safe.
+ *
+ * @author Douglas Lau
+ */
+public final class LatencyHistogram {
+
+	/** Number of bits for sub-buckets */
+	static private final int SUB_BITS = 3;
+
+	/** Number of sub-buckets per power of two */
+	static private final int SUB = 1 << SUB_BITS;
+
+	/** Largest exponent (about 12 days) */
+	static private final int MAX_EXP = 30;
+
+	/** Number of buckets */
+	static private final int N_BUCKETS = (MAX_EXP - SUB_BITS + 2) * SUB;
+
+	/** Get the bucket for a latency (ms) */
+	static private int bucket(long ms) {
+		if (ms < SUB)
+			return (int) Math.max(0, ms);
+		int e = 63 - Long.numberOfLeadingZeros(ms);
+		int sub = (int) (ms >> (e - SUB_BITS)) & (SUB - 1);
+		return Math.min((e - SUB_BITS + 1) * SUB + sub, N_BUCKETS - 1);
+	}
+
+	/** Get the largest latency in a bucket (ms) */
+	static private long upperMs(int b) {
+		if (b < SUB)
+			return b;
+		int sh = b / SUB - 1;
+		long lower = (long) (SUB + b % SUB) << sh;
+		return lower + (1L << sh) - 1;
+	}
+
+	/** Count of latencies in each bucket */
+	private final long[] counts = new long[N_BUCKETS];
+
+	/** Total count of latencies */
+	private long total;
+
+	/** Maximum latency (ms) */
+	private long max_ms;
+
+	/** Record a latency.
+	 * @param ms Latency (ms). */
+	public void record(long ms) {
+		counts[bucket(ms)]++;
+		total++;
+		max_ms = Math.max(max_ms, ms);
+	}
+
+	/** Add all latencies from another histogram */
+	public void add(LatencyHistogram h) {
+		for (int i = 0; i < N_BUCKETS; i++)
+			counts[i] += h.counts[i];
+		total += h.total;
+		max_ms = Math.max(max_ms, h.max_ms);
+	}
+
+	/** Get the total count of latencies */
+	public long getCount() {
+		return total;
+	}
+
+	/** Get a latency percentile.
+	 * @param p Percentile (0 to 1).
+	 * @return Latency at or below which the fraction p of recorded
+	 *         latencies fall (ms), or 0 if none are recorded. */
+	public long getPercentileMs(double p) {
+		long n = Math.max(1, (long) Math.ceil(p * total));
+		long c = 0;
+		for (int i = 0; i < N_BUCKETS; i++) {
+			c += counts[i];
+			if (c >= n)
+				return Math.min(upperMs(i), max_ms);
+		}
+		return max_ms;
+	}
+}
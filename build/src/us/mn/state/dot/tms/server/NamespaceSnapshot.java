@@ -0,0 +1,567 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetFactory;
+import javax.sql.rowset.RowSetProvider;
+import us.mn.state.dot.sched.DebugLog;
+import us.mn.state.dot.sched.TimeSteward;
+import us.mn.state.dot.sonar.ByteBufferInputStream;
+import us.mn.state.dot.tms.TMSException;
+
+/**
+ * Namespace snapshot for fast restart.  Rows returned by single-relation
+ * load queries are cached in a local file, along with the version of each
+ * relation.  A version is built from the change counters (in the
+ * iris.table_change table) of all base tables used by the relation.  Only
+ * tables with a change trigger have a valid counter; tables which are
+ * updated continuously (device status) have no trigger, and are always
+ * loaded with SQL.  On restart, the file is memory-mapped, and cached rows
+ * are only used if the relation version still matches the database; other
+ * queries fall back to SQL.
+ *
+ * @author Douglas Lau
+ */
+public class NamespaceSnapshot {
+
+	/** Snapshot debug log */
+	static private final DebugLog SNAP_LOG = new DebugLog("snapshot");
+
+	/** Default snapshot file */
+	static public final File SNAPSHOT_FILE =
+		new File("/var/lib/iris/namespace.snapshot");
+
+	/** Magic number at start of snapshot file ("IRNS") */
+	static private final int MAGIC = 0x49524E53;
+
+	/** Snapshot file format version */
+	static private final int FORMAT = 1;
+
+	/** Maximum view nesting depth */
+	static private final int MAX_DEPTH = 16;
+
+	/** Pattern to match a relation in a FROM clause */
+	static private final Pattern FROM_RELATION = Pattern.compile(
+		"\\bFROM\\s+(iris\\.\\w+)\\s*(;|WHERE\\b|ORDER\\b|$)",
+		Pattern.CASE_INSENSITIVE);
+
+	/** Pattern to match the FROM keyword */
+	static private final Pattern FROM = Pattern.compile("\\bFROM\\b",
+		Pattern.CASE_INSENSITIVE);
+
+	/** Classes allowed in a snapshot (in addition to packages).  These
+	 * are column value types, plus the types used to serialize a
+	 * CachedRowSet (with its warnings). */
+	static private final HashSet<String> ALLOWED_CLASSES =
+		new HashSet<String>(Arrays.asList(
+		"java.lang.Boolean", "java.lang.Byte", "java.lang.Short",
+		"java.lang.Integer", "java.lang.Long", "java.lang.Float",
+		"java.lang.Double", "java.lang.Number", "java.lang.String",
+		"java.lang.Object", "java.lang.Throwable",
+		"java.lang.Exception", "java.lang.StackTraceElement",
+		"java.math.BigDecimal", "java.math.BigInteger",
+		"java.sql.Date", "java.sql.Time", "java.sql.Timestamp",
+		"java.sql.SQLException", "java.sql.SQLWarning",
+		"java.util.Date", "java.util.Vector", "java.util.Hashtable",
+		"java.util.BitSet", "java.util.ArrayList",
+		"java.util.Collections$EmptyList",
+		"java.util.Collections$UnmodifiableCollection",
+		"java.util.Collections$UnmodifiableList",
+		"java.util.Collections$UnmodifiableRandomAccessList"
+	));
+
+	/** Packages of classes allowed in a snapshot */
+	static private final String[] ALLOWED_PACKAGES = {
+		"javax.sql.rowset.", "com.sun.rowset.",
+		"org.postgresql.util.PG", "org.postgis.",
+	};
+
+	/** Name of trigger which bumps table change counters */
+	static private final String CHANGE_TRIGGER = "table_change_trig";
+
+	/** Parse the relation read by a query.
+	 * @param sql SQL query.
+	 * @return Relation name ("iris.x"), or null if the query could read
+	 *         more than one relation (join or subquery). */
+	static String parseRelation(String sql) {
+		Matcher m = FROM_RELATION.matcher(sql);
+		if (!m.find())
+			return null;
+		String rel = m.group(1).toLowerCase();
+		Matcher f = FROM.matcher(sql);
+		int n_from = 0;
+		while (f.find())
+			n_from++;
+		return (1 == n_from) ? rel : null;
+	}
+
+	/** Check change counters against change triggers.  A counter is only
+	 * valid if its table has a change trigger -- a table which was
+	 * recreated (or never had one) would not bump its counter.
+	 * @param counters Change counters of base tables ("iris.x").
+	 * @param triggered Tables with a change trigger ("iris.x").
+	 * @return Counters of tables with a change trigger. */
+	static Map<String, Long> checkTriggers(Map<String, Long> counters,
+		Set<String> triggered)
+	{
+		HashMap<String, Long> checked = new HashMap<String, Long>();
+		for (Map.Entry<String, Long> e: counters.entrySet()) {
+			if (triggered.contains(e.getKey()))
+				checked.put(e.getKey(), e.getValue());
+			else
+				SNAP_LOG.log("no trigger: " + e.getKey());
+		}
+		return checked;
+	}
+
+	/** Compute relation versions.
+	 * @param counters Change counters of base tables ("iris.x").
+	 * @param uses Relations used by each view.
+	 * @return Version string of each relation which can be cached. */
+	static Map<String, String> computeVersions(Map<String, Long> counters,
+		Map<String, List<String>> uses)
+	{
+		HashMap<String, String> versions = new HashMap<String, String>();
+		for (String rel: counters.keySet())
+			versions.put(rel, relationVersion(rel, counters, uses, 0));
+		for (String view: uses.keySet()) {
+			String v = relationVersion(view, counters, uses, 0);
+			if (v != null)
+				versions.put(view, v);
+		}
+		return versions;
+	}
+
+	/** Get the version of one relation */
+	static private String relationVersion(String rel,
+		Map<String, Long> counters, Map<String, List<String>> uses,
+		int depth)
+	{
+		Long c = counters.get(rel);
+		if (c != null)
+			return rel + ":" + c;
+		List<String> used = uses.get(rel);
+		if (null == used || depth > MAX_DEPTH)
+			return null;
+		TreeSet<String> parts = new TreeSet<String>();
+		for (String u: used) {
+			String v = relationVersion(u, counters, uses, depth + 1);
+			if (null == v)
+				return null;
+			parts.add(v);
+		}
+		StringBuilder sb = new StringBuilder();
+		for (String p: parts) {
+			if (sb.length() > 0)
+				sb.append(',');
+			sb.append(p);
+		}
+		return sb.toString();
+	}
+
+	/** Cached rows of one query */
+	static private final class Entry {
+		private final String relation;
+		private final String version;
+		private final ByteBuffer data;
+		private Entry(String r, String v, ByteBuffer d) {
+			relation = r;
+			version = v;
+			data = d;
+		}
+	}
+
+	/** Object input stream which only resolves allowed classes */
+	static private final class RowInputStream extends ObjectInputStream {
+		private RowInputStream(InputStream is) throws IOException {
+			super(is);
+		}
+		@Override
+		protected Class<?> resolveClass(ObjectStreamClass desc)
+			throws IOException, ClassNotFoundException
+		{
+			String name = desc.getName();
+			boolean array = name.startsWith("[");
+			// Strip array prefix and suffix ("[[Lx;" -> "x")
+			name = name.replaceFirst("^\\[+L?", "")
+			           .replaceFirst(";$", "");
+			boolean primitive = array && name.length() == 1;
+			if (!(primitive || isAllowed(name))) {
+				throw new IOException("Class not allowed: " +
+					desc.getName());
+			}
+			return super.resolveClass(desc);
+		}
+		static private boolean isAllowed(String name) {
+			if (ALLOWED_CLASSES.contains(name))
+				return true;
+			for (String p: ALLOWED_PACKAGES) {
+				if (name.startsWith(p))
+					return true;
+			}
+			return false;
+		}
+	}
+
+	/** Row set factory */
+	private final RowSetFactory row_sets;
+
+	/** Snapshot file */
+	private final File file;
+
+	/** Entries read from the snapshot file, by SQL query */
+	private final ConcurrentHashMap<String, Entry> loaded =
+		new ConcurrentHashMap<String, Entry>();
+
+	/** Current entries, by SQL query */
+	private final ConcurrentHashMap<String, Entry> entries =
+		new ConcurrentHashMap<String, Entry>();
+
+	/** Current relation versions */
+	private volatile Map<String, String> versions =
+		Collections.<String, String>emptyMap();
+
+	/** Count of queries loaded from the snapshot */
+	private final AtomicInteger n_hits = new AtomicInteger();
+
+	/** Count of queries loaded from SQL */
+	private final AtomicInteger n_misses = new AtomicInteger();
+
+	/** Create a new namespace snapshot */
+	public NamespaceSnapshot(File f) throws TMSException {
+		file = f;
+		try {
+			row_sets = RowSetProvider.newFactory();
+		}
+		catch (SQLException e) {
+			throw new TMSException(e);
+		}
+	}
+
+	/** Set the current relation versions */
+	void setVersions(Map<String, String> v) {
+		versions = v;
+	}
+
+	/** Read the current relation versions from the database.  This must
+	 * be done before reading any rows to record, so that a concurrent
+	 * change can only make an entry look stale (never fresh). */
+	public void readVersions(SQLConnection store) {
+		final HashMap<String, Long> counters =
+			new HashMap<String, Long>();
+		final HashMap<String, List<String>> uses =
+			new HashMap<String, List<String>>();
+		final HashSet<String> triggered = new HashSet<String>();
+		try {
+			store.query(SQLConnection.Lane.INTERACTIVE,
+				"SELECT table_name, counter " +
+				"FROM iris.table_change;", new ResultFactory()
+			{
+				public void create(ResultSet row)
+					throws SQLException
+				{
+					counters.put("iris." + row.getString(1),
+						row.getLong(2));
+				}
+			});
+			store.query(SQLConnection.Lane.INTERACTIVE,
+				"SELECT n.nspname || '.' || c.relname " +
+				"FROM pg_trigger t " +
+				"JOIN pg_class c ON t.tgrelid = c.oid " +
+				"JOIN pg_namespace n " +
+				"ON c.relnamespace = n.oid " +
+				"WHERE n.nspname = 'iris' AND t.tgname = '" +
+				CHANGE_TRIGGER + "' AND t.tgenabled != 'D';",
+				new ResultFactory()
+			{
+				public void create(ResultSet row)
+					throws SQLException
+				{
+					triggered.add(row.getString(1));
+				}
+			});
+			store.query(SQLConnection.Lane.INTERACTIVE,
+				"SELECT view_schema || '.' || view_name, " +
+				"table_schema || '.' || table_name " +
+				"FROM information_schema.view_table_usage " +
+				"WHERE view_schema = 'iris';", new ResultFactory()
+			{
+				public void create(ResultSet row)
+					throws SQLException
+				{
+					String view = row.getString(1);
+					List<String> used = uses.get(view);
+					if (null == used) {
+						used = new ArrayList<String>();
+						uses.put(view, used);
+					}
+					used.add(row.getString(2));
+				}
+			});
+			versions = computeVersions(checkTriggers(counters,
+				triggered), uses);
+		}
+		catch (TMSException e) {
+			SNAP_LOG.log("versions -> " + e);
+			versions = Collections.<String, String>emptyMap();
+		}
+	}
+
+	/** Read the snapshot file (memory-mapped).  Any error causes the
+	 * whole snapshot to be ignored. */
+	public void read() {
+		loaded.clear();
+		if (!file.canRead())
+			return;
+		try {
+			RandomAccessFile raf = new RandomAccessFile(file, "r");
+			try {
+				FileChannel fc = raf.getChannel();
+				MappedByteBuffer buf = fc.map(
+					FileChannel.MapMode.READ_ONLY, 0,
+					fc.size());
+				readEntries(buf);
+			}
+			finally {
+				raf.close();
+			}
+			SNAP_LOG.log("read " + loaded.size() + " entries from " +
+				file);
+		}
+		catch (IOException | RuntimeException e) {
+			SNAP_LOG.log("read -> " + e);
+			loaded.clear();
+		}
+	}
+
+	/** Read all entries from a buffer.  Row data is not copied, but left
+	 * as a slice of the (mapped) buffer until it is used. */
+	private void readEntries(ByteBuffer buf) throws IOException {
+		DataInputStream dis = new DataInputStream(
+			new ByteBufferInputStream(buf));
+		if (dis.readInt() != MAGIC || dis.readInt() != FORMAT)
+			throw new IOException("Invalid snapshot file");
+		int n = dis.readInt();
+		for (int i = 0; i < n; i++) {
+			String sql = dis.readUTF();
+			String rel = dis.readUTF();
+			String ver = dis.readUTF();
+			int len = dis.readInt();
+			if (len < 0 || len > buf.remaining())
+				throw new IOException("Invalid entry length");
+			ByteBuffer data = buf.slice();
+			data.limit(len);
+			buf.position(buf.position() + len);
+			loaded.put(sql, new Entry(rel, ver, data));
+		}
+	}
+
+	/** Look up the cached rows of a query.
+	 * @param sql SQL query.
+	 * @return Cached rows, or null if not cached or out of date. */
+	public ResultSet lookup(String sql) {
+		String rel = parseRelation(sql);
+		if (null == rel)
+			return null;
+		Entry e = loaded.get(sql);
+		String ver = versions.get(rel);
+		if (null == e || null == ver || !ver.equals(e.version) ||
+		    !rel.equals(e.relation))
+		{
+			n_misses.incrementAndGet();
+			return null;
+		}
+		try {
+			ResultSet rs = deserialize(e.data);
+			entries.put(sql, e);
+			n_hits.incrementAndGet();
+			return rs;
+		}
+		catch (IOException | ClassNotFoundException ex) {
+			SNAP_LOG.log(rel + " -> " + ex);
+			n_misses.incrementAndGet();
+			return null;
+		}
+	}
+
+	/** Deserialize cached rows */
+	static ResultSet deserialize(ByteBuffer data) throws IOException,
+		ClassNotFoundException
+	{
+		ObjectInputStream ois = new RowInputStream(
+			new ByteBufferInputStream(data.duplicate()));
+		try {
+			return (ResultSet) ois.readObject();
+		}
+		finally {
+			ois.close();
+		}
+	}
+
+	/** Record the rows of a query.  The result set is read completely,
+	 * and a cached copy is returned to be read in its place.
+	 * @param sql SQL query.
+	 * @param rs Result set from the database.
+	 * @return Result set to read. */
+	public ResultSet record(String sql, ResultSet rs) throws SQLException {
+		String rel = parseRelation(sql);
+		String ver = (rel != null) ? versions.get(rel) : null;
+		if (null == ver)
+			return rs;
+		CachedRowSet crs = row_sets.createCachedRowSet();
+		try {
+			crs.populate(rs);
+		}
+		finally {
+			rs.close();
+		}
+		try {
+			byte[] data = serialize(crs);
+			entries.put(sql, new Entry(rel, ver,
+				ByteBuffer.wrap(data)));
+		}
+		catch (IOException e) {
+			// Some column types cannot be cached
+			SNAP_LOG.log(rel + " -> " + e);
+			entries.remove(sql);
+		}
+		crs.beforeFirst();
+		return crs;
+	}
+
+	/** Serialize cached rows */
+	static private byte[] serialize(CachedRowSet crs) throws IOException {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		ObjectOutputStream oos = new ObjectOutputStream(bos);
+		oos.writeObject(crs);
+		oos.close();
+		return bos.toByteArray();
+	}
+
+	/** Finish loading objects.  Entries which were not used are
+	 * dropped. */
+	public void finishLoad() {
+		loaded.clear();
+		SNAP_LOG.log("load hits: " + n_hits.get() + ", misses: " +
+			n_misses.get());
+	}
+
+	/** Get the count of queries loaded from the snapshot */
+	public int getHitCount() {
+		return n_hits.get();
+	}
+
+	/** Get the count of queries loaded from SQL */
+	public int getMissCount() {
+		return n_misses.get();
+	}
+
+	/** Refresh out of date entries, using the reports lane */
+	public void refresh(SQLConnection store) throws TMSException {
+		readVersions(store);
+		ConnectionLane cl = store.getLane(SQLConnection.Lane.REPORTS);
+		for (Map.Entry<String, Entry> me: entries.entrySet()) {
+			String sql = me.getKey();
+			Entry e = me.getValue();
+			String ver = versions.get(e.relation);
+			if (ver != null && ver.equals(e.version))
+				continue;
+			ConnectionLane.Pooled pc = cl.borrow();
+			long start = TimeSteward.currentTimeMillis();
+			boolean ok = false;
+			try {
+				ResultSet rs = pc.getStatement().executeQuery(
+					sql);
+				ok = true;
+				record(sql, rs).close();
+			}
+			catch (SQLException ex) {
+				SNAP_LOG.log(sql + " -> " + ex);
+				entries.remove(sql);
+			}
+			finally {
+				cl.release(pc, TimeSteward.currentTimeMillis() -
+					start, ok);
+			}
+		}
+	}
+
+	/** Write the snapshot file.  A temporary file is written first, then
+	 * renamed, so a partial snapshot is never read. */
+	public void write() throws IOException {
+		File tmp = new File(file.getPath() + ".tmp");
+		ArrayList<Map.Entry<String, Entry>> ents =
+			new ArrayList<Map.Entry<String, Entry>>(
+			entries.entrySet());
+		DataOutputStream dos = new DataOutputStream(
+			new BufferedOutputStream(new FileOutputStream(tmp)));
+		try {
+			dos.writeInt(MAGIC);
+			dos.writeInt(FORMAT);
+			dos.writeInt(ents.size());
+			for (Map.Entry<String, Entry> me: ents) {
+				Entry e = me.getValue();
+				ByteBuffer data = e.data.duplicate();
+				byte[] b = new byte[data.remaining()];
+				data.get(b);
+				dos.writeUTF(me.getKey());
+				dos.writeUTF(e.relation);
+				dos.writeUTF(e.version);
+				dos.writeInt(b.length);
+				dos.write(b);
+			}
+		}
+		finally {
+			dos.close();
+		}
+		Files.move(tmp.toPath(), file.toPath(),
+			StandardCopyOption.REPLACE_EXISTING,
+			StandardCopyOption.ATOMIC_MOVE);
+		SNAP_LOG.log("wrote " + ents.size() + " entries to " + file);
+	}
+}
@@ -0,0 +1,140 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+/**
+ * Poll statistics for one comm link.  Operation success rate and latency
+ * are accumulated over an interval, which is restarted each time the
+ * statistics are formatted.  Totals are also kept since the link was
+ * created.
+ *
+ * @author Douglas Lau
+ */
+public final class PollStats {
+
+	/** Count of successful operations during interval */
+	private int n_success;
+
+	/** Count of failed operations during interval */
+	private int n_failed;
+
+	/** Count of operations with known latency during interval */
+	private int n_timed;
+
+	/** Total latency of timed operations (ms) */
+	private long total_ms;
+
+	/** Maximum latency during interval (ms) */
+	private long max_ms;
+
+	/** Total count of successful operations */
+	private long t_success;
+
+	/** Total count of failed operations */
+	private long t_failed;
+
+	/** Total count of timed operations */
+	private long t_timed;
+
+	/** Total latency of all timed operations (ms) */
+	private long t_total_ms;
+
+	/** Maximum latency of all timed operations (ms) */
+	private long t_max_ms;
+
+	/** Histogram of all timed operation latencies */
+	private final LatencyHistogram t_hist = new LatencyHistogram();
+
+	/** Record a completed operation */
+	public synchronized void record(boolean success) {
+		if (success) {
+			n_success++;
+			t_success++;
+		} else {
+			n_failed++;
+			t_failed++;
+		}
+	}
+
+	/** Record the latency of a completed operation.
+	 * @param ms Time from queueing to completion (ms). */
+	public synchronized void recordLatency(long ms) {
+		n_timed++;
+		total_ms += ms;
+		max_ms = Math.max(max_ms, ms);
+		t_timed++;
+		t_total_ms += ms;
+		t_max_ms = Math.max(t_max_ms, ms);
+		t_hist.record(ms);
+	}
+
+	/** Get the success rate during interval (0 to 1) */
+	public synchronized float getSuccessRate() {
+		int n = n_success + n_failed;
+		return (n > 0) ? (float) n_success / n : 1;
+	}
+
+	/** Get the mean latency during interval (ms) */
+	public synchronized long getMeanLatencyMs() {
+		return (n_timed > 0) ? total_ms / n_timed : 0;
+	}
+
+	/** Get the total count of successful operations */
+	public synchronized long getTotalSuccess() {
+		return t_success;
+	}
+
+	/** Get the total count of failed operations */
+	public synchronized long getTotalFailed() {
+		return t_failed;
+	}
+
+	/** Get the total count of timed operations */
+	public synchronized long getTotalTimed() {
+		return t_timed;
+	}
+
+	/** Get the total latency of all timed operations (ms) */
+	public synchronized long getTotalLatencyMs() {
+		return t_total_ms;
+	}
+
+	/** Get the maximum latency of all timed operations (ms) */
+	public synchronized long getTotalMaxMs() {
+		return t_max_ms;
+	}
+
+	/** Get a copy of the histogram of all timed operation latencies */
+	public synchronized LatencyHistogram getTotalHistogram() {
+		LatencyHistogram h = new LatencyHistogram();
+		h.add(t_hist);
+		return h;
+	}
+
+	/** Format statistics and start a new interval */
+	public synchronized String formatInterval() {
+		String s = "success: " + n_success +
+		           ", failed: " + n_failed +
+		           ", rate: " + Math.round(getSuccessRate() * 100) +
+		           "%, mean_ms: " + getMeanLatencyMs() +
+		           ", max_ms: " + max_ms;
+		n_success = 0;
+		n_failed = 0;
+		n_timed = 0;
+		total_ms = 0;
+		max_ms = 0;
+		return s;
+	}
+}
@@ -0,0 +1,305 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2017-2018  SRF Consulting Group
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+package us.mn.state.dot.tms.server;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import us.mn.state.dot.tms.RptConduit;
+import us.mn.state.dot.tms.TMSException;
+import us.mn.state.dot.tms.reports.RptGenItem;
+import us.mn.state.dot.tms.reports.RptRequest;
+import us.mn.state.dot.tms.server.BaseObjectImpl;
+import us.mn.state.dot.tms.server.reports.RptGen;
+import us.mn.state.dot.tms.server.reports.RptPager;
+
+/**
+ * A RptConduit is a client&lt;-&gt;server communication-channel
+ * for requesting and returning reports.
+ * 
+ * (Note that a RptConduit is a non-persistent SONAR object.)
+ *
+ * Results are sent to the client one page at a time.  The
+ * next page is filled while the client reads the previous
+ * one, but not sent until that page is acknowledged, so the
+ * report query is paused (holding its cursor and transaction
+ * on the cursors lane) while the client catches up.  To
+ * bound how long a transaction can stay open, a report is
+ * canceled if a page is not acknowledged within one minute,
+ * or if the whole report takes more than ten minutes.
+ *
+ * @author John L. Stanley - SRF Consulting
+ */
+public class RptConduitImpl extends BaseObjectImpl
+		implements RptConduit {
+
+	/** Number of result rows per page */
+	static private final int PAGE_ROWS = 2000;
+
+	/** Time to wait for a client to acknowledge a page (ms) */
+	static private final long PAGE_TIMEOUT_MS = 60 * 1000;
+
+	/** Maximum time to generate and send a report (ms) */
+	static private final long REPORT_TIMEOUT_MS = 10 * 60 * 1000;
+
+	/** Get the SONAR type name */
+	public String getTypeName() {
+		return SONAR_TYPE;
+	}
+
+	/** Load all reports from the database (of which there are none...).
+	 * (Just registers the "rpt_conduit" type with the namespace.)
+	 */
+	static protected void loadAll() throws TMSException {
+		namespace.registerType(SONAR_TYPE, RptConduitImpl.class);
+	}
+
+	/** Get the database table name. */
+	@Override
+	public String getTable() {
+		return "iris." + SONAR_TYPE;
+	}
+
+	/** Get a mapping of the columns */
+	@Override
+	public Map<String, Object> getColumns() {
+		HashMap<String, Object> map = new HashMap<String, Object>();
+		map.put("name",     name);
+		map.put("canceled", canceled);
+		map.put("request",  request);
+		map.put("results",  results);
+		return map;
+	}
+
+	//-------------------------------------------
+
+	/** Create a new conduit */
+	public RptConduitImpl(String n) {
+		super(n);
+	}
+
+	//-------------------------------------------
+
+	protected boolean canceled = false;
+
+	/** Lock for canceled, page and generator */
+	private final Object page_lock = new Object();
+
+	/** Currently running report generator */
+	private RptGen generator = null;
+	
+	@Override
+	public void setCanceled(boolean b) {
+		RptGen gen;
+		synchronized (page_lock) {
+			canceled = b;
+			gen = generator;
+			page_lock.notifyAll();
+		}
+		// stop the query on the database server
+		if (b && (gen != null))
+			gen.cancel();
+	}
+
+	@Override
+	public boolean getCanceled() {
+		synchronized (page_lock) {
+			return canceled;
+		}
+	}
+
+	/** Set the currently running report generator */
+	private boolean setGenerator(RptGen gen) {
+		synchronized (page_lock) {
+			generator = gen;
+			return !canceled;
+		}
+	}
+
+	//-------------------------------------------
+	
+	protected String request = null;
+	
+	@Override
+	public void setRequest(String sReq) {
+		request = sReq;
+		if ((sReq == null) || sReq.equals("")) {
+			setresults("{}");
+			return;
+		}
+
+		// generate the report in a new thread
+		Thread t = new Thread() {
+			public void run() {
+				generateReports();
+			}
+		};
+		t.start();
+	}
+
+	@Override
+	public String getRequest() {
+		return request;
+	}
+
+	//-------------------------------------------
+	
+	protected String results = "";
+	
+	@Override
+	public void setresults(String sRes) {
+		results = sRes;
+	}
+
+	/** Set the results */
+	public void doSetresults(String sRes) throws TMSException {
+		if (!results.equals(sRes)) {
+			setresults(sRes);
+		}
+	}
+
+	/** Set the results and notify clients of the change */
+	private void setresultsNotify(String sRes) throws TMSException {
+		doSetresults(sRes);
+		notifyAttribute("results");
+	}
+
+	@Override
+	public String getResults() {
+		return results;
+	}
+
+	//-------------------------------------------
+
+	/** Last page acknowledged by the client */
+	protected int page = 0;
+
+	/** Time limit for the current report */
+	private long report_end = Long.MAX_VALUE;
+
+	@Override
+	public void setPage(int p) {
+		synchronized (page_lock) {
+			page = p;
+			page_lock.notifyAll();
+		}
+	}
+
+	@Override
+	public int getPage() {
+		synchronized (page_lock) {
+			return page;
+		}
+	}
+
+	/** Wait for the client to acknowledge the previous page.
+	 * @return true if the page can be sent. */
+	private boolean waitForAck(int p) {
+		synchronized (page_lock) {
+			long end = Math.min(report_end,
+				System.currentTimeMillis() + PAGE_TIMEOUT_MS);
+			while (!canceled && (page < p - 1)) {
+				long ms = end - System.currentTimeMillis();
+				if (ms <= 0)
+					return false;
+				try {
+					page_lock.wait(ms);
+				}
+				catch (InterruptedException e) {
+					return false;
+				}
+			}
+			return !canceled;
+		}
+	}
+
+	/** Send one page of results to the client */
+	private boolean sendPage(int p, String sPage) {
+		if (!waitForAck(p)) {
+			// client is gone or canceled
+			setCanceled(true);
+			return false;
+		}
+		try {
+			setresultsNotify(sPage);
+			return true;
+		}
+		catch (TMSException e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	//-------------------------------------------
+	
+	protected void generateReports() {
+		synchronized (page_lock) {
+			report_end = System.currentTimeMillis() +
+				REPORT_TIMEOUT_MS;
+		}
+		RptRequest req = new RptRequest();
+		RptPager res = new RptPager(PAGE_ROWS,
+			new RptPager.PageSink()
+		{
+			public boolean sendPage(int p, String sPage) {
+				return RptConduitImpl.this.sendPage(p, sPage);
+			}
+		});
+		RptGen gen;
+
+		// run report generator(s), sending pages as they fill
+		req.initFromReqString(request);
+		for (RptGenItem it : req.getGenItemList()) {
+			if (it.getSelected() && !res.isStopped()) {
+				try {
+					gen = RptGen.newGenerator(it.getGuiName());
+					if (setGenerator(gen))
+						gen.generateReport(store, req, res);
+				} catch (Exception e) {
+					res.addException(e.getMessage());
+				} finally {
+					setGenerator(null);
+				}
+			}
+		}
+
+		// return last page of results
+		if (!getCanceled())
+			res.finish();
+	}
+	
+	//-------------------------------------------
+	// Suppress the following two database operations
+	// (because we have NO database table).
+
+	/** Store an object */
+	@Override
+	public void doStore() throws TMSException {
+		// suppress the following operation
+//		store.create(this);
+		System.out.println("doStore: "+name);
+	}
+
+	/** Destroy an object */
+	@Override
+	public void doDestroy() throws TMSException {
+		// stop any report still being generated
+		setCanceled(true);
+		// suppress the following operation
+//		store.destroy(this);
+		System.out.println("doDestroy: "+name);
+	}
+}
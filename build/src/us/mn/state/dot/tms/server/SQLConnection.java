@@ -0,0 +1,634 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2005-2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import java.util.regex.Matcher;
+import org.postgis.MultiPolygon;
+import us.mn.state.dot.sched.DebugLog;
+import us.mn.state.dot.sched.TimeSteward;
+import us.mn.state.dot.tms.ChangeVetoException;
+import us.mn.state.dot.tms.TMSException;
+
+/**
+ * Simple SQL database abstraction stuff
+ *
+ * @author Douglas Lau
+ */
+public class SQLConnection {
+
+	/** SQL debug log */
+	static private final DebugLog SQL_LOG = new DebugLog("sql");
+
+	/** Pattern to match for a SQL identifier */
+	static private final Pattern SQL_IDENTIFIER =
+		Pattern.compile("[a-z_0-9.]*");
+
+	/** Validate a SQL identifier */
+	static private void validateIdentifier(String sql)
+		throws ChangeVetoException
+	{
+		Matcher m = SQL_IDENTIFIER.matcher(sql);
+		if (!m.matches()) {
+			throw new ChangeVetoException("Invalid SQL identifier: "
+				+ sql);
+		}
+	}
+
+	/** Pattern to match for a SQL string constant value */
+	static private final Pattern SQL_VALUE =
+		Pattern.compile("[[\\p{Graph}\\p{Blank}\n]]*");
+
+	/** Validate a SQL string constant value */
+	static private void validateValue(String v) throws ChangeVetoException {
+		Matcher m = SQL_VALUE.matcher(v);
+		if (!m.matches())
+			throw new ChangeVetoException("Invalid SQL value: " +v);
+	}
+
+	/** Escape a string constant value for SQL */
+	static public String escapeValue(Object value) {
+		return value.toString().replace("'", "''");
+	}
+	
+	/** Prepare a string array for SQL */
+	static String prepareArray(Object value) {
+		if (value != null && (value.getClass().isArray()
+				|| value instanceof List<?>)) {
+			return value.toString().replace("[", "{").replace("]", "}");
+		}
+		return value.toString();
+	}
+
+	/** Get a PostGIS MultiPolygon from a DB query object.
+	 *
+	 * This uses runtime reflection so that the postgres jar is not
+	 * required at build time. */
+	static public MultiPolygon multiPolygon(Object gp) {
+		try {
+			Class<?> cls = gp.getClass();
+			Method getGeometry = cls.getMethod("getGeometry");
+			Object mp = getGeometry.invoke(gp);
+			if (mp instanceof MultiPolygon)
+				return (MultiPolygon) mp;
+		}
+		catch (Exception e) {
+			e.printStackTrace();
+		}
+		return null;
+	}
+
+	/** Location of database server */
+	private final String location;
+
+	/** User to log into database server */
+	private final String user;
+
+	/** Password to log into database server */
+	private final String password;
+
+	/** Connection lanes */
+	public enum Lane {
+		INTERACTIVE(3),	/* object updates and lookups */
+		EVENTS(1),	/* bulk event logging */
+		REPORTS(2),	/* reports, analytics and purging */
+		CURSORS(2),	/* report cursors (held while paging) */
+		LOADER(6);	/* startup loading (2 per loader thread) */
+
+		/** Maximum number of connections */
+		private final int size;
+
+		/** Create a lane */
+		private Lane(int sz) {
+			size = sz;
+		}
+	}
+
+	/** Connection lanes */
+	private final EnumMap<Lane, ConnectionLane> lanes =
+		new EnumMap<Lane, ConnectionLane>(Lane.class);
+
+	/** Write-behind queue for field updates */
+	private final WriteBehindQueue write_queue = new WriteBehindQueue(this);
+
+	/** Namespace snapshot (only set while loading objects) */
+	private volatile NamespaceSnapshot snapshot;
+
+	/** Create a new SQL connection */
+	public SQLConnection(String url, String usr, String pswd)
+		throws TMSException
+	{
+		this(url, usr, pswd, "org.postgresql.Driver");
+	}
+
+	/** Create a new SQL connection.
+	 * @param url Database URL.
+	 * @param usr User name.
+	 * @param pswd Password.
+	 * @param drv JDBC driver class name (null if openConnection is
+	 *            overridden). */
+	SQLConnection(String url, String usr, String pswd, String drv)
+		throws TMSException
+	{
+		try {
+			if (drv != null)
+				Class.forName(drv);
+		}
+		catch (ClassNotFoundException e) {
+			throw new TMSException(e);
+		}
+		location = url;
+		user = usr;
+		password = pswd;
+		for (Lane l: Lane.values()) {
+			lanes.put(l, new ConnectionLane(this,
+				l.name().toLowerCase(), l.size));
+		}
+	}
+
+	/** Open a new connection to the database server */
+	Connection openConnection() throws SQLException {
+		Connection c = DriverManager.getConnection(location, user,
+			password);
+		c.setAutoCommit(true);
+		return c;
+	}
+
+	/** Get a connection lane */
+	public ConnectionLane getLane(Lane l) {
+		return lanes.get(l);
+	}
+
+	/** Get the write-behind queue */
+	public WriteBehindQueue getWriteQueue() {
+		return write_queue;
+	}
+
+	/** Flush all pending field updates */
+	public void flush() {
+		write_queue.flush();
+	}
+
+	/** Set the namespace snapshot to use for queries */
+	public void setSnapshot(NamespaceSnapshot snap) {
+		snapshot = snap;
+	}
+
+	/** Log statistics for all connection lanes */
+	public void debugStats() {
+		if (SQL_LOG.isOpen()) {
+			for (ConnectionLane cl: lanes.values())
+				SQL_LOG.log(cl.getStats());
+			SQL_LOG.log("write queue: depth " +
+				write_queue.getQueueDepth() + ", max " +
+				write_queue.getMaxQueueDepth() +
+				", mean flush " +
+				Math.round(write_queue.getMeanFlushMs()) +
+				" ms, failed " + write_queue.getFailedCount());
+		}
+	}
+
+	/** Flush pending field updates before using a lane.  Only the
+	 * interactive and loader lanes need to see their own writes
+	 * immediately. */
+	private void checkFlush(Lane l) {
+		if (Lane.INTERACTIVE == l || Lane.LOADER == l)
+			write_queue.flush();
+	}
+
+	/** Query the database and call a factory for each result.  While
+	 * loading objects, rows may be read from the namespace snapshot, and
+	 * queries use the loader lane.  A connection is held while the
+	 * factory runs, and factories can make nested queries (mapping
+	 * lookups), so each loader thread may hold two connections.  The
+	 * loader lane must have at least twice as many connections as there
+	 * are loader threads, or all threads could wait forever for a
+	 * nested query connection. */
+	public void query(String sql, ResultFactory factory)
+		throws TMSException
+	{
+		NamespaceSnapshot snap = snapshot;
+		if (snap != null) {
+			ResultSet set = snap.lookup(sql);
+			if (set != null)
+				readResults(set, factory);
+			else
+				query(Lane.LOADER, sql, factory, snap);
+		} else
+			query(Lane.INTERACTIVE, sql, factory, null);
+	}
+
+	/** Query the database on a lane and call a factory for each result */
+	public void query(Lane l, String sql, ResultFactory factory)
+		throws TMSException
+	{
+		query(l, sql, factory, null);
+	}
+
+	/** Query the database on a lane, recording rows in a snapshot */
+	private void query(Lane l, String sql, ResultFactory factory,
+		NamespaceSnapshot snap) throws TMSException
+	{
+		checkFlush(l);
+		ConnectionLane cl = lanes.get(l);
+		ConnectionLane.Pooled pc = cl.borrow();
+		long start = TimeSteward.currentTimeMillis();
+		boolean ok = false;
+		try {
+			ResultSet set = pc.getStatement().executeQuery(sql);
+			if (snap != null)
+				set = snap.record(sql, set);
+			ok = true;
+			readResults(set, factory);
+		}
+		catch (SQLException e) {
+			SQL_LOG.log(sql + " -> " + e);
+			throw new TMSException(e);
+		}
+		finally {
+			cl.release(pc, TimeSteward.currentTimeMillis() - start,
+				ok);
+		}
+	}
+
+	/** Query the database with a cached prepared statement.  Parameters
+	 * are bound with setObject, using their natural SQL types. */
+	public void queryPrepared(Lane l, String sql, ResultFactory factory,
+		Object... params) throws TMSException
+	{
+		checkFlush(l);
+		ConnectionLane cl = lanes.get(l);
+		ConnectionLane.Pooled pc = cl.borrow();
+		long start = TimeSteward.currentTimeMillis();
+		boolean ok = false;
+		try {
+			PreparedStatement ps = pc.prepare(sql);
+			for (int i = 0; i < params.length; i++)
+				ps.setObject(i + 1, params[i]);
+			ResultSet set = ps.executeQuery();
+			ok = true;
+			readResults(set, factory);
+		}
+		catch (SQLException e) {
+			SQL_LOG.log(sql + " -> " + e);
+			throw new TMSException(e);
+		}
+		finally {
+			cl.release(pc, TimeSteward.currentTimeMillis() - start,
+				ok);
+		}
+	}
+
+	/** Read all rows of a result set */
+	private void readResults(ResultSet set, ResultFactory factory)
+		throws TMSException
+	{
+		try {
+			while (set.next())
+				factory.create(set);
+		}
+		catch (Exception e) {
+			throw new TMSException(e);
+		}
+		finally {
+			try {
+				set.close();
+			}
+			catch (SQLException e) {
+				SQL_LOG.log("close -> " + e);
+			}
+		}
+	}
+
+	/** Update the database with the given SQL command */
+	public void update(String sql) throws TMSException {
+		update(Lane.INTERACTIVE, sql);
+	}
+
+	/** Update the database on a lane with the given SQL command */
+	public void update(Lane l, String sql) throws TMSException {
+		checkFlush(l);
+		ConnectionLane cl = lanes.get(l);
+		ConnectionLane.Pooled pc = cl.borrow();
+		long start = TimeSteward.currentTimeMillis();
+		boolean ok = false;
+		try {
+			pc.getStatement().executeUpdate(sql);
+			ok = true;
+		}
+		catch (SQLException e) {
+			SQL_LOG.log(sql + " -> " + e);
+			throw new TMSException(e);
+		}
+		finally {
+			cl.release(pc, TimeSteward.currentTimeMillis() - start,
+				ok);
+		}
+	}
+
+	/** Update the database with a cached prepared statement.
+	 * @return Number of rows affected. */
+	public int updatePrepared(Lane l, String sql, Object... params)
+		throws TMSException
+	{
+		checkFlush(l);
+		ConnectionLane cl = lanes.get(l);
+		ConnectionLane.Pooled pc = cl.borrow();
+		long start = TimeSteward.currentTimeMillis();
+		boolean ok = false;
+		try {
+			PreparedStatement ps = pc.prepare(sql);
+			for (int i = 0; i < params.length; i++)
+				ps.setObject(i + 1, params[i]);
+			int n = ps.executeUpdate();
+			ok = true;
+			return n;
+		}
+		catch (SQLException e) {
+			SQL_LOG.log(sql + " -> " + e);
+			throw new TMSException(e);
+		}
+		finally {
+			cl.release(pc, TimeSteward.currentTimeMillis() - start,
+				ok);
+		}
+	}
+
+	/** Update one field in a storable database table.  The update is
+	 * validated immediately, but written by the write-behind queue.
+	 * Any later query or update on this connection will flush it first. */
+	public void update(Storable s, String field, Object value)
+		throws TMSException
+	{
+		validateIdentifier(field);
+		validateIdentifier(s.getTable());
+		validateIdentifier(s.getKeyName());
+		String key = s.getKey();
+		validateValue(key);
+		String av = null;
+		if (value != null) {
+			av = prepareArray(value);
+			validateValue(av);
+		}
+		write_queue.add(s.getTable(), s.getKeyName(), key, field, av);
+	}
+
+	/** Create one storable record */
+	public void create(Storable s) throws TMSException {
+		Map<String, Object> columns = s.getColumns();
+		StringBuilder keys = new StringBuilder();
+		StringBuilder values = new StringBuilder();
+		for (Map.Entry<String, Object> e: columns.entrySet()) {
+			Object value = e.getValue();
+			if (value != null) {
+				String field = e.getKey();
+				validateIdentifier(field);
+				keys.append(field);
+				keys.append(",");
+				String av = prepareArray(value);
+				String ev = escapeValue(av);
+				
+				validateValue(ev);
+				values.append("'");
+				values.append(ev);
+				values.append("',");
+			}
+		}
+		checkColumns(s, keys);
+		keys.setLength(keys.length() - 1);
+		values.setLength(values.length() - 1);
+		String sql = "INSERT INTO " + s.getTable() + " (" + keys +
+			") VALUES (" + values + ");";
+		update(sql);
+	}
+
+	/** Check that a record has at least one non-null column */
+	static private void checkColumns(Storable s, StringBuilder keys)
+		throws ChangeVetoException
+	{
+		if (keys.length() == 0) {
+			throw new ChangeVetoException("No columns: " +
+				s.getTable());
+		}
+	}
+
+	/** Number of rows per batch of inserts */
+	static private final int BATCH_ROWS = 500;
+
+	/** Build a parameterized INSERT statement for a storable record.
+	 * Null columns are left out, as with create, so they get default
+	 * values.  Columns are sorted, so records of one type with the same
+	 * null columns share a statement.
+	 * @param s Storable record.
+	 * @param values List to add parameter values.
+	 * @return SQL statement. */
+	static String insertSQL(Storable s, List<String> values)
+		throws ChangeVetoException
+	{
+		validateIdentifier(s.getTable());
+		TreeMap<String, Object> columns = new TreeMap<String, Object>(
+			s.getColumns());
+		StringBuilder keys = new StringBuilder();
+		StringBuilder params = new StringBuilder();
+		for (Map.Entry<String, Object> e: columns.entrySet()) {
+			Object value = e.getValue();
+			if (value != null) {
+				String field = e.getKey();
+				validateIdentifier(field);
+				String av = prepareArray(value);
+				validateValue(av);
+				keys.append(field);
+				keys.append(",");
+				params.append("?,");
+				values.add(av);
+			}
+		}
+		checkColumns(s, keys);
+		keys.setLength(keys.length() - 1);
+		params.setLength(params.length() - 1);
+		return "INSERT INTO " + s.getTable() + " (" + keys +
+			") VALUES (" + params + ");";
+	}
+
+	/** Build a parameterized DELETE statement for a storable record.
+	 * @param s Storable record.
+	 * @param values List to add parameter values.
+	 * @return SQL statement. */
+	static private String deleteSQL(Storable s, List<String> values)
+		throws ChangeVetoException
+	{
+		validateIdentifier(s.getTable());
+		validateIdentifier(s.getKeyName());
+		values.add(s.getKey());
+		return "DELETE FROM " + s.getTable() + " WHERE " +
+			s.getKeyName() + " = ?;";
+	}
+
+	/** Create a batch of storable records in one transaction.  Records
+	 * are inserted with batched prepared statements; if any insert
+	 * fails, no records are stored. */
+	public void createBatch(List<? extends Storable> objs)
+		throws TMSException
+	{
+		runBatch("createBatch", objs, true);
+	}
+
+	/** Destroy a batch of storable records in one transaction.  Records
+	 * are deleted in reverse order, so records which refer to earlier
+	 * ones are deleted first.  If any delete fails, no records are
+	 * deleted. */
+	public void destroyBatch(List<? extends Storable> objs)
+		throws TMSException
+	{
+		ArrayList<Storable> rev = new ArrayList<Storable>(objs);
+		Collections.reverse(rev);
+		runBatch("destroyBatch", rev, false);
+	}
+
+	/** Insert or delete a batch of storable records in one transaction */
+	private void runBatch(String op, List<? extends Storable> objs,
+		boolean insert) throws TMSException
+	{
+		checkFlush(Lane.INTERACTIVE);
+		ConnectionLane cl = lanes.get(Lane.INTERACTIVE);
+		ConnectionLane.Pooled pc = cl.borrow();
+		long start = TimeSteward.currentTimeMillis();
+		boolean ok = false;
+		try {
+			Connection c = pc.getConnection();
+			c.setAutoCommit(false);
+			try {
+				writeBatch(c, objs, insert);
+				c.commit();
+			}
+			catch (SQLException | TMSException e) {
+				c.rollback();
+				throw e;
+			}
+			finally {
+				c.setAutoCommit(true);
+			}
+			ok = true;
+		}
+		catch (TMSException e) {
+			ok = true;
+			throw e;
+		}
+		catch (SQLException e) {
+			SQL_LOG.log(op + " -> " + e);
+			SQLException ne = e.getNextException();
+			if (ne != null)
+				SQL_LOG.log(op + " -> " + ne);
+			throw new TMSException(e);
+		}
+		finally {
+			cl.release(pc, TimeSteward.currentTimeMillis() - start,
+				ok);
+		}
+	}
+
+	/** Write a batch of storable record inserts or deletes */
+	private void writeBatch(Connection c, List<? extends Storable> objs,
+		boolean insert) throws SQLException, TMSException
+	{
+		PreparedStatement ps = null;
+		String ps_sql = null;
+		int n_rows = 0;
+		try {
+			for (Storable s: objs) {
+				ArrayList<String> values =
+					new ArrayList<String>();
+				String sql = (insert)
+				           ? insertSQL(s, values)
+				           : deleteSQL(s, values);
+				if (n_rows >= BATCH_ROWS ||
+				    !sql.equals(ps_sql))
+				{
+					if (ps != null) {
+						ps.executeBatch();
+						ps.close();
+					}
+					ps = c.prepareStatement(sql);
+					ps_sql = sql;
+					n_rows = 0;
+				}
+				for (int i = 0; i < values.size(); i++) {
+					ps.setObject(i + 1, values.get(i),
+						Types.OTHER);
+				}
+				ps.addBatch();
+				n_rows++;
+			}
+			if (ps != null)
+				ps.executeBatch();
+		}
+		finally {
+			if (ps != null)
+				ps.close();
+		}
+	}
+
+	/** Destroy one storable record */
+	public void destroy(Storable s) throws TMSException {
+		String esc_val = escapeValue(s.getKey());
+		String val = prepareArray(esc_val);
+		validateValue(val);
+		update("DELETE FROM " + s.getTable() +
+		      " WHERE " + s.getKeyName() + " = '" + val + "';");
+	}
+
+	/** Update the database with a batch of SQL commands */
+	public void batch(BatchFactory f) throws TMSException {
+		write_queue.flush();
+		ConnectionLane cl = lanes.get(Lane.INTERACTIVE);
+		ConnectionLane.Pooled pc = cl.borrow();
+		long start = TimeSteward.currentTimeMillis();
+		boolean ok = false;
+		try {
+			Statement s = pc.getStatement();
+			while (true) {
+				String sql = f.next();
+				if (sql == null)
+					break;
+				s.addBatch(sql);
+			}
+			s.executeBatch();
+			s.clearBatch();
+			ok = true;
+		}
+		catch (SQLException e) {
+			SQL_LOG.log("batch -> " + e);
+			throw new TMSException(e);
+		}
+		finally {
+			cl.release(pc, TimeSteward.currentTimeMillis() - start,
+				ok);
+		}
+	}
+}
@@ -0,0 +1,215 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import us.mn.state.dot.sched.DebugLog;
+import us.mn.state.dot.sched.TimeSteward;
+import us.mn.state.dot.tms.TMSException;
+
+/**
+ * Startup loader for objects stored in the database.  Each type is a step
+ * in a dependency graph, and steps are run on parallel threads as soon as
+ * all of their dependencies have been loaded.
+ *
+ * @author Douglas Lau
+ */
+public class StartupLoader {
+
+	/** Startup loading debug log */
+	static private final DebugLog LOAD_LOG = new DebugLog("load");
+
+	/** A load step */
+	static class Step implements Callable<Step> {
+
+		/** Step key (usually the Impl class) */
+		private final Class<?> key;
+
+		/** Keys of steps which must be loaded first */
+		private final Class<?>[] deps;
+
+		/** Load time (ms) */
+		private long ms;
+
+		/** Create a new load step */
+		public Step(Class<?> k, Class<?>... d) {
+			key = k;
+			deps = d;
+		}
+
+		/** Load the step.  By default, this calls the static
+		 * loadAll method of the key class. */
+		protected void load() throws Exception {
+			Method m = key.getDeclaredMethod("loadAll");
+			m.setAccessible(true);
+			try {
+				m.invoke(null);
+			}
+			catch (InvocationTargetException e) {
+				Throwable t = e.getCause();
+				if (t instanceof Exception)
+					throw (Exception) t;
+				else
+					throw e;
+			}
+		}
+
+		/** Run the step, recording load time */
+		@Override
+		public Step call() throws Exception {
+			long start = TimeSteward.currentTimeMillis();
+			load();
+			ms = TimeSteward.currentTimeMillis() - start;
+			return this;
+		}
+
+		/** Get the step name */
+		public String getName() {
+			return key.getSimpleName();
+		}
+	}
+
+	/** Number of loader threads */
+	private final int n_threads;
+
+	/** All steps, by key */
+	private final LinkedHashMap<Class<?>, Step> steps =
+		new LinkedHashMap<Class<?>, Step>();
+
+	/** Create a new startup loader */
+	public StartupLoader(int n) {
+		n_threads = n;
+	}
+
+	/** Add a step which calls loadAll on a class */
+	public void add(Class<?> k, Class<?>... deps) {
+		add(new Step(k, deps));
+	}
+
+	/** Add a load step */
+	public void add(Step s) {
+		if (steps.containsKey(s.key)) {
+			throw new IllegalArgumentException("Duplicate step: " +
+				s.getName());
+		}
+		steps.put(s.key, s);
+	}
+
+	/** Get the dependent steps for all steps */
+	private HashMap<Class<?>, ArrayList<Step>> findDependents() {
+		HashMap<Class<?>, ArrayList<Step>> dependents =
+			new HashMap<Class<?>, ArrayList<Step>>();
+		for (Step s: steps.values()) {
+			for (Class<?> d: s.deps) {
+				if (!steps.containsKey(d)) {
+					throw new IllegalArgumentException(
+						"Unknown dependency: " +
+						d.getSimpleName() + " of " +
+						s.getName());
+				}
+				ArrayList<Step> dl = dependents.get(d);
+				if (null == dl) {
+					dl = new ArrayList<Step>();
+					dependents.put(d, dl);
+				}
+				dl.add(s);
+			}
+		}
+		return dependents;
+	}
+
+	/** Create a thread factory for loader threads */
+	static private ThreadFactory createThreadFactory() {
+		return new ThreadFactory() {
+			private int n_thread = 0;
+			public synchronized Thread newThread(Runnable r) {
+				n_thread++;
+				Thread t = new Thread(r, "loader_" + n_thread);
+				t.setDaemon(true);
+				return t;
+			}
+		};
+	}
+
+	/** Load all steps, in dependency order */
+	public void run() throws TMSException {
+		HashMap<Class<?>, ArrayList<Step>> dependents =
+			findDependents();
+		HashMap<Class<?>, Integer> waiting =
+			new HashMap<Class<?>, Integer>();
+		ExecutorService pool = Executors.newFixedThreadPool(n_threads,
+			createThreadFactory());
+		ExecutorCompletionService<Step> ecs =
+			new ExecutorCompletionService<Step>(pool);
+		long start = TimeSteward.currentTimeMillis();
+		long total_ms = 0;
+		int running = 0;
+		int n_done = 0;
+		try {
+			for (Step s: steps.values()) {
+				waiting.put(s.key, s.deps.length);
+				if (s.deps.length == 0) {
+					ecs.submit(s);
+					running++;
+				}
+			}
+			while (running > 0) {
+				Step s = ecs.take().get();
+				running--;
+				n_done++;
+				total_ms += s.ms;
+				LOAD_LOG.log(s.getName() + ": " + s.ms + " ms");
+				ArrayList<Step> dl = dependents.get(s.key);
+				if (dl == null)
+					continue;
+				for (Step d: dl) {
+					int w = waiting.get(d.key) - 1;
+					waiting.put(d.key, w);
+					if (0 == w) {
+						ecs.submit(d);
+						running++;
+					}
+				}
+			}
+		}
+		catch (ExecutionException e) {
+			Throwable t = e.getCause();
+			if (t instanceof TMSException)
+				throw (TMSException) t;
+			throw new TMSException(t);
+		}
+		catch (InterruptedException e) {
+			throw new TMSException(e);
+		}
+		finally {
+			pool.shutdownNow();
+		}
+		if (n_done < steps.size())
+			throw new TMSException("Dependency cycle in load steps");
+		long elapsed = TimeSteward.currentTimeMillis() - start;
+		LOAD_LOG.log("loaded " + n_done + " steps in " + elapsed +
+			" ms (sequential sum: " + total_ms + " ms)");
+	}
+}
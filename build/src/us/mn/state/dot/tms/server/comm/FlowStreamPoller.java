@@ -0,0 +1,35 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2020  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm;
+
+import us.mn.state.dot.tms.server.ControllerImpl;
+import us.mn.state.dot.tms.server.FlowStreamImpl;
+
+/**
+ * FlowStreamPoller is an interface for pollers which can configure flow
+ * streams.
+ *
+ * @author Douglas Lau
+ */
+public interface FlowStreamPoller {
+
+	/** Send controller configuration.
+	 * @param c Controller to configure. */
+	void sendConfig(ControllerImpl c);
+
+	/** Send a flow stream setting.
+	 * @param fs Flow stream to configure. */
+	void sendFlow(FlowStreamImpl fs);
+}
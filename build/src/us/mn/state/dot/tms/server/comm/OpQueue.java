@@ -0,0 +1,332 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2000-2021  Minnesota Department of Transportation
+ * Copyright (C) 2017       SRF Consulting Group
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import us.mn.state.dot.sched.TimeSteward;
+import us.mn.state.dot.tms.server.ControllerImpl;
+
+/**
+ * A prioritized queue which sorts Operation objects by their priority
+ * class.  Each priority class is a bucket containing one FIFO of operations
+ * per controller (drop).  Controllers within a bucket are served
+ * round-robin, so that one busy drop cannot starve the others on a
+ * multi-drop link.  A hash index of queued operations is used for duplicate
+ * detection.
+ *
+ * @author Douglas Lau
+ * @author John L. Stanley
+ */
+public final class OpQueue<T extends ControllerProperty> {
+
+	/** Inner class for nodes in the queue */
+	static private final class Node<T extends ControllerProperty> {
+		final OpController<T> operation;
+		final PriorityLevel priority;
+		final long queued;
+		Node(OpController<T> op) {
+			operation = op;
+			priority = op.getPriority();
+			queued = TimeSteward.currentTimeMillis();
+		}
+	}
+
+	/** Priority bucket of nodes, with one FIFO per controller */
+	static private final class Bucket<T extends ControllerProperty> {
+
+		/** Mapping of controller to FIFO of nodes.  Insertion order
+		 * is used to rotate between controllers. */
+		private final LinkedHashMap<ControllerImpl, ArrayDeque<Node<T>>>
+			drops = new LinkedHashMap<ControllerImpl,
+			ArrayDeque<Node<T>>>();
+
+		/** Check if the bucket is empty */
+		boolean isEmpty() {
+			return drops.isEmpty();
+		}
+
+		/** Add a node to the end of its controller FIFO */
+		void add(Node<T> node) {
+			ControllerImpl c = node.operation.getController();
+			ArrayDeque<Node<T>> fifo = drops.get(c);
+			if (fifo == null) {
+				fifo = new ArrayDeque<Node<T>>();
+				drops.put(c, fifo);
+			}
+			fifo.addLast(node);
+		}
+
+		/** Remove the next node.  The controller is moved to the back
+		 * of the rotation if it has more nodes. */
+		Node<T> poll() {
+			Iterator<Map.Entry<ControllerImpl, ArrayDeque<Node<T>>>>
+				it = drops.entrySet().iterator();
+			if (!it.hasNext())
+				return null;
+			Map.Entry<ControllerImpl, ArrayDeque<Node<T>>> ent =
+				it.next();
+			it.remove();
+			ArrayDeque<Node<T>> fifo = ent.getValue();
+			Node<T> node = fifo.pollFirst();
+			if (!fifo.isEmpty())
+				drops.put(ent.getKey(), fifo);
+			return node;
+		}
+
+		/** Remove a specific node */
+		boolean remove(Node<T> node) {
+			ControllerImpl c = node.operation.getController();
+			ArrayDeque<Node<T>> fifo = drops.get(c);
+			if (fifo != null && fifo.removeFirstOccurrence(node)) {
+				if (fifo.isEmpty())
+					drops.remove(c);
+				return true;
+			} else
+				return false;
+		}
+
+		/** Do something to each operation in the bucket */
+		boolean forEach(OpHandler<T> handler) {
+			boolean flag = true;
+			for (ArrayDeque<Node<T>> fifo: drops.values()) {
+				for (Node<T> node: fifo)
+					flag &= handler.handle(node.operation);
+			}
+			return flag;
+		}
+	}
+
+	/** Priority buckets, indexed by priority level ordinal */
+	private final Bucket<T>[] buckets;
+
+	/** Index of queued operations, for duplicate detection.  Each entry
+	 * holds every queued node with an "equal" operation -- more than one
+	 * can be queued only when the earlier ones are done. */
+	private final HashMap<OpController<T>, ArrayList<Node<T>>> index =
+		new HashMap<OpController<T>, ArrayList<Node<T>>>();
+
+	/** Count of queued operations (not including work) */
+	private int n_queued = 0;
+
+	/** Queue statistics */
+	private final OpQueueStats stats = new OpQueueStats();
+
+	/** Get the queue statistics */
+	public OpQueueStats getStats() {
+		return stats;
+	}
+
+	/** Current working operation.  This is needed so that an "equal"
+	 * operation cannot be added while work is in progress. */
+	private OpController<T> work = null;
+
+	/** Flag to tell when the poller is closing */
+	private boolean closing = false;
+
+	/** Create a new operation queue */
+	@SuppressWarnings("unchecked")
+	public OpQueue() {
+		buckets = new Bucket[PriorityLevel.values().length];
+		for (int i = 0; i < buckets.length; i++)
+			buckets[i] = new Bucket<T>();
+	}
+
+	/** Close the queue for new operations */
+	public synchronized void close() {
+		closing = true;
+	}
+
+	/** Check if the queue is open */
+	public boolean isOpen() {
+		return !closing;
+	}
+
+	/** Check if the queue is empty */
+	public synchronized boolean isEmpty() {
+		return (work == null) && (n_queued == 0);
+	}
+
+	/** Check if the queue has any more ops to process.
+	 * (Like isEmpty(), but ignores the current work op.) */
+	public synchronized boolean noMoreOps() {
+		return (n_queued == 0);
+	}
+
+	/** Enqueue a new operation */
+	public synchronized boolean enqueue(OpController<T> op) {
+		if (shouldAdd(op)) {
+			op.begin();
+			add(op);
+			return true;
+		} else
+			return false;
+	}
+
+	/** Check if an operation should be added to the queue */
+	private boolean shouldAdd(OpController<T> op) {
+		return isOpen() && !contains(op);
+	}
+
+	/** Check if the queue contains a given operation */
+	private boolean contains(OpController<T> op) {
+		if (op.equals(work) && !work.isDone())
+			return true;
+		ArrayList<Node<T>> nodes = index.get(op);
+		if (nodes != null) {
+			for (Node<T> node: nodes) {
+				if (!node.operation.isDone())
+					return true;
+			}
+		}
+		return false;
+	}
+
+	/** Add a node to the index */
+	private void indexNode(Node<T> node) {
+		ArrayList<Node<T>> nodes = index.get(node.operation);
+		if (nodes == null) {
+			nodes = new ArrayList<Node<T>>(1);
+			index.put(node.operation, nodes);
+		}
+		nodes.add(node);
+	}
+
+	/** Remove a node from the index */
+	private void unindexNode(Node<T> node) {
+		ArrayList<Node<T>> nodes = index.get(node.operation);
+		if (nodes != null) {
+			nodes.remove(node);
+			if (nodes.isEmpty())
+				index.remove(node.operation);
+		}
+	}
+
+	/** Find the queued node for an operation (not just an equal one) */
+	private Node<T> findNode(OpController<T> op) {
+		ArrayList<Node<T>> nodes = index.get(op);
+		if (nodes != null) {
+			for (Node<T> node: nodes) {
+				if (node.operation == op)
+					return node;
+			}
+		}
+		return null;
+	}
+
+	/** Add an operation to the queue */
+	private void add(OpController<T> op) {
+		Node<T> node = new Node<T>(op);
+		buckets[node.priority.ordinal()].add(node);
+		indexNode(node);
+		n_queued++;
+		stats.enqueued(n_queued);
+		notify();
+	}
+
+	/** Requeue an in-progress operation */
+	public synchronized boolean requeue(OpController<T> op) {
+		if ((remove(op) == op) && isOpen()) {
+			add(op);
+			return true;
+		} else
+			return false;
+	}
+
+	/** Remove an operation from the queue */
+	private OpController<T> remove(OpController<T> op) {
+		if (op == work) {
+			work = null;
+			return op;
+		}
+		Node<T> node = findNode(op);
+		if (node != null) {
+			buckets[node.priority.ordinal()].remove(node);
+			unindexNode(node);
+			n_queued--;
+			return op;
+		}
+		return null;
+	}
+
+	/** Remove the highest priority node from the queue */
+	private Node<T> pollNode() {
+		for (Bucket<T> bucket: buckets) {
+			Node<T> node = bucket.poll();
+			if (node != null) {
+				unindexNode(node);
+				n_queued--;
+				stats.dequeued(n_queued,
+					TimeSteward.currentTimeMillis() -
+					node.queued);
+				return node;
+			}
+		}
+		return null;
+	}
+
+	/** Get the next operation from the queue (and remove it).
+	 * Waits until an operation is added, the timeout expires or the thread
+	 * is interrupted (destroyed).
+	 * @param idle_ms Idle timeout (ms); 0 indicates no timeout.
+	 * @return Operation at front of queue.
+	 * @throws DisconnectException If idle timeout expires or comm thread is
+	 *                             destroyed. */
+	public synchronized OpController<T> next(long idle_ms)
+		throws DisconnectException
+	{
+		work = null;
+		while (0 == n_queued) {
+			try {
+				wait(idle_ms);
+			}
+			catch (InterruptedException e) {
+				throw new DisconnectException("DESTROYED");
+			}
+			if (idle_ms > 0 && 0 == n_queued) {
+				// Empty msg (status) doesn't fail controllers
+				throw new DisconnectException("");
+			}
+		}
+		work = pollNode().operation;
+		return work;
+	}
+
+	/** Get the next operation from the queue (and remove it).
+	 * If there's no op in the queue, immediately return null. */
+	public synchronized OpController<T> tryNext() {
+		OpController<T> w = work;
+		if (w != null) {
+			work = null;
+			return w;
+		}
+		Node<T> node = pollNode();
+		return (node != null) ? node.operation : null;
+	}
+
+	/** Do something to each operation in the queue */
+	public synchronized boolean forEach(OpHandler<T> handler) {
+		OpController<T> w = work;
+		boolean flag = (w != null) ? handler.handle(w) : true;
+		for (Bucket<T> bucket: buckets)
+			flag &= bucket.forEach(handler);
+		return flag;
+	}
+}
@@ -0,0 +1,81 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm;
+
+/**
+ * Operation queue statistics for one comm link.  Depth and wait time are
+ * accumulated over an interval, which is restarted each time the
+ * statistics are formatted.
+ *
+ * @author Douglas Lau
+ */
+public final class OpQueueStats {
+
+	/** Current queue depth */
+	private int depth;
+
+	/** Maximum queue depth during interval */
+	private int max_depth;
+
+	/** Count of operations dequeued during interval */
+	private int n_ops;
+
+	/** Total wait time of dequeued operations (ms) */
+	private long total_wait_ms;
+
+	/** Maximum wait time during interval (ms) */
+	private long max_wait_ms;
+
+	/** Record an operation added to the queue.
+	 * @param d Queue depth after adding. */
+	public synchronized void enqueued(int d) {
+		depth = d;
+		max_depth = Math.max(max_depth, d);
+	}
+
+	/** Record an operation removed from the queue.
+	 * @param d Queue depth after removing.
+	 * @param wait_ms Time the operation waited in the queue (ms). */
+	public synchronized void dequeued(int d, long wait_ms) {
+		depth = d;
+		n_ops++;
+		total_wait_ms += wait_ms;
+		max_wait_ms = Math.max(max_wait_ms, wait_ms);
+	}
+
+	/** Get the current queue depth */
+	public synchronized int getDepth() {
+		return depth;
+	}
+
+	/** Get the mean wait time during interval (ms) */
+	public synchronized long getMeanWaitMs() {
+		return (n_ops > 0) ? total_wait_ms / n_ops : 0;
+	}
+
+	/** Format statistics and start a new interval */
+	public synchronized String formatInterval() {
+		String s = "depth: " + depth +
+		           ", max_depth: " + max_depth +
+		           ", ops: " + n_ops +
+		           ", mean_wait_ms: " + getMeanWaitMs() +
+		           ", max_wait_ms: " + max_wait_ms;
+		max_depth = depth;
+		n_ops = 0;
+		total_wait_ms = 0;
+		max_wait_ms = 0;
+		return s;
+	}
+}
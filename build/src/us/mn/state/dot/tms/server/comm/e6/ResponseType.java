@@ -0,0 +1,52 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2015  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm.e6;
+
+/**
+ * E6 response types.
+ *
+ * @author Douglas Lau
+ */
+public enum ResponseType {
+	SYNCHRONOUS		(0x8000),
+	ASYNCHRONOUS		(0x4000),
+	UNSOLICITED		(0x2000);
+
+	/** Create a new response type */
+	private ResponseType(int b) {
+		bits = b;
+	}
+
+	/** Bits for response type */
+	public int bits;
+
+	/** Get the bits for all response types */
+	static private int type_bits() {
+		int b = 0;
+		for (ResponseType rt: values())
+			b |= rt.bits;
+		return b;
+	}
+
+	/** Lookup the response type for a response */
+	static public ResponseType lookup(int b) {
+		int t_bits = b & type_bits();
+		for (ResponseType rt: values()) {
+			if ((rt.bits & t_bits) == rt.bits)
+				return rt;
+		}
+		return null;
+	}
+}
@@ -0,0 +1,356 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.utils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A parsed MULTI string.  The MULTI text is parsed once into an immutable
+ * list of tokens, one for each Multi callback, which can be replayed onto
+ * any Multi.  Parsed strings are interned in a bounded LRU cache, and query
+ * results which depend only on the MULTI text are memoized.
+ *
+ * @author Douglas Lau
+ */
+final class ParsedMulti {
+
+	/** Maximum number of interned MULTI strings */
+	static private final int MAX_INTERNED = 4096;
+
+	/** Interned MULTI strings.
+	 * All access must be synchronized on the "interned" lock. */
+	static private final LinkedHashMap<String, ParsedMulti> interned =
+		new LinkedHashMap<String, ParsedMulti>(256, 0.75f, true)
+	{
+		@Override
+		protected boolean removeEldestEntry(
+			Map.Entry<String, ParsedMulti> e)
+		{
+			return size() > MAX_INTERNED;
+		}
+	};
+
+	/** Count of interned lookups which hit the cache */
+	static private long n_hits;
+
+	/** Count of interned lookups which missed the cache */
+	static private long n_misses;
+
+	/** Lookup (or parse) a MULTI string */
+	static ParsedMulti lookup(String multi) {
+		synchronized (interned) {
+			ParsedMulti pm = interned.get(multi);
+			if (pm != null) {
+				n_hits++;
+				return pm;
+			}
+			n_misses++;
+		}
+		ParsedMulti pm = new ParsedMulti(multi);
+		synchronized (interned) {
+			interned.put(multi, pm);
+		}
+		return pm;
+	}
+
+	/** Get the interned cache hit rate (0 to 1) */
+	static float getHitRate() {
+		synchronized (interned) {
+			long n = n_hits + n_misses;
+			return (n > 0) ? (float) n_hits / n : 0;
+		}
+	}
+
+	/** Token op codes, one for each Multi callback */
+	static private final int UNSUPPORTED_TAG = 0;
+	static private final int SPAN = 1;
+	static private final int COLOR_BACKGROUND = 2;
+	static private final int PAGE_BACKGROUND = 3;
+	static private final int PAGE_BACKGROUND_RGB = 4;
+	static private final int COLOR_FOREGROUND = 5;
+	static private final int COLOR_FOREGROUND_RGB = 6;
+	static private final int COLOR_RECTANGLE = 7;
+	static private final int COLOR_RECTANGLE_RGB = 8;
+	static private final int FONT = 9;
+	static private final int GRAPHIC = 10;
+	static private final int JUSTIFICATION_LINE = 11;
+	static private final int JUSTIFICATION_PAGE = 12;
+	static private final int LINE = 13;
+	static private final int PAGE = 14;
+	static private final int PAGE_TIMES = 15;
+	static private final int CHAR_SPACING = 16;
+	static private final int TEXT_RECTANGLE = 17;
+	static private final int TRAVEL_TIME = 18;
+	static private final int SPEED_ADVISORY = 19;
+	static private final int CLEAR_GUIDE_ADVISORY = 20;
+	static private final int SLOW_WARNING = 21;
+	static private final int FEED = 22;
+	static private final int TOLLING = 23;
+	static private final int PARKING = 24;
+	static private final int TIME_ACTION = 25;
+	static private final int LOCATOR = 26;
+
+	/** One parsed token */
+	static private final class Token {
+		private final int op;
+		private final Object[] args;
+		private Token(int o, Object[] a) {
+			op = o;
+			args = a;
+		}
+		private int i(int n) {
+			return (Integer) args[n];
+		}
+		private Integer n(int n) {
+			return (Integer) args[n];
+		}
+		private String s(int n) {
+			return (String) args[n];
+		}
+	}
+
+	/** Recorder to create tokens from parser callbacks */
+	static private final class Recorder implements Multi {
+		private final ArrayList<Token> tokens = new ArrayList<Token>();
+		private void add(int op, Object... args) {
+			tokens.add(new Token(op, args));
+		}
+		@Override public void unsupportedTag(String tag) {
+			add(UNSUPPORTED_TAG, tag);
+		}
+		@Override public void addSpan(String span) {
+			add(SPAN, span);
+		}
+		@Override public void setColorBackground(Integer x) {
+			add(COLOR_BACKGROUND, x);
+		}
+		@Override public void setPageBackground(Integer x) {
+			add(PAGE_BACKGROUND, x);
+		}
+		@Override public void setPageBackground(int r, int g, int b) {
+			add(PAGE_BACKGROUND_RGB, r, g, b);
+		}
+		@Override public void setColorForeground(Integer x) {
+			add(COLOR_FOREGROUND, x);
+		}
+		@Override public void setColorForeground(int r, int g, int b) {
+			add(COLOR_FOREGROUND_RGB, r, g, b);
+		}
+		@Override public void addColorRectangle(int x, int y, int w,
+			int h, int z)
+		{
+			add(COLOR_RECTANGLE, x, y, w, h, z);
+		}
+		@Override public void addColorRectangle(int x, int y, int w,
+			int h, int r, int g, int b)
+		{
+			add(COLOR_RECTANGLE_RGB, x, y, w, h, r, g, b);
+		}
+		@Override public void setFont(Integer f_num, String f_id) {
+			add(FONT, f_num, f_id);
+		}
+		@Override public void addGraphic(int g_num, Integer x,
+			Integer y, String g_id)
+		{
+			add(GRAPHIC, g_num, x, y, g_id);
+		}
+		@Override public void setJustificationLine(JustificationLine jl)
+		{
+			add(JUSTIFICATION_LINE, jl);
+		}
+		@Override public void setJustificationPage(JustificationPage jp)
+		{
+			add(JUSTIFICATION_PAGE, jp);
+		}
+		@Override public void addLine(Integer spacing) {
+			add(LINE, spacing);
+		}
+		@Override public void addPage() {
+			add(PAGE);
+		}
+		@Override public void setPageTimes(Integer pt_on,
+			Integer pt_off)
+		{
+			add(PAGE_TIMES, pt_on, pt_off);
+		}
+		@Override public void setCharSpacing(Integer sc) {
+			add(CHAR_SPACING, sc);
+		}
+		@Override public void setTextRectangle(int x, int y, int w,
+			int h)
+		{
+			add(TEXT_RECTANGLE, x, y, w, h);
+		}
+		@Override public void addTravelTime(String sid,
+			OverLimitMode mode, String o_txt)
+		{
+			add(TRAVEL_TIME, sid, mode, o_txt);
+		}
+		@Override public void addSpeedAdvisory() {
+			add(SPEED_ADVISORY);
+		}
+		@Override public void addClearGuideAdvisory(String dms,
+			int rid, int tsp, String mode, int ridx)
+		{
+			add(CLEAR_GUIDE_ADVISORY, dms, rid, tsp, mode, ridx);
+		}
+		@Override public void addSlowWarning(int spd, int dist,
+			String mode)
+		{
+			add(SLOW_WARNING, spd, dist, mode);
+		}
+		@Override public void addFeed(String fid) {
+			add(FEED, fid);
+		}
+		@Override public void addTolling(String mode, String[] zones) {
+			add(TOLLING, mode, zones);
+		}
+		@Override public void addParking(String pid, String l_txt,
+			String c_txt)
+		{
+			add(PARKING, pid, l_txt, c_txt);
+		}
+		@Override public void addTimeAction(String dir, String format) {
+			add(TIME_ACTION, dir, format);
+		}
+		@Override public void addLocator(String code) {
+			add(LOCATOR, code);
+		}
+	}
+
+	/** Parsed tokens */
+	private final Token[] tokens;
+
+	/** Memoized validity (computed by MultiString) */
+	volatile Boolean valid;
+
+	/** Memoized blank flag (computed by MultiString) */
+	volatile Boolean blank;
+
+	/** Memoized normalized MULTI (computed by MultiString) */
+	volatile String normalized;
+
+	/** Memoized number of pages (computed by MultiString) */
+	volatile int n_pages = 0;
+
+	/** Parse a MULTI string */
+	private ParsedMulti(String multi) {
+		Recorder rec = new Recorder();
+		MultiString.parseText(multi, rec);
+		tokens = rec.tokens.toArray(new Token[0]);
+	}
+
+	/** Replay all tokens onto a Multi callback */
+	void replay(Multi cb) {
+		for (Token t: tokens)
+			replay(t, cb);
+	}
+
+	/** Replay one token onto a Multi callback */
+	static private void replay(Token t, Multi cb) {
+		switch (t.op) {
+		case UNSUPPORTED_TAG:
+			cb.unsupportedTag(t.s(0));
+			break;
+		case SPAN:
+			cb.addSpan(t.s(0));
+			break;
+		case COLOR_BACKGROUND:
+			cb.setColorBackground(t.n(0));
+			break;
+		case PAGE_BACKGROUND:
+			cb.setPageBackground(t.n(0));
+			break;
+		case PAGE_BACKGROUND_RGB:
+			cb.setPageBackground(t.i(0), t.i(1), t.i(2));
+			break;
+		case COLOR_FOREGROUND:
+			cb.setColorForeground(t.n(0));
+			break;
+		case COLOR_FOREGROUND_RGB:
+			cb.setColorForeground(t.i(0), t.i(1), t.i(2));
+			break;
+		case COLOR_RECTANGLE:
+			cb.addColorRectangle(t.i(0), t.i(1), t.i(2), t.i(3),
+				t.i(4));
+			break;
+		case COLOR_RECTANGLE_RGB:
+			cb.addColorRectangle(t.i(0), t.i(1), t.i(2), t.i(3),
+				t.i(4), t.i(5), t.i(6));
+			break;
+		case FONT:
+			cb.setFont(t.n(0), t.s(1));
+			break;
+		case GRAPHIC:
+			cb.addGraphic(t.i(0), t.n(1), t.n(2), t.s(3));
+			break;
+		case JUSTIFICATION_LINE:
+			cb.setJustificationLine(
+				(Multi.JustificationLine) t.args[0]);
+			break;
+		case JUSTIFICATION_PAGE:
+			cb.setJustificationPage(
+				(Multi.JustificationPage) t.args[0]);
+			break;
+		case LINE:
+			cb.addLine(t.n(0));
+			break;
+		case PAGE:
+			cb.addPage();
+			break;
+		case PAGE_TIMES:
+			cb.setPageTimes(t.n(0), t.n(1));
+			break;
+		case CHAR_SPACING:
+			cb.setCharSpacing(t.n(0));
+			break;
+		case TEXT_RECTANGLE:
+			cb.setTextRectangle(t.i(0), t.i(1), t.i(2), t.i(3));
+			break;
+		case TRAVEL_TIME:
+			cb.addTravelTime(t.s(0),
+				(Multi.OverLimitMode) t.args[1], t.s(2));
+			break;
+		case SPEED_ADVISORY:
+			cb.addSpeedAdvisory();
+			break;
+		case CLEAR_GUIDE_ADVISORY:
+			cb.addClearGuideAdvisory(t.s(0), t.i(1), t.i(2),
+				t.s(3), t.i(4));
+			break;
+		case SLOW_WARNING:
+			cb.addSlowWarning(t.i(0), t.i(1), t.s(2));
+			break;
+		case FEED:
+			cb.addFeed(t.s(0));
+			break;
+		case TOLLING:
+			String[] zones = (String[]) t.args[1];
+			cb.addTolling(t.s(0), zones.clone());
+			break;
+		case PARKING:
+			cb.addParking(t.s(0), t.s(1), t.s(2));
+			break;
+		case TIME_ACTION:
+			cb.addTimeAction(t.s(0), t.s(1));
+			break;
+		case LOCATOR:
+			cb.addLocator(t.s(0));
+			break;
+		}
+	}
+}
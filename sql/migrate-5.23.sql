@@ -115,4 +115,142 @@ CREATE VIEW dms_message_view AS
 	LEFT JOIN iris.sign_message s ON d.msg_current = s.name;
 GRANT SELECT ON dms_message_view TO PUBLIC;
 
+-- Add sample_frame sonar type
+INSERT INTO iris.sonar_type (name) VALUES ('sample_frame');
+
+INSERT INTO iris.privilege (name, capability, type_n, write) VALUES
+	('PRV_00A0', 'sensor_tab', 'sample_frame', false);
+
+-- Partition comm_event and sign_event by event_date
+DROP VIEW comm_event_view;
+DROP VIEW recent_sign_event_view;
+DROP VIEW sign_event_view;
+
+ALTER TABLE event.comm_event RENAME TO comm_event_old;
+ALTER TABLE event.comm_event_old
+	RENAME CONSTRAINT comm_event_pkey TO comm_event_old_pkey;
+
+CREATE TABLE event.comm_event (
+	event_id INTEGER NOT NULL DEFAULT nextval('event.event_id_seq'),
+	event_date TIMESTAMP WITH time zone NOT NULL,
+	event_desc_id INTEGER NOT NULL
+		REFERENCES event.event_description(event_desc_id),
+	controller VARCHAR(20) NOT NULL REFERENCES iris.controller(name)
+		ON DELETE CASCADE,
+	device_id VARCHAR(20),
+	PRIMARY KEY (event_id, event_date)
+) PARTITION BY RANGE (event_date);
+
+-- Existing rows are kept in a history partition, bounded by the day after
+-- migration, so they never need to be scanned when daily partitions are
+-- created.  It is attached before the default partition exists.
+DO $$
+DECLARE
+	cutover DATE := CURRENT_DATE + 1;
+	hist TEXT := 'comm_event_before_' || to_char(cutover, 'YYYYMMDD');
+BEGIN
+	EXECUTE format('ALTER TABLE event.comm_event_old RENAME TO %I', hist);
+	EXECUTE format('ALTER TABLE event.comm_event ATTACH PARTITION '
+		'event.%I FOR VALUES FROM (MINVALUE) TO (%L)', hist, cutover);
+END $$;
+
+-- Daily partitions are created (and dropped) by the server
+CREATE TABLE event.comm_event_default PARTITION OF event.comm_event DEFAULT;
+
+CREATE VIEW comm_event_view AS
+	SELECT e.event_id, e.event_date, ed.description, e.controller,
+	       c.comm_link, c.drop_id
+	FROM event.comm_event e
+	JOIN event.event_description ed ON e.event_desc_id = ed.event_desc_id
+	LEFT JOIN iris.controller c ON e.controller = c.name;
+GRANT SELECT ON comm_event_view TO PUBLIC;
+
+ALTER TABLE event.sign_event RENAME TO sign_event_old;
+ALTER TABLE event.sign_event_old
+	RENAME CONSTRAINT sign_event_pkey TO sign_event_old_pkey;
+ALTER INDEX event.sign_event_event_date_idx
+	RENAME TO sign_event_old_event_date_idx;
+
+CREATE TABLE event.sign_event (
+	event_id INTEGER NOT NULL DEFAULT nextval('event.event_id_seq'),
+	event_date TIMESTAMP WITH time zone NOT NULL,
+	event_desc_id INTEGER NOT NULL
+		REFERENCES event.event_description(event_desc_id),
+	device_id VARCHAR(20),
+	message text,
+	owner VARCHAR(16),
+	PRIMARY KEY (event_id, event_date)
+) PARTITION BY RANGE (event_date);
+CREATE INDEX ON event.sign_event(event_date);
+
+-- Existing rows are kept in a history partition (as with comm_event)
+DO $$
+DECLARE
+	cutover DATE := CURRENT_DATE + 1;
+	hist TEXT := 'sign_event_before_' || to_char(cutover, 'YYYYMMDD');
+BEGIN
+	EXECUTE format('ALTER TABLE event.sign_event_old RENAME TO %I', hist);
+	EXECUTE format('ALTER TABLE event.sign_event ATTACH PARTITION '
+		'event.%I FOR VALUES FROM (MINVALUE) TO (%L)', hist, cutover);
+END $$;
+
+-- Daily partitions are created (and dropped) by the server
+CREATE TABLE event.sign_event_default PARTITION OF event.sign_event DEFAULT;
+
+CREATE VIEW sign_event_view AS
+	SELECT event_id, event_date, description, device_id,
+	       regexp_replace(replace(replace(message, '[nl]', E'\n'), '[np]',
+	                      E'\n'), '\[.+?\]', ' ', 'g') AS message,
+	       message AS multi, owner
+	FROM event.sign_event JOIN event.event_description
+	ON sign_event.event_desc_id = event_description.event_desc_id;
+GRANT SELECT ON sign_event_view TO PUBLIC;
+
+CREATE VIEW recent_sign_event_view AS
+	SELECT event_id, event_date, description, device_id, message, multi,
+	       owner
+	FROM sign_event_view
+	WHERE event_date > (CURRENT_TIMESTAMP - interval '90 days');
+GRANT SELECT ON recent_sign_event_view TO PUBLIC;
+
+-- Table change counters (for namespace snapshot)
+CREATE TABLE iris.table_change (
+	table_name VARCHAR(64) PRIMARY KEY,
+	counter BIGINT NOT NULL
+);
+
+CREATE FUNCTION iris.table_change_notify() RETURNS TRIGGER AS
+	$table_change_notify$
+BEGIN
+	UPDATE iris.table_change SET counter = counter + 1
+	 WHERE table_name = TG_TABLE_NAME;
+	RETURN NULL;
+END;
+$table_change_notify$ LANGUAGE plpgsql;
+
+-- Tables with device status updated continuously by polling have no
+-- trigger (a counter update on every statement would serialize writers);
+-- they are always loaded with SQL
+DO $$
+DECLARE
+	t RECORD;
+BEGIN
+	FOR t IN SELECT table_name FROM information_schema.tables
+	          WHERE table_schema = 'iris'
+	            AND table_type = 'BASE TABLE'
+	            AND table_name NOT IN ('table_change', 'controller',
+	                '_dms', '_beacon', '_alarm', '_gps', '_tag_reader',
+	                '_weather_sensor', '_flow_stream', 'parking_area',
+	                'action_plan')
+	LOOP
+		INSERT INTO iris.table_change (table_name, counter)
+		     VALUES (t.table_name, 0);
+		EXECUTE format('CREATE TRIGGER table_change_trig '
+			'AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON iris.%I '
+			'FOR EACH STATEMENT '
+			'EXECUTE PROCEDURE iris.table_change_notify()',
+			t.table_name);
+	END LOOP;
+END $$;
+
 COMMIT;
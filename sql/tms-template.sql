@@ -454,6 +454,7 @@ road
 road_affix
 role
 rpt_conduit
+sample_frame
 sign_config
 sign_detail
 sign_group
@@ -657,6 +658,7 @@ PRV_0141	sensor_control	detector	forceFail	t
 PRV_0142	sensor_tab	r_node		f
 PRV_0143	sensor_tab	detector		f
 PRV_0144	sensor_tab	station		f
+PRV_00A0	sensor_tab	sample_frame		f
 PRV_0145	sensor_tab	weather_sensor		f
 PRV_0146	toll_admin	tag_reader		t
 PRV_0147	toll_admin	toll_zone		t
@@ -1400,14 +1402,18 @@ CREATE VIEW controller_loc_view AS
 GRANT SELECT ON controller_loc_view TO PUBLIC;
 
 CREATE TABLE event.comm_event (
-	event_id INTEGER PRIMARY KEY DEFAULT nextval('event.event_id_seq'),
+	event_id INTEGER NOT NULL DEFAULT nextval('event.event_id_seq'),
 	event_date TIMESTAMP WITH time zone NOT NULL,
 	event_desc_id INTEGER NOT NULL
 		REFERENCES event.event_description(event_desc_id),
 	controller VARCHAR(20) NOT NULL REFERENCES iris.controller(name)
 		ON DELETE CASCADE,
-	device_id VARCHAR(20)
-);
+	device_id VARCHAR(20),
+	PRIMARY KEY (event_id, event_date)
+) PARTITION BY RANGE (event_date);
+
+-- Daily partitions are created (and dropped) by the server
+CREATE TABLE event.comm_event_default PARTITION OF event.comm_event DEFAULT;
 
 CREATE VIEW comm_event_view AS
 	SELECT e.event_id, e.event_date, ed.description, e.controller,
@@ -2940,16 +2946,20 @@ CREATE VIEW dms_action_view AS
 GRANT SELECT ON dms_action_view TO PUBLIC;
 
 CREATE TABLE event.sign_event (
-	event_id INTEGER PRIMARY KEY DEFAULT nextval('event.event_id_seq'),
+	event_id INTEGER NOT NULL DEFAULT nextval('event.event_id_seq'),
 	event_date TIMESTAMP WITH time zone NOT NULL,
 	event_desc_id INTEGER NOT NULL
 		REFERENCES event.event_description(event_desc_id),
 	device_id VARCHAR(20),
 	message text,
-	owner VARCHAR(16)
-);
+	owner VARCHAR(16),
+	PRIMARY KEY (event_id, event_date)
+) PARTITION BY RANGE (event_date);
 CREATE INDEX ON event.sign_event(event_date);
 
+-- Daily partitions are created (and dropped) by the server
+CREATE TABLE event.sign_event_default PARTITION OF event.sign_event DEFAULT;
+
 CREATE VIEW sign_event_view AS
 	SELECT event_id, event_date, description, device_id,
 	       regexp_replace(replace(replace(message, '[nl]', E'\n'), '[np]',
@@ -5130,4 +5140,44 @@ CREATE VIEW controller_report AS
 	LEFT JOIN controller_device_view d ON d.controller = c.name;
 GRANT SELECT ON controller_report TO PUBLIC;
 
+-- Table change counters (for namespace snapshot)
+CREATE TABLE iris.table_change (
+	table_name VARCHAR(64) PRIMARY KEY,
+	counter BIGINT NOT NULL
+);
+
+CREATE FUNCTION iris.table_change_notify() RETURNS TRIGGER AS
+	$table_change_notify$
+BEGIN
+	UPDATE iris.table_change SET counter = counter + 1
+	 WHERE table_name = TG_TABLE_NAME;
+	RETURN NULL;
+END;
+$table_change_notify$ LANGUAGE plpgsql;
+
+-- Tables with device status updated continuously by polling have no
+-- trigger (a counter update on every statement would serialize writers);
+-- they are always loaded with SQL
+DO $$
+DECLARE
+	t RECORD;
+BEGIN
+	FOR t IN SELECT table_name FROM information_schema.tables
+	          WHERE table_schema = 'iris'
+	            AND table_type = 'BASE TABLE'
+	            AND table_name NOT IN ('table_change', 'controller',
+	                '_dms', '_beacon', '_alarm', '_gps', '_tag_reader',
+	                '_weather_sensor', '_flow_stream', 'parking_area',
+	                'action_plan')
+	LOOP
+		INSERT INTO iris.table_change (table_name, counter)
+		     VALUES (t.table_name, 0);
+		EXECUTE format('CREATE TRIGGER table_change_trig '
+			'AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON iris.%I '
+			'FOR EACH STATEMENT '
+			'EXECUTE PROCEDURE iris.table_change_notify()',
+			t.table_name);
+	END LOOP;
+END $$;
+
 COMMIT;
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2016-2020  Minnesota Department of Transportation
+ * Copyright (C) 2016-2021  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -33,11 +33,19 @@ abstract public class Work implements Comparable<Work> {
 	/** Flag to indicate work complete */
 	private boolean is_complete = false;
 
+	/** Flag to indicate work started */
+	private boolean is_started = false;
+
+	/** Flag to indicate work cancelled */
+	private boolean is_cancelled = false;
+
 	/** Create Work */
 	public Work() { }
 
 	/** Perform the work */
 	final void performWork() throws Exception {
+		if (!start())
+			return;
 		try {
 			perform();
 		}
@@ -47,6 +55,22 @@ abstract public class Work implements Comparable<Work> {
 		}
 	}
 
+	/** Set the started flag.
+	 * @return false if the work was cancelled. */
+	private synchronized boolean start() {
+		is_started = !is_cancelled;
+		return is_started;
+	}
+
+	/** Cancel the work, if it has not started yet.  Cancelled work is
+	 * never performed or completed.
+	 * @return true if cancelled, false if already started. */
+	public synchronized final boolean cancel() {
+		if (!is_started)
+			is_cancelled = true;
+		return is_cancelled;
+	}
+
 	/** Do this upon completion of the work */
 	protected void complete() { }
 
@@ -1,6 +1,6 @@
 /*
  * SONAR -- Simple Object Notification And Replication
- * Copyright (C) 2006-2012  Minnesota Department of Transportation
+ * Copyright (C) 2006-2021  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -16,74 +16,53 @@ package us.mn.state.dot.sonar.client;
 
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
 import us.mn.state.dot.sonar.NamespaceError;
 import us.mn.state.dot.sonar.SonarException;
 import us.mn.state.dot.sonar.SonarObject;
 
 /**
- * A SonarInvoker handles method invocations on SonarObject proxies.
+ * A SonarInvoker handles method invocations on one SonarObject proxy.  It
+ * holds the attribute values of the proxy, indexed by AttributeMap slot.
  *
  * @author Douglas Lau
  */
-class SonarInvoker implements InvocationHandler {
+final class SonarInvoker implements InvocationHandler {
 
-	/** Get an attribute name from a method */
-	static protected String attribute_name(String prefix, Method m) {
-		String n = m.getName();
-		if(n.startsWith(prefix)) {
-			int p = prefix.length();
-			StringBuilder b = new StringBuilder();
-			b.append(Character.toLowerCase(n.charAt(p)));
-			b.append(n.substring(p + 1));
-			return b.toString();
-		} else
-			return null;
-	}
-
-	/** Lookup the accessor methods on an interface with a given prefix */
-	static protected HashMap<Method, String> lookup_accessors(Class iface,
-		String prefix)
-	{
-		HashMap<Method, String> methods = new HashMap<Method, String>();
-		for(Method m: iface.getMethods()) {
-			String a = attribute_name(prefix, m);
-			if(a != null)
-				methods.put(m, a);
-		}
-		return methods;
-	}
+	/** Cache of all proxy objects of the specified type */
+	final TypeCache cache;
 
-	/** Lookup all the setter methods on the specified interface */
-	static protected HashMap<Method, String> lookup_setters(Class iface) {
-		return lookup_accessors(iface, "set");
-	}
+	/** Attribute map (shared by all proxies of a type) */
+	final AttributeMap amap;
 
-	/** Lookup all the getter methods on the specified interface */
-	static protected HashMap<Method, String> lookup_getters(Class iface) {
-		return lookup_accessors(iface, "get");
-	}
+	/** Attribute values, indexed by slot */
+	private final Object[] values;
 
-	/** Cache of all proxy objects of the specified type */
-	protected final TypeCache cache;
+	/** Flag indicating the proxy is a zombie */
+	volatile boolean zombie = false;
 
-	/** Map of setter methods to attribute names */
-	protected final HashMap<Method, String> setters;
+	/** Create an invoker for one proxy */
+	public SonarInvoker(TypeCache c, AttributeMap am, String name) {
+		cache = c;
+		amap = am;
+		values = new Object[am.size()];
+		values[AttributeMap.NAME] = name;
+		values[AttributeMap.TYPE_NAME] = c.tname;
+	}
 
-	/** Map of getter methods to attribute names */
-	protected final HashMap<Method, String> getters;
+	/** Get the value of an attribute slot */
+	Object getValue(int s) {
+		return values[s];
+	}
 
-	/** Type name attribute (shared by all proxies of a type) */
-	protected final Attribute typeName;
+	/** Set the value of an attribute slot */
+	void setValue(int s, Object v) {
+		values[s] = v;
+	}
 
-	/** Create an invoker for the specified interface */
-	public SonarInvoker(TypeCache c, Class iface) {
-		cache = c;
-		setters = lookup_setters(iface);
-		getters = lookup_getters(iface);
-		typeName = new Attribute(c.tname);
+	/** Check if an attribute slot value equals the given value */
+	boolean valueEquals(int s, Object[] v) {
+		Object value = values[s];
+		return (value != null) ? value.equals(v[0]) : v[0] == null;
 	}
 
 	/** Invoke a method call on a proxy instance */
@@ -93,51 +72,27 @@ class SonarInvoker implements InvocationHandler {
 		throws SonarException
 	{
 		assert proxy instanceof SonarObject;
-		SonarObject o = (SonarObject)proxy;
-		if(getters.containsKey(method))
-			return cache.getAttribute(o, getters.get(method));
-		else if(setters.containsKey(method)) {
-			String aname = setters.get(method);
-			boolean check = getters.containsValue(aname);
-			cache.setAttribute(o, aname, args, check);
+		Integer acc = amap.lookupAccessor(method);
+		if (acc != null) {
+			int s = acc;
+			if (s >= 0)
+				return values[s];
+			s = ~s;
+			cache.setAttribute((SonarObject) proxy, s, args,
+				amap.isReadable(s));
 			return null;
-		} else {
-			String m = method.getName();
-			if(m.equals("hashCode"))
-				return System.identityHashCode(proxy);
-			if(m.equals("equals"))
-				return proxy == args[0];
-			if(m.equals("toString"))
-				return cache.getAttribute(o, "name");
-			if(m.equals("destroy")) {
-				cache.removeObject(o);
-				return null;
-			}
-		}
-		throw NamespaceError.nameUnknown("*method*");
-	}
-
-	/** Create attributes for one proxy instance */
-	public Map<String, Attribute> createAttributes(String name) {
-		HashMap<String, Attribute> amap =
-			new HashMap<String, Attribute>();
-		for(Map.Entry<Method, String> e: getters.entrySet()) {
-			Method m = e.getKey();
-			String n = e.getValue();
-			Attribute a = new Attribute(m.getReturnType());
-			amap.put(n, a);
 		}
-		for(Map.Entry<Method, String> e: setters.entrySet()) {
-			Method m = e.getKey();
-			String n = e.getValue();
-			if(!amap.containsKey(n)) {
-				Class[] p_types = m.getParameterTypes();
-				Attribute a = new Attribute(p_types[0]);
-				amap.put(n, a);
-			}
+		String m = method.getName();
+		if (m.equals("hashCode"))
+			return System.identityHashCode(proxy);
+		if (m.equals("equals"))
+			return proxy == args[0];
+		if (m.equals("toString"))
+			return values[AttributeMap.NAME];
+		if (m.equals("destroy")) {
+			cache.removeObject((SonarObject) proxy);
+			return null;
 		}
-		amap.put("typeName", typeName);
-		amap.put("name", new Attribute(name));
-		return Collections.unmodifiableMap(amap);
+		throw NamespaceError.nameUnknown("*method*");
 	}
 }
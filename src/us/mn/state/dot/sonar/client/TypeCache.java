@@ -1,6 +1,6 @@
 /*
  * SONAR -- Simple Object Notification And Replication
- * Copyright (C) 2006-2018  Minnesota Department of Transportation
+ * Copyright (C) 2006-2021  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -16,10 +16,10 @@ package us.mn.state.dot.sonar.client;
 
 import java.lang.reflect.Proxy;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.Map;
-import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
 
 import us.mn.state.dot.sonar.GroupChecker;
@@ -58,8 +58,8 @@ public class TypeCache<T extends SonarObject> implements Iterable<T> {
 	/** Interfaces which proxies of this type implement */
 	private final Class[] ifaces;
 
-	/** Sonar object proxy method invoker */
-	private final SonarInvoker invoker;
+	/** Attribute map for all proxies of this type */
+	private final AttributeMap amap;
 
 	/** Client (to send attribute update messages) */
 	private final Client client;
@@ -75,14 +75,22 @@ public class TypeCache<T extends SonarObject> implements Iterable<T> {
 	private final ConcurrentHashMap<String, T> children =
 		new ConcurrentHashMap<String, T>(INITIAL_CAPACITY, 0.75f, 1);
 
-	/** Weak mapping from proxy object to attribute map.
-	 * All access must be synchronized on the "TypeCache" lock. */
-	private final WeakHashMap<T, AttributeMap> attributes =
-		new WeakHashMap<T, AttributeMap>();
-
 	/** Flag to indicate enumeration from server is complete */
 	private boolean enumerated = false;
 
+	/** Flag to indicate the type is populated on demand.
+	 * All access must be synchronized on the "TypeCache" lock. */
+	private boolean on_demand = false;
+
+	/** Flag to indicate population has been requested.
+	 * All access must be synchronized on the "TypeCache" lock. */
+	private boolean requested = false;
+
+	/** Watch counts for objects, by name.
+	 * All access must be synchronized on the "TypeCache" lock. */
+	private final HashMap<String, Integer> watches =
+		new HashMap<String, Integer>();
+
 	/** A phantom is a new object which has had attributes set, but not
 	 * been declared with Message.OBJECT ("o") */
 	private T phantom;
@@ -110,7 +118,7 @@ public class TypeCache<T extends SonarObject> implements Iterable<T> {
 		assert SonarObject.class.isAssignableFrom(iface);
 		tname = Namespace.typeName(iface);
 		ifaces = new Class[] { iface };
-		invoker = new SonarInvoker(this, iface);
+		amap = new AttributeMap(iface);
 		client = c;
 		namespace = client.getNamespace();
 		group_chk = (gc != null) ? gc : NO_GROUP;
@@ -154,12 +162,10 @@ public class TypeCache<T extends SonarObject> implements Iterable<T> {
 	/** Create a proxy in the type cache */
 	@SuppressWarnings("unchecked")
 	T createProxy(String name) {
-		T o = (T) Proxy.newProxyInstance(LOADER, ifaces, invoker);
-		AttributeMap amap = new AttributeMap(
-			invoker.createAttributes(name));
+		SonarInvoker inv = new SonarInvoker(this, amap, name);
+		T o = (T) Proxy.newProxyInstance(LOADER, ifaces, inv);
 		synchronized (this) {
 			children.put(name, o);
-			attributes.put(o, amap);
 			phantom = o;
 		}
 		return o;
@@ -193,15 +199,34 @@ public class TypeCache<T extends SonarObject> implements Iterable<T> {
 		}
 	}
 
+	/** Populate the type cache on demand.  Enumeration from the server is
+	 * deferred until the first proxy listener is added, or the cache is
+	 * looked up or iterated. */
+	public void populateOnDemand() {
+		synchronized (this) {
+			if (!requested)
+				on_demand = true;
+		}
+	}
+
+	/** Request population if the type cache is populated on demand */
+	private void checkPopulate() {
+		synchronized (this) {
+			if (!on_demand || requested)
+				return;
+			requested = true;
+		}
+		client.populate(this);
+	}
+
 	/** Remove a proxy from the type cache */
 	T remove(String name) throws NamespaceError {
 		synchronized (this) {
 			T proxy = children.remove(name);
 			if (proxy == null)
 				throw NamespaceError.nameUnknown(name);
-			AttributeMap amap = attributes.get(proxy);
-			if (amap != null)
-				amap.zombie = true;
+			watches.remove(name);
+			lookupInvoker(proxy).zombie = true;
 			notifyProxyRemoved(proxy);
 			return proxy;
 		}
@@ -209,6 +234,7 @@ public class TypeCache<T extends SonarObject> implements Iterable<T> {
 
 	/** Lookup a proxy from the given name */
 	public T lookupObject(String n) {
+		checkPopulate();
 		return children.get(n);
 	}
 
@@ -231,36 +257,31 @@ public class TypeCache<T extends SonarObject> implements Iterable<T> {
 
 	/** Get the size of the cache */
 	public int size() {
+		checkPopulate();
 		return children.size();
 	}
 
-	/** Check if a proxy object is a zombie */
-	private boolean isZombie(T o) {
-		synchronized (this) {
-			AttributeMap amap = attributes.get(o);
-			return amap != null && amap.zombie;
+	/** Lookup the invoker for the given proxy */
+	private SonarInvoker lookupInvoker(SonarObject o) throws NamespaceError {
+		if (Proxy.isProxyClass(o.getClass())) {
+			Object h = Proxy.getInvocationHandler(o);
+			if (h instanceof SonarInvoker) {
+				SonarInvoker inv = (SonarInvoker) h;
+				if (inv.cache == this)
+					return inv;
+			}
 		}
+		throw NamespaceError.nameUnknown("o:" + o);
 	}
 
-	/** Lookup the attribute map for the given object */
-	private Map<String, Attribute> lookupAttributeMap(T o) {
-		synchronized (this) {
-			AttributeMap amap = attributes.get(o);
-			return amap != null ? amap.attrs : null;
+	/** Check if a proxy object is a zombie */
+	private boolean isZombie(SonarObject o) {
+		try {
+			return lookupInvoker(o).zombie;
+		}
+		catch (NamespaceError e) {
+			return false;
 		}
-	}
-
-	/** Lookup an attribute of the given proxy */
-	private Attribute lookupAttribute(T o, String a) throws NamespaceError {
-		Map<String, Attribute> amap = lookupAttributeMap(o);
-		if (amap != null) {
-			Attribute attr = amap.get(a);
-			if (attr != null)
-				return attr;
-			else
-				throw NamespaceError.nameUnknown(a);
-		} else
-			throw NamespaceError.nameUnknown("o:" + a);
 	}
 
 	/** Get the value of an attribute from the named proxy */
@@ -274,32 +295,32 @@ public class TypeCache<T extends SonarObject> implements Iterable<T> {
 
 	/** Get the value of an attribute from the given proxy */
 	Object getAttribute(T o, String a) throws NamespaceError {
-		Attribute attr = lookupAttribute(o, a);
-		return attr.getValue();
+		return lookupInvoker(o).getValue(amap.lookupSlot(a));
 	}
 
 	/** Set the value of an attribute on the given proxy.
 	 * @param o Proxy object
-	 * @param a Attribute name
+	 * @param s Attribute slot
 	 * @param args New attribute value
 	 * @param check Flag to check cache before sending message to server */
-	void setAttribute(T o, String a, Object[] args, boolean check)
+	void setAttribute(SonarObject o, int s, Object[] args, boolean check)
 		throws SonarException
 	{
-		Attribute attr = lookupAttribute(o, a);
-		if (check && attr.valueEquals(args))
+		SonarInvoker inv = lookupInvoker(o);
+		if (check && inv.valueEquals(s, args))
 			return;
-		String[] values = namespace.marshall(attr.type, args);
-		if (!isZombie(o))
-			client.setAttribute(new Name(o, a), values);
+		String[] values = namespace.marshall(amap.getType(s), args);
+		if (!inv.zombie)
+			client.setAttribute(new Name(o, amap.getName(s)), values);
 	}
 
 	/** Update an attribute value into the given proxy */
 	void updateAttribute(T o, String a, String[] v)
 		throws SonarException
 	{
-		Attribute attr = lookupAttribute(o, a);
-		attr.setValue(namespace.unmarshall(attr.type, v));
+		SonarInvoker inv = lookupInvoker(o);
+		int s = amap.lookupSlot(a);
+		inv.setValue(s, namespace.unmarshall(amap.getType(s), v));
 		synchronized (this) {
 			if (o != phantom)
 				notifyProxyChanged(o, a);
@@ -307,7 +328,7 @@ public class TypeCache<T extends SonarObject> implements Iterable<T> {
 	}
 
 	/** Remove the specified object */
-	void removeObject(T o) {
+	void removeObject(SonarObject o) {
 		if (!isZombie(o))
 			client.removeObject(new Name(o));
 	}
@@ -334,6 +355,7 @@ public class TypeCache<T extends SonarObject> implements Iterable<T> {
 
 	/** Add a ProxyListener */
 	public void addProxyListener(ProxyListener<T> l) {
+		checkPopulate();
 		synchronized (this) {
 			listeners.add(l);
 			for (T proxy: children.values())
@@ -357,22 +379,41 @@ public class TypeCache<T extends SonarObject> implements Iterable<T> {
 		client.ignoreName(new Name(tname, "", a));
 	}
 
-	/** Watch for all attributes of the specified object */
+	/** Watch for all attributes of the specified object.  Watches are
+	 * counted, so each call must be balanced by a call to ignoreObject. */
 	public void watchObject(T proxy) {
-		if (!isZombie(proxy))
+		if (!isZombie(proxy) && adjustWatch(proxy.getName(), 1) == 1)
 			client.enumerateName(new Name(tname, proxy.getName()));
 	}
 
 	/** Ignore attributes of the specified object.  This just removes an
 	 * object watch -- it does not prevent the type watch from causing
-	 * the object to be watched.  */
+	 * the object to be watched.  The watch is only removed from the
+	 * server after the last watcher ignores the object. */
 	public void ignoreObject(T proxy) {
-		if (!isZombie(proxy))
+		if (!isZombie(proxy) && adjustWatch(proxy.getName(), -1) == 0)
 			client.ignoreName(new Name(tname, proxy.getName()));
 	}
 
+	/** Adjust the watch count of an object.
+	 * @return New watch count, or -1 if the object was not watched. */
+	private int adjustWatch(String n, int d) {
+		synchronized (this) {
+			Integer c = watches.get(n);
+			if (c == null && d < 0)
+				return -1;
+			int v = ((c != null) ? c : 0) + d;
+			if (v > 0)
+				watches.put(n, v);
+			else
+				watches.remove(n);
+			return v;
+		}
+	}
+
 	/** Get an iterator of all objects of the type */
 	public Iterator<T> iterator() {
+		checkPopulate();
 		return Collections.unmodifiableCollection(
 			children.values()).iterator();
 	}
@@ -306,6 +306,29 @@ public class ConnectionImpl extends Conduit implements Connection {
 			notifyObject(o);
 	}
 
+	/** Notify the client of a batch of new objects being added.
+	 * This may only be called on the Task Processor thread. */
+	void notifyObjects(List<Name> names, List<SonarObject> objs) {
+		boolean any = false;
+		try {
+			for (int i = 0; i < objs.size(); i++) {
+				if (isWatching(names.get(i))) {
+					namespace.enumerateObject(state.encoder,
+						objs.get(i));
+					any = true;
+				}
+			}
+			if (any)
+				flush();
+		}
+		catch (SonarException e) {
+			disconnect("Notify error: " + e.getMessage());
+		}
+		catch (IOException e) {
+			disconnect("Notify error: " + e.getMessage());
+		}
+	}
+
 	/** Notify the client of an attribute change.
 	 * This may only be called on the Task Processor thread. */
 	void notifyAttribute(Name name, String[] params) {
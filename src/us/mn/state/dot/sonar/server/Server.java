@@ -1,6 +1,6 @@
 /*
  * SONAR -- Simple Object Notification And Replication
- * Copyright (C) 2006-2017  Minnesota Department of Transportation
+ * Copyright (C) 2006-2021  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -15,6 +15,7 @@
 package us.mn.state.dot.sonar.server;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Properties;
 import us.mn.state.dot.sonar.ConfigurationError;
 import us.mn.state.dot.sonar.Props;
@@ -63,6 +64,12 @@ public final class Server {
 		processor.storeObject(o);
 	}
 
+	/** Add (synchronously) a batch of objects to the server's namespace.
+	 * The objects must already be stored. */
+	public void addObjects(List<SonarObject> objs) throws SonarException {
+		processor.addObjects(objs);
+	}
+
 	/** Remove the specified object from the server's namespace */
 	public void removeObject(SonarObject o) {
 		processor.scheduleRemoveObject(o);
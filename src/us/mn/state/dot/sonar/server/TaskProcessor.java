@@ -496,6 +496,73 @@ public class TaskProcessor {
 		notifyObject(o);
 	}
 
+	/** Add (synchronously) a batch of objects to the server's namespace,
+	 * without storing them.  Each connection is notified of all the
+	 * objects it is watching, with one flush at the end.  If a
+	 * SonarException is thrown, none of the objects were added. */
+	public void addObjects(final List<SonarObject> objs)
+		throws SonarException
+	{
+		// Calling waitForCompletion will hang if we're
+		// running on the task processor thread.
+		if (processor.isCurrentThread()) {
+			doAddObjects(objs);
+			return;
+		}
+		// Array used to capture exception from processor thread
+		final SonarException[] se = new SonarException[1];
+		Work w = new TaskWork("Add objects") {
+			protected void doPerform() {
+				try {
+					doAddObjects(objs);
+				}
+				catch (SonarException e) {
+					se[0] = e;
+				}
+			}
+		};
+		processor.addWork(w);
+		while (true) {
+			try {
+				w.waitForCompletion(30000);
+				break;
+			}
+			catch (TimeoutException e) {
+				// Give up after 30 seconds only if the work
+				// has not started; otherwise, callers could
+				// not know whether the objects were added
+				if (w.cancel())
+					throw new SonarException(e);
+			}
+		}
+		// If an exception was captured, wrap and throw
+		if (se[0] != null)
+			throw new SonarException(se[0]);
+	}
+
+	/** Add a batch of objects to the server's namespace.  All names are
+	 * checked first, so that no objects are added if any exists. */
+	private void doAddObjects(List<SonarObject> objs)
+		throws SonarException
+	{
+		debugTask("Adding objects", Integer.toString(objs.size()));
+		ArrayList<Name> names = new ArrayList<Name>(objs.size());
+		for (SonarObject o: objs) {
+			Name name = new Name(o);
+			if (namespace.lookupObject(o.getTypeName(),
+			    o.getName()) != null)
+			{
+				throw NamespaceError.nameExists(
+					name.toString());
+			}
+			names.add(name);
+		}
+		for (SonarObject o: objs)
+			namespace.addObject(o);
+		for (ConnectionImpl c: getConnectionList())
+			c.notifyObjects(names, objs);
+	}
+
 	/** Remove the specified object from the server's namespace */
 	public void scheduleRemoveObject(final SonarObject o) {
 		processor.addWork(new TaskWork("Remove object") {
@@ -0,0 +1,268 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import us.mn.state.dot.tms.utils.Base64;
+import us.mn.state.dot.tms.utils.MultiString;
+
+/**
+ * A bounded LRU cache of rendered message bitmaps, keyed by sign dimensions,
+ * default font and MULTI string.  Decoded stuck pixel bitmaps are also
+ * cached.  The cache must be invalidated whenever a font, glyph or graphic
+ * changes.  Bitmaps returned are copies, so callers may modify them.
+ *
+ * @author Douglas Lau
+ */
+public class BitmapCache {
+
+	/** Maximum number of rendered messages to cache */
+	static private final int MAX_MESSAGES = 1024;
+
+	/** Maximum number of stuck pixel bitmap pairs to cache */
+	static private final int MAX_STUCK = 1024;
+
+	/** Rendered message key */
+	static private final class MsgKey {
+		private final int width;
+		private final int height;
+		private final int c_width;
+		private final int c_height;
+		private final int font;
+		private final String multi;
+		private MsgKey(RasterBuilder rb, String ms) {
+			width = rb.width;
+			height = rb.height;
+			c_width = rb.getCharWidth();
+			c_height = rb.getCharHeight();
+			font = rb.getDefaultFont();
+			multi = ms;
+		}
+		@Override
+		public int hashCode() {
+			int h = multi.hashCode();
+			h = 31 * h + width;
+			h = 31 * h + height;
+			h = 31 * h + c_width;
+			h = 31 * h + c_height;
+			return 31 * h + font;
+		}
+		@Override
+		public boolean equals(Object o) {
+			if (o instanceof MsgKey) {
+				MsgKey k = (MsgKey) o;
+				return width == k.width &&
+				       height == k.height &&
+				       c_width == k.c_width &&
+				       c_height == k.c_height &&
+				       font == k.font &&
+				       multi.equals(k.multi);
+			} else
+				return false;
+		}
+	}
+
+	/** Stuck pixel bitmap key */
+	static private final class StuckKey {
+		private final int width;
+		private final int height;
+		private final String off;
+		private final String on;
+		private StuckKey(int w, int h, String[] ps) {
+			width = w;
+			height = h;
+			off = ps[DMS.STUCK_OFF_BITMAP];
+			on = ps[DMS.STUCK_ON_BITMAP];
+		}
+		@Override
+		public int hashCode() {
+			return 31 * (31 * (31 * off.hashCode() + on.hashCode())
+				+ width) + height;
+		}
+		@Override
+		public boolean equals(Object o) {
+			if (o instanceof StuckKey) {
+				StuckKey k = (StuckKey) o;
+				return width == k.width &&
+				       height == k.height &&
+				       off.equals(k.off) &&
+				       on.equals(k.on);
+			} else
+				return false;
+		}
+	}
+
+	/** Rendered message cache.
+	 * All access must be synchronized on the "BitmapCache" lock. */
+	static private final LinkedHashMap<MsgKey, BitmapGraphic[]> messages =
+		new LinkedHashMap<MsgKey, BitmapGraphic[]>(64, 0.75f, true)
+	{
+		@Override
+		protected boolean removeEldestEntry(
+			Map.Entry<MsgKey, BitmapGraphic[]> e)
+		{
+			return size() > MAX_MESSAGES;
+		}
+	};
+
+	/** Stuck pixel bitmap cache.
+	 * All access must be synchronized on the "BitmapCache" lock. */
+	static private final LinkedHashMap<StuckKey, BitmapGraphic[]> stuck =
+		new LinkedHashMap<StuckKey, BitmapGraphic[]>(64, 0.75f, true)
+	{
+		@Override
+		protected boolean removeEldestEntry(
+			Map.Entry<StuckKey, BitmapGraphic[]> e)
+		{
+			return size() > MAX_STUCK;
+		}
+	};
+
+	/** Generation, incremented on each invalidation.  This prevents
+	 * bitmaps rendered with stale fonts from being cached. */
+	static private int generation = 0;
+
+	/** Count of cache hits */
+	static private long n_hits = 0;
+
+	/** Count of cache misses */
+	static private long n_misses = 0;
+
+	/** Invalidate all cached bitmaps.  This must be called when any
+	 * font, glyph or graphic is created, changed or destroyed. */
+	static public synchronized void invalidate() {
+		generation++;
+		messages.clear();
+	}
+
+	/** Get the count of cache hits */
+	static public synchronized long getHits() {
+		return n_hits;
+	}
+
+	/** Get the count of cache misses */
+	static public synchronized long getMisses() {
+		return n_misses;
+	}
+
+	/** Get the cache hit rate (0 to 1) */
+	static public synchronized float getHitRate() {
+		long n = n_hits + n_misses;
+		return (n > 0) ? (float) n_hits / n : 0;
+	}
+
+	/** Lookup cached bitmaps for a message */
+	static private synchronized BitmapGraphic[] lookup(MsgKey k) {
+		BitmapGraphic[] bmaps = messages.get(k);
+		if (bmaps != null)
+			n_hits++;
+		else
+			n_misses++;
+		return bmaps;
+	}
+
+	/** Get the current generation */
+	static private synchronized int getGeneration() {
+		return generation;
+	}
+
+	/** Store rendered bitmaps, if the cache was not invalidated */
+	static private synchronized void store(MsgKey k, int g,
+		BitmapGraphic[] bmaps)
+	{
+		if (g == generation)
+			messages.put(k, bmaps);
+	}
+
+	/** Create a copy of an array of bitmaps */
+	static private BitmapGraphic[] copyOf(BitmapGraphic[] bmaps) {
+		BitmapGraphic[] c = new BitmapGraphic[bmaps.length];
+		for (int i = 0; i < bmaps.length; i++) {
+			c[i] = bmaps[i].createBlankCopy();
+			c[i].setPixelData(bmaps[i].getPixelData());
+		}
+		return c;
+	}
+
+	/** Create (or lookup) bitmap graphics for all pages of a message.
+	 * @param rb Raster builder for the sign.
+	 * @param ms Message MULTI string.
+	 * @return Array of bitmap graphics, one for each page.
+	 * @throws InvalidMsgException if MULTI string is invalid. */
+	static public BitmapGraphic[] createBitmaps(RasterBuilder rb,
+		String ms) throws InvalidMsgException
+	{
+		MsgKey k = new MsgKey(rb, ms);
+		BitmapGraphic[] bmaps = lookup(k);
+		if (null == bmaps) {
+			int g = getGeneration();
+			bmaps = rb.createBitmaps(new MultiString(ms));
+			store(k, g, copyOf(bmaps));
+			return bmaps;
+		} else
+			return copyOf(bmaps);
+	}
+
+	/** Create (or lookup) decoded stuck pixel bitmaps.
+	 * @param w Sign pixel width.
+	 * @param h Sign pixel height.
+	 * @param ps Pixel status (Base64 stuck off and stuck on bitmaps).
+	 * @return Stuck off and stuck on bitmaps, or null if the pixel
+	 *         status does not match the sign dimensions.
+	 * @throws IOException on Base64 decode error. */
+	static public BitmapGraphic[] createStuckBitmaps(int w, int h,
+		String[] ps) throws IOException
+	{
+		if (null == ps[DMS.STUCK_OFF_BITMAP] ||
+		    null == ps[DMS.STUCK_ON_BITMAP])
+			return null;
+		StuckKey k = new StuckKey(w, h, ps);
+		synchronized (BitmapCache.class) {
+			BitmapGraphic[] bg = stuck.get(k);
+			if (bg != null)
+				return copyOf(bg);
+		}
+		BitmapGraphic off = decodeBitmap(w, h, k.off);
+		BitmapGraphic on = decodeBitmap(w, h, k.on);
+		if (off != null && on != null) {
+			BitmapGraphic[] bg = new BitmapGraphic[2];
+			bg[DMS.STUCK_OFF_BITMAP] = off;
+			bg[DMS.STUCK_ON_BITMAP] = on;
+			synchronized (BitmapCache.class) {
+				stuck.put(k, copyOf(bg));
+			}
+			return bg;
+		} else
+			return null;
+	}
+
+	/** Decode one stuck pixel bitmap */
+	static private BitmapGraphic decodeBitmap(int w, int h, String p)
+		throws IOException
+	{
+		byte[] bd = Base64.decode(p);
+		BitmapGraphic bg = new BitmapGraphic(w, h);
+		if (bd.length == bg.length()) {
+			bg.setPixelData(bd);
+			return bg;
+		} else
+			return null;
+	}
+
+	/** Don't allow instantiation */
+	private BitmapCache() { }
+}
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2008-2019  Minnesota Department of Transportation
+ * Copyright (C) 2008-2021  Minnesota Department of Transportation
  * Copyright (C) 2009-2010  AHMCT, University of California
  * Copyright (C) 2021  Iteris Inc.
  *
@@ -394,7 +394,8 @@ public class DMSHelper extends BaseHelper {
 			return null;
 	}
 
-	/** Create bitmap graphics for all pages of a specified DMS.
+	/** Create bitmap graphics for all pages of a specified DMS.  Rendered
+	 * bitmaps are cached in BitmapCache.
 	 * @param dms The sign.
 	 * @param ms Message MULTI string.
 	 * @return Array of bitmap graphics for the sign, or null.
@@ -404,7 +405,7 @@ public class DMSHelper extends BaseHelper {
 	{
 		RasterBuilder rb = createRasterBuilder(dms);
 		if (rb != null)
-			return rb.createBitmaps(new MultiString(ms));
+			return BitmapCache.createBitmaps(rb, ms);
 		else
 			return null;
 	}
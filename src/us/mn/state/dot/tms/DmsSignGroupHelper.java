@@ -33,9 +33,14 @@ public class DmsSignGroupHelper extends BaseHelper {
 
 	/** Create a unique DMS sign group name */
 	static public String createUniqueName(String template) {
-		UniqueNameCreator unc = new UniqueNameCreator(template, 42,
-			(n)->lookup(n));
-		return unc.createUniqueName();
+		return createNameCreator(template).createUniqueName();
+	}
+
+	/** Create a DMS sign group name creator.  Each name it creates has a
+	 * higher index, so several new names can be created before any is
+	 * added to the namespace. */
+	static public UniqueNameCreator createNameCreator(String template) {
+		return new UniqueNameCreator(template, 42, (n)->lookup(n));
 	}
 
 	/** Lookup the DMS sign grou pwith the specified name */
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2011-2019  Minnesota Department of Transportation
+ * Copyright (C) 2011-2021  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -56,6 +56,13 @@ public class PixmapGraphic extends RasterGraphic {
 		return new DmsColor(red, green, blue);
 	}
 
+	/** Check if the pixel at the specified location is lit */
+	@Override
+	protected boolean isLit(int x, int y) {
+		int p = pixelIndex(x, y);
+		return (pixels[p] | pixels[p + 1] | pixels[p + 2]) != 0;
+	}
+
 	/** Set the pixel color at the specified location */
 	@Override
 	public void setPixel(int x, int y, DmsColor clr) {
@@ -64,4 +71,25 @@ public class PixmapGraphic extends RasterGraphic {
 		pixels[p + 1] = (byte)clr.green;
 		pixels[p + 2] = (byte)clr.red;
 	}
+
+	/** Get the count of lit pixels */
+	@Override
+	public int getLitCount() {
+		int n_lit = 0;
+		for (int p = 0; p < pixels.length; p += 3) {
+			if ((pixels[p] | pixels[p + 1] | pixels[p + 2]) != 0)
+				n_lit++;
+		}
+		return n_lit;
+	}
+
+	/** Copy the common region of the specified raster */
+	@Override
+	public void copy(RasterGraphic b) {
+		if (b instanceof PixmapGraphic && width == b.width &&
+		    height == b.height)
+			System.arraycopy(b.pixels, 0, pixels, 0, pixels.length);
+		else
+			super.copy(b);
+	}
 }
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2008-2020  Minnesota Department of Transportation
+ * Copyright (C) 2008-2021  Minnesota Department of Transportation
  * Copyright (C) 2009-2010  AHMCT, University of California
  *
  * This program is free software; you can redistribute it and/or modify
@@ -67,6 +67,21 @@ public class RasterBuilder {
 		default_font = df;
 	}
 
+	/** Get the character width (pixels) */
+	public int getCharWidth() {
+		return c_width;
+	}
+
+	/** Get the character height (pixels) */
+	public int getCharHeight() {
+		return c_height;
+	}
+
+	/** Get the default font number */
+	public int getDefaultFont() {
+		return default_font;
+	}
+
 	/** Get the optimal line height (pixels) */
 	public int getLineHeightPixels() {
 		if (c_height > 0)
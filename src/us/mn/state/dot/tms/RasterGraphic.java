@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2009-2016  Minnesota Department of Transportation
+ * Copyright (C) 2009-2021  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -87,12 +87,26 @@ abstract public class RasterGraphic {
 	/** Set the pixel color at the specified location */
 	abstract public void setPixel(int x, int y, DmsColor clr);
 
+	/** Check if the pixel at the specified location is lit.  Subclasses
+	 * should override this to avoid creating a DmsColor. */
+	protected boolean isLit(int x, int y) {
+		return getPixel(x, y).isLit();
+	}
+
+	/** Check that another raster has the same dimensions */
+	protected final void checkDimensions(RasterGraphic rg) {
+		if (width != rg.width)
+			throw new IndexOutOfBoundsException("width mismatch");
+		if (height != rg.height)
+			throw new IndexOutOfBoundsException("height mismatch");
+	}
+
 	/** Get the count of lit pixels */
 	public int getLitCount() {
 		int n_lit = 0;
 		for (int x = 0; x < width; x++) {
 			for (int y = 0; y < height; y++) {
-				if (getPixel(x, y).isLit())
+				if (isLit(x, y))
 					n_lit++;
 			}
 		}
@@ -134,13 +148,10 @@ abstract public class RasterGraphic {
 
 	/** Update the raster by clearing pixels not in another raster */
 	public void union(RasterGraphic rg) {
-		if (width != rg.width)
-			throw new IndexOutOfBoundsException("width mismatch");
-		if (height != rg.height)
-			throw new IndexOutOfBoundsException("height mismatch");
+		checkDimensions(rg);
 		for (int x = 0; x < width; x++) {
 			for (int y = 0; y < height; y++) {
-				if (!rg.getPixel(x, y).isLit())
+				if (!rg.isLit(x, y))
 					setPixel(x, y, DmsColor.BLACK);
 			}
 		}
@@ -148,13 +159,10 @@ abstract public class RasterGraphic {
 
 	/** Update the raster by clearing pixels in another raster */
 	public void difference(RasterGraphic rg) {
-		if (width != rg.width)
-			throw new IndexOutOfBoundsException("width mismatch");
-		if (height != rg.height)
-			throw new IndexOutOfBoundsException("height mismatch");
+		checkDimensions(rg);
 		for (int x = 0; x < width; x++) {
 			for (int y = 0; y < height; y++) {
-				if (rg.getPixel(x, y).isLit())
+				if (rg.isLit(x, y))
 					setPixel(x, y, DmsColor.BLACK);
 			}
 		}
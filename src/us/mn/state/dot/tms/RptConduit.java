@@ -30,6 +30,10 @@ import us.mn.state.dot.sonar.SonarObject;
  * The sReq and sResp strings are constructed/parsed
  * using RptStringListMap.
  *
+ * Results are sent in pages.  After reading a page,
+ * the client sets the page attribute to that page
+ * number, and the server then sends the next page.
+ *
  * @author John L. Stanley - SRF Consulting
  */
 public interface RptConduit extends SonarObject {
@@ -57,5 +61,12 @@ public interface RptConduit extends SonarObject {
 	void setresults(String sResp);
 
 	String getResults();
+
+	//-------------------------------------------
+	// acknowledge a page of report-results
+
+	void setPage(int p);
+
+	int getPage();
 }
 
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2008-2019  Minnesota Department of Transportation
+ * Copyright (C) 2008-2021  Minnesota Department of Transportation
  * Copyright (C) 2009-2010  AHMCT, University of California
  * Copyright (C) 2021  Iteris Inc.
  *
@@ -18,7 +18,6 @@ package us.mn.state.dot.tms;
 
 import java.io.IOException;
 import java.util.Iterator;
-import us.mn.state.dot.tms.utils.Base64;
 import us.mn.state.dot.tms.utils.MultiString;
 
 /**
@@ -176,35 +175,10 @@ public class SignMessageHelper extends BaseHelper {
 		throws IOException
 	{
 		String[] ps = dms.getPixelStatus();
-		if (ps != null && ps.length == 2) {
-			BitmapGraphic off = createStuckBitmap(dms,
-				ps[DMS.STUCK_OFF_BITMAP]);
-			BitmapGraphic on = createStuckBitmap(dms,
-				ps[DMS.STUCK_ON_BITMAP]);
-			if (off != null && on != null) {
-				BitmapGraphic[] bg = new BitmapGraphic[2];
-				bg[DMS.STUCK_OFF_BITMAP] = off;
-				bg[DMS.STUCK_ON_BITMAP] = on;
-				return bg;
-			}
-		}
-		return null;
-	}
-
-	/** Create one stuck pixel bitmap */
-	static private BitmapGraphic createStuckBitmap(DMS dms, String p)
-		throws IOException
-	{
-		byte[] bd = Base64.decode(p);
-		BitmapGraphic bg = DMSHelper.createBitmapGraphic(dms);
-		if (bg != null && bd.length == bg.length()) {
-			try {
-				bg.setPixelData(bd);
-				return bg;
-			}
-			catch (IndexOutOfBoundsException e) {
-				// stuck bitmap doesn't match current dimensions
-			}
+		SignConfig sc = dms.getSignConfig();
+		if (ps != null && ps.length == 2 && sc != null) {
+			return BitmapCache.createStuckBitmaps(
+				sc.getPixelWidth(), sc.getPixelHeight(), ps);
 		}
 		return null;
 	}
@@ -620,6 +620,16 @@ public class SonarState extends Client {
 		populateReadable(tc, false);
 	}
 
+	/** Populate the specified type cache on first use.  This must only be
+	 * used for types which are not referenced by attributes of other
+	 * types, since those references are resolved at enumeration. */
+	public void populateLazy(TypeCache<? extends SonarObject> tc) {
+		if (canRead(tc.tname))
+			tc.populateOnDemand();
+		else
+			tc.enumerationComplete();
+	}
+
 	/** Populate the type caches */
 	public void populateCaches() {
 		populate(capabilities);
@@ -637,7 +647,7 @@ public class SonarState extends Client {
 		populate(roads);
 		populate(road_affixes);
 		populate(geo_locs);
-		populateReadable(rpt_conduits);
+		populateLazy(rpt_conduits);
 		populateReadable(words);
 		populateReadable(day_matchers);
 		populateReadable(day_plans);
@@ -649,7 +659,7 @@ public class SonarState extends Client {
 		det_cache.populate(this);
 		cam_cache.populate(this);
 		populateReadable(toll_zones);
-		populateReadable(alarms);
+		populateLazy(alarms);
 		populateReadable(beacons);
 		if (canRead(Beacon.SONAR_TYPE))
 			beacons.ignoreAttribute("operation");
@@ -696,7 +706,7 @@ public class SonarState extends Client {
 		populateReadable(vid_src_templates);
 		populateReadable(cam_vid_src_order);
 		populateReadable(alert_configs);
-		populateReadable(alert_messages);
+		populateLazy(alert_messages);
 		populateReadable(alert_infos);
 	}
 
@@ -222,11 +222,11 @@ public class CamCache {
 		client.populateReadable(presets);
 		client.populateReadable(camera_actions);
 		client.populateReadable(play_lists);
-		client.populateReadable(catalogs);
+		client.populateLazy(catalogs);
 		client.populateReadable(monitor_styles);
 		client.populateReadable(monitors);
 		if (client.canRead(VideoMonitor.SONAR_TYPE))
 			monitors.ignoreAttribute("camera");
-		client.populateReadable(flow_streams);
+		client.populateLazy(flow_streams);
 	}
 }
@@ -0,0 +1,448 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.client.camera;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.swing.SwingUtilities;
+
+/**
+ * An MJPEG reader parses a multipart JPEG stream.  Frames are read into
+ * reusable buffers and handed to a background decode stage.  If a frame
+ * arrives before the previous one has been decoded, or a decoded image
+ * arrives before the previous one was displayed, the stale one is dropped.
+ * Images are scaled during decode by subsampling.
+ *
+ * @author Douglas Lau
+ */
+public class MJPEGReader {
+
+	/** Size of stream read buffer */
+	static private final int BUF_SZ = 16384;
+
+	/** Maximum header lines before content-length */
+	static private final int MAX_HEADER_LINES = 100;
+
+	/** Maximum header line length */
+	static private final int MAX_LINE = 1024;
+
+	/** Maximum frame size (bytes) */
+	static private final int MAX_FRAME_SZ = 16 << 20;
+
+	/** Maximum number of spare frame buffers */
+	static private final int MAX_SPARE = 2;
+
+	/** Weight for frame interval moving average */
+	static private final double FPS_ALPHA = 0.1;
+
+	/** Executor for decoding frames (shared by all readers) */
+	static private final ThreadPoolExecutor DECODER;
+	static {
+		int n = Math.max(1, Math.min(4,
+			Runtime.getRuntime().availableProcessors() - 1));
+		DECODER = new ThreadPoolExecutor(n, n, 30, TimeUnit.SECONDS,
+			new LinkedBlockingQueue<Runnable>(), new ThreadFactory()
+		{
+			public Thread newThread(Runnable r) {
+				Thread t = new Thread(r, "mjpeg_decode");
+				t.setDaemon(true);
+				return t;
+			}
+		});
+		DECODER.allowCoreThreadTimeOut(true);
+	}
+
+	/** Listener for decoded frames */
+	public interface Listener {
+
+		/** Called (on the EDT) with the latest decoded image */
+		void frameDecoded(BufferedImage img);
+	}
+
+	/** Buffer for one compressed frame */
+	static private final class Frame {
+		private byte[] data = new byte[0];
+		private int len;
+	}
+
+	/** Input stream to read */
+	private final InputStream stream;
+
+	/** Listener for decoded frames */
+	private final Listener listener;
+
+	/** Stream read buffer */
+	private final byte[] buf = new byte[BUF_SZ];
+
+	/** Position of next byte in read buffer */
+	private int pos = 0;
+
+	/** Limit of valid bytes in read buffer */
+	private int lim = 0;
+
+	/** Header line buffer */
+	private final StringBuilder line = new StringBuilder();
+
+	/** JPEG image reader (only used by decode stage, until closed) */
+	private final ImageReader decoder;
+
+	/** Spare frame buffers.
+	 * All access must be synchronized on "this" lock. */
+	private final ArrayList<Frame> spare = new ArrayList<Frame>();
+
+	/** Frame waiting to be decoded (or null).
+	 * All access must be synchronized on "this" lock. */
+	private Frame pending;
+
+	/** Flag indicating a decode task is running.
+	 * All access must be synchronized on "this" lock. */
+	private boolean decoding;
+
+	/** Latest decoded image waiting for display (or null).
+	 * All access must be synchronized on "this" lock. */
+	private BufferedImage latest;
+
+	/** Flag indicating the reader is closed */
+	private volatile boolean closed;
+
+	/** Target image width (0 for native size) */
+	private volatile int width;
+
+	/** Target image height (0 for native size) */
+	private volatile int height;
+
+	/** Count of frames received */
+	private long n_received;
+
+	/** Count of frames decoded */
+	private long n_decoded;
+
+	/** Count of frames dropped (not displayed) */
+	private long n_dropped;
+
+	/** Total decode time (ns) */
+	private long decode_ns;
+
+	/** Time of last displayed frame (ns) */
+	private long last_ns;
+
+	/** Moving average of display interval (ms) */
+	private double interval_ms;
+
+	/** Create a new MJPEG reader.
+	 * @param is Input stream.
+	 * @param l Listener for decoded frames. */
+	public MJPEGReader(InputStream is, Listener l) throws IOException {
+		stream = is;
+		listener = l;
+		Iterator<ImageReader> it =
+			ImageIO.getImageReadersByFormatName("jpeg");
+		if (!it.hasNext())
+			throw new IOException("No JPEG decoder");
+		decoder = it.next();
+	}
+
+	/** Set the target image size.  Frames are scaled to this size.
+	 * @param w Width (pixels), or 0 for native size.
+	 * @param h Height (pixels), or 0 for native size. */
+	public void setTargetSize(int w, int h) {
+		width = w;
+		height = h;
+	}
+
+	/** Read the next frame from the stream and queue it for decoding.
+	 * This blocks until a complete frame has been read. */
+	public void readFrame() throws IOException {
+		int n_size = readContentLength();
+		if (n_size < 0 || n_size > MAX_FRAME_SZ)
+			throw new IOException("Invalid content-length");
+		Frame f = takeSpare();
+		if (f.data.length < n_size)
+			f.data = new byte[n_size];
+		try {
+			readFully(f.data, n_size);
+		}
+		catch (IOException e) {
+			putSpare(f);
+			throw e;
+		}
+		f.len = n_size;
+		queueFrame(f);
+	}
+
+	/** Read the headers up to the content-length of the next frame */
+	private int readContentLength() throws IOException {
+		for (int i = 0; i < MAX_HEADER_LINES; i++) {
+			String s = readLine();
+			if (s.toLowerCase().indexOf("content-length") > -1) {
+				// throw away an empty line after the
+				// content-length header
+				readLine();
+				return parseContentLength(s);
+			}
+		}
+		throw new IOException("Missing content-length");
+	}
+
+	/** Parse the content-length header */
+	static private int parseContentLength(String s) throws IOException {
+		s = s.substring(s.indexOf(":") + 1);
+		s = s.trim();
+		try {
+			return Integer.parseInt(s);
+		}
+		catch (NumberFormatException e) {
+			throw new IOException("Invalid content-length");
+		}
+	}
+
+	/** Fill the read buffer.
+	 * @return false on end of stream. */
+	private boolean fill() throws IOException {
+		int n = stream.read(buf, 0, buf.length);
+		pos = 0;
+		lim = Math.max(0, n);
+		return n > 0;
+	}
+
+	/** Read the next line of text (from the read buffer) */
+	private String readLine() throws IOException {
+		line.setLength(0);
+		while (true) {
+			if (pos >= lim && !fill()) {
+				if (line.length() == 0)
+					throw new IOException("End of stream");
+				else
+					break;
+			}
+			char ch = (char) (buf[pos++] & 0xFF);
+			if (line.length() < MAX_LINE)
+				line.append(ch);
+			if (ch == '\n')
+				break;
+		}
+		return line.toString();
+	}
+
+	/** Read frame data fully */
+	private void readFully(byte[] data, int n_size) throws IOException {
+		int n = Math.min(lim - pos, n_size);
+		System.arraycopy(buf, pos, data, 0, n);
+		pos += n;
+		while (n < n_size) {
+			int r = stream.read(data, n, n_size - n);
+			if (r < 0)
+				throw new IOException("End of stream");
+			n += r;
+		}
+	}
+
+	/** Take a spare frame buffer (or create one) */
+	private synchronized Frame takeSpare() {
+		int n = spare.size();
+		return (n > 0) ? spare.remove(n - 1) : new Frame();
+	}
+
+	/** Return a frame buffer to the spare list */
+	private synchronized void putSpare(Frame f) {
+		if (spare.size() < MAX_SPARE)
+			spare.add(f);
+	}
+
+	/** Queue a frame for decoding, dropping any stale pending frame */
+	private void queueFrame(Frame f) {
+		boolean start;
+		synchronized (this) {
+			n_received++;
+			if (pending != null) {
+				n_dropped++;
+				putSpare(pending);
+			}
+			pending = f;
+			start = !decoding && !closed;
+			if (start)
+				decoding = true;
+		}
+		if (start)
+			DECODER.execute(decode_task);
+	}
+
+	/** Task to decode pending frames */
+	private final Runnable decode_task = new Runnable() {
+		public void run() {
+			while (true) {
+				Frame f;
+				boolean stop;
+				synchronized (MJPEGReader.this) {
+					f = pending;
+					pending = null;
+					stop = closed;
+					if (null == f || closed)
+						decoding = false;
+				}
+				// Reader closed while decoding; dispose here
+				if (stop) {
+					decoder.dispose();
+					return;
+				}
+				if (null == f)
+					return;
+				try {
+					long st = System.nanoTime();
+					BufferedImage img = decode(f);
+					decoded(img, System.nanoTime() - st);
+				}
+				catch (IOException | RuntimeException e) {
+					// corrupt frame; skip it
+				}
+				finally {
+					putSpare(f);
+				}
+			}
+		}
+	};
+
+	/** Decode one frame, subsampling to the target size */
+	private BufferedImage decode(Frame f) throws IOException {
+		ImageInputStream iis = ImageIO.createImageInputStream(
+			new ByteArrayInputStream(f.data, 0, f.len));
+		try {
+			decoder.setInput(iis, true, true);
+			int w = width;
+			int h = height;
+			ImageReadParam param = decoder.getDefaultReadParam();
+			if (w > 0 && h > 0) {
+				int sx = Math.max(1, decoder.getWidth(0) / w);
+				int sy = Math.max(1, decoder.getHeight(0) / h);
+				if (sx > 1 || sy > 1) {
+					param.setSourceSubsampling(sx, sy,
+						0, 0);
+				}
+			}
+			BufferedImage img = decoder.read(0, param);
+			return (w > 0 && h > 0) ? scale(img, w, h) : img;
+		}
+		finally {
+			decoder.setInput(null);
+			iis.close();
+		}
+	}
+
+	/** Scale an image to the exact target size */
+	static private BufferedImage scale(BufferedImage img, int w, int h) {
+		if (img.getWidth() == w && img.getHeight() == h)
+			return img;
+		BufferedImage si = new BufferedImage(w, h,
+			BufferedImage.TYPE_INT_RGB);
+		Graphics2D g = si.createGraphics();
+		g.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+			RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+		g.drawImage(img, 0, 0, w, h, null);
+		g.dispose();
+		return si;
+	}
+
+	/** Handle a decoded image, dropping any stale undisplayed image */
+	private void decoded(BufferedImage img, long ns) {
+		boolean post;
+		synchronized (this) {
+			n_decoded++;
+			decode_ns += ns;
+			if (latest != null)
+				n_dropped++;
+			post = (null == latest);
+			latest = img;
+		}
+		if (post)
+			SwingUtilities.invokeLater(display);
+	}
+
+	/** Runnable to display the latest image (on the EDT) */
+	private final Runnable display = new Runnable() {
+		public void run() {
+			BufferedImage img;
+			synchronized (MJPEGReader.this) {
+				img = latest;
+				latest = null;
+				long now = System.nanoTime();
+				if (last_ns > 0) {
+					double ms = (now - last_ns) / 1e6;
+					interval_ms = (interval_ms > 0)
+					   ? interval_ms + FPS_ALPHA *
+					     (ms - interval_ms)
+					   : ms;
+				}
+				last_ns = now;
+			}
+			if (img != null && !closed)
+				listener.frameDecoded(img);
+		}
+	};
+
+	/** Close the reader (and stream) */
+	public void close() throws IOException {
+		boolean idle;
+		synchronized (this) {
+			idle = !(decoding || closed);
+			closed = true;
+			pending = null;
+			latest = null;
+			spare.clear();
+		}
+		// A running decode task disposes the decoder when it stops
+		if (idle)
+			decoder.dispose();
+		stream.close();
+	}
+
+	/** Get the count of frames received */
+	public synchronized long getReceivedCount() {
+		return n_received;
+	}
+
+	/** Get the count of frames decoded */
+	public synchronized long getDecodedCount() {
+		return n_decoded;
+	}
+
+	/** Get the count of frames dropped (not displayed) */
+	public synchronized long getDroppedCount() {
+		return n_dropped;
+	}
+
+	/** Get the displayed frame rate (frames per second) */
+	public synchronized double getFrameRate() {
+		return (interval_ms > 0) ? 1000 / interval_ms : 0;
+	}
+
+	/** Get the mean decode time (ms) */
+	public synchronized double getMeanDecodeMs() {
+		return (n_decoded > 0) ? decode_ns / 1e6 / n_decoded : 0;
+	}
+}
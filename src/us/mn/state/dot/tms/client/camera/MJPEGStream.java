@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2003-2017  Minnesota Department of Transportation
+ * Copyright (C) 2003-2021  Minnesota Department of Transportation
  * Copyright (C) 2015  SRF Consulting Group
  *
  * This program is free software; you can redistribute it and/or modify
@@ -16,7 +16,7 @@
 package us.mn.state.dot.tms.client.camera;
 
 import java.awt.Dimension;
-import java.awt.Image;
+import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.HttpURLConnection;
@@ -53,11 +53,8 @@ public class MJPEGStream implements VideoStream {
 	/** Requested video size */
 	private final Dimension size;
 
-	/** Input stream to read */
-	private final InputStream stream;
-
-	/** Count of rendered frames */
-	private int n_frames = 0;
+	/** Reader to parse and decode the stream */
+	private final MJPEGReader reader;
 
 	/** Flag to continue running stream */
 	private boolean running = true;
@@ -83,7 +80,8 @@ public class MJPEGStream implements VideoStream {
 			throw new IOException(e);
 		}
 		size = UI.dimension(req.getSize().width, req.getSize().height);
-		stream = createInputStream();
+		reader = new MJPEGReader(createInputStream(), listener);
+		reader.setTargetSize(size.width, size.height);
 		s.addJob(job);
 	}
 
@@ -120,8 +118,7 @@ public class MJPEGStream implements VideoStream {
 	/** Read a video stream */
 	private void readStream() {
 		try {
-			byte[] idata = getImage();
-			screen.setIcon(createIcon(idata));
+			reader.readFrame();
 		}
 		catch(IOException e) {
 			setErrorMsg(e.getMessage());
@@ -130,75 +127,19 @@ public class MJPEGStream implements VideoStream {
 		}
 	}
 
-	/** Get the next image in the mjpeg stream */
-	protected byte[] getImage() throws IOException {
-		int n_size = getImageSize();
-		byte[] image = new byte[n_size];
-		int n_bytes = 0;
-		while(n_bytes < n_size) {
-			int r = stream.read(image, n_bytes, n_size - n_bytes);
-			if(r >= 0)
-				n_bytes += r;
-			else
-				throw new IOException("End of stream");
-		}
-		n_frames++;
-		return image;
-	}
-
-	/** Create an image icon from image data */
-	protected ImageIcon createIcon(byte[] idata) {
-		ImageIcon icon = new ImageIcon(idata);
-		if(icon.getIconWidth() == size.width &&
-		   icon.getIconHeight() == size.height)
-			return icon;
-		Image im = icon.getImage().getScaledInstance(size.width,
-			size.height, Image.SCALE_FAST);
-		return new ImageIcon(im);
-	}
-
-	/** Get the length of the next image */
-	private int getImageSize() throws IOException {
-		for(int i = 0; i < 100; i++) {
-			String s = readLine();
-			if(s.toLowerCase().indexOf("content-length") > -1) {
-				// throw away an empty line after the
-				// content-length header
-				readLine();
-				return parseContentLength(s);
-			}
-		}
-		throw new IOException("Missing content-length");
-	}
-
-	/** Parse the content-length header */
-	private int parseContentLength(String s) throws IOException {
-		s = s.substring(s.indexOf(":") + 1);
-		s = s.trim();
-		try {
-			return Integer.parseInt(s);
-		}
-		catch(NumberFormatException e) {
-			throw new IOException("Invalid content-length");
+	/** Listener for decoded frames (called on the EDT) */
+	private final MJPEGReader.Listener listener =
+		new MJPEGReader.Listener()
+	{
+		public void frameDecoded(BufferedImage img) {
+			if(running)
+				screen.setIcon(new ImageIcon(img));
 		}
-	}
+	};
 
-	/** Read the next line of text */
-	private String readLine() throws IOException {
-		StringBuilder b = new StringBuilder();
-		while(true) {
-			int ch = stream.read();
-			if(ch < 0) {
-				if(b.length() == 0)
-					throw new IOException("End of stream");
-				else
-					break;
-			}
-			b.append((char)ch);
-			if(ch == '\n')
-				break;
-		}
-		return b.toString();
+	/** Get the MJPEG reader (for frame rate and decode metrics) */
+	public MJPEGReader getReader() {
+		return reader;
 	}
 
 	/** Get a component for displaying the video stream */
@@ -221,7 +162,7 @@ public class MJPEGStream implements VideoStream {
 	public void dispose() {
 		running = false;
 		try {
-			stream.close();
+			reader.close();
 		}
 		catch(IOException e) {
 			setErrorMsg(e.getMessage());
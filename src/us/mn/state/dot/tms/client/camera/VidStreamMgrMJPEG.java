@@ -1,6 +1,7 @@
 /*
  * IRIS -- Intelligent Roadway Information System
  * Copyright (C) 2019-2020  SRF Consulting Group
+ * Copyright (C) 2021  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -14,7 +15,7 @@
  */
 package us.mn.state.dot.tms.client.camera;
 
-import java.awt.Image;
+import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.HttpURLConnection;
@@ -46,6 +47,9 @@ public class VidStreamMgrMJPEG extends VidStreamMgr {
 
 	/** Input stream to read */
 	private InputStream stream;
+
+	/** Reader to parse and decode the stream */
+	private volatile MJPEGReader reader;
 	
 	//-------------------------------------------
 
@@ -73,8 +77,17 @@ public class VidStreamMgrMJPEG extends VidStreamMgr {
 	protected void doStartStream() {
 		vcomponentLabel.removeAll();
 		stream = createInputStream();
-		if (stream != null)
+		if (stream != null) {
+			try {
+				reader = new MJPEGReader(stream, frameListener);
+			}
+			catch (IOException e) {
+				setErrorMsg(e, "Generic IO Error");
+				closeStream();
+				return;
+			}
 			STREAM_SCHED.addJob(jobReadStream);
+		}
 	}
 
 	@Override
@@ -84,13 +97,23 @@ public class VidStreamMgrMJPEG extends VidStreamMgr {
 		if (stream != null) {
 			setComponent(null);
 			STREAM_SCHED.removeJob(jobReadStream);
-			try {
+			closeStream();
+		}
+	}
+
+	/** Close the stream (and reader) */
+	private void closeStream() {
+		MJPEGReader r = reader;
+		reader = null;
+		try {
+			if (r != null)
+				r.close();
+			else
 				stream.close();
-			} catch (Exception e) {
-				// ignore
-			}
-			stream = null;
+		} catch (Exception e) {
+			// ignore
 		}
+		stream = null;
 	}
 	
 	//-------------------------------------------
@@ -178,35 +201,17 @@ public class VidStreamMgrMJPEG extends VidStreamMgr {
 	//-------------------------------------------
 	//-------------------------------------------
 
-	/**
-	 * @param image
-	 */
+	/** Read the next frame from the stream.  Frames are decoded
+	 * (and scaled to the video panel size) by the reader's decode stage,
+	 * which drops stale frames if the UI falls behind. */
 	private void readStream() throws IOException {
-		byte[] idata = getImage();
-		ImageIcon icon = createIcon(idata);
-		JLabel lbl = new JLabel(icon);
-		setComponent(lbl);
-		streamingStarted();
-	}
-
-	//-------------------------------------------
-	//-------------------------------------------
-	//-------------------------------------------
-	//-------------------------------------------
-
-	/** Get the next image in the mjpeg stream */
-	protected byte[] getImage() throws IOException {
-		int n_size = getImageSize();
-		byte[] image = new byte[n_size];
-		int n_bytes = 0;
-		while (n_bytes < n_size) {
-			int r = stream.read(image, n_bytes, n_size - n_bytes);
-			if (r < 0)
-				throw new IOException("End of stream");
-			n_bytes += r;
+		MJPEGReader r = reader;
+		if (r != null) {
+			r.setTargetSize(videoPanel.getWidth(),
+				videoPanel.getHeight());
+			r.readFrame();
+			incReceivedFrameCount();
 		}
-		incReceivedFrameCount();
-		return image;
 	}
 
 	//-------------------------------------------
@@ -214,78 +219,22 @@ public class VidStreamMgrMJPEG extends VidStreamMgr {
 	//-------------------------------------------
 	//-------------------------------------------
 
-	/** Create an image icon from image data */
-	//TODO: change to rescale to current VideoPanel size
-	protected ImageIcon createIcon(byte[] idata) {
-		ImageIcon icon = new ImageIcon(idata);
-		int vWidth  = videoPanel.getWidth();
-		int vHeight = videoPanel.getHeight();
-		if (icon.getIconWidth() == vWidth &&
-		    icon.getIconHeight() == vHeight)
-			return icon;
-		Image im = icon.getImage().getScaledInstance(
-				vWidth,	vHeight,
-				Image.SCALE_FAST);
-		return new ImageIcon(im);
-	}
-
-	//-------------------------------------------
-	//-------------------------------------------
-	//-------------------------------------------
-	//-------------------------------------------
-
-	/** Get the length of the next image */
-	private int getImageSize() throws IOException {
-		for(int i = 0; i < 100; i++) {
-			String s = readLine();
-			if (s.toLowerCase().indexOf("content-length") > -1) {
-				// throw away an empty line after the
-				// content-length header
-				readLine();
-				return parseContentLength(s);
-			}
-		}
-		throw new IOException("Missing content-length");
-	}
-
-	//-------------------------------------------
-	//-------------------------------------------
-	//-------------------------------------------
-	//-------------------------------------------
-
-	/** Parse the content-length header */
-	private int parseContentLength(String s) throws IOException {
-		s = s.substring(s.indexOf(":") + 1);
-		s = s.trim();
-		try {
-			return Integer.parseInt(s);
-		}
-		catch(NumberFormatException e) {
-			throw new IOException("Invalid content-length");
+	/** Listener for decoded frames (called on the EDT) */
+	private final MJPEGReader.Listener frameListener =
+		new MJPEGReader.Listener()
+	{
+		public void frameDecoded(BufferedImage img) {
+			if (reader == null)
+				return;
+			vcomponentLabel.setIcon(new ImageIcon(img));
+			setComponent(vcomponentLabel);
+			streamingStarted();
 		}
-	}
-
-	//-------------------------------------------
-	//-------------------------------------------
-	//-------------------------------------------
-	//-------------------------------------------
+	};
 
-	/** Read the next line of text */
-	private String readLine() throws IOException {
-		StringBuilder b = new StringBuilder();
-		while (true) {
-			int ch = stream.read();
-			if (ch < 0) {
-				if (b.length() == 0)
-					throw new IOException("End of stream");
-				else
-					break;
-			}
-			b.append((char)ch);
-			if (ch == '\n')
-				break;
-		}
-		return b.toString();
+	/** Get the MJPEG reader (for frame rate and decode metrics) */
+	public MJPEGReader getReader() {
+		return reader;
 	}
 
 	//-------------------------------------------
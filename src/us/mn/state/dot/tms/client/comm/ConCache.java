@@ -121,7 +121,7 @@ public class ConCache {
 		client.populateReadable(cabinets);
 		client.populateReadable(comm_configs);
 		client.populateReadable(comm_links);
-		client.populateReadable(modems);
+		client.populateLazy(modems);
 		client.populateReadable(controllers);
 		if(client.canRead(Controller.SONAR_TYPE)) {
 			controllers.ignoreAttribute("timeoutErr");
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2008-2020  Minnesota Department of Transportation
+ * Copyright (C) 2008-2021  Minnesota Department of Transportation
  * Copyright (C) 2016-2017  SRF Consulting Group
  *
  * This program is free software; you can redistribute it and/or modify
@@ -54,6 +54,7 @@ import us.mn.state.dot.tms.client.proxy.ProxyListModel;
 import us.mn.state.dot.tms.client.widget.IComboBoxModel;
 import us.mn.state.dot.tms.client.widget.IListCellRenderer;
 import us.mn.state.dot.tms.utils.I18N;
+import static us.mn.state.dot.tms.client.widget.SwingRunner.runSwing;
 
 /**
  * Special table model for Controller I/O pins.
@@ -267,13 +268,21 @@ public class ControllerIOModel extends AbstractTableModel {
 				cell_editor, model);
 		}
 		@Override
-		protected boolean check(T p) {
-			addIO(p);
+		protected boolean check(final T p) {
+			runSwing(new Runnable() {
+				public void run() {
+					addIO(p);
+				}
+			});
 			return p.getController() == null;
 		}
 		@Override
-		protected void checkRemove(T p) {
-			removeIO(p);
+		protected void checkRemove(final T p) {
+			runSwing(new Runnable() {
+				public void run() {
+					removeIO(p);
+				}
+			});
 		}
 	}
 
@@ -283,14 +292,22 @@ public class ControllerIOModel extends AbstractTableModel {
 			super(c);
 		}
 		@Override
-		protected boolean check(Beacon b) {
-			addVerifyIO(b);
+		protected boolean check(final Beacon b) {
+			runSwing(new Runnable() {
+				public void run() {
+					addVerifyIO(b);
+				}
+			});
 			return b.getController() != null
 			    && b.getVerifyPin() == null;
 		}
 		@Override
-		protected void checkRemove(Beacon b) {
-			removeVerifyIO(b);
+		protected void checkRemove(final Beacon b) {
+			runSwing(new Runnable() {
+				public void run() {
+					removeVerifyIO(b);
+				}
+			});
 		}
 	}
 
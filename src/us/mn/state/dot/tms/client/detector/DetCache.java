@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2009-2010  Minnesota Department of Transportation
+ * Copyright (C) 2009-2021  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -17,6 +17,7 @@ package us.mn.state.dot.tms.client.detector;
 import us.mn.state.dot.sonar.client.TypeCache;
 import us.mn.state.dot.tms.Detector;
 import us.mn.state.dot.tms.R_Node;
+import us.mn.state.dot.tms.SampleFrame;
 import us.mn.state.dot.tms.Station;
 import us.mn.state.dot.tms.client.SonarState;
 
@@ -51,6 +52,14 @@ public class DetCache {
 		return detectors;
 	}
 
+	/** Cache of sample frames */
+	protected final TypeCache<SampleFrame> sample_frames;
+
+	/** Get the sample frame cache */
+	public TypeCache<SampleFrame> getSampleFrames() {
+		return sample_frames;
+	}
+
 	/** Create a new det cache */
 	public DetCache(SonarState client) throws IllegalAccessException,
 		NoSuchFieldException
@@ -58,6 +67,8 @@ public class DetCache {
 		r_nodes = new TypeCache<R_Node>(R_Node.class, client);
 		stations = new TypeCache<Station>(Station.class, client);
 		detectors = new TypeCache<Detector>(Detector.class, client);
+		sample_frames = new TypeCache<SampleFrame>(SampleFrame.class,
+			client);
 	}
 
 	/** Populate the type caches */
@@ -65,5 +76,6 @@ public class DetCache {
 		client.populateReadable(r_nodes);
 		client.populateReadable(stations);
 		client.populateReadable(detectors);
+		client.populateReadable(sample_frames);
 	}
 }
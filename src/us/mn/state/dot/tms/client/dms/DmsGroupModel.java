@@ -135,7 +135,7 @@ public class DmsGroupModel extends ProxyTableModel<DMS> {
 	private void updateSign(DMS dms) {
 		signs.clear();
 		signs.addAll(SignGroupHelper.getAllSigns(sign_group));
-		proxyChangedSwing(dms);
+		updateProxy(dms);
 	}
 
 	/** Check if the user is allowed to add / destroy a DMS sign group */
@@ -86,11 +86,11 @@ public class SignGroupTableModel extends ProxyTableModel<SignGroup> {
 		new SwingProxyAdapter<DmsSignGroup>(true)
 	{
 		protected void proxyAddedSwing(DmsSignGroup proxy) {
-			SignGroupTableModel.this.proxyChangedSwing(
+			SignGroupTableModel.this.updateProxy(
 				proxy.getSignGroup());
 		}
 		protected void proxyRemovedSwing(DmsSignGroup proxy) {
-			SignGroupTableModel.this.proxyChangedSwing(
+			SignGroupTableModel.this.updateProxy(
 				proxy.getSignGroup());
 		}
 		protected boolean checkAttributeChange(String attr) {
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2000-2019  Minnesota Department of Transportation
+ * Copyright (C) 2000-2021  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -15,6 +15,7 @@
 package us.mn.state.dot.tms.client.map;
 
 import java.awt.Graphics2D;
+import java.awt.Shape;
 import java.awt.event.MouseEvent;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Point2D;
@@ -196,18 +197,34 @@ abstract public class LayerState {
 	/** Call the specified callback for each map object in the layer */
 	abstract public MapObject forEach(MapSearcher s);
 
+	/** Call the specified callback for each map object which may be
+	 * drawn within a region.  Layers with a spatial index should override
+	 * this to skip objects outside the region (allowing for the size of
+	 * their symbols).
+	 * @param s Map searcher callback.
+	 * @param r Region in world coordinates.
+	 * @return Map object found, if any. */
+	public MapObject forEach(MapSearcher s, Rectangle2D r) {
+		return forEach(s);
+	}
+
 	/** Paint the layer */
 	public void paint(final Graphics2D g) {
 		if (isVisible()) {
 			final AffineTransform t = g.getTransform();
 			theme.setScale(getScale());
-			forEach(new MapSearcher() {
+			MapSearcher ms = new MapSearcher() {
 				public boolean next(MapObject mo) {
 					theme.draw(g, mo);
 					g.setTransform(t);
 					return false;
 				}
-			});
+			};
+			Shape clip = g.getClip();
+			if (clip != null)
+				forEach(ms, clip.getBounds2D());
+			else
+				forEach(ms);
 		}
 	}
 
@@ -297,7 +314,7 @@ abstract public class LayerState {
 			public boolean next(MapObject mo) {
 				return theme.hit(p, mo);
 			}
-		});
+		}, new Rectangle2D.Double(p.getX(), p.getY(), 0, 0));
 	}
 
 	/** Process a mouse click for the layer */
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2011-2016  Minnesota Department of Transportation
+ * Copyright (C) 2011-2021  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -34,8 +34,9 @@ public class TempImageFile {
 		t_stream = new TempImageInputStream(is);
 	}
 
-	/** Get image from the file */
-	public BufferedImage getImage() throws IOException {
+	/** Get image from the file.  This is synchronized, since the stream
+	 * position is shared by all readers. */
+	public synchronized BufferedImage getImage() throws IOException {
 		t_stream.seek(0);
 		return ImageIO.read(t_stream);
 	}
@@ -17,10 +17,9 @@ package us.mn.state.dot.tms.client.map;
 import java.awt.Dimension;
 import java.awt.Image;
 import java.awt.geom.Point2D;
-import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.util.HashSet;
-import javax.swing.SwingWorker;
+import java.util.concurrent.atomic.AtomicBoolean;
+import static us.mn.state.dot.tms.client.widget.SwingRunner.runSwing;
 import us.mn.state.dot.tms.geo.ZoomLevel;
 
 /**
@@ -33,9 +32,6 @@ public class TileLayerState extends LayerState {
 	/** Cache of tiles */
 	private final TileCache cache;
 
-	/** Set of missing tiles */
-	private final HashSet<String> no_tile = new HashSet<String>();
-
 	/** Create a new tile layer state */
 	public TileLayerState(TileLayer layer, MapBean mb, TileCache c) {
 		super(layer, mb, new Theme("Tile", new TileSymbol(),
@@ -60,6 +56,9 @@ public class TileLayerState extends LayerState {
 		int y0 = zoomLimit(zoom, (py - hy) / 256);
 		int y1 = zoomLimit(zoom, ((py + hy) / 256) + 1);
 		int oy = (py + hy) % 256 - 512;
+		int cx = px / 256;
+		int cy = py / 256;
+		checkViewport(zoom, x0, x1, y0, y1);
 		for (int x = x0; x <= x1; x++) {
 			int xp = (x - x0) * 256 - ox;
 			for (int y = y0; y <= y1; y++) {
@@ -69,14 +68,66 @@ public class TileLayerState extends LayerState {
 				if (img != null)
 					s.next(new TileMapObject(img, xp, yp));
 				else {
-					if (!isTileMissing(tile))
-						createTileWorker(tile);
+					cache.requestTile(tile, distance(x, y,
+						cx, cy), fetched);
 				}
 			}
 		}
+		prefetchAdjacent(zoom, x0 - 1, x1 + 1, y0 - 1, y1 + 1, cx, cy);
 		return null;
 	}
 
+	/** Zoom level of current viewport */
+	private ZoomLevel vp_zoom;
+
+	/** Tile range of current viewport */
+	private int vp_x0, vp_x1, vp_y0, vp_y1;
+
+	/** Check if the viewport has changed.  The tile cache is only notified
+	 * of a new viewport when the zoom level or tile range changes, so
+	 * repaints do not drop pending prefetches. */
+	private void checkViewport(ZoomLevel zoom, int x0, int x1, int y0,
+		int y1)
+	{
+		if (zoom != vp_zoom || x0 != vp_x0 || x1 != vp_x1 ||
+		    y0 != vp_y0 || y1 != vp_y1)
+		{
+			vp_zoom = zoom;
+			vp_x0 = x0;
+			vp_x1 = x1;
+			vp_y0 = y0;
+			vp_y1 = y1;
+			cache.beginViewport();
+		}
+	}
+
+	/** Prefetch tiles on the perimeter of a tile range (adjacent to the
+	 * visible tiles), so they are ready when the map is panned */
+	private void prefetchAdjacent(ZoomLevel zoom, int x0, int x1, int y0,
+		int y1, int cx, int cy)
+	{
+		for (int x = x0; x <= x1; x++) {
+			for (int y = y0; y <= y1; y++) {
+				boolean edge = (x == x0 || x == x1 ||
+				                y == y0 || y == y1);
+				if (edge && isValidTile(zoom, x, y)) {
+					cache.prefetchTile(getTileName(zoom,
+						x, y), distance(x, y, cx, cy));
+				}
+			}
+		}
+	}
+
+	/** Check if tile X and Y are valid for a zoom level */
+	private boolean isValidTile(ZoomLevel zoom, int x, int y) {
+		return x >= 0 && x < zoom.n_tiles && y >= 0 && y < zoom.n_tiles;
+	}
+
+	/** Get the distance between two tiles (Chebyshev) */
+	static private int distance(int x, int y, int cx, int cy) {
+		return Math.max(Math.abs(x - cx), Math.abs(y - cy));
+	}
+
 	/** Limit X or Y tile based on zoom level */
 	private int zoomLimit(ZoomLevel zoom, int xory) {
 		return Math.max(0, Math.min(zoom.n_tiles - 1, xory));
@@ -88,13 +139,6 @@ public class TileLayerState extends LayerState {
 		return "" + zoom.ordinal() + '/' + tx + '/' + gy;
 	}
 
-	/** Is the given tile missing? */
-	private boolean isTileMissing(String tile) {
-		synchronized (no_tile) {
-			return no_tile.contains(tile);
-		}
-	}
-
 	/** Get a tile from the tile cache */
 	private Image getTile(String tile) {
 		try {
@@ -108,48 +152,23 @@ public class TileLayerState extends LayerState {
 		}
 	}
 
-	/** Create a worker to lookup one tile */
-	private void createTileWorker(final String tile) {
-		// FIXME: if tile lookup hangs, this ends up stalling all the
-		//        swing threads (10 by default, I think)
-		SwingWorker worker = new SwingWorker<String, Void>() {
-			@Override
-			public String doInBackground() {
-				return lookupTile(tile);
-			}
-			@Override
-			public void done() {
-				try {
-					String tile = get();
-					if (tile != null) {
+	/** Flag to indicate a geometry change is pending */
+	private final AtomicBoolean change_pending = new AtomicBoolean();
+
+	/** Callback for fetched tiles (called on a tile fetcher thread).
+	 * Changes are coalesced, so a burst of fetched tiles only causes
+	 * one repaint. */
+	private final Runnable fetched = new Runnable() {
+		public void run() {
+			if (change_pending.compareAndSet(false, true)) {
+				runSwing(new Runnable() {
+					public void run() {
+						change_pending.set(false);
 						fireLayerChanged(
 							LayerChange.geometry);
 					}
-				}
-				catch (Exception e) {
-					// ignore
-				}
+				});
 			}
-		};
-		worker.execute();
-	}
-
-	/** Lookup one tile */
-	private String lookupTile(String tile) {
-		try {
-			cache.lookupTile(tile);
-			return tile;
 		}
-		catch (FileNotFoundException e) {
-			synchronized (no_tile) {
-				no_tile.add(tile);
-			}
-		}
-		catch (IOException e) {
-			System.err.print("I/O Error ");
-			System.err.print(e.getMessage());
-			System.err.println(" loading tile: " + tile);
-		}
-		return null;
-	}
+	};
 }
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2008-2018  Minnesota Department of Transportation
+ * Copyright (C) 2008-2021  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -52,8 +52,13 @@ public class MapGeoLoc implements MapObject {
 			if (nv != null)
 				setNormalVector(nv);
 		}
+		double x = transform.getTranslateX();
+		double y = transform.getTranslateY();
 		updateTransform();
 		updateInverseTransform();
+		if (manager != null && (x != transform.getTranslateX() ||
+		    y != transform.getTranslateY()))
+			manager.updateIndex(this);
 	}
 
 	/** Update the layer geometry */
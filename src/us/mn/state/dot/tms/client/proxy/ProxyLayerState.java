@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2008-2016  Minnesota Department of Transportation
+ * Copyright (C) 2008-2021  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -16,6 +16,7 @@ package us.mn.state.dot.tms.client.proxy;
 
 import java.awt.event.InputEvent;
 import java.awt.event.MouseEvent;
+import java.awt.geom.Rectangle2D;
 import java.util.LinkedList;
 import java.util.Set;
 import us.mn.state.dot.sonar.SonarObject;
@@ -25,6 +26,7 @@ import us.mn.state.dot.tms.client.map.LayerState;
 import us.mn.state.dot.tms.client.map.MapBean;
 import us.mn.state.dot.tms.client.map.MapObject;
 import us.mn.state.dot.tms.client.map.MapSearcher;
+import static us.mn.state.dot.tms.client.widget.Widgets.UI;
 
 /**
  * Base class for all SONAR proxy map layer states.
@@ -33,6 +35,10 @@ import us.mn.state.dot.tms.client.map.MapSearcher;
  */
 public class ProxyLayerState<T extends SonarObject> extends LayerState {
 
+	/** Maximum distance from a map object position to the edge of its
+	 * symbol (pixels).  This must be larger than any rotated marker. */
+	static private final int SYMBOL_REACH_PIX = UI.scaled(48);
+
 	/** Get the map icon maximum size scale */
 	static private float getIconSizeScaleMax() {
 		return SystemAttrEnum.MAP_ICON_SIZE_SCALE_MAX.getFloat();
@@ -137,6 +143,19 @@ public class ProxyLayerState<T extends SonarObject> extends LayerState {
 		return manager.forEach(s);
 	}
 
+	/** Iterate through shapes which may be drawn within a region */
+	@Override
+	public MapObject forEach(MapSearcher s, Rectangle2D r) {
+		return manager.forEach(s, grow(r, getScale() *
+			SYMBOL_REACH_PIX));
+	}
+
+	/** Grow a region by a margin on all sides */
+	static protected Rectangle2D grow(Rectangle2D r, double m) {
+		return new Rectangle2D.Double(r.getX() - m, r.getY() - m,
+			r.getWidth() + 2 * m, r.getHeight() + 2 * m);
+	}
+
 	/** Do mouse click event processing */
 	private void doClick(MouseEvent e, T proxy) {
 		if (proxy != null) {
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2007-2016  Minnesota Department of Transportation
+ * Copyright (C) 2007-2021  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -14,8 +14,6 @@
  */
 package us.mn.state.dot.tms.client.proxy;
 
-import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Comparator;
 import javax.swing.AbstractListModel;
 import us.mn.state.dot.sonar.SonarObject;
@@ -23,7 +21,8 @@ import us.mn.state.dot.sonar.client.TypeCache;
 import us.mn.state.dot.tms.utils.NumericAlphaComparator;
 
 /**
- * A swing ListModel kept in sync with a SONAR TypeCache.
+ * A swing ListModel kept in sync with a SONAR TypeCache.  Proxies are
+ * checked and sorted off the EDT, and interval events are fired in batches.
  *
  * @author Douglas Lau
  */
@@ -33,9 +32,6 @@ public class ProxyListModel<T extends SonarObject>
 	/** Proxy type cache */
 	private final TypeCache<T> cache;
 
-	/** Proxy list */
-	private final ArrayList<T> list;
-
 	/** Proxy comparator */
 	private final Comparator<T> comp = comparator();
 
@@ -44,129 +40,73 @@ public class ProxyListModel<T extends SonarObject>
 		return new NumericAlphaComparator<T>();
 	}
 
-	/** Proxy listener for SONAR updates */
-	private final SwingProxyAdapter<T> listener = new SwingProxyAdapter<T>()
-	{
-		protected Comparator<T> comparator() {
-			return ProxyListModel.this.comp;
+	/** Sorted, filtered proxy rows */
+	private final ProxyRows<T> rows = new ProxyRows<T>(comp) {
+		protected boolean check(T proxy) {
+			return ProxyListModel.this.check(proxy);
 		}
-		protected void proxyAddedSwing(T proxy) {
-			int i = doProxyAdded(proxy);
-			if (i >= 0)
-				fireIntervalAdded(this, i, i);
+		protected void checkRemove(T proxy) {
+			ProxyListModel.this.checkRemove(proxy);
 		}
-		protected void enumerationCompleteSwing(Collection<T> proxies) {
-			for (T proxy: proxies) {
-				if (check(proxy))
-					list.add(proxy);
-			}
-			int sz = list.size() - 1;
-			if (sz >= 0)
-				fireIntervalAdded(this, 0, sz);
+		protected void rowsInserted(int r0, int r1) {
+			fireIntervalAdded(ProxyListModel.this, r0, r1);
 		}
-		protected void proxyRemovedSwing(T proxy) {
-			int i = doProxyRemoved(proxy);
-			if (i >= 0)
-				fireIntervalRemoved(this, i, i);
+		protected void rowsDeleted(int r0, int r1) {
+			fireIntervalRemoved(ProxyListModel.this, r0, r1);
 		}
-		protected void proxyChangedSwing(T proxy, String attr) {
-			ProxyListModel.this.proxyChangedSwing(proxy);
+		protected void rowsUpdated(int r0, int r1) {
+			fireContentsChanged(ProxyListModel.this, r0, r1);
 		}
 	};
 
 	/** Create a new proxy list model */
 	public ProxyListModel(TypeCache<T> c) {
 		cache = c;
-		list = new ArrayList<T>();
 	}
 
 	/** Initialize the proxy list model. This cannot be done in the
 	 * constructor because subclasses may not be fully constructed. */
 	public void initialize() {
-		cache.addProxyListener(listener);
+		cache.addProxyListener(rows);
 	}
 
 	/** Dispose of the proxy model */
 	public void dispose() {
-		cache.removeProxyListener(listener);
-		listener.dispose();
+		cache.removeProxyListener(rows);
+		rows.dispose();
 	}
 
-	/** Check if a proxy is included in the list */
+	/** Check if a proxy is included in the list.  This is called on a
+	 * worker thread, not the EDT. */
 	protected boolean check(T proxy) {
 		return true;
 	}
 
-	/** Add a new proxy to the model */
-	private int doProxyAdded(T proxy) {
-		if (check(proxy)) {
-			int n_size = list.size();
-			for (int i = 0; i < n_size; ++i) {
-				int c = comp.compare(proxy, list.get(i));
-				if (c == 0)
-					return -1;
-				if (c < 0) {
-					list.add(i, proxy);
-					return i;
-				}
-			}
-			list.add(proxy);
-			return n_size;
-		} else
-			return -1;
-	}
-
-	/** Remove a proxy from the model */
-	private int doProxyRemoved(T proxy) {
-		checkRemove(proxy);
-		int i = getIndex(proxy);
-		if (i >= 0)
-			list.remove(i);
-		return i;
-	}
-
-	/** Check when proxy is removed */
+	/** Check when proxy is removed (or changed).  This is called on a
+	 * worker thread, not the EDT. */
 	protected void checkRemove(T proxy) {
 		// subclasses can override
 	}
 
-	/** Change a proxy in the list model */
-	private void proxyChangedSwing(T proxy) {
-		int pre = doProxyRemoved(proxy);
-		int post = doProxyAdded(proxy);
-		if (pre >= 0 && post >= 0) {
-			int r0 = Math.min(pre, post);
-			int r1 = Math.max(pre, post);
-			fireContentsChanged(this, r0, r1);
-		} else if (pre >= 0 && post < 0)
-			fireIntervalRemoved(this, pre, pre);
-		else if (pre < 0 && post >= 0)
-			fireIntervalAdded(this, post, post);
-	}
-
 	/** Get the size (for ListModel) */
 	@Override
 	public int getSize() {
-		return list.size();
+		return rows.size();
 	}
 
 	/** Get the element at the specified index (for ListModel) */
 	@Override
 	public T getElementAt(int index) {
-		return list.get(index);
+		return rows.get(index);
 	}
 
 	/** Get the proxy at the specified index */
 	public T getProxy(int i) {
-		return list.get(i);
+		return rows.get(i);
 	}
 
 	/** Get the index of the given proxy */
 	public int getIndex(T proxy) {
-		for (int i = 0; i < list.size(); ++i) {
-			if (proxy == list.get(i))
-				return i;
-		}
-		return -1;
+		return rows.indexOf(proxy);
 	}
 }
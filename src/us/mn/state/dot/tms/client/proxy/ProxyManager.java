@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2008-2019  Minnesota Department of Transportation
+ * Copyright (C) 2008-2021  Minnesota Department of Transportation
  * Copyright (C) 2010  AHMCT, University of California
  *
  * This program is free software; you can redistribute it and/or modify
@@ -18,6 +18,7 @@ package us.mn.state.dot.tms.client.proxy;
 import java.awt.FlowLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.MouseEvent;
+import java.awt.geom.Rectangle2D;
 import java.util.Collection;
 import javax.swing.Icon;
 import javax.swing.JLabel;
@@ -497,6 +498,23 @@ abstract public class ProxyManager<T extends SonarObject> {
 		return null;
 	}
 
+	/** Iterate through proxy objects positioned within a region.
+	 * @param s Map searcher callback.
+	 * @param r Region in world coordinates.
+	 * @return Map object found, if any. */
+	public MapObject forEach(MapSearcher s, Rectangle2D r) {
+		for (MapGeoLoc loc: map_cache.search(r)) {
+			if (isVisible(loc) && s.next(loc))
+				return loc;
+		}
+		return null;
+	}
+
+	/** Update the spatial index for a map location which has moved */
+	void updateIndex(MapGeoLoc loc) {
+		map_cache.update(loc);
+	}
+
 	/** Check if a MapGeoLoc is visible */
 	private boolean isVisible(MapGeoLoc loc) {
 		return isLocationSet(loc) && isStyleVisible(loc);
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2008-2019  Minnesota Department of Transportation
+ * Copyright (C) 2008-2021  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -14,51 +14,81 @@
  */
 package us.mn.state.dot.tms.client.proxy;
 
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
 import java.util.HashMap;
 import java.util.Iterator;
-import java.util.Map;
+import java.util.List;
 import us.mn.state.dot.sonar.SonarObject;
+import us.mn.state.dot.tms.client.map.SpatialIndex;
 
 /**
  * A cache mapping from MapGeoLoc to proxy objects.  This cache
- * is an optimization to help ProxyManager.findProxy run fast.
+ * is an optimization to help ProxyManager.findProxy run fast.  It also
+ * contains a spatial index of the MapGeoLoc positions.
  *
  * @author Douglas Lau
  */
 public final class ProxyMapCache<T extends SonarObject>
 	implements Iterable<MapGeoLoc>
 {
+	/** Get the position of a map geo loc */
+	static private Rectangle2D getPosition(MapGeoLoc loc) {
+		AffineTransform t = loc.getTransform();
+		return new Rectangle2D.Double(t.getTranslateX(),
+			t.getTranslateY(), 0, 0);
+	}
+
 	/** Mapping from MapGeoLoc to proxy objects.  This is an optimization
 	 * cache to help findProxy run fast. */
 	private final HashMap<MapGeoLoc, T> map_proxies =
 		new HashMap<MapGeoLoc, T>();
 
+	/** Mapping from proxy objects to MapGeoLoc */
+	private final HashMap<T, MapGeoLoc> proxy_maps =
+		new HashMap<T, MapGeoLoc>();
+
+	/** Spatial index of MapGeoLoc positions */
+	private final SpatialIndex<MapGeoLoc> index =
+		new SpatialIndex<MapGeoLoc>();
+
 	/** Dispose of the proxy map cache */
 	public synchronized void dispose() {
 		map_proxies.clear();
+		proxy_maps.clear();
+		index.clear();
 	}
 
 	/** Put an entry into cache.
 	 * @param loc Map object to associate with proxy.
 	 * @param proxy Proxy to associate with map object. */
 	public synchronized void put(MapGeoLoc loc, T proxy) {
+		MapGeoLoc ploc = proxy_maps.put(proxy, loc);
+		if (ploc != null && ploc != loc) {
+			map_proxies.remove(ploc);
+			index.remove(ploc);
+		}
 		map_proxies.put(loc, proxy);
+		index.put(loc, getPosition(loc));
 	}
 
 	/** Remove an entry from cache.
 	 * @param proxy Proxy to remove from cache. */
 	public synchronized void remove(T proxy) {
-		Iterator<Map.Entry<MapGeoLoc, T>> it =
-			map_proxies.entrySet().iterator();
-		while (it.hasNext()) {
-			Map.Entry<MapGeoLoc, T> ent = it.next();
-			if (ent.getValue() == proxy) {
-				it.remove();
-				break;
-			}
+		MapGeoLoc loc = proxy_maps.remove(proxy);
+		if (loc != null) {
+			map_proxies.remove(loc);
+			index.remove(loc);
 		}
 	}
 
+	/** Update the position of a cached map object.
+	 * @param loc Map object which has moved. */
+	public synchronized void update(MapGeoLoc loc) {
+		if (map_proxies.containsKey(loc))
+			index.put(loc, getPosition(loc));
+	}
+
 	/** Lookup a proxy in the cache.
 	 * @param loc Map object to find associated proxy.
 	 * @return Proxy associated with map object. */
@@ -66,6 +96,13 @@ public final class ProxyMapCache<T extends SonarObject>
 		return map_proxies.get(loc);
 	}
 
+	/** Search for map objects positioned within a region.
+	 * @param r Region in world coordinates.
+	 * @return List of map objects within the region. */
+	public synchronized List<MapGeoLoc> search(Rectangle2D r) {
+		return index.search(r);
+	}
+
 	/** Get an iterator over the MapGeoLoc keys */
 	public Iterator<MapGeoLoc> iterator() {
 		return map_proxies.keySet().iterator();
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2007-2017  Minnesota Department of Transportation
+ * Copyright (C) 2007-2021  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -15,7 +15,6 @@
 package us.mn.state.dot.tms.client.proxy;
 
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Comparator;
 import javax.swing.RowSorter;
 import javax.swing.table.AbstractTableModel;
@@ -29,7 +28,8 @@ import us.mn.state.dot.tms.utils.NumericAlphaComparator;
 
 /**
  * Table model for IRIS proxies.  This model allows a RowSorter to be used
- * with the table for sorting and filtering.
+ * with the table for sorting and filtering.  Proxies are checked and sorted
+ * off the EDT, and row events are fired in batches.
  *
  * @author Douglas Lau
  */
@@ -56,9 +56,6 @@ abstract public class ProxyTableModel<T extends SonarObject>
 	/** Proxy columns */
 	private final ArrayList<ProxyColumn<T>> columns;
 
-	/** Proxy list */
-	private final ArrayList<T> list;
-
 	/** Proxy comparator */
 	private final Comparator<T> comp = comparator();
 
@@ -67,36 +64,25 @@ abstract public class ProxyTableModel<T extends SonarObject>
 		return new NumericAlphaComparator<T>();
 	}
 
-	/** Proxy listener for SONAR updates */
-	private final SwingProxyAdapter<T> listener = new SwingProxyAdapter<T>()
-	{
-		protected Comparator<T> comparator() {
-			return ProxyTableModel.this.comparator();
+	/** Sorted, filtered proxy rows */
+	private final ProxyRows<T> rows = new ProxyRows<T>(comp) {
+		protected boolean check(T proxy) {
+			return ProxyTableModel.this.check(proxy);
 		}
-		protected void proxyAddedSwing(T proxy) {
-			int i = doProxyAdded(proxy);
-			if (i >= 0)
-				fireTableRowsInserted(i, i);
+		protected boolean checkAttributeChange(String attr) {
+			return ProxyTableModel.this.checkAttributeChange(attr);
 		}
-		protected void enumerationCompleteSwing(Collection<T> proxies) {
-			for (T proxy: proxies) {
-				if (check(proxy))
-					list.add(proxy);
-			}
-			int sz = list.size() - 1;
-			if (sz >= 0)
-				fireTableRowsInserted(0, sz);
+		protected void rowsInserted(int r0, int r1) {
+			fireTableRowsInserted(r0, r1);
 		}
-		protected void proxyRemovedSwing(T proxy) {
-			int i = doProxyRemoved(proxy);
-			if (i >= 0)
-				fireTableRowsDeleted(i, i);
+		protected void rowsDeleted(int r0, int r1) {
+			fireTableRowsDeleted(r0, r1);
 		}
-		protected void proxyChangedSwing(T proxy, String attr) {
-			ProxyTableModel.this.proxyChangedSwing(proxy);
+		protected void rowsUpdated(int r0, int r1) {
+			fireTableRowsUpdated(r0, r1);
 		}
-		protected boolean checkAttributeChange(String attr) {
-			return ProxyTableModel.this.checkAttributeChange(attr);
+		protected void proxyChangedSwing(T proxy) {
+			ProxyTableModel.this.proxyChangedSwing(proxy);
 		}
 	};
 
@@ -112,7 +98,6 @@ abstract public class ProxyTableModel<T extends SonarObject>
 		visible_row_count = vrc;
 		row_height = rh;
 		columns = createColumns();
-		list = new ArrayList<T>();
 	}
 
 	/** Create a new proxy table model.
@@ -126,12 +111,13 @@ abstract public class ProxyTableModel<T extends SonarObject>
 	/** Initialize the proxy table model. This cannot be done in the
 	 * constructor because subclasses may not be fully constructed. */
 	public void initialize() {
-		descriptor.cache.addProxyListener(listener);
+		descriptor.cache.addProxyListener(rows);
 	}
 
 	/** Dispose of the proxy table model */
 	public void dispose() {
-		descriptor.cache.removeProxyListener(listener);
+		descriptor.cache.removeProxyListener(rows);
+		rows.dispose();
 	}
 
 	/** Create the columns in the model via method, which is called
@@ -203,50 +189,20 @@ abstract public class ProxyTableModel<T extends SonarObject>
 		return m;
 	}
 
-	/** Check if a proxy is included in the list */
+	/** Check if a proxy is included in the list.  This is called on a
+	 * worker thread, not the EDT. */
 	protected boolean check(T proxy) {
 		return true;
 	}
 
-	/** Add a new proxy to the table model */
-	private int doProxyAdded(T proxy) {
-		if (check(proxy)) {
-			int n_size = list.size();
-			for (int i = 0; i < n_size; ++i) {
-				int c = comp.compare(proxy, list.get(i));
-				if (c == 0)
-					return -1;
-				if (c < 0) {
-					list.add(i, proxy);
-					return i;
-				}
-			}
-			list.add(proxy);
-			return n_size;
-		} else
-			return -1;
-	}
-
-	/** Remove a proxy from the table model */
-	private int doProxyRemoved(T proxy) {
-		int i = getIndex(proxy);
-		if (i >= 0)
-			list.remove(i);
-		return i;
-	}
-
-	/** Change a proxy in the table model */
+	/** Check and sort a proxy again.  Row events are fired later. */
+	protected void updateProxy(T proxy) {
+		rows.update(proxy);
+	}
+
+	/** A proxy has been changed, after its row was updated (on EDT) */
 	protected void proxyChangedSwing(T proxy) {
-		int pre = doProxyRemoved(proxy);
-		int post = doProxyAdded(proxy);
-		if (pre >= 0 && post >= 0) {
-			int r0 = Math.min(pre, post);
-			int r1 = Math.max(pre, post);
-			fireTableRowsUpdated(r0, r1);
-		} else if (pre >= 0 && post < 0)
-			fireTableRowsDeleted(pre, pre);
-		else if (pre < 0 && post >= 0)
-			fireTableRowsInserted(post, post);
+		// subclasses can override
 	}
 
 	/** Check if an attribute change is interesting */
@@ -257,21 +213,17 @@ abstract public class ProxyTableModel<T extends SonarObject>
 	/** Get the count of rows in the table */
 	@Override
 	public int getRowCount() {
-		return list.size();
+		return rows.size();
 	}
 
 	/** Get the proxy at the specified row */
 	public T getRowProxy(int row) {
-		return (row >= 0) ? list.get(row) : null;
+		return (row >= 0) ? rows.get(row) : null;
 	}
 
 	/** Get the index of the given proxy */
 	public int getIndex(T proxy) {
-		for (int i = 0; i < list.size(); ++i) {
-			if (proxy == list.get(i))
-				return i;
-		}
-		return -1;
+		return rows.indexOf(proxy);
 	}
 
 	/** Get the visible row count */
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2014-2020  Minnesota Department of Transportation
+ * Copyright (C) 2014-2021  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -14,30 +14,75 @@
  */
 package us.mn.state.dot.tms.client.proxy;
 
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.TreeSet;
+import javax.swing.Timer;
+import us.mn.state.dot.sched.TimeSteward;
 import us.mn.state.dot.sonar.SonarObject;
 import us.mn.state.dot.sonar.client.ProxyListener;
+import us.mn.state.dot.tms.client.MainClient;
 import static us.mn.state.dot.tms.client.widget.SwingRunner.runSwing;
 
 /**
  * An adapter to use ProxyListener for Swing models.
  *
+ * Attribute changes are accumulated off the EDT into a dirty set, which is
+ * delivered to proxyChangedSwing in one batch at most every FLUSH_MS.
+ * Repeated changes to the same proxy attribute within a batch are
+ * coalesced.
+ *
  * @author Douglas Lau
  */
 abstract public class SwingProxyAdapter<T extends SonarObject>
 	implements ProxyListener<T>
 {
+	/** Minimum interval between batches of changes (ms) */
+	static public final int FLUSH_MS = 50;
+
 	/** Set of proxies used until the enumeration is complete */
 	private final TreeSet<T> proxies = new TreeSet<T>(comparator());
 
 	/** Flag to pass along notifications */
 	private boolean notify;
 
+	/** Changed attributes waiting for delivery, by proxy.
+	 * All access must be synchronized on the "dirty" lock. */
+	private final LinkedHashMap<T, LinkedHashSet<String>> dirty =
+		new LinkedHashMap<T, LinkedHashSet<String>>();
+
+	/** Time of oldest undelivered change */
+	private long dirty_since;
+
+	/** Timer to deliver batches of changes on the EDT */
+	private final Timer flush_timer;
+
+	/** Count of changes received */
+	private long n_changes;
+
+	/** Count of changes delivered (after coalescing) */
+	private long n_delivered;
+
+	/** Count of batches delivered */
+	private long n_batches;
+
+	/** Total queue latency of all batches (ms) */
+	private long latency_ms;
+
 	/** Create a new swing proxy adapter */
 	protected SwingProxyAdapter(boolean n) {
 		notify = n;
+		flush_timer = new Timer(FLUSH_MS, new ActionListener() {
+			public void actionPerformed(ActionEvent e) {
+				flushChanges();
+			}
+		});
+		flush_timer.setRepeats(false);
 	}
 
 	/** Create a new swing proxy adapter */
@@ -76,6 +121,9 @@ abstract public class SwingProxyAdapter<T extends SonarObject>
 	 * @see us.mn.state.dot.sonar.client.ProxyListener */
 	@Override
 	public final void proxyRemoved(final T proxy) {
+		synchronized (dirty) {
+			dirty.remove(proxy);
+		}
 		if (notify) {
 			runSwing(new Runnable() {
 				public void run() {
@@ -90,17 +138,80 @@ abstract public class SwingProxyAdapter<T extends SonarObject>
 	@Override
 	public final void proxyChanged(final T proxy, final String attr) {
 		if (notify && checkAttributeChange(attr)) {
-			runSwing(new Runnable() {
-				public void run() {
+			synchronized (dirty) {
+				n_changes++;
+				if (dirty.isEmpty()) {
+					dirty_since = TimeSteward.currentTimeMillis();
+					flush_timer.restart();
+				}
+				LinkedHashSet<String> attrs = dirty.get(proxy);
+				if (attrs == null) {
+					attrs = new LinkedHashSet<String>();
+					dirty.put(proxy, attrs);
+				}
+				attrs.add(attr);
+			}
+		}
+	}
+
+	/** Deliver a batch of changes (on the EDT) */
+	private void flushChanges() {
+		LinkedHashMap<T, LinkedHashSet<String>> changes;
+		synchronized (dirty) {
+			if (dirty.isEmpty())
+				return;
+			changes = new LinkedHashMap<T, LinkedHashSet<String>>(
+				dirty);
+			dirty.clear();
+			n_batches++;
+			latency_ms += TimeSteward.currentTimeMillis() - dirty_since;
+		}
+		int n = 0;
+		for (Map.Entry<T, LinkedHashSet<String>> e: changes.entrySet()) {
+			T proxy = e.getKey();
+			for (String attr: e.getValue()) {
+				try {
 					proxyChangedSwing(proxy, attr);
 				}
-			});
+				catch (Exception ex) {
+					MainClient.getHandler().handle(ex);
+				}
+				n++;
+			}
+		}
+		synchronized (dirty) {
+			n_delivered += n;
+		}
+	}
+
+	/** Get the count of changes received */
+	public final long getChangeCount() {
+		synchronized (dirty) {
+			return n_changes;
+		}
+	}
+
+	/** Get the count of changes delivered (after coalescing) */
+	public final long getDeliveredCount() {
+		synchronized (dirty) {
+			return n_delivered;
+		}
+	}
+
+	/** Get the mean queue latency of delivered batches (ms) */
+	public final long getMeanLatencyMs() {
+		synchronized (dirty) {
+			return (n_batches > 0) ? latency_ms / n_batches : 0;
 		}
 	}
 
 	/** Dispose of the adapter */
 	public final void dispose() {
 		proxies.clear();
+		flush_timer.stop();
+		synchronized (dirty) {
+			dirty.clear();
+		}
 	}
 
 	/** Get a proxy comparator */
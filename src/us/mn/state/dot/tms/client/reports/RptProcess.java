@@ -35,13 +35,21 @@ import us.mn.state.dot.tms.utils.I18N;
  * 0.5 seconds, this displays a progress dialog
  * that provides a button to cancel the request.
  * 
- * Once the server returns a report, this closes
- * the progress dialog (if shown) and displays a
- * RptResultForm containing the report data.
+ * The server returns a report in pages.  Each page
+ * is acknowledged after it is read, which lets the
+ * server send the next one.  Once the last page is
+ * returned, this closes the progress dialog (if
+ * shown) and displays a RptResultForm containing
+ * the report data.
+ * 
+ * Note: paging only limits memory use on the server.
+ * All pages are collected here, so the whole report
+ * is still held in client memory before it can be
+ * sorted and displayed.
  * 
  * @author John L. Stanley - SRF Consulting
  */
-public class RptProcess extends SwingWorker<String,Integer> {
+public class RptProcess extends SwingWorker<RptResults,Integer> {
 
 	protected final Session session;
 	protected final String ssRequest;
@@ -56,10 +64,12 @@ public class RptProcess extends SwingWorker<String,Integer> {
 
 	/** Submit a report request and wait for the results. */
 	@Override
-	protected String doInBackground() throws Exception {
+	protected RptResults doInBackground() throws Exception {
 		TypeCache<RptConduit> cache = null;
 		String conduitName = null;
 		String ssResults = null;
+		RptResults results = new RptResults();
+		int page = 0;
 
 		indMon = new IndProgressMonitor(session.getDesktop(),
 				I18N.get("report.generating"), null);
@@ -86,13 +96,29 @@ public class RptProcess extends SwingWorker<String,Integer> {
 					conduit.setRequest(ssRequest);
 			}
 
-			// If server has returned a report, exit.
+			// If server has returned a page, add it
+			// to the results and acknowledge it.
+			// Exit after the last page.
 			if (conduit != null) {
 				ssResults = conduit.getResults();
 				if ((ssResults != null)
 				 && !ssResults.isEmpty()
-				 && (ssResults.charAt(0) == '{'))
-					break;
+				 && (ssResults.charAt(0) == '{')) {
+					RptResults res = new RptResults(ssResults);
+					if (res.getPage() == 0) {
+						// not paged
+						results = res;
+						break;
+					}
+					if (res.getPage() > page) {
+						page = res.getPage();
+						results.addRptResults(res);
+						if (!res.hasMore())
+							break;
+						conduit.setPage(page);
+						continue;
+					}
+				}
 			}
 
 			// update progress monitor and take a nap
@@ -101,7 +127,7 @@ public class RptProcess extends SwingWorker<String,Integer> {
 			publish(x);
 			Thread.sleep(100);
 		}
-		return ssResults;
+		return results;
 	}
 	
 	/** Update progress monitor */
@@ -121,9 +147,9 @@ public class RptProcess extends SwingWorker<String,Integer> {
 				return;
 			}
 
-			String ssResults = get();
-			if (ssResults != null) {
-				RptResults res = new RptResults(ssResults);
+			RptResults res = get();
+			if (res != null) {
+				res.sort(RptResults.SORTonDATETIME);
 				RptResultsForm form = new RptResultsForm(res);
 				session.getDesktop().show(form);
 			}
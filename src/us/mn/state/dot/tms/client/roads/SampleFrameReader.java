@@ -0,0 +1,143 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.client.roads;
+
+import java.io.IOException;
+import java.util.Calendar;
+import us.mn.state.dot.sched.Job;
+import us.mn.state.dot.sched.Scheduler;
+import us.mn.state.dot.sonar.client.ProxyListener;
+import us.mn.state.dot.sonar.client.TypeCache;
+import us.mn.state.dot.tms.SampleFrame;
+import us.mn.state.dot.tms.SampleFrameHelper;
+
+/**
+ * SampleFrameReader receives sample frames pushed by the server, and
+ * reports the decoded samples to the segment builder.  This replaces
+ * polling and parsing the detector sample XML document.
+ *
+ * @author Douglas Lau
+ */
+public class SampleFrameReader {
+
+	/** Reader worker thread */
+	static private final Scheduler READER = new Scheduler("frame_reader");
+
+	/** Time (ms) to consider sample data valid */
+	static private final long SAMPLE_VALID_MS = 5 * 60 * 1000;
+
+	/** Sample frame cache */
+	private final TypeCache<SampleFrame> cache;
+
+	/** Segment builder */
+	private final SegmentBuilder builder;
+
+	/** Time stamp of most recent frame */
+	private Long last_stamp = null;
+
+	/** Time when most recent frame was received */
+	private long receive_stamp = 0;
+
+	/** Receiver for decoded samples */
+	private final SampleFrameHelper.Receiver receiver =
+		new SampleFrameHelper.Receiver()
+	{
+		public void sample(String sensor, int flow, int speed,
+			float occ)
+		{
+			SensorReader.notifySensorSample(builder, sensor,
+				(flow >= 0) ? flow : null,
+				(speed >= 0) ? speed : null,
+				(occ >= 0) ? occ : null);
+		}
+	};
+
+	/** Listener for sample frame proxies */
+	private final ProxyListener<SampleFrame> listener =
+		new ProxyListener<SampleFrame>()
+	{
+		public void proxyAdded(SampleFrame sf) {
+			queueFrame(sf);
+		}
+		public void enumerationComplete() { }
+		public void proxyRemoved(SampleFrame sf) { }
+		public void proxyChanged(SampleFrame sf, String a) {
+			if ("samples".equals(a))
+				queueFrame(sf);
+		}
+	};
+
+	/** Job to clear stale samples */
+	private final Job job = new Job(Calendar.SECOND, 30) {
+		public void perform() {
+			checkStale();
+		}
+	};
+
+	/** Create a new sample frame reader */
+	public SampleFrameReader(TypeCache<SampleFrame> c, SegmentBuilder sb) {
+		cache = c;
+		builder = sb;
+	}
+
+	/** Initialize the sample frame reader */
+	public void initialize() {
+		cache.addProxyListener(listener);
+		READER.addJob(job);
+	}
+
+	/** Dispose of the sample frame reader */
+	public void dispose() {
+		READER.removeJob(job);
+		cache.removeProxyListener(listener);
+	}
+
+	/** Queue a frame to be decoded on the reader thread */
+	private void queueFrame(final SampleFrame sf) {
+		if (!SampleFrame.DETECTOR.equals(sf.getName()))
+			return;
+		READER.addJob(new Job() {
+			public void perform() {
+				readFrame(sf);
+			}
+		});
+	}
+
+	/** Decode a sample frame */
+	private void readFrame(SampleFrame sf) {
+		Long stamp = sf.getStamp();
+		String samples = sf.getSamples();
+		if (null == stamp || null == samples ||
+		    stamp.equals(last_stamp))
+			return;
+		try {
+			SampleFrameHelper.decode(samples, receiver);
+			last_stamp = stamp;
+			receive_stamp = System.currentTimeMillis();
+			builder.completeSamples();
+		}
+		catch (IOException e) {
+			SensorReader.logErr("SampleFrameReader",
+				e.getMessage());
+		}
+	}
+
+	/** Clear samples if no frame has been received recently */
+	private void checkStale() {
+		long now = System.currentTimeMillis();
+		if (now - receive_stamp > SAMPLE_VALID_MS)
+			builder.clearSamples();
+	}
+}
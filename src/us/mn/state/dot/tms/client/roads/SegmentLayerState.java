@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2009-2018  Minnesota Department of Transportation
+ * Copyright (C) 2009-2021  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -15,6 +15,7 @@
 package us.mn.state.dot.tms.client.roads;
 
 import java.awt.event.MouseEvent;
+import java.awt.geom.Rectangle2D;
 import us.mn.state.dot.tms.R_Node;
 import us.mn.state.dot.tms.client.map.MapBean;
 import us.mn.state.dot.tms.client.map.MapObject;
@@ -22,6 +23,7 @@ import us.mn.state.dot.tms.client.map.MapSearcher;
 import us.mn.state.dot.tms.client.proxy.ProxyLayer;
 import us.mn.state.dot.tms.client.proxy.ProxyLayerState;
 import us.mn.state.dot.tms.geo.MapVector;
+import static us.mn.state.dot.tms.client.widget.Widgets.UI;
 
 /**
  * SegmentLayerState is a class for drawing roadway segments.
@@ -30,6 +32,12 @@ import us.mn.state.dot.tms.geo.MapVector;
  */
 public class SegmentLayerState extends ProxyLayerState<R_Node> {
 
+	/** Maximum distance from segment centerline to edge (pixels) */
+	static private final int SEGMENT_REACH_PIX = UI.scaled(64);
+
+	/** Maximum distance from segment centerline to lane edge (meters) */
+	static private final double SEGMENT_REACH_M = 100;
+
 	/** R_Node manager */
 	private final R_NodeManager manager;
 
@@ -53,10 +61,22 @@ public class SegmentLayerState extends ProxyLayerState<R_Node> {
 	/** Iterate through the segments in the layer */
 	@Override
 	public MapObject forEach(MapSearcher s) {
+		return forEach(s, builder);
+	}
+
+	/** Iterate through the segments which may be drawn within a region */
+	@Override
+	public MapObject forEach(MapSearcher s, Rectangle2D r) {
+		double m = getScale() * SEGMENT_REACH_PIX + SEGMENT_REACH_M;
+		return forEach(s, builder.search(grow(r, m)));
+	}
+
+	/** Iterate through some segments */
+	private MapObject forEach(MapSearcher s, Iterable<Segment> segs) {
 		if (isPastLaneZoomThreshold())
-			return forEachLane(s);
+			return forEachLane(s, segs);
 		else
-			return forEachStation(s);
+			return forEachStation(s, segs);
 	}
 
 	/** Is the zoom level past the "individual lane" threshold? */
@@ -77,9 +97,11 @@ public class SegmentLayerState extends ProxyLayerState<R_Node> {
 	}
 
 	/** Iterate through the stations in the layer */
-	private MapObject forEachStation(MapSearcher s) {
+	private MapObject forEachStation(MapSearcher s,
+		Iterable<Segment> segs)
+	{
 		float scale = getScale();
-		for (Segment seg: builder) {
+		for (Segment seg: segs) {
 			MapSegment ms = new MapSegment(seg, scale);
 			if (s.next(ms))
 				return ms;
@@ -89,12 +111,13 @@ public class SegmentLayerState extends ProxyLayerState<R_Node> {
 
 	/** Iterate through each lane segment in the layer.
 	 * @param s Map searcher callback.
+	 * @param segs Segments to iterate.
 	 * @return Map object found, if any. */
-	private MapObject forEachLane(MapSearcher s) {
+	private MapObject forEachLane(MapSearcher s, Iterable<Segment> segs) {
 		float scale = getScale();
 		boolean parking = isPastParkingZoomThreshold();
 		MapVector normal = null;
-		for (Segment seg: builder) {
+		for (Segment seg: segs) {
 			if (parking && seg.parking) {
 				ParkingSpace ps;
 				if (seg.laneCount() > 1) {
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2000-2018  Minnesota Department of Transportation
+ * Copyright (C) 2000-2021  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -153,7 +153,12 @@ public class SensorReader {
 
 	/** Log an error to stderr */
 	private void logErr(String msg) {
-		System.err.println("" + new Date() + " SensorReader " + msg);
+		logErr("SensorReader", msg);
+	}
+
+	/** Log an error from a sample reader to stderr */
+	static void logErr(String reader, String msg) {
+		System.err.println("" + new Date() + " " + reader + " " + msg);
 	}
 
 	/** Parse the XML document and notify clients */
@@ -188,13 +193,21 @@ public class SensorReader {
 	private void notifySensorSample(String sensor, String f, String s,
 		String o)
 	{
-		Integer flow = parseInt(f);
-		Integer speed = parseInt(s);
-		Float occ = parseFloat(o);
-		if (flow != null || speed != null || occ != null) {
-			builder.update(new SensorSample(sensor, flow, speed,
-				occ));
-		}
+		notifySensorSample(builder, sensor, parseInt(f), parseInt(s),
+			parseFloat(o));
+	}
+
+	/** Notify segment builder of one sensor sample.
+	 * @param sb Segment builder.
+	 * @param sensor Sensor ID.
+	 * @param flow Flow rate, or null for missing data.
+	 * @param speed Speed, or null for missing data.
+	 * @param occ Occupancy, or null for missing data. */
+	static void notifySensorSample(SegmentBuilder sb, String sensor,
+		Integer flow, Integer speed, Float occ)
+	{
+		if (flow != null || speed != null || occ != null)
+			sb.update(new SensorSample(sensor, flow, speed, occ));
 	}
 
 	/** Handle one sensor sample element */
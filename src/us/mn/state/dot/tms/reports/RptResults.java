@@ -70,6 +70,11 @@ public class RptResults {
 		return list.size();
 	}
 
+	/** Add all records from another results page */
+	public void addRptResults(RptResults res) {
+		list.addAll(res.list);
+	}
+
 	//-------------------------------------------
 
 	public final static int SORTonDEVICENAME  = 1;
@@ -123,6 +128,33 @@ public class RptResults {
 		
 	//-------------------------------------------
 
+	//-------------------------------------------
+	// Paged results
+
+	/** Page number (0 if results are not paged) */
+	protected int page = 0;
+
+	/** Flag indicating more pages will follow */
+	protected boolean more = false;
+
+	public int getPage() {
+		return page;
+	}
+
+	public boolean hasMore() {
+		return more;
+	}
+
+	/** Converts result to one page of a composite-results String. */
+	public String toPageString(int p, boolean m) {
+		RptStringSet rssPage = new RptStringSet("page");
+		rssPage.add(Integer.toString(p));
+		rssPage.add(m ? "more" : "last");
+		return toResultsString() + rssPage.toString();
+	}
+
+	//-------------------------------------------
+
 	/** Converts result to a composite-results String. */
 	public String toResultsString() {
 		RptStringSetMap rssm = new RptStringSetMap();
@@ -165,6 +197,12 @@ public class RptResults {
 				++row;
 				key = "row" + row;
 			}
+			RptStringSet rssPage = rssm.get("page");
+			if (rssPage != null) {
+				strs = rssPage.toArray(new String[0]);
+				page = Integer.parseInt(strs[0]);
+				more = "more".equals(strs[1]);
+			}
 			this.sortcol = SORTonDATETIME;
 		} catch (IOException e) {
 			e.printStackTrace();
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2005-2020  Minnesota Department of Transportation
+ * Copyright (C) 2005-2021  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -145,7 +145,7 @@ public class AlarmImpl extends ControllerIoImpl implements Alarm {
 		AlarmEvent ev = new AlarmEvent(getEventType(s), getName());
 		try {
 			store.update(this, "state", s);
-			ev.doStore();
+			logEvent(ev);
 			state = s;
 			notifyAttribute("state");
 		}
@@ -0,0 +1,366 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.util.ArrayList;
+import org.postgis.LinearRing;
+import org.postgis.MultiPolygon;
+import org.postgis.Point;
+import org.postgis.Polygon;
+
+/**
+ * Alert area geometry, for point-in-polygon and distance tests in memory.
+ * Coordinates are lon/lat degrees; distances are in meters, using a local
+ * equirectangular projection around each test point.  A simplified copy of
+ * the area is used for most tests, falling back to the full polygons only
+ * for points near the distance threshold.
+ *
+ * @author Douglas Lau
+ */
+public class AlertArea {
+
+	/** Meters per degree of latitude (mean earth radius) */
+	static private final double M_PER_DEG = 6371008.8 * Math.PI / 180;
+
+	/** Tolerance for simplified polygons (meters) */
+	static public final double SIMPLIFY_M = 25;
+
+	/** Maximum span for local projection to be accurate (degrees) */
+	static private final double MAX_SPAN_DEG = 5;
+
+	/** A closed ring of points */
+	static private final class Ring {
+		private final double[] lon;
+		private final double[] lat;
+		private Ring(double[] x, double[] y) {
+			lon = x;
+			lat = y;
+		}
+		private int size() {
+			return lon.length;
+		}
+	}
+
+	/** A polygon shape (outer ring, then holes) */
+	static private final class Shape {
+		private final Ring[] rings;
+		private Shape(Ring[] r) {
+			rings = r;
+		}
+	}
+
+	/** Create a ring from a PostGIS linear ring */
+	static private Ring createRing(LinearRing lr) {
+		int n = lr.numPoints();
+		double[] lon = new double[n];
+		double[] lat = new double[n];
+		for (int i = 0; i < n; i++) {
+			Point p = lr.getPoint(i);
+			lon[i] = p.x;
+			lat[i] = p.y;
+		}
+		return new Ring(lon, lat);
+	}
+
+	/** Create a shape from a PostGIS polygon */
+	static private Shape createShape(Polygon pg) {
+		Ring[] rings = new Ring[pg.numRings()];
+		for (int i = 0; i < rings.length; i++)
+			rings[i] = createRing(pg.getRing(i));
+		return new Shape(rings);
+	}
+
+	/** Simplify a ring (Douglas-Peucker) */
+	static private Ring simplify(Ring r, double tol_m) {
+		int n = r.size();
+		if (n <= 4)
+			return r;
+		double mean_lat = 0;
+		for (int i = 0; i < n; i++)
+			mean_lat += r.lat[i];
+		double sx = Math.cos(Math.toRadians(mean_lat / n)) * M_PER_DEG;
+		boolean[] keep = new boolean[n];
+		keep[0] = true;
+		keep[n - 1] = true;
+		simplify(r, sx, tol_m, 0, n - 1, keep);
+		// Keep at least one other point, so the ring stays closed
+		if (n > 2)
+			keep[n / 2] = true;
+		int k = 0;
+		for (int i = 0; i < n; i++) {
+			if (keep[i])
+				k++;
+		}
+		double[] lon = new double[k];
+		double[] lat = new double[k];
+		int j = 0;
+		for (int i = 0; i < n; i++) {
+			if (keep[i]) {
+				lon[j] = r.lon[i];
+				lat[j] = r.lat[i];
+				j++;
+			}
+		}
+		return new Ring(lon, lat);
+	}
+
+	/** Simplify a section of a ring (iterative Douglas-Peucker) */
+	static private void simplify(Ring r, double sx, double tol_m, int i0,
+		int i1, boolean[] keep)
+	{
+		ArrayList<int[]> stack = new ArrayList<int[]>();
+		stack.add(new int[] { i0, i1 });
+		while (!stack.isEmpty()) {
+			int[] s = stack.remove(stack.size() - 1);
+			int a = s[0];
+			int b = s[1];
+			double max_d = 0;
+			int max_i = -1;
+			for (int i = a + 1; i < b; i++) {
+				double d = segmentDist(
+					(r.lon[i] - r.lon[a]) * sx,
+					(r.lat[i] - r.lat[a]) * M_PER_DEG,
+					(r.lon[b] - r.lon[a]) * sx,
+					(r.lat[b] - r.lat[a]) * M_PER_DEG);
+				if (d > max_d) {
+					max_d = d;
+					max_i = i;
+				}
+			}
+			if (max_i >= 0 && max_d > tol_m) {
+				keep[max_i] = true;
+				stack.add(new int[] { a, max_i });
+				stack.add(new int[] { max_i, b });
+			}
+		}
+	}
+
+	/** Get the distance from a point to a segment starting at the
+	 * origin, in projected coordinates.
+	 * @param px Point X.
+	 * @param py Point Y.
+	 * @param bx Segment end X.
+	 * @param by Segment end Y. */
+	static private double segmentDist(double px, double py, double bx,
+		double by)
+	{
+		double len2 = bx * bx + by * by;
+		double t = (len2 > 0) ? (px * bx + py * by) / len2 : 0;
+		t = Math.max(0, Math.min(1, t));
+		double dx = px - t * bx;
+		double dy = py - t * by;
+		return Math.sqrt(dx * dx + dy * dy);
+	}
+
+	/** Check if a ring contains a point (ray casting) */
+	static private boolean contains(Ring r, double lat, double lon) {
+		boolean in = false;
+		int n = r.size();
+		for (int i = 0, j = n - 1; i < n; j = i++) {
+			if ((r.lat[i] > lat) != (r.lat[j] > lat)) {
+				double x = r.lon[j] + (lat - r.lat[j]) *
+					(r.lon[i] - r.lon[j]) /
+					(r.lat[i] - r.lat[j]);
+				if (lon < x)
+					in = !in;
+			}
+		}
+		return in;
+	}
+
+	/** Check if a shape contains a point */
+	static private boolean contains(Shape s, double lat, double lon) {
+		if (s.rings.length == 0 || !contains(s.rings[0], lat, lon))
+			return false;
+		for (int i = 1; i < s.rings.length; i++) {
+			if (contains(s.rings[i], lat, lon))
+				return false;
+		}
+		return true;
+	}
+
+	/** Get the distance from a point to the edge of a ring (meters) */
+	static private double edgeDist(Ring r, double lat, double lon) {
+		double sx = Math.cos(Math.toRadians(lat)) * M_PER_DEG;
+		double min_d = Double.POSITIVE_INFINITY;
+		int n = r.size();
+		for (int i = 0, j = n - 1; i < n; j = i++) {
+			double ax = (r.lon[j] - lon) * sx;
+			double ay = (r.lat[j] - lat) * M_PER_DEG;
+			double bx = (r.lon[i] - lon) * sx;
+			double by = (r.lat[i] - lat) * M_PER_DEG;
+			double d = segmentDist(-ax, -ay, bx - ax, by - ay);
+			min_d = Math.min(min_d, d);
+		}
+		return min_d;
+	}
+
+	/** Get the distance from a point to a shape (0 if inside) */
+	static private double distance(Shape s, double lat, double lon) {
+		if (contains(s, lat, lon))
+			return 0;
+		double min_d = Double.POSITIVE_INFINITY;
+		for (Ring r: s.rings)
+			min_d = Math.min(min_d, edgeDist(r, lat, lon));
+		return min_d;
+	}
+
+	/** Get the distance from a point to a list of shapes */
+	static private double distance(Shape[] shapes, double lat, double lon){
+		double min_d = Double.POSITIVE_INFINITY;
+		for (Shape s: shapes) {
+			min_d = Math.min(min_d, distance(s, lat, lon));
+			if (0 == min_d)
+				break;
+		}
+		return min_d;
+	}
+
+	/** Full shapes */
+	private final Shape[] full;
+
+	/** Simplified shapes */
+	private final Shape[] simple;
+
+	/** Bounding box (min lat, min lon, max lat, max lon) */
+	private final double[] bbox = new double[] {
+		Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY,
+		Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY
+	};
+
+	/** Create an alert area from a PostGIS MultiPolygon */
+	public AlertArea(MultiPolygon mp) {
+		Polygon[] pgons = mp.getPolygons();
+		full = new Shape[pgons.length];
+		simple = new Shape[pgons.length];
+		for (int i = 0; i < pgons.length; i++) {
+			full[i] = createShape(pgons[i]);
+			Ring[] rings = new Ring[full[i].rings.length];
+			for (int r = 0; r < rings.length; r++) {
+				rings[r] = simplify(full[i].rings[r],
+					SIMPLIFY_M);
+				expandBounds(full[i].rings[r]);
+			}
+			simple[i] = new Shape(rings);
+		}
+	}
+
+	/** Expand the bounding box to include a ring */
+	private void expandBounds(Ring r) {
+		for (int i = 0; i < r.size(); i++) {
+			bbox[0] = Math.min(bbox[0], r.lat[i]);
+			bbox[1] = Math.min(bbox[1], r.lon[i]);
+			bbox[2] = Math.max(bbox[2], r.lat[i]);
+			bbox[3] = Math.max(bbox[3], r.lon[i]);
+		}
+	}
+
+	/** Check if the area is empty */
+	public boolean isEmpty() {
+		return bbox[0] > bbox[2];
+	}
+
+	/** Check if the area is small enough for in-memory tests.  Larger
+	 * areas should be tested with PostGIS geography functions. */
+	public boolean isLocal() {
+		return !isEmpty() &&
+		       bbox[2] - bbox[0] <= MAX_SPAN_DEG &&
+		       bbox[3] - bbox[1] <= MAX_SPAN_DEG;
+	}
+
+	/** Get the bounding box, expanded by a distance.
+	 * @param m Distance (meters).
+	 * @return Min lat, min lon, max lat, max lon. */
+	public double[] getBounds(double m) {
+		double dlat = m / M_PER_DEG;
+		double max_lat = Math.max(Math.abs(bbox[0]),
+			Math.abs(bbox[2]));
+		double dlon = m / (M_PER_DEG * Math.max(0.01,
+			Math.cos(Math.toRadians(max_lat))));
+		return new double[] {
+			bbox[0] - dlat, bbox[1] - dlon,
+			bbox[2] + dlat, bbox[3] + dlon
+		};
+	}
+
+	/** Get the number of simplified points (for logging) */
+	public int getSimplePoints() {
+		int n = 0;
+		for (Shape s: simple) {
+			for (Ring r: s.rings)
+				n += r.size();
+		}
+		return n;
+	}
+
+	/** Check if a point is within a distance of the area.
+	 * @param lat Latitude.
+	 * @param lon Longitude.
+	 * @param m Distance (meters). */
+	public boolean isWithin(double lat, double lon, double m) {
+		double[] b = getBounds(m);
+		if (lat < b[0] || lon < b[1] || lat > b[2] || lon > b[3])
+			return false;
+		double d = distance(simple, lat, lon);
+		if (d + SIMPLIFY_M <= m)
+			return true;
+		if (d - SIMPLIFY_M > m)
+			return false;
+		// Too close to call with simplified shapes
+		return distance(full, lat, lon) <= m;
+	}
+
+	/** Get the area-weighted centroid (planar, in degrees).
+	 * @return Centroid (lat, lon), or null if area is zero. */
+	public double[] getCentroid() {
+		if (isEmpty())
+			return null;
+		// Relative to bounding box origin, to avoid loss of precision
+		double y0 = bbox[0];
+		double x0 = bbox[1];
+		double a = 0;
+		double cx = 0;
+		double cy = 0;
+		for (Shape s: full) {
+			for (int k = 0; k < s.rings.length; k++) {
+				Ring r = s.rings[k];
+				// Holes subtract from the area
+				double ra = 0;
+				double rx = 0;
+				double ry = 0;
+				int n = r.size();
+				for (int i = 0, j = n - 1; i < n; j = i++) {
+					double xj = r.lon[j] - x0;
+					double yj = r.lat[j] - y0;
+					double xi = r.lon[i] - x0;
+					double yi = r.lat[i] - y0;
+					double f = xj * yi - xi * yj;
+					ra += f;
+					rx += (xj + xi) * f;
+					ry += (yj + yi) * f;
+				}
+				double sign = Math.signum(ra);
+				if (k > 0)
+					sign = -sign;
+				a += sign * ra;
+				cx += sign * rx;
+				cy += sign * ry;
+			}
+		}
+		if (a == 0)
+			return null;
+		return new double[] { y0 + cy / (3 * a), x0 + cx / (3 * a) };
+	}
+}
@@ -50,7 +50,6 @@ import us.mn.state.dot.tms.CapUrgency;
 import us.mn.state.dot.tms.DMS;
 import us.mn.state.dot.tms.DMSHelper;
 import us.mn.state.dot.tms.DmsMsgPriority;
-import us.mn.state.dot.tms.DmsSignGroupHelper;
 import us.mn.state.dot.tms.GeoLoc;
 import us.mn.state.dot.tms.PlanPhase;
 import us.mn.state.dot.tms.PlanPhaseHelper;
@@ -63,6 +62,7 @@ import us.mn.state.dot.tms.SystemAttrEnum;
 import us.mn.state.dot.tms.TMSException;
 import us.mn.state.dot.tms.utils.MultiString;
 import us.mn.state.dot.tms.utils.NumericAlphaComparator;
+import static us.mn.state.dot.tms.server.SQLConnection.Lane.REPORTS;
 
 /**
  * Alert Data processed from JSON info section.
@@ -112,9 +112,23 @@ public class AlertData {
 		return CapResponseType.NONE;
 	}
 
-	/** Date formatter for formatting/parsing CAP dates */
-	static private final SimpleDateFormat CAP_DATE =
-		new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ssX");
+	/** Date formatter for parsing CAP dates.  SimpleDateFormat is not
+	 * thread-safe, and alert data is prepared on GEO_POOL threads, so
+	 * each thread has its own formatter. */
+	static private final ThreadLocal<SimpleDateFormat> CAP_DATE =
+		new ThreadLocal<SimpleDateFormat>()
+	{
+		@Override
+		protected SimpleDateFormat initialValue() {
+			return new SimpleDateFormat(
+				"yyyy-MM-dd'T'HH:mm:ssX");
+		}
+	};
+
+	/** Parse a CAP date */
+	static Date parseDate(String d) throws ParseException {
+		return CAP_DATE.get().parse(d);
+	}
 
 	/** Get the start date/time.  Checks onset time first, then effective
 	 *  time, and finally sent time (which is required). */
@@ -122,11 +136,11 @@ public class AlertData {
 		throws JSONException, ParseException
 	{
 		if (info.has("onset"))
-			return CAP_DATE.parse(info.getString("onset"));
+			return parseDate(info.getString("onset"));
 		else if (info.has("effective"))
-			return CAP_DATE.parse(info.getString("effective"));
+			return parseDate(info.getString("effective"));
 		else
-			return CAP_DATE.parse(sent);
+			return parseDate(sent);
 	}
 
 	/** Get the event ending date */
@@ -140,11 +154,11 @@ public class AlertData {
 				"eventEndingTime"))
 			{
 				String value = param.getString("value");
-				return CAP_DATE.parse(value);
+				return parseDate(value);
 			}
 		}
 		// No eventEndingTime parameter found; use expires instead
-		return CAP_DATE.parse(info.getString("expires"));
+		return parseDate(info.getString("expires"));
 	}
 
 	/** Get area description */
@@ -230,15 +244,9 @@ public class AlertData {
 		return new Polygon(pgon);
 	}
 
-	/** Table containing NWS Forecast Zone Geometries.  This can be obtained
-	 *  / updated from the NWS by going to this website and importing the
-	 *  shapefile into PostGIS: https://www.weather.gov/gis/PublicZones. */
-	static private final String NWS_ZONE_TABLE = "cap.nws_zones";
-
 	/** Create Polygons from a "geocode" section */
 	static private void createPolygonsGeo(JSONArray geocode,
-		List<Polygon> polys) throws JSONException, SQLException,
-		TMSException
+		List<Polygon> polys) throws JSONException, TMSException
 	{
 		ArrayList<String> zones = new ArrayList<String>();
 		for (int i = 0; i < geocode.length(); i++) {
@@ -251,24 +259,8 @@ public class AlertData {
 			log("no UGC codes found!");
 			return;
 		}
-		String codes = String.join(",", zones);
-		log("got UGC codes: " + codes);
-		BaseObjectImpl.store.query("SELECT geom FROM " + NWS_ZONE_TABLE
-			+ " WHERE state_zone IN (" + codes + ");",
-			new ResultFactory()
-		{
-			@Override
-			public void create(ResultSet row) throws SQLException {
-				MultiPolygon mp = SQLConnection.multiPolygon(
-					row.getObject(1));
-				if (mp != null) {
-					Polygon[] pgons = mp.getPolygons();
-					for (int i = 0; i < pgons.length; i++)
-						polys.add(pgons[i]);
-				} else
-					log("invalid geom in zone table!");
-			}
-		});
+		log("got UGC codes: " + String.join(",", zones));
+		AlertGeometry.lookupZones(zones, polys);
 	}
 
 	/** Build query to find DMS within a MultiPolygon */
@@ -285,9 +277,9 @@ public class AlertData {
 	 *
 	 *  UGC fields will come in as "{STATE}Z{CODE}" (e.g. "MNZ060").
 	 *  We want "{STATE}{CODE}" (e.g. "MN060"), which matches the data from
-	 *  NWS_ZONE_TABLE. */
+	 *  the NWS zone table. */
 	static private String formatUGC(String ugc) {
-		return "'" + String.join("", ugc.split("Z")) + "'";
+		return String.join("", ugc.split("Z"));
 	}
 
 	/** Get the distance threshold for auto DMS */
@@ -346,6 +338,9 @@ public class AlertData {
 	/** Area polygons */
 	private final MultiPolygon geo_poly;
 
+	/** Area geometry for in-memory tests */
+	private final AlertArea area;
+
 	/** Centroid of area */
 	private final double[] centroid = new double[2];
 
@@ -375,16 +370,23 @@ public class AlertData {
 		instruction = info.optString("instruction", "");
 		area_desc = getAreaDesc(info);
 		geo_poly = createPolygons(info);
+		area = (geo_poly != null) ? new AlertArea(geo_poly) : null;
 		if (geo_poly != null) {
 			log("found polygons: " + geo_poly.getPolygons().length);
-			findCentroid();
+			double[] c = area.getCentroid();
+			if (c != null) {
+				centroid[0] = c[0];
+				centroid[1] = c[1];
+			} else
+				findCentroid();
 			log("centroid: " + centroid[0] + ", " + centroid[1]);
 		}
 	}
 
 	/** Find the centroid of multi polygon */
 	private void findCentroid() throws TMSException {
-		BaseObjectImpl.store.query("SELECT ST_AsText(ST_Centroid('" +
+		BaseObjectImpl.store.query(REPORTS,
+			"SELECT ST_AsText(ST_Centroid('" +
 			geo_poly + "'));", new ResultFactory()
 		{
 			@Override public void create(ResultSet row)
@@ -408,11 +410,36 @@ public class AlertData {
 			log("invalid point: " + lonlat);
 	}
 
+	/** Matching alert configurations (found by prepare) */
+	private List<AlertConfig> configs = null;
+
+	/** Flag to indicate signs were found (by prepare) */
+	private boolean signs_found = false;
+
+	/** Prepare alert data for processing.  This finds matching
+	 * configurations and signs, without creating any objects, so it can
+	 * be called for several alert infos in parallel. */
+	public void prepare() throws TMSException {
+		switch (msg_type) {
+		case ALERT:
+		case UPDATE:
+			configs = AlertConfigHelper.findMatching(event,
+				response_type, urgency, severity, certainty);
+			if (!configs.isEmpty())
+				signs_found = findSigns();
+			return;
+		default:
+			return;
+		}
+	}
+
 	/** Process alert data */
 	public void process() throws SonarException, TMSException {
 		switch (msg_type) {
 		case ALERT:
 		case UPDATE:
+			if (null == configs)
+				prepare();
 			createAlertInfos();
 			return;
 		case CANCEL:
@@ -424,10 +451,8 @@ public class AlertData {
 
 	/** Create alert info for all matching configurations */
 	private void createAlertInfos() throws SonarException, TMSException {
-		List<AlertConfig> configs = AlertConfigHelper.findMatching(
-			event, response_type, urgency, severity, certainty);
 		if (!configs.isEmpty()) {
-			if (findSigns()) {
+			if (signs_found) {
 				for (AlertConfig cfg: configs)
 					createAlertInfo(cfg);
 			}
@@ -452,7 +477,17 @@ public class AlertData {
 
 	/** Find all signs within given alert area threshold */
 	private void findSigns(TreeSet<DMS> dms, int th) throws TMSException {
-		BaseObjectImpl.store.query(buildDMSQuery(geo_poly, th),
+		if (area != null && area.isLocal())
+			AlertGeometry.findSigns(area, th, dms);
+		else if (geo_poly != null)
+			findSignsDb(dms, th);
+	}
+
+	/** Find all signs within threshold using PostGIS */
+	private void findSignsDb(TreeSet<DMS> dms, int th) throws TMSException {
+		log("searching for DMS in database");
+		BaseObjectImpl.store.query(REPORTS,
+			buildDMSQuery(geo_poly, th),
 			new ResultFactory()
 		{
 			@Override public void create(ResultSet row) {
@@ -488,7 +523,8 @@ public class AlertData {
 	}
 
 	/** Create an action plan for this alert */
-	private ActionPlanImpl createPlan(AlertConfig cfg) throws SonarException
+	private ActionPlanImpl createPlan(AlertConfig cfg)
+		throws SonarException, TMSException
 	{
 		Set<AlertMessage> msgs = AlertMessageHelper
 			.getValidMessages(cfg);
@@ -576,7 +612,7 @@ public class AlertData {
 	/** Create sign groups for active sign configs */
 	private Map<SignConfig, SignGroup> createActiveGroups(
 		ActionPlanImpl plan, Set<AlertMessage> msgs)
-		throws SonarException
+		throws SonarException, TMSException
 	{
 		TreeMap<SignConfig, SignGroup> act_groups =
 			new TreeMap<SignConfig, SignGroup>(
@@ -597,7 +633,7 @@ public class AlertData {
 
 	/** Make "active" sign group */
 	private SignGroup makeActiveGroup(ActionPlanImpl plan, SignConfig sc)
-		throws SonarException
+		throws SonarException, TMSException
 	{
 		Set<DMS> signs = SignConfigHelper.getAllSigns(sc);
 		signs.retainAll(all_dms);
@@ -610,18 +646,12 @@ public class AlertData {
 
 	/** Create a sign group for an action plan */
 	private SignGroup createSignGroup(ActionPlanImpl plan, String gv,
-		Set<DMS> dms) throws SonarException
+		Set<DMS> dms) throws SonarException, TMSException
 	{
 		String tmpl = plan.getName() + "_" + gv + "_%d";
-		String gname = SignGroupImpl.createUniqueName(tmpl);
-		SignGroupImpl sg = new SignGroupImpl(gname);
-		sg.notifyCreate();
-		for (DMS d: dms) {
-			String nm = DmsSignGroupHelper.createUniqueName(tmpl);
-			DmsSignGroupImpl dsg = new DmsSignGroupImpl(nm, d, sg);
-			dsg.notifyCreate();
-		}
-		log("created sign group " + gname);
+		SignGroupImpl sg = SignGroupImpl.createWithSigns(tmpl, dms);
+		log("created sign group " + sg.getName() + ", " + dms.size() +
+			" signs");
 		return sg;
 	}
 
@@ -668,7 +698,7 @@ public class AlertData {
 
 	/** Create an alert info */
 	private void createAlertInfo(ActionPlanImpl plan, Set<DMS> signs)
-		throws SonarException
+		throws SonarException, TMSException
 	{
 		SignGroup sign_group = createSignGroup(plan, "ALL", signs);
 		String aname = AlertInfoImpl.createUniqueName();
@@ -0,0 +1,210 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.postgis.MultiPolygon;
+import org.postgis.Polygon;
+import us.mn.state.dot.sched.TimeSteward;
+import us.mn.state.dot.tms.DMS;
+import us.mn.state.dot.tms.DMSHelper;
+import us.mn.state.dot.tms.GeoLoc;
+import us.mn.state.dot.tms.TMSException;
+import static us.mn.state.dot.tms.server.SQLConnection.Lane.REPORTS;
+
+/**
+ * Geometry caches for alert processing: NWS zone polygons (loaded from the
+ * database once, then cached) and a grid index of DMS positions.
+ *
+ * @author Douglas Lau
+ */
+public class AlertGeometry {
+
+	/** Table containing NWS Forecast Zone Geometries.  This can be obtained
+	 *  / updated from the NWS by going to this website and importing the
+	 *  shapefile into PostGIS: https://www.weather.gov/gis/PublicZones. */
+	static private final String NWS_ZONE_TABLE = "cap.nws_zones";
+
+	/** Time to keep a cached zone (ms) */
+	static private final long ZONE_EXPIRE_MS = 24 * 60 * 60 * 1000;
+
+	/** Time to keep the sign index (ms) */
+	static private final long INDEX_EXPIRE_MS = 60 * 1000;
+
+	/** Grid cell size for sign index (degrees) */
+	static private final double CELL_DEG = 0.1;
+
+	/** A cached NWS zone */
+	static private final class Zone {
+		private final Polygon[] polygons;
+		private final long loaded;
+		private Zone(Polygon[] p, long l) {
+			polygons = p;
+			loaded = l;
+		}
+	}
+
+	/** Cached zones, by UGC code (e.g. "MN060") */
+	static private final ConcurrentHashMap<String, Zone> ZONES =
+		new ConcurrentHashMap<String, Zone>();
+
+	/** Lookup polygons for a list of zones.  Zones which are not cached
+	 * are loaded from the database in one query.
+	 * @param codes UGC zone codes (e.g. "MN060").
+	 * @param polys List to add polygons. */
+	static public void lookupZones(List<String> codes, List<Polygon> polys)
+		throws TMSException
+	{
+		long now = TimeSteward.currentTimeMillis();
+		ArrayList<String> missing = new ArrayList<String>();
+		for (String c: codes) {
+			Zone z = ZONES.get(c);
+			if (null == z || now - z.loaded > ZONE_EXPIRE_MS)
+				missing.add(c);
+		}
+		if (!missing.isEmpty())
+			loadZones(missing, now);
+		for (String c: codes) {
+			Zone z = ZONES.get(c);
+			if (z != null) {
+				for (Polygon pg: z.polygons)
+					polys.add(pg);
+			}
+		}
+	}
+
+	/** Load zones from the database */
+	static private void loadZones(List<String> codes, final long now)
+		throws TMSException
+	{
+		ArrayList<String> quoted = new ArrayList<String>();
+		for (String c: codes)
+			quoted.add("'" + SQLConnection.escapeValue(c) + "'");
+		BaseObjectImpl.store.query(REPORTS,
+			"SELECT state_zone, geom FROM " + NWS_ZONE_TABLE +
+			" WHERE state_zone IN (" + String.join(",", quoted) +
+			");", new ResultFactory()
+		{
+			@Override
+			public void create(ResultSet row) throws SQLException {
+				String code = row.getString(1);
+				MultiPolygon mp = SQLConnection.multiPolygon(
+					row.getObject(2));
+				if (mp != null) {
+					ZONES.put(code, new Zone(
+						mp.getPolygons(), now));
+				} else
+					CapAlert.LOG.log("invalid geom, " + code);
+			}
+		});
+	}
+
+	/** Position of one sign */
+	static private final class SignPos {
+		private final DMS dms;
+		private final double lat;
+		private final double lon;
+		private SignPos(DMS d, double lt, double ln) {
+			dms = d;
+			lat = lt;
+			lon = ln;
+		}
+	}
+
+	/** Grid index of sign positions */
+	static private final class SignIndex {
+		private final HashMap<Long, ArrayList<SignPos>> cells =
+			new HashMap<Long, ArrayList<SignPos>>();
+		private final long created = TimeSteward.currentTimeMillis();
+		private SignIndex() {
+			Iterator<DMS> it = DMSHelper.iterator();
+			while (it.hasNext()) {
+				DMS d = it.next();
+				GeoLoc loc = d.getGeoLoc();
+				Double lat = (loc != null) ? loc.getLat() : null;
+				Double lon = (loc != null) ? loc.getLon() : null;
+				if (lat != null && lon != null)
+					add(new SignPos(d, lat, lon));
+			}
+		}
+		private void add(SignPos sp) {
+			Long c = cellKey(cell(sp.lat), cell(sp.lon));
+			ArrayList<SignPos> cl = cells.get(c);
+			if (null == cl) {
+				cl = new ArrayList<SignPos>();
+				cells.put(c, cl);
+			}
+			cl.add(sp);
+		}
+		/** Find signs within a distance of an area */
+		private void find(AlertArea area, int th, Set<DMS> dms) {
+			double[] b = area.getBounds(th);
+			for (int y = cell(b[0]); y <= cell(b[2]); y++) {
+				for (int x = cell(b[1]); x <= cell(b[3]); x++) {
+					ArrayList<SignPos> cl = cells.get(
+						cellKey(y, x));
+					if (cl != null)
+						find(area, th, cl, dms);
+				}
+			}
+		}
+		private void find(AlertArea area, int th,
+			ArrayList<SignPos> cl, Set<DMS> dms)
+		{
+			for (SignPos sp: cl) {
+				if (area.isWithin(sp.lat, sp.lon, th))
+					dms.add(sp.dms);
+			}
+		}
+	}
+
+	/** Get the grid cell for a coordinate */
+	static private int cell(double deg) {
+		return (int) Math.floor(deg / CELL_DEG);
+	}
+
+	/** Get the key for a grid cell */
+	static private Long cellKey(int y, int x) {
+		return ((long) y << 32) | (x & 0xFFFFFFFFL);
+	}
+
+	/** Current sign index */
+	static private SignIndex sign_index = null;
+
+	/** Get the sign index, rebuilding it if expired */
+	static private synchronized SignIndex getSignIndex() {
+		long now = TimeSteward.currentTimeMillis();
+		if (null == sign_index ||
+		    now - sign_index.created > INDEX_EXPIRE_MS)
+			sign_index = new SignIndex();
+		return sign_index;
+	}
+
+	/** Find all signs within a distance of an alert area.
+	 * @param area Alert area.
+	 * @param th Distance threshold (meters).
+	 * @param dms Set to add signs. */
+	static public void findSigns(AlertArea area, int th, Set<DMS> dms) {
+		if (!area.isEmpty())
+			getSignIndex().find(area, th, dms);
+	}
+}
@@ -20,13 +20,12 @@ import java.sql.SQLException;
 import java.text.NumberFormat;
 import java.util.Arrays;
 import java.util.Date;
-import us.mn.state.dot.sched.Job;
+import us.mn.state.dot.sched.TimeSteward;
 import us.mn.state.dot.sonar.SonarException;
 import us.mn.state.dot.sonar.SonarObject;
 import us.mn.state.dot.sonar.server.Server;
 import us.mn.state.dot.sonar.server.ServerNamespace;
 import us.mn.state.dot.tms.TMSException;
-import static us.mn.state.dot.tms.server.MainServer.FLUSH;
 import us.mn.state.dot.tms.server.event.BaseEvent;
 
 /**
@@ -45,86 +44,165 @@ abstract public class BaseObjectImpl implements Storable, SonarObject {
 	/** Corridor manager */
 	static public final CorridorManager corridors = new CorridorManager();
 
+	/** Namespace snapshot for fast restart */
+	static NamespaceSnapshot snapshot;
+
+	/** Number of threads for loading objects.  Each thread can hold two
+	 * loader lane connections (for nested mapping lookups), so this must
+	 * be no more than half the size of that lane. */
+	static private final int LOAD_THREADS = 3;
+
 	/** Load all objects from the database into the SONAR Namespace */
 	static void loadAll(SQLConnection s, ServerNamespace ns)
 		throws TMSException
 	{
 		store = s;
 		namespace = ns;
-		SystemAttributeImpl.loadAll();
-		GraphicImpl.loadAll();
-		FontImpl.loadAll();
-		GlyphImpl.loadAll();
-		RoadImpl.loadAll();
-		RoadAffixImpl.loadAll();
-		GeoLocImpl.loadAll();
-		MapExtentImpl.loadAll();
-		IncidentDetailImpl.loadAll();
-		CommConfigImpl.loadAll();
-		CommLinkImpl.loadAll();
-		ModemImpl.loadAll();
-		CabinetStyleImpl.loadAll();
-		CabinetImpl.loadAll();
-		ControllerImpl.loadAll();
-		SignConfigImpl.loadAll();
-		SignDetailImpl.loadAll();
-		DayMatcherImpl.loadAll();
-		DayPlanImpl.loadAll();
-		PlanPhaseImpl.loadAll();
-		ActionPlanImpl.loadAll();
-		R_NodeImpl.loadAll();
-		/* NOTE: must happen after r_nodes are loaded */
-		corridors.createCorridors();
-		AlarmImpl.loadAll();
-		GpsImpl.loadAll();
-		CameraTemplateImpl.loadAll();
-		VidSourceTemplateImpl.loadAll();
-		CameraVidSourceOrderImpl.loadAll();
-		DetectorImpl.loadAll();
-		TollZoneImpl.loadAll();
-		EncoderTypeImpl.loadAll();
-		EncoderStreamImpl.loadAll();
-		CameraImpl.loadAll();
-		CameraPresetImpl.loadAll();
-		PlayListImpl.loadAll();
-		CatalogImpl.loadAll();
-		MonitorStyleImpl.loadAll();
-		VideoMonitorImpl.loadAll();
-		FlowStreamImpl.loadAll();
-		BeaconImpl.loadAll();
-		WeatherSensorImpl.loadAll();
-		RampMeterImpl.loadAll();
-		SignMessageImpl.loadAll();
-		DMSImpl.loadAll();
-		SignGroupImpl.loadAll();
-		DmsSignGroupImpl.loadAll();
-		QuickMessageImpl.loadAll();
-		SignTextImpl.loadAll();
-		GateArmArrayImpl.loadAll();
-		GateArmImpl.loadAll();
-		TagReaderImpl.loadAll();
-		LaneMarkingImpl.loadAll();
-		LCSArrayImpl.loadAll();
-		LCSImpl.loadAll();
-		LCSIndicationImpl.loadAll();
-		LaneUseMultiImpl.loadAll();
-		ParkingAreaImpl.loadAll();
-		IncidentImpl.loadAll();
-		IncDescriptorImpl.loadAll();
-		IncLocatorImpl.loadAll();
-		IncAdviceImpl.loadAll();
-		TimeActionImpl.loadAll();
-		DmsActionImpl.loadAll();
-		BeaconActionImpl.loadAll();
-		CameraActionImpl.loadAll();
-		LaneActionImpl.loadAll();
-		MeterActionImpl.loadAll();
-		WordImpl.loadAll();
+		long start = TimeSteward.currentTimeMillis();
+		snapshot = new NamespaceSnapshot(NamespaceSnapshot.SNAPSHOT_FILE);
+		snapshot.readVersions(store);
+		snapshot.read();
+		store.setSnapshot(snapshot);
+		try {
+			// System attributes are needed by nearly everything else
+			SystemAttributeImpl.loadAll();
+			createLoader().run();
+		}
+		finally {
+			store.setSnapshot(null);
+			store.getLane(SQLConnection.Lane.LOADER).closeIdle();
+			snapshot.finishLoad();
+		}
 		DMSImpl.updateAllStyles();
-		RptConduitImpl.loadAll();
-		AlertConfigImpl.loadAll();
-		AlertMessageImpl.loadAll();
-		AlertInfoImpl.loadAll();
+		long ms = TimeSteward.currentTimeMillis() - start;
+		System.err.println("Loaded objects in " + ms + " ms (" +
+			snapshot.getHitCount() + " from snapshot, " +
+			snapshot.getMissCount() + " from SQL)");
+	}
+
+	/** Create the startup loader.  Dependencies must include every type
+	 * which is looked up while loading, plus any other type which must be
+	 * completely loaded first. */
+	static private StartupLoader createLoader() {
+		StartupLoader ld = new StartupLoader(LOAD_THREADS);
+		ld.add(GraphicImpl.class);
+		ld.add(FontImpl.class);
+		ld.add(GlyphImpl.class, FontImpl.class);
+		ld.add(RoadImpl.class);
+		ld.add(RoadAffixImpl.class);
+		ld.add(GeoLocImpl.class, RoadImpl.class);
+		ld.add(MapExtentImpl.class);
+		ld.add(IncidentDetailImpl.class);
+		ld.add(CommConfigImpl.class);
+		ld.add(CommLinkImpl.class, CommConfigImpl.class);
+		ld.add(ModemImpl.class);
+		ld.add(CabinetStyleImpl.class);
+		ld.add(CabinetImpl.class, CabinetStyleImpl.class,
+			GeoLocImpl.class);
+		ld.add(ControllerImpl.class, CabinetImpl.class,
+			CommLinkImpl.class);
+		ld.add(SignConfigImpl.class, FontImpl.class);
+		ld.add(SignDetailImpl.class);
+		ld.add(DayMatcherImpl.class);
+		ld.add(DayPlanImpl.class, DayMatcherImpl.class);
+		ld.add(PlanPhaseImpl.class);
+		ld.add(ActionPlanImpl.class, PlanPhaseImpl.class);
+		ld.add(new StartupLoader.Step(R_NodeImpl.class,
+			GeoLocImpl.class)
+		{
+			protected void load() throws TMSException {
+				R_NodeImpl.loadAll();
+				/* NOTE: must happen after r_nodes are loaded */
+				corridors.createCorridors();
+			}
+		});
+		ld.add(AlarmImpl.class, ControllerImpl.class);
+		ld.add(GpsImpl.class, ControllerImpl.class);
+		ld.add(CameraTemplateImpl.class);
+		ld.add(VidSourceTemplateImpl.class);
+		ld.add(CameraVidSourceOrderImpl.class, CameraTemplateImpl.class,
+			VidSourceTemplateImpl.class);
+		ld.add(DetectorImpl.class, ControllerImpl.class,
+			GeoLocImpl.class, R_NodeImpl.class);
+		ld.add(TollZoneImpl.class, DetectorImpl.class,
+			R_NodeImpl.class);
+		ld.add(EncoderTypeImpl.class);
+		ld.add(EncoderStreamImpl.class, EncoderTypeImpl.class);
+		ld.add(CameraImpl.class, CameraTemplateImpl.class,
+			ControllerImpl.class, EncoderTypeImpl.class,
+			GeoLocImpl.class);
+		ld.add(CameraPresetImpl.class, CameraImpl.class);
+		ld.add(PlayListImpl.class, CameraImpl.class);
+		ld.add(CatalogImpl.class, PlayListImpl.class);
+		ld.add(MonitorStyleImpl.class);
+		ld.add(VideoMonitorImpl.class, CameraImpl.class,
+			ControllerImpl.class, MonitorStyleImpl.class);
+		ld.add(FlowStreamImpl.class, CameraImpl.class,
+			ControllerImpl.class, VideoMonitorImpl.class);
+		ld.add(BeaconImpl.class, ControllerImpl.class,
+			GeoLocImpl.class, CameraPresetImpl.class);
+		ld.add(WeatherSensorImpl.class, ControllerImpl.class,
+			GeoLocImpl.class);
+		ld.add(RampMeterImpl.class, BeaconImpl.class,
+			ControllerImpl.class, DetectorImpl.class,
+			GeoLocImpl.class, CameraPresetImpl.class,
+			R_NodeImpl.class);
+		ld.add(SignMessageImpl.class, SignConfigImpl.class);
+		ld.add(DMSImpl.class, FontImpl.class, SignConfigImpl.class,
+			SignDetailImpl.class, SignMessageImpl.class,
+			BeaconImpl.class, ControllerImpl.class,
+			GeoLocImpl.class, GpsImpl.class, GraphicImpl.class,
+			CameraPresetImpl.class);
+		ld.add(SignGroupImpl.class);
+		ld.add(DmsSignGroupImpl.class, DMSImpl.class,
+			SignGroupImpl.class);
+		ld.add(QuickMessageImpl.class, SignConfigImpl.class,
+			SignGroupImpl.class);
+		ld.add(SignTextImpl.class, SignGroupImpl.class);
+		ld.add(GateArmArrayImpl.class, ActionPlanImpl.class,
+			CameraImpl.class, ControllerImpl.class,
+			GeoLocImpl.class);
+		ld.add(GateArmImpl.class, GateArmArrayImpl.class,
+			ControllerImpl.class);
+		ld.add(TagReaderImpl.class, DMSImpl.class,
+			ControllerImpl.class, GeoLocImpl.class,
+			TollZoneImpl.class);
+		ld.add(LaneMarkingImpl.class, ControllerImpl.class,
+			GeoLocImpl.class);
+		ld.add(LCSArrayImpl.class, DMSImpl.class, ControllerImpl.class);
+		ld.add(LCSImpl.class, LCSArrayImpl.class, DMSImpl.class);
+		ld.add(LCSIndicationImpl.class, ControllerImpl.class,
+			LCSImpl.class);
+		ld.add(LaneUseMultiImpl.class, QuickMessageImpl.class);
+		ld.add(ParkingAreaImpl.class, GeoLocImpl.class,
+			CameraPresetImpl.class, R_NodeImpl.class);
+		ld.add(IncidentImpl.class, CameraImpl.class,
+			IncidentDetailImpl.class, RoadImpl.class,
+			R_NodeImpl.class);
+		ld.add(IncDescriptorImpl.class, IncidentDetailImpl.class);
+		ld.add(IncLocatorImpl.class);
+		ld.add(IncAdviceImpl.class);
+		ld.add(TimeActionImpl.class, ActionPlanImpl.class,
+			DayPlanImpl.class);
+		ld.add(DmsActionImpl.class, ActionPlanImpl.class,
+			QuickMessageImpl.class, SignGroupImpl.class);
+		ld.add(BeaconActionImpl.class, ActionPlanImpl.class,
+			BeaconImpl.class);
+		ld.add(CameraActionImpl.class, ActionPlanImpl.class,
+			CameraPresetImpl.class);
+		ld.add(LaneActionImpl.class, ActionPlanImpl.class,
+			LaneMarkingImpl.class);
+		ld.add(MeterActionImpl.class, ActionPlanImpl.class,
+			RampMeterImpl.class);
+		ld.add(WordImpl.class);
+		ld.add(RptConduitImpl.class);
+		ld.add(AlertConfigImpl.class, SignGroupImpl.class);
+		ld.add(AlertMessageImpl.class, AlertConfigImpl.class,
+			QuickMessageImpl.class);
+		ld.add(AlertInfoImpl.class, ActionPlanImpl.class,
+			SignGroupImpl.class, AlertConfigImpl.class,
+			AlertMessageImpl.class);
+		return ld;
 	}
 
 	/** Get the time as a time stamp */
@@ -555,12 +633,11 @@ abstract public class BaseObjectImpl implements Storable, SonarObject {
 		      : null;
 	}
 
+	/** Event queue */
+	static EventQueue events;
+
 	/** Log an event */
-	static public void logEvent(final BaseEvent ev) {
-		FLUSH.addJob(new Job() {
-			public void perform() throws TMSException {
-				ev.doStore();
-			}
-		});
+	static public void logEvent(BaseEvent ev) {
+		events.add(ev);
 	}
 }
@@ -0,0 +1,200 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import us.mn.state.dot.sched.DebugLog;
+import us.mn.state.dot.sched.TimeSteward;
+import us.mn.state.dot.tms.TMSException;
+
+/**
+ * Batch writer for queued rows.  Rows are written with batched prepared
+ * statements, in one transaction on a connection lane.  If the transaction
+ * fails, each row is retried individually, so that one invalid row cannot
+ * cause others to be lost.  Failures are logged to stderr, since the rows
+ * were queued by callers which have already returned.
+ *
+ * @author Douglas Lau
+ */
+class BatchWriter {
+
+	/** One row to write */
+	static final class Row {
+		private final String sql;
+		private final ArrayList<String> params;
+		Row(String s, ArrayList<String> p) {
+			sql = s;
+			params = p;
+		}
+	}
+
+	/** Writer name (for stderr messages) */
+	private final String name;
+
+	/** SQL connection */
+	private final SQLConnection store;
+
+	/** Connection lane */
+	private final SQLConnection.Lane lane;
+
+	/** Debug log */
+	private final DebugLog log;
+
+	/** Create a new batch writer */
+	BatchWriter(String n, SQLConnection s, SQLConnection.Lane l,
+		DebugLog dl)
+	{
+		name = n;
+		store = s;
+		lane = l;
+		log = dl;
+	}
+
+	/** Log a message to stderr */
+	private void logStderr(String msg) {
+		System.err.println(TimeSteward.currentDateTimeString(true) +
+			" " + name + " " + msg);
+	}
+
+	/** Write a list of rows.
+	 * @return Number of rows which failed, or -1 if no connection was
+	 *         available (nothing written). */
+	int write(List<Row> rows) {
+		ConnectionLane cl = store.getLane(lane);
+		ConnectionLane.Pooled pc;
+		try {
+			pc = cl.borrow();
+		}
+		catch (TMSException e) {
+			logStderr("borrow -> " + e.getMessage());
+			return -1;
+		}
+		long start = TimeSteward.currentTimeMillis();
+		boolean ok = true;
+		int n_failed = 0;
+		try {
+			writeTransaction(pc, rows);
+		}
+		catch (SQLException e) {
+			log.log("batch -> " + e);
+			ok = rollback(pc);
+			for (Row r: rows) {
+				if (!(ok && writeRow(pc, r)))
+					n_failed++;
+			}
+			// Discard the connection if nothing could be written
+			ok = ok && (n_failed < rows.size());
+		}
+		finally {
+			cl.release(pc, TimeSteward.currentTimeMillis() - start,
+				ok);
+		}
+		return n_failed;
+	}
+
+	/** Write rows in one transaction */
+	private void writeTransaction(ConnectionLane.Pooled pc, List<Row> rows)
+		throws SQLException
+	{
+		Connection c = pc.getConnection();
+		c.setAutoCommit(false);
+		// Statements are executed in order of first use
+		LinkedHashMap<String, PreparedStatement> used =
+			new LinkedHashMap<String, PreparedStatement>();
+		// Statements holding batched rows must not be evicted
+		pc.pin();
+		try {
+			for (Row r: rows) {
+				PreparedStatement ps = pc.prepare(r.sql);
+				used.put(r.sql, ps);
+				bind(ps, r);
+				ps.addBatch();
+			}
+			for (PreparedStatement ps: used.values())
+				ps.executeBatch();
+		}
+		catch (SQLException e) {
+			// Cached statements must not keep unexecuted rows
+			clearBatches(used.values());
+			throw e;
+		}
+		finally {
+			pc.unpin();
+		}
+		c.commit();
+		c.setAutoCommit(true);
+	}
+
+	/** Clear batched rows from prepared statements */
+	private void clearBatches(Collection<PreparedStatement> stmts) {
+		for (PreparedStatement ps: stmts) {
+			try {
+				ps.clearBatch();
+			}
+			catch (SQLException e) {
+				log.log("clearBatch -> " + e);
+			}
+		}
+	}
+
+	/** Write one row (in autocommit mode) */
+	private boolean writeRow(ConnectionLane.Pooled pc, Row r) {
+		try {
+			PreparedStatement ps = pc.prepare(r.sql);
+			bind(ps, r);
+			ps.executeUpdate();
+			return true;
+		}
+		catch (SQLException e) {
+			logStderr(r.sql + " " + r.params + " -> " +
+				e.getMessage());
+			return false;
+		}
+	}
+
+	/** Bind parameters for a row.  Values are sent untyped, so the server
+	 * casts them to the column types (as with string literals). */
+	private void bind(PreparedStatement ps, Row r) throws SQLException {
+		for (int i = 0; i < r.params.size(); i++) {
+			String v = r.params.get(i);
+			if (v != null)
+				ps.setObject(i + 1, v, Types.OTHER);
+			else
+				ps.setNull(i + 1, Types.OTHER);
+		}
+	}
+
+	/** Roll back the current transaction.
+	 * @return true if the connection is still usable. */
+	private boolean rollback(ConnectionLane.Pooled pc) {
+		try {
+			Connection c = pc.getConnection();
+			c.rollback();
+			c.setAutoCommit(true);
+			return true;
+		}
+		catch (SQLException e) {
+			logStderr("rollback -> " + e.getMessage());
+			return false;
+		}
+	}
+}
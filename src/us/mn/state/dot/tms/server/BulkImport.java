@@ -0,0 +1,164 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import us.mn.state.dot.sched.DebugLog;
+import us.mn.state.dot.sched.TimeSteward;
+import us.mn.state.dot.sonar.SonarException;
+import us.mn.state.dot.sonar.SonarObject;
+import us.mn.state.dot.sonar.server.Server;
+import us.mn.state.dot.tms.ChangeVetoException;
+import us.mn.state.dot.tms.TMSException;
+
+/**
+ * Bulk import of new objects, for creating many objects at once.  Objects
+ * are validated as a batch, stored in one database transaction, then
+ * added to the namespace with one notification burst.
+ *
+ * Validation only checks names: each must be non-empty, unique within the
+ * import and not already in the namespace.  Attribute values are not
+ * checked the way client changes are (doSet methods), so objects must be
+ * constructed with valid values, as with notifyCreate.
+ *
+ * Objects must be added in dependency order by type -- for example, geo
+ * locations before the r_nodes which refer to them.  Objects of each type
+ * are stored in the order that type was first added.
+ *
+ * @author Douglas Lau
+ */
+public class BulkImport {
+
+	/** Bulk import debug log */
+	static private final DebugLog BULK_LOG = new DebugLog("bulk");
+
+	/** Objects to import, by type name */
+	private final LinkedHashMap<String, ArrayList<BaseObjectImpl>> types =
+		new LinkedHashMap<String, ArrayList<BaseObjectImpl>>();
+
+	/** Names of all objects (type/name) */
+	private final HashSet<String> names = new HashSet<String>();
+
+	/** Add an object to the import.
+	 * @param o New object (not stored or in the namespace). */
+	public void add(BaseObjectImpl o) throws ChangeVetoException {
+		String tn = o.getTypeName();
+		String name = o.getName();
+		if (null == name || name.isEmpty())
+			throw new ChangeVetoException("Invalid name: " + tn);
+		if (!names.add(tn + "/" + name)) {
+			throw new ChangeVetoException("Duplicate name: " +
+				name);
+		}
+		ArrayList<BaseObjectImpl> objs = types.get(tn);
+		if (null == objs) {
+			objs = new ArrayList<BaseObjectImpl>();
+			types.put(tn, objs);
+		}
+		objs.add(o);
+	}
+
+	/** Check if an object name is in the import */
+	public boolean contains(String tn, String name) {
+		return names.contains(tn + "/" + name);
+	}
+
+	/** Get the number of objects to import */
+	public int size() {
+		return names.size();
+	}
+
+	/** Get the type names to import, in storing order */
+	public List<String> getTypes() {
+		return new ArrayList<String>(types.keySet());
+	}
+
+	/** Get all objects, in storing order */
+	List<BaseObjectImpl> getObjects() {
+		ArrayList<BaseObjectImpl> all = new ArrayList<BaseObjectImpl>();
+		for (ArrayList<BaseObjectImpl> objs: types.values())
+			all.addAll(objs);
+		return all;
+	}
+
+	/** Validate that no object already exists in the namespace */
+	private void validate() throws ChangeVetoException {
+		for (ArrayList<BaseObjectImpl> objs: types.values()) {
+			for (BaseObjectImpl o: objs) {
+				if (BaseObjectImpl.namespace.lookupObject(
+				    o.getTypeName(), o.getName()) != null)
+				{
+					throw new ChangeVetoException(
+						"Already exists: " + o);
+				}
+			}
+		}
+	}
+
+	/** Run the import.  If validation or storing fails, no objects are
+	 * imported. */
+	public void run() throws TMSException, SonarException {
+		long start = TimeSteward.currentTimeMillis();
+		validate();
+		List<BaseObjectImpl> all = getObjects();
+		BaseObjectImpl.store.createBatch(all);
+		long stored = TimeSteward.currentTimeMillis();
+		try {
+			for (BaseObjectImpl o: all)
+				o.initTransients();
+			addObjects(all);
+		}
+		catch (TMSException | SonarException e) {
+			// None of the objects were added to the namespace
+			destroyAll(all);
+			throw e;
+		}
+		if (BULK_LOG.isOpen()) {
+			long end = TimeSteward.currentTimeMillis();
+			BULK_LOG.log("imported " + all.size() + " objects, " +
+				types.size() + " types: stored in " +
+				(stored - start) + " ms, added in " +
+				(end - stored) + " ms");
+		}
+	}
+
+	/** Destroy stored objects, after they could not be added */
+	private void destroyAll(List<BaseObjectImpl> all) {
+		try {
+			BaseObjectImpl.store.destroyBatch(all);
+		}
+		catch (TMSException e) {
+			System.err.println("BulkImport: destroy failed, " +
+				e.getMessage());
+		}
+	}
+
+	/** Add objects to the namespace.  If an exception is thrown, none
+	 * of the objects were added. */
+	private void addObjects(List<BaseObjectImpl> all)
+		throws SonarException
+	{
+		Server s = MainServer.server;
+		if (s != null)
+			s.addObjects(new ArrayList<SonarObject>(all));
+		else {
+			for (BaseObjectImpl o: all)
+				BaseObjectImpl.namespace.addObject(o);
+		}
+	}
+}
@@ -15,17 +15,27 @@
  */
 package us.mn.state.dot.tms.server;
 
+import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.text.ParseException;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 import us.mn.state.dot.sched.DebugLog;
 import us.mn.state.dot.sched.TimeSteward;
 import us.mn.state.dot.sonar.SonarException;
+import us.mn.state.dot.tms.AlertInfo;
+import us.mn.state.dot.tms.AlertInfoHelper;
 import us.mn.state.dot.tms.CapMsgType;
 import us.mn.state.dot.tms.CapScope;
 import us.mn.state.dot.tms.CapStatus;
@@ -50,6 +60,25 @@ public class CapAlert implements Storable {
 	/** Database table name */
 	static private final String TABLE = "cap.alert";
 
+	/** SQL state for unique constraint violations */
+	static private final String UNIQUE_VIOLATION = "23505";
+
+	/** Number of threads for preparing alert infos */
+	static private final int GEO_THREADS = 4;
+
+	/** Thread pool for preparing alert infos (geometry tests) */
+	static private final ExecutorService GEO_POOL =
+		Executors.newFixedThreadPool(GEO_THREADS, new ThreadFactory()
+	{
+		private int n_thread = 0;
+		public synchronized Thread newThread(Runnable r) {
+			n_thread++;
+			Thread t = new Thread(r, "alert_geo_" + n_thread);
+			t.setDaemon(true);
+			return t;
+		}
+	});
+
 	/** Get purge threshold (days) */
 	static private int getPurgeDays() {
 		return SystemAttrEnum.CAP_ALERT_PURGE_DAYS.getInt();
@@ -59,7 +88,8 @@ public class CapAlert implements Storable {
 	static public void purgeRecords() throws TMSException {
 		int age = getPurgeDays();
 		if (BaseObjectImpl.store != null && age > 0) {
-			BaseObjectImpl.store.update("DELETE FROM " + TABLE +
+			BaseObjectImpl.store.update(SQLConnection.Lane.REPORTS,
+				"DELETE FROM " + TABLE +
 				" WHERE receive_date < now() - '" + age +
 				" days'::interval;");
 		}
@@ -85,12 +115,24 @@ public class CapAlert implements Storable {
 	/** Receive date */
 	private final Date receive_date = TimeSteward.getDateInstance();
 
+	/** Flag indicating alert content changed since it was stored */
+	private final boolean changed;
+
 	/** Create a new event.
 	 * @param id CAP alert message identifier.
-	 * @param al Alert in JSON form. */
-	public CapAlert(String id, JSONObject al) {
+	 * @param al Alert in JSON form.
+	 * @param ch Flag indicating content changed since it was stored. */
+	public CapAlert(String id, JSONObject al, boolean ch) {
 		identifier = id;
 		alert = al;
+		changed = ch;
+	}
+
+	/** Create a new event.
+	 * @param id CAP alert message identifier.
+	 * @param al Alert in JSON form. */
+	public CapAlert(String id, JSONObject al) {
+		this(id, al, false);
 	}
 
 	/** Get the database table name */
@@ -128,34 +170,93 @@ public class CapAlert implements Storable {
 	 *  existing AlertConfig objects that match the alert values and
 	 *  whether the alert area(s) encompass any DMS known to the system.
 	 *
-	 *  DMS selection uses PostGIS to handle the geospatial operations.
+	 *  DMS selection uses cached zone polygons and an in-memory sign
+	 *  index, falling back to PostGIS for very large areas.  Info
+	 *  sections are prepared in parallel, then processed in order.
 	 *  If at least one sign is selected, an ActionPlan object is created
 	 *  to deploy the alert.
 	 *
 	 *  One AlertInfo object is created for each matching AlertConfig,
 	 *  allowing different messages to be posted to different sign types.
+	 *
+	 *  @return false if the alert could not be stored.
 	 */
-	public void process() {
+	public boolean process() {
 		log("processing");
-		if (storeAlert() && checkStatus() && checkScope())
-			processData();
+		try {
+			if (storeAlert() && checkStatus() && checkScope())
+				processData();
+			return true;
+		}
+		catch (TMSException e) {
+			log("store failed, " + e.getMessage());
+			return false;
+		}
 	}
 
-	/** Store the alert in the database */
-	private boolean storeAlert() {
+	/** Store the alert in the database.
+	 * @return true if the alert should be processed. */
+	private boolean storeAlert() throws TMSException {
+		if (changed)
+			return updateAlert();
 		try {
 			BaseObjectImpl.store.create(this);
 			log("stored");
 			return true;
 		}
 		catch (TMSException e) {
-			String msg = e.getMessage();
-			if (msg.contains("violates unique constraint"))
-				log("already processed");
+			if (isUniqueViolation(e))
+				return checkStored();
 			else
-				log("store failed, " + msg);
+				throw e;
+		}
+	}
+
+	/** Check if an exception is a unique constraint violation */
+	static private boolean isUniqueViolation(TMSException e) {
+		Throwable c = e.getCause();
+		return (c instanceof SQLException) && UNIQUE_VIOLATION
+			.equals(((SQLException) c).getSQLState());
+	}
+
+	/** Check an alert which was already stored.  This happens when an
+	 *  alert is first seen after a server restart, since seen digests
+	 *  are only kept in memory.  If the stored content differs, the alert
+	 *  is handled as changed.
+	 *  @return true if the alert should be processed. */
+	private boolean checkStored() throws TMSException {
+		final JSONObject[] stored = new JSONObject[1];
+		BaseObjectImpl.store.queryPrepared(
+			SQLConnection.Lane.INTERACTIVE, "SELECT alert FROM " +
+			TABLE + " WHERE identifier = ?;", new ResultFactory()
+		{
+			public void create(ResultSet row) throws Exception {
+				stored[0] = new JSONObject(row.getString(1));
+			}
+		}, identifier);
+		if (stored[0] != null && stored[0].similar(alert)) {
+			log("already processed");
 			return false;
+		} else
+			return updateAlert();
+	}
+
+	/** Update a changed alert in the database.  Alert infos created from
+	 *  the previous content are cleared, so it can be re-evaluated. */
+	private boolean updateAlert() throws TMSException {
+		BaseObjectImpl.store.update(this, "alert", alert.toString());
+		log("content changed");
+		Iterator<AlertInfo> it = AlertInfoHelper.iterator();
+		while (it.hasNext()) {
+			AlertInfo ai = it.next();
+			if (identifier.equals(ai.getAlert()) &&
+			    ai instanceof AlertInfoImpl)
+			{
+				((AlertInfoImpl) ai).clear();
+				log("clearing alert info " + ai.getName());
+			}
 		}
+		return true;
 	}
 
 	/** Check alert status */
@@ -189,22 +290,52 @@ public class CapAlert implements Storable {
 	/** Process alert data */
 	private void processData() {
 		try {
-			CapMsgType msg_type = CapMsgType.fromValue(
-				alert.getString("msgType"));
-			String references = alert.optString("references", "");
-			String sent = alert.getString("sent");
-			JSONArray infos = alert.getJSONArray("info");
-			for (int i = 0; i < infos.length(); i++) {
-				JSONObject info = infos.getJSONObject(i);
-				AlertData data = new AlertData(identifier,
-					msg_type, references, sent, info);
-				data.process();
-			}
+			ArrayList<Future<AlertData>> futures = prepareData();
+			for (Future<AlertData> f: futures)
+				processData(f);
 		}
-		catch (JSONException | ParseException | SonarException |
-		       SQLException | TMSException e)
-		{
+		catch (JSONException e) {
 			log("processData failed, " + e.getMessage());
 		}
 	}
+
+	/** Prepare alert data for all info sections in parallel */
+	private ArrayList<Future<AlertData>> prepareData()
+		throws JSONException
+	{
+		final CapMsgType msg_type = CapMsgType.fromValue(
+			alert.getString("msgType"));
+		final String references = alert.optString("references", "");
+		final String sent = alert.getString("sent");
+		JSONArray infos = alert.getJSONArray("info");
+		ArrayList<Future<AlertData>> futures =
+			new ArrayList<Future<AlertData>>();
+		for (int i = 0; i < infos.length(); i++) {
+			final JSONObject info = infos.getJSONObject(i);
+			futures.add(GEO_POOL.submit(new Callable<AlertData>() {
+				public AlertData call() throws Exception {
+					AlertData data = new AlertData(
+						identifier, msg_type,
+						references, sent, info);
+					data.prepare();
+					return data;
+				}
+			}));
+		}
+		return futures;
+	}
+
+	/** Process prepared alert data, in order of info sections */
+	private void processData(Future<AlertData> f) {
+		try {
+			f.get().process();
+		}
+		catch (InterruptedException | SonarException | TMSException e) {
+			log("processData failed, " + e.getMessage());
+		}
+		catch (ExecutionException e) {
+			Throwable t = e.getCause();
+			log("processData failed, " + t.getMessage());
+		}
+	}
 }
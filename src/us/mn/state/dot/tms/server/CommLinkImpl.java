@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2000-2020  Minnesota Department of Transportation
+ * Copyright (C) 2000-2021  Minnesota Department of Transportation
  * Copyright (C) 2015-2017  SRF Consulting Group
  *
  * This program is free software; you can redistribute it and/or modify
@@ -24,6 +24,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.TreeMap;
+import us.mn.state.dot.sched.DebugLog;
 import us.mn.state.dot.sched.Job;
 import us.mn.state.dot.sched.Scheduler;
 import us.mn.state.dot.tms.ChangeVetoException;
@@ -48,9 +49,34 @@ public class CommLinkImpl extends BaseObjectImpl implements CommLink {
 	/** Seconds to offset each poll from start of interval */
 	static private final int OFFSET_SECS = 2;
 
+	/** Maximum number of poll periods to skip while a link is failed */
+	static private final int MAX_BACKOFF_PERIODS = 8;
+
+	/** Interval to poll controllers with pending state changes (ms) */
+	static private final int PENDING_POLL_MS = 5000;
+
+	/** Calculate the poll offset for a link.  To avoid I/O bursts, links
+	 * are spread over the first half of the poll period (phase jitter).
+	 * Sample time stamps still fall within the same period.
+	 * @param n Link name.
+	 * @param p Poll period (seconds).
+	 * @return Offset from start of period (seconds). */
+	static int pollOffsetSecs(String n, int p) {
+		int spread = p / 2 - OFFSET_SECS;
+		return (spread > 0)
+		      ? OFFSET_SECS + Math.floorMod(n.hashCode(), spread)
+		      : OFFSET_SECS;
+	}
+
 	/** Poller scheduler for repeating jobs */
 	static private final Scheduler POLLER = new Scheduler("poller");
 
+	/** Operation queue debug log */
+	static private final DebugLog QUEUE_LOG = new DebugLog("op_queue");
+
+	/** Poll statistics debug log */
+	static private final DebugLog POLL_LOG = new DebugLog("poll_stats");
+
 	/** Load all the comm links */
 	static protected void loadAll() throws TMSException {
 		namespace.registerType(SONAR_TYPE, CommLinkImpl.class);
@@ -170,9 +196,10 @@ public class CommLinkImpl extends BaseObjectImpl implements CommLink {
 	/** Create polling jobs */
 	private synchronized void createPollJobs(int p, int lp) {
 		destroyPollJobs();
-		poll_job = new PollJob(p, OFFSET_SECS, false);
+		int o = pollOffsetSecs(name, p);
+		poll_job = new PollJob(p, o, false);
 		POLLER.addJob(poll_job);
-		long_poll_job = new PollJob(lp, OFFSET_SECS + 2, true);
+		long_poll_job = new PollJob(lp, o + 2, true);
 		POLLER.addJob(long_poll_job);
 	}
 
@@ -186,8 +213,86 @@ public class CommLinkImpl extends BaseObjectImpl implements CommLink {
 			is_long = lng;
 		}
 		@Override public void perform() {
-			if (poll_enabled)
+			if (poll_enabled) {
+				if (!is_long) {
+					logQueueStats();
+					logPollStats();
+					if (checkBackoff())
+						return;
+				}
 				pollControllers(period, is_long);
+			}
+		}
+	}
+
+	/** Job for polling a device with a pending state change */
+	private class PendingPollJob extends Job {
+		private final DeviceImpl dev;
+		private PendingPollJob(DeviceImpl d) {
+			super(PENDING_POLL_MS);
+			dev = d;
+		}
+		@Override public void perform() {
+			if (dev.pollPending(poll_enabled))
+				POLLER.addJob(new PendingPollJob(dev));
+		}
+	}
+
+	/** Start polling a device at a boosted rate while it has a pending
+	 * state change */
+	public void startPendingPoll(DeviceImpl d) {
+		POLLER.addJob(new PendingPollJob(d));
+	}
+
+	/** Number of poll periods to skip on next failure */
+	private transient int backoff_periods = 0;
+
+	/** Remaining poll periods to skip */
+	private transient int skip_periods = 0;
+
+	/** Check if a poll should be skipped due to failure backoff.  The
+	 * number of skipped periods doubles each time the link is found
+	 * failed, up to MAX_BACKOFF_PERIODS. */
+	synchronized boolean checkBackoff() {
+		if (skip_periods > 0) {
+			skip_periods--;
+			return true;
+		}
+		if (isFailed()) {
+			backoff_periods = Math.min(Math.max(1,
+				backoff_periods * 2), MAX_BACKOFF_PERIODS);
+			skip_periods = backoff_periods;
+		} else
+			backoff_periods = 0;
+		return false;
+	}
+
+	/** Check if all active controllers on the link are failed */
+	private synchronized boolean isFailed() {
+		boolean failed = false;
+		for (ControllerImpl c: controllers.values()) {
+			if (c.isActive()) {
+				if (!c.isFailed())
+					return false;
+				failed = true;
+			}
+		}
+		return failed;
+	}
+
+	/** Poll statistics */
+	private transient final PollStats poll_stats = new PollStats();
+
+	/** Get the poll statistics */
+	public PollStats getPollStats() {
+		return poll_stats;
+	}
+
+	/** Log poll statistics */
+	private void logPollStats() {
+		if (POLL_LOG.isOpen()) {
+			POLL_LOG.log(name + " " + poll_stats.formatInterval() +
+				", backoff: " + backoff_periods);
 		}
 	}
 
@@ -357,6 +462,15 @@ public class CommLinkImpl extends BaseObjectImpl implements CommLink {
 			c.pollDevices(period, is_long);
 	}
 
+	/** Log operation queue statistics */
+	private void logQueueStats() {
+		DevicePoller dp = poller;
+		if (dp != null && QUEUE_LOG.isOpen()) {
+			QUEUE_LOG.log(name + " " +
+				dp.getQueueStats().formatInterval());
+		}
+	}
+
 	/** Communication link status */
 	private transient String status = Constants.UNKNOWN;
 
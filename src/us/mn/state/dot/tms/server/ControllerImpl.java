@@ -925,6 +925,30 @@ public class ControllerImpl extends BaseObjectImpl implements Controller {
 		else
 			incrementFailedOps();
 		setFailed(!success, id);
+		CommLinkImpl cl = comm_link;
+		if (cl != null)
+			cl.getPollStats().record(success);
+	}
+
+	/** Complete a controller operation.
+	 * @param id Operation ID.
+	 * @param success Flag indicating success.
+	 * @param latency_ms Time from queueing to completion (ms). */
+	public void completeOperation(String id, boolean success,
+		long latency_ms)
+	{
+		completeOperation(id, success);
+		CommLinkImpl cl = comm_link;
+		if (cl != null)
+			cl.getPollStats().recordLatency(latency_ms);
+	}
+
+	/** Start polling a device at a boosted rate while it has a pending
+	 * state change */
+	public void startPendingPoll(DeviceImpl d) {
+		CommLinkImpl cl = comm_link;
+		if (cl != null)
+			cl.startPendingPoll(d);
 	}
 
 	/** Get active device poller */
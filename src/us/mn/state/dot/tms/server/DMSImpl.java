@@ -1076,6 +1076,10 @@ public class DMSImpl extends DeviceImpl implements DMS, Comparable<DMSImpl> {
 	public void setMsgCurrentNotify(SignMessage sm, String owner) {
 		if (isMsgSource(sm, SignMsgSource.tolling))
 			logPriceMessages(EventType.PRICE_VERIFIED);
+		if (sm != null && sm == msg_pending) {
+			msg_pending = null;
+			clearBoost();
+		}
 		if (sm != msg_current) {
 			logMsg(sm, owner);
 			setMsgCurrent(sm);
@@ -1220,9 +1224,14 @@ public class DMSImpl extends DeviceImpl implements DMS, Comparable<DMSImpl> {
 	private void sendMsg(DMSPoller p, SignMessage sm, String owner) {
 		if (isMsgSource(sm, SignMsgSource.tolling))
 		    logPriceMessages(EventType.PRICE_DEPLOYED);
+		msg_pending = sm;
 		p.sendMessage(this, sm, owner);
+		boostPolling();
 	}
 
+	/** Sign message sent, but not yet confirmed by the sign */
+	private transient SignMessage msg_pending;
+
 	/** Check if the sign has a reference to a sign message */
 	public boolean hasReference(final SignMessage sm) {
 		return sm == msg_user ||
@@ -1505,6 +1514,12 @@ public class DMSImpl extends DeviceImpl implements DMS, Comparable<DMSImpl> {
 		}
 	}
 
+	/** Perform a boosted poll while a state change is pending */
+	@Override
+	public void pendingPoll() {
+		sendDeviceRequest(DeviceRequest.QUERY_MESSAGE);
+	}
+
 	/** Check if current sign message has expired */
 	private void checkMsgExpiration() {
 		Long et = expire_time;
@@ -36,6 +36,7 @@ import us.mn.state.dot.tms.GeoLocHelper;
 import us.mn.state.dot.tms.LaneType;
 import us.mn.state.dot.tms.R_Node;
 import us.mn.state.dot.tms.Road;
+import us.mn.state.dot.tms.SampleFrameHelper;
 import us.mn.state.dot.tms.SystemAttrEnum;
 import us.mn.state.dot.tms.TMSException;
 import us.mn.state.dot.tms.VehLengthClass;
@@ -1102,6 +1103,19 @@ public class DetectorImpl extends DeviceImpl implements Detector,VehicleSampler{
 		w.write("/>\n");
 	}
 
+	/** Encode the current sample data in a sample frame */
+	public void encodeSample(SampleFrameHelper.Encoder enc, long stamp,
+		int period) throws IOException
+	{
+		if (abandoned || !isSampling())
+			return;
+		int flow = getFlowRaw(stamp, period);
+		int speed = Math.round(getSpeed(stamp, period));
+		float occ = getOccupancy(stamp, period);
+		enc.add(name, flow, (isMainline() && speed > 0)
+			? speed : MISSING_DATA, occ);
+	}
+
 	/** Send a device request operation */
 	@Override
 	protected void sendDeviceRequest(DeviceRequest dr) {
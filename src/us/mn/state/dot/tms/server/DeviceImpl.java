@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2000-2020  Minnesota Department of Transportation
+ * Copyright (C) 2000-2021  Minnesota Department of Transportation
  * Copyright (C) 2015-2017  SRF Consulting Group
  *
  * This program is free software; you can redistribute it and/or modify
@@ -16,6 +16,7 @@
 package us.mn.state.dot.tms.server;
 
 import us.mn.state.dot.sched.DebugLog;
+import us.mn.state.dot.sched.TimeSteward;
 import us.mn.state.dot.sonar.SonarException;
 import us.mn.state.dot.tms.CommLink;
 import us.mn.state.dot.tms.ControllerHelper;
@@ -247,4 +248,62 @@ abstract public class DeviceImpl extends ControllerIoImpl implements Device {
 	public void periodicPoll(boolean is_long) {
 		sendDeviceRequest(DeviceRequest.QUERY_STATUS);
 	}
+
+	/** Perform a boosted poll while a state change is pending */
+	public void pendingPoll() {
+		sendDeviceRequest(DeviceRequest.QUERY_STATUS);
+	}
+
+	/** Maximum time to poll at a boosted rate after a state change (ms) */
+	static private final long BOOST_MS = 60 * 1000;
+
+	/** Time when boosted polling expires */
+	private transient long boost_until = 0;
+
+	/** Flag indicating a pending poll job is scheduled */
+	private transient boolean boost_job = false;
+
+	/** Boost the polling rate while a state change is pending.  Boosted
+	 * polling continues until the change is confirmed or BOOST_MS
+	 * expires. */
+	protected void boostPolling() {
+		ControllerImpl c = controller;	// Avoid race
+		if (c != null && startBoost())
+			c.startPendingPoll(this);
+	}
+
+	/** Start (or extend) boosted polling.
+	 * @return true if a pending poll job must be scheduled. */
+	synchronized boolean startBoost() {
+		boost_until = TimeSteward.currentTimeMillis() + BOOST_MS;
+		boolean start = !boost_job;
+		boost_job = true;
+		return start;
+	}
+
+	/** Clear boosted polling, after a pending state change has been
+	 * confirmed by the device */
+	protected synchronized void clearBoost() {
+		boost_until = 0;
+	}
+
+	/** Check if boosted polling should continue.
+	 * @param active Flag indicating device can be polled.
+	 * @return true if the pending poll job should continue. */
+	private synchronized boolean continueBoost(boolean active) {
+		boost_job = active &&
+			TimeSteward.currentTimeMillis() < boost_until;
+		return boost_job;
+	}
+
+	/** Poll the device if a state change is pending.
+	 * @param enabled Flag indicating comm link polling is enabled.
+	 * @return true if boosted polling is still active. */
+	public boolean pollPending(boolean enabled) {
+		if (continueBoost(enabled && isActive())) {
+			pendingPoll();
+			return true;
+		} else
+			return false;
+	}
 }
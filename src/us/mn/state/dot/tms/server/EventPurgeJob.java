@@ -46,6 +46,12 @@ public class EventPurgeJob extends Job {
 		super(Calendar.DATE, 1, Calendar.HOUR, 2);
 	}
 
+	/** Create a new one-shot job to purge database events (and create
+	 * event table partitions) */
+	public EventPurgeJob(int ms) {
+		super(ms);
+	}
+
 	/** Perform the event purge job */
 	public void perform() throws TMSException {
 		ActionPlanEvent.purgeRecords();
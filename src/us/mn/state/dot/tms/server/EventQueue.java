@@ -0,0 +1,219 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import us.mn.state.dot.sched.DebugLog;
+import us.mn.state.dot.sched.Job;
+import us.mn.state.dot.sched.Scheduler;
+import us.mn.state.dot.sched.TimeSteward;
+import us.mn.state.dot.tms.server.event.BaseEvent;
+
+/**
+ * Event queue for logging events to the database.  Events are added to a
+ * bounded lock-free queue, and written by a dedicated thread on the events
+ * connection lane.  Events are written by a BatchWriter, with batched prepared
+ * inserts (one statement per table and column set) in one transaction per
+ * flush.
+ *
+ * @author Douglas Lau
+ */
+public class EventQueue {
+
+	/** Event queue debug log */
+	static private final DebugLog EVENT_LOG = new DebugLog("event_queue");
+
+	/** Maximum number of queued events */
+	static private final int CAPACITY = 65536;
+
+	/** Number of queued events to trigger a flush */
+	static private final int FLUSH_SIZE = 1000;
+
+	/** Maximum number of events written in one transaction */
+	static private final int BATCH_SIZE = 5000;
+
+	/** Age of an event to be counted as late when written (ms) */
+	static private final long LATE_MS = 10 * 1000;
+
+	/** Writer thread */
+	static private final Scheduler WRITER = new Scheduler("event_writer");
+
+	/** Batch writer (events lane) */
+	private final BatchWriter writer;
+
+	/** Queued events */
+	private final ConcurrentLinkedQueue<BaseEvent> queue =
+		new ConcurrentLinkedQueue<BaseEvent>();
+
+	/** Number of queued events */
+	private final AtomicInteger n_queued = new AtomicInteger();
+
+	/** Flag to indicate a size-triggered flush is scheduled */
+	private final AtomicBoolean flush_scheduled = new AtomicBoolean();
+
+	/** Count of events written */
+	private final AtomicLong n_written = new AtomicLong();
+
+	/** Count of events dropped (queue full or write error) */
+	private final AtomicLong n_dropped = new AtomicLong();
+
+	/** Count of events written late */
+	private final AtomicLong n_late = new AtomicLong();
+
+	/** Job to flush events */
+	private final Job flush_job = new Job() {
+		public void perform() {
+			flush_scheduled.set(false);
+			flush();
+		}
+	};
+
+	/** Create a new event queue */
+	public EventQueue(SQLConnection s) {
+		writer = new BatchWriter("Event write", s,
+			SQLConnection.Lane.EVENTS, EVENT_LOG);
+		WRITER.addJob(new Job(Calendar.SECOND, 1) {
+			public void perform() {
+				flush();
+			}
+		});
+	}
+
+	/** Add an event to the queue.
+	 * @return true if queued, false if dropped. */
+	public boolean add(BaseEvent ev) {
+		int n = n_queued.incrementAndGet();
+		if (n > CAPACITY) {
+			n_queued.decrementAndGet();
+			n_dropped.incrementAndGet();
+			return false;
+		}
+		queue.add(ev);
+		if (n >= FLUSH_SIZE && flush_scheduled.compareAndSet(false,
+			true))
+		{
+			WRITER.addJob(flush_job);
+		}
+		return true;
+	}
+
+	/** Get the number of queued events */
+	public int getQueueDepth() {
+		return n_queued.get();
+	}
+
+	/** Get the count of events written */
+	public long getWrittenCount() {
+		return n_written.get();
+	}
+
+	/** Get the count of dropped events */
+	public long getDroppedCount() {
+		return n_dropped.get();
+	}
+
+	/** Get the count of events written late */
+	public long getLateCount() {
+		return n_late.get();
+	}
+
+	/** Flush all queued events (on the calling thread).  This should only
+	 * be called directly at shutdown. */
+	public synchronized void flush() {
+		while (true) {
+			ArrayList<BaseEvent> events = drain();
+			if (events.isEmpty())
+				break;
+			long start = TimeSteward.currentTimeMillis();
+			write(events);
+			long now = TimeSteward.currentTimeMillis();
+			countLate(events, now);
+			if (EVENT_LOG.isOpen()) {
+				EVENT_LOG.log("wrote " + events.size() +
+					" events in " + (now - start) + " ms, " +
+					"depth: " + n_queued.get() + ", dropped: " +
+					n_dropped.get() + ", late: " + n_late.get());
+			}
+		}
+	}
+
+	/** Drain up to one batch of events from the queue */
+	private ArrayList<BaseEvent> drain() {
+		ArrayList<BaseEvent> events = new ArrayList<BaseEvent>();
+		while (events.size() < BATCH_SIZE) {
+			BaseEvent ev = queue.poll();
+			if (null == ev)
+				break;
+			n_queued.decrementAndGet();
+			events.add(ev);
+		}
+		return events;
+	}
+
+	/** Count events which were written late */
+	private void countLate(ArrayList<BaseEvent> events, long now) {
+		for (BaseEvent ev: events) {
+			if (now - ev.event_date.getTime() > LATE_MS)
+				n_late.incrementAndGet();
+		}
+	}
+
+	/** Create a row to insert an event */
+	static private BatchWriter.Row createRow(BaseEvent ev) {
+		StringBuilder cols = new StringBuilder();
+		StringBuilder params = new StringBuilder();
+		ArrayList<String> values = new ArrayList<String>();
+		// Sort columns so equal column sets share a statement
+		TreeMap<String, Object> columns =
+			new TreeMap<String, Object>(ev.getColumns());
+		for (Map.Entry<String, Object> e: columns.entrySet()) {
+			Object v = e.getValue();
+			if (v != null) {
+				if (values.size() > 0) {
+					cols.append(',');
+					params.append(',');
+				}
+				cols.append(e.getKey());
+				params.append('?');
+				values.add(SQLConnection.prepareArray(v));
+			}
+		}
+		String sql = "INSERT INTO " + ev.getTable() + " (" + cols +
+			") VALUES (" + params + ");";
+		return new BatchWriter.Row(sql, values);
+	}
+
+	/** Write a batch of events */
+	private void write(ArrayList<BaseEvent> events) {
+		ArrayList<BatchWriter.Row> rows =
+			new ArrayList<BatchWriter.Row>();
+		for (BaseEvent ev: events)
+			rows.add(createRow(ev));
+		int n_fail = writer.write(rows);
+		if (n_fail < 0)
+			n_dropped.addAndGet(events.size());
+		else {
+			n_written.addAndGet(events.size() - n_fail);
+			n_dropped.addAndGet(n_fail);
+		}
+	}
+}
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2000-2018  Minnesota Department of Transportation
+ * Copyright (C) 2000-2021  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -18,6 +18,7 @@ import java.io.IOException;
 import java.sql.ResultSet;
 import java.util.HashMap;
 import java.util.Map;
+import us.mn.state.dot.tms.BitmapCache;
 import us.mn.state.dot.tms.ChangeVetoException;
 import us.mn.state.dot.tms.Font;
 import us.mn.state.dot.tms.FontHelper;
@@ -79,6 +80,20 @@ public class FontImpl extends BaseObjectImpl implements Font {
 		return SONAR_TYPE;
 	}
 
+	/** Store an object */
+	@Override
+	public void doStore() throws TMSException {
+		super.doStore();
+		BitmapCache.invalidate();
+	}
+
+	/** Destroy an object */
+	@Override
+	public void doDestroy() throws TMSException {
+		super.doDestroy();
+		BitmapCache.invalidate();
+	}
+
 	/** Create a new font */
 	public FontImpl(String n) {
 		super(n);
@@ -112,6 +127,7 @@ public class FontImpl extends BaseObjectImpl implements Font {
 		if (n != f_number) {
 			store.update(this, "f_number", n);
 			setNumber(n);
+			BitmapCache.invalidate();
 		}
 	}
 
@@ -135,6 +151,7 @@ public class FontImpl extends BaseObjectImpl implements Font {
 		if (h != height) {
 			store.update(this, "height", h);
 			setHeight(h);
+			BitmapCache.invalidate();
 		}
 	}
 
@@ -158,6 +175,7 @@ public class FontImpl extends BaseObjectImpl implements Font {
 		if (w != width) {
 			store.update(this, "width", w);
 			setWidth(w);
+			BitmapCache.invalidate();
 		}
 	}
 
@@ -181,6 +199,7 @@ public class FontImpl extends BaseObjectImpl implements Font {
 		if (s != charSpacing) {
 			store.update(this, "char_spacing", s);
 			setCharSpacing(s);
+			BitmapCache.invalidate();
 		}
 	}
 
@@ -204,6 +223,7 @@ public class FontImpl extends BaseObjectImpl implements Font {
 		if (s != lineSpacing) {
 			store.update(this, "line_spacing", s);
 			setLineSpacing(s);
+			BitmapCache.invalidate();
 		}
 	}
 
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2007-2018  Minnesota Department of Transportation
+ * Copyright (C) 2007-2021  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -19,6 +19,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.Map;
+import us.mn.state.dot.tms.BitmapCache;
 import us.mn.state.dot.tms.ChangeVetoException;
 import us.mn.state.dot.tms.Font;
 import us.mn.state.dot.tms.FontHelper;
@@ -69,6 +70,20 @@ public class GlyphImpl extends BaseObjectImpl implements Glyph {
 		return SONAR_TYPE;
 	}
 
+	/** Store an object */
+	@Override
+	public void doStore() throws TMSException {
+		super.doStore();
+		BitmapCache.invalidate();
+	}
+
+	/** Destroy an object */
+	@Override
+	public void doDestroy() throws TMSException {
+		super.doDestroy();
+		BitmapCache.invalidate();
+	}
+
 	/** Create a glyph from database lookup */
 	private GlyphImpl(ResultSet row) throws SQLException {
 		this(row.getString(1),  // name
@@ -125,6 +140,7 @@ public class GlyphImpl extends BaseObjectImpl implements Glyph {
 		if (w != width) {
 			store.update(this, "width", w);
 			setWidth(w);
+			BitmapCache.invalidate();
 		}
 	}
 
@@ -155,6 +171,7 @@ public class GlyphImpl extends BaseObjectImpl implements Glyph {
 		}
 		store.update(this, "pixels", p);
 		setPixels(p);
+		BitmapCache.invalidate();
 	}
 
 	/** Get the pixel data (base64 encoded). */
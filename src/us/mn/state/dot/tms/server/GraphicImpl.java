@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2007-2018  Minnesota Department of Transportation
+ * Copyright (C) 2007-2021  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -19,6 +19,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.Map;
+import us.mn.state.dot.tms.BitmapCache;
 import us.mn.state.dot.tms.ColorScheme;
 import us.mn.state.dot.tms.ChangeVetoException;
 import us.mn.state.dot.tms.Graphic;
@@ -70,6 +71,20 @@ public class GraphicImpl extends BaseObjectImpl implements Graphic {
 		return SONAR_TYPE;
 	}
 
+	/** Store an object */
+	@Override
+	public void doStore() throws TMSException {
+		super.doStore();
+		BitmapCache.invalidate();
+	}
+
+	/** Destroy an object */
+	@Override
+	public void doDestroy() throws TMSException {
+		super.doDestroy();
+		BitmapCache.invalidate();
+	}
+
 	/** Create a new graphic */
 	public GraphicImpl(String n) {
 		super(n);
@@ -122,6 +137,7 @@ public class GraphicImpl extends BaseObjectImpl implements Graphic {
 				throw new ChangeVetoException("Invalid g_number");
 			store.update(this, "g_number", g);
 			setGNumber(g);
+			BitmapCache.invalidate();
 		}
 	}
 
@@ -172,6 +188,7 @@ public class GraphicImpl extends BaseObjectImpl implements Graphic {
 		if (tc != transparent_color) {
 			store.update(this, "transparent_color", tc);
 			setTransparentColor(tc);
+			BitmapCache.invalidate();
 		}
 	}
 
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2000-2020  Minnesota Department of Transportation
+ * Copyright (C) 2000-2021  Minnesota Department of Transportation
  * Copyright (C) 2017  Iteris Inc.
  *
  * This program is free software; you can redistribute it and/or modify
@@ -27,8 +27,10 @@ import java.util.Properties;
 import us.mn.state.dot.sched.DebugLog;
 import us.mn.state.dot.sched.Scheduler;
 import us.mn.state.dot.sched.TimeSteward;
+import us.mn.state.dot.sonar.NamespaceError;
 import us.mn.state.dot.sonar.server.Server;
 import us.mn.state.dot.tms.BaseHelper;
+import us.mn.state.dot.tms.SampleFrame;
 import us.mn.state.dot.tms.Station;
 import us.mn.state.dot.tms.SystemAttrEnum;
 import us.mn.state.dot.tms.TMSException;
@@ -96,6 +98,8 @@ public class MainServer {
 			initProxySelector(props);
 			store = createStore(props);
 			BaseEvent.store = store;
+			BaseObjectImpl.events = new EventQueue(store);
+			addShutdownHook();
 			I18N.initialize(props);
 			WhitelistNamespace ns = createNamespace(props);
 			IrisCapabilityImpl.lookup(store, ns);
@@ -107,7 +111,7 @@ public class MainServer {
 			scheduleTimerJobs();
 			scheduleFlushJobs();
 			startProtocolServer();
-			server = new Server(ns, props, new AccessLogger(FLUSH));
+			server = new Server(ns, props, new AccessLogger());
 			auth_provider = new IrisProvider();
 			server.addProvider(auth_provider);
 			System.err.println("IRIS Server active");
@@ -185,14 +189,28 @@ public class MainServer {
 		);
 	}
 
+	/** Add a shutdown hook to flush pending events and updates */
+	static private void addShutdownHook() {
+		Runtime.getRuntime().addShutdownHook(new Thread() {
+			@Override
+			public void run() {
+				BaseObjectImpl.events.flush();
+				store.flush();
+			}
+		});
+	}
+
 	/** Create the server namespace */
 	static private WhitelistNamespace createNamespace(Properties props)
-		throws UnknownHostException, NumberFormatException
+		throws UnknownHostException, NumberFormatException,
+		NamespaceError
 	{
 		WhitelistNamespace ns = new WhitelistNamespace(props);
 		// FIXME: static namespace hacks
 		BaseHelper.namespace = ns;
 		ns.registerType(Station.SONAR_TYPE, StationImpl.class);
+		ns.registerType(SampleFrame.SONAR_TYPE, SampleFrameImpl.class);
+		ns.addObject(SampleFrameImpl.detector);
 		return ns;
 	}
 
@@ -219,6 +237,9 @@ public class MainServer {
 		FLUSH.addJob(new IncidentXmlJob());
 		FLUSH.addJob(new WeatherSensorXmlJob());
 		FLUSH.addJob(new EventPurgeJob());
+		FLUSH.addJob(new EventPurgeJob(5000));
+		FLUSH.addJob(new SnapshotJob());
+		FLUSH.addJob(new SnapshotJob(1000));
 	}
 
 	/** Start the protocol server */
@@ -14,6 +14,7 @@
  */
 package us.mn.state.dot.tms.server;
 
+import java.io.IOException;
 import java.util.Calendar;
 import java.util.Iterator;
 import us.mn.state.dot.sched.Job;
@@ -56,6 +57,7 @@ public class MeteringJob extends Job {
 	public void perform() {
 		try {
 			station_manager.calculateData();
+			pushSamples();
 			// Perform flush job after station data calculated
 			flush.addJob(flush_job);
 			BaseObjectImpl.corridors.findBottlenecks();
@@ -65,6 +67,18 @@ public class MeteringJob extends Job {
 		}
 	}
 
+	/** Push detector samples to clients.  Encoding and compressing the
+	 * frame is done on the FLUSH thread, like writing the XML. */
+	private void pushSamples() {
+		final long stamp = station_manager.getStamp();
+		flush.addJob(new Job() {
+			public void perform() throws IOException {
+				SampleFrameImpl.detector.updateDetectors(stamp,
+					DetectorImpl.BIN_PERIOD_MS);
+			}
+		});
+	}
+
 	/** Validate all metering algorithms */
 	private void validateMetering() {
 		KAdaptiveAlgorithm.processAllStates();
@@ -22,9 +22,9 @@ import us.mn.state.dot.tms.RptConduit;
 import us.mn.state.dot.tms.TMSException;
 import us.mn.state.dot.tms.reports.RptGenItem;
 import us.mn.state.dot.tms.reports.RptRequest;
-import us.mn.state.dot.tms.reports.RptResults;
 import us.mn.state.dot.tms.server.BaseObjectImpl;
 import us.mn.state.dot.tms.server.reports.RptGen;
+import us.mn.state.dot.tms.server.reports.RptPager;
 
 /**
  * A RptConduit is a client&lt;-&gt;server communication-channel
@@ -32,11 +32,29 @@ import us.mn.state.dot.tms.server.reports.RptGen;
  * 
  * (Note that a RptConduit is a non-persistent SONAR object.)
  *
+ * Results are sent to the client one page at a time.  The
+ * next page is filled while the client reads the previous
+ * one, but not sent until that page is acknowledged, so the
+ * report query is paused (holding its cursor and transaction
+ * on the cursors lane) while the client catches up.  To
+ * bound how long a transaction can stay open, a report is
+ * canceled if a page is not acknowledged within one minute,
+ * or if the whole report takes more than ten minutes.
+ *
  * @author John L. Stanley - SRF Consulting
  */
 public class RptConduitImpl extends BaseObjectImpl
 		implements RptConduit {
 
+	/** Number of result rows per page */
+	static private final int PAGE_ROWS = 2000;
+
+	/** Time to wait for a client to acknowledge a page (ms) */
+	static private final long PAGE_TIMEOUT_MS = 60 * 1000;
+
+	/** Maximum time to generate and send a report (ms) */
+	static private final long REPORT_TIMEOUT_MS = 10 * 60 * 1000;
+
 	/** Get the SONAR type name */
 	public String getTypeName() {
 		return SONAR_TYPE;
@@ -76,15 +94,39 @@ public class RptConduitImpl extends BaseObjectImpl
 	//-------------------------------------------
 
 	protected boolean canceled = false;
+
+	/** Lock for canceled, page and generator */
+	private final Object page_lock = new Object();
+
+	/** Currently running report generator */
+	private RptGen generator = null;
 	
 	@Override
 	public void setCanceled(boolean b) {
-		canceled = b;
+		RptGen gen;
+		synchronized (page_lock) {
+			canceled = b;
+			gen = generator;
+			page_lock.notifyAll();
+		}
+		// stop the query on the database server
+		if (b && (gen != null))
+			gen.cancel();
 	}
 
 	@Override
 	public boolean getCanceled() {
-		return canceled;
+		synchronized (page_lock) {
+			return canceled;
+		}
+	}
+
+	/** Set the currently running report generator */
+	private boolean setGenerator(RptGen gen) {
+		synchronized (page_lock) {
+			generator = gen;
+			return !canceled;
+		}
 	}
 
 	//-------------------------------------------
@@ -140,37 +182,103 @@ public class RptConduitImpl extends BaseObjectImpl
 		return results;
 	}
 
+	//-------------------------------------------
+
+	/** Last page acknowledged by the client */
+	protected int page = 0;
+
+	/** Time limit for the current report */
+	private long report_end = Long.MAX_VALUE;
+
+	@Override
+	public void setPage(int p) {
+		synchronized (page_lock) {
+			page = p;
+			page_lock.notifyAll();
+		}
+	}
+
+	@Override
+	public int getPage() {
+		synchronized (page_lock) {
+			return page;
+		}
+	}
+
+	/** Wait for the client to acknowledge the previous page.
+	 * @return true if the page can be sent. */
+	private boolean waitForAck(int p) {
+		synchronized (page_lock) {
+			long end = Math.min(report_end,
+				System.currentTimeMillis() + PAGE_TIMEOUT_MS);
+			while (!canceled && (page < p - 1)) {
+				long ms = end - System.currentTimeMillis();
+				if (ms <= 0)
+					return false;
+				try {
+					page_lock.wait(ms);
+				}
+				catch (InterruptedException e) {
+					return false;
+				}
+			}
+			return !canceled;
+		}
+	}
+
+	/** Send one page of results to the client */
+	private boolean sendPage(int p, String sPage) {
+		if (!waitForAck(p)) {
+			// client is gone or canceled
+			setCanceled(true);
+			return false;
+		}
+		try {
+			setresultsNotify(sPage);
+			return true;
+		}
+		catch (TMSException e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
 	//-------------------------------------------
 	
 	protected void generateReports() {
+		synchronized (page_lock) {
+			report_end = System.currentTimeMillis() +
+				REPORT_TIMEOUT_MS;
+		}
 		RptRequest req = new RptRequest();
-		RptResults res = new RptResults();
+		RptPager res = new RptPager(PAGE_ROWS,
+			new RptPager.PageSink()
+		{
+			public boolean sendPage(int p, String sPage) {
+				return RptConduitImpl.this.sendPage(p, sPage);
+			}
+		});
 		RptGen gen;
 
-		// run report generator(s)
+		// run report generator(s), sending pages as they fill
 		req.initFromReqString(request);
 		for (RptGenItem it : req.getGenItemList()) {
-			if (it.getSelected()) {
+			if (it.getSelected() && !res.isStopped()) {
 				try {
 					gen = RptGen.newGenerator(it.getGuiName());
-					gen.generateReport(store, req, res);
+					if (setGenerator(gen))
+						gen.generateReport(store, req, res);
 				} catch (Exception e) {
 					res.addException(e.getMessage());
+				} finally {
+					setGenerator(null);
 				}
 			}
 		}
-		
-		// return results
-		try {
-			if (!canceled) {
-				String sRes = res.toResultsString();
-				if ((sRes == null) || sRes.isEmpty())
-					sRes = "{empty: }";
-				setresultsNotify(sRes);
-			}
-		} catch (TMSException e) {
-			e.printStackTrace();
-		}
+
+		// return last page of results
+		if (!getCanceled())
+			res.finish();
 	}
 	
 	//-------------------------------------------
@@ -188,6 +296,8 @@ public class RptConduitImpl extends BaseObjectImpl
 	/** Destroy an object */
 	@Override
 	public void doDestroy() throws TMSException {
+		// stop any report still being generated
+		setCanceled(true);
 		// suppress the following operation
 //		store.destroy(this);
 		System.out.println("doDestroy: "+name);
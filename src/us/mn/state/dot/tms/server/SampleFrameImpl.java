@@ -0,0 +1,114 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.io.IOException;
+import java.util.Iterator;
+import us.mn.state.dot.sonar.server.Server;
+import us.mn.state.dot.tms.Detector;
+import us.mn.state.dot.tms.DetectorHelper;
+import us.mn.state.dot.tms.SampleFrame;
+import us.mn.state.dot.tms.SampleFrameHelper;
+
+/**
+ * A sample frame contains the most recent traffic samples for all sensors.
+ * It is not stored in the database; the attributes are pushed to SONAR
+ * clients after each sample period is calculated.
+ *
+ * @author Douglas Lau
+ */
+public class SampleFrameImpl implements SampleFrame {
+
+	/** Detector sample frame */
+	static public final SampleFrameImpl detector =
+		new SampleFrameImpl(DETECTOR);
+
+	/** Sample frame name */
+	private final String name;
+
+	/** Get the sample frame name */
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	/** Create a new sample frame */
+	private SampleFrameImpl(String n) {
+		name = n;
+	}
+
+	/** Get the SONAR type name */
+	@Override
+	public String getTypeName() {
+		return SONAR_TYPE;
+	}
+
+	/** Destroy a sample frame */
+	@Override
+	public void destroy() {
+		// Nothing to do
+	}
+
+	/** Get a string representation of the sample frame */
+	@Override
+	public String toString() {
+		return name;
+	}
+
+	/** Time stamp at end of sample period */
+	private Long stamp;
+
+	/** Get the time stamp at end of sample period */
+	@Override
+	public Long getStamp() {
+		return stamp;
+	}
+
+	/** Encoded samples */
+	private String samples;
+
+	/** Get the encoded samples */
+	@Override
+	public String getSamples() {
+		return samples;
+	}
+
+	/** Encode detector samples and notify clients.
+	 * @param st Time stamp at end of sample period.
+	 * @param period Sample period (ms). */
+	public void updateDetectors(long st, int period) throws IOException {
+		SampleFrameHelper.Encoder enc = new SampleFrameHelper.Encoder();
+		Iterator<Detector> it = DetectorHelper.iterator();
+		while (it.hasNext()) {
+			Detector d = it.next();
+			if (d instanceof DetectorImpl) {
+				DetectorImpl det = (DetectorImpl) d;
+				det.encodeSample(enc, st, period);
+			}
+		}
+		update(st, enc.finish());
+	}
+
+	/** Update the frame and notify clients */
+	private void update(long st, String s) {
+		stamp = st;
+		samples = s;
+		Server srv = MainServer.server;
+		if (srv != null) {
+			srv.setAttribute(this, "stamp");
+			srv.setAttribute(this, "samples");
+		}
+	}
+}
@@ -17,6 +17,10 @@ package us.mn.state.dot.tms.server;
 import java.sql.ResultSet;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import us.mn.state.dot.sonar.SonarException;
+import us.mn.state.dot.tms.DMS;
+import us.mn.state.dot.tms.DmsSignGroupHelper;
 import us.mn.state.dot.tms.SignGroup;
 import us.mn.state.dot.tms.TMSException;
 import us.mn.state.dot.tms.utils.UniqueNameCreator;
@@ -35,6 +39,27 @@ public class SignGroupImpl extends BaseObjectImpl implements SignGroup {
 		return unc.createUniqueName();
 	}
 
+	/** Create a sign group with a set of signs.  The group and its DMS
+	 * sign groups are imported together, since there may be many signs.
+	 * @param tmpl Name template (must contain %d).
+	 * @param dms Signs in the group.
+	 * @return New sign group. */
+	static public SignGroupImpl createWithSigns(String tmpl, Set<DMS> dms)
+		throws TMSException, SonarException
+	{
+		SignGroupImpl sg = new SignGroupImpl(createUniqueName(tmpl));
+		BulkImport bi = new BulkImport();
+		bi.add(sg);
+		UniqueNameCreator unc = DmsSignGroupHelper.createNameCreator(
+			tmpl);
+		for (DMS d: dms) {
+			bi.add(new DmsSignGroupImpl(unc.createUniqueName(), d,
+				sg));
+		}
+		bi.run();
+		return sg;
+	}
+
 	/** Load all the sign groups */
 	static protected void loadAll() throws TMSException {
 		namespace.registerType(SONAR_TYPE, SignGroupImpl.class);
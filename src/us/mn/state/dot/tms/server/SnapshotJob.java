@@ -0,0 +1,47 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.io.IOException;
+import java.util.Calendar;
+import us.mn.state.dot.sched.Job;
+import us.mn.state.dot.tms.TMSException;
+
+/**
+ * Job to refresh and write the namespace snapshot.
+ *
+ * @author Douglas Lau
+ */
+public class SnapshotJob extends Job {
+
+	/** Create a new snapshot job */
+	public SnapshotJob() {
+		super(Calendar.HOUR, 1, Calendar.MINUTE, 23);
+	}
+
+	/** Create a new one-shot snapshot job */
+	public SnapshotJob(int ms) {
+		super(ms);
+	}
+
+	/** Perform the snapshot job */
+	public void perform() throws IOException, TMSException {
+		NamespaceSnapshot snap = BaseObjectImpl.snapshot;
+		if (snap != null) {
+			snap.refresh(BaseObjectImpl.store);
+			snap.write();
+		}
+	}
+}
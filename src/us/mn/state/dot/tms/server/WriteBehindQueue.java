@@ -0,0 +1,312 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import us.mn.state.dot.sched.DebugLog;
+import us.mn.state.dot.sched.Job;
+import us.mn.state.dot.sched.Scheduler;
+import us.mn.state.dot.sched.TimeSteward;
+
+/**
+ * Write-behind queue for storable field updates.  Updates are coalesced by
+ * table, key and field, so only the latest value of each field is written.
+ * Pending updates are flushed on a dedicated thread by a BatchWriter (on the
+ * interactive lane), in one transaction per batch.
+ *
+ * Identifiers and values are validated by SQLConnection before they are
+ * queued.  Updates which still fail when written are logged to stderr and
+ * counted, since the caller has already returned.
+ *
+ * @author Douglas Lau
+ */
+public class WriteBehindQueue {
+
+	/** SQL flush debug log */
+	static private final DebugLog FLUSH_LOG = new DebugLog("sql_flush");
+
+	/** Delay before flushing pending updates (ms) */
+	static private final int FLUSH_DELAY_MS = 100;
+
+	/** Maximum number of updates in one batch */
+	static private final int BATCH_SIZE = 500;
+
+	/** Maximum pending updates before callers must flush (back-pressure) */
+	static private final int MAX_PENDING = 8192;
+
+	/** Writer thread */
+	static private final Scheduler WRITER = new Scheduler("sql_writer");
+
+	/** Key for one field of one record */
+	static private final class FieldKey {
+		private final String table;
+		private final String key_name;
+		private final String key;
+		private final String field;
+		private FieldKey(String t, String kn, String k, String f) {
+			table = t;
+			key_name = kn;
+			key = k;
+			field = f;
+		}
+		@Override
+		public int hashCode() {
+			return ((table.hashCode() * 31 + key.hashCode()) * 31)
+			      + field.hashCode();
+		}
+		@Override
+		public boolean equals(Object o) {
+			if (o instanceof FieldKey) {
+				FieldKey fk = (FieldKey) o;
+				return table.equals(fk.table)
+				    && key_name.equals(fk.key_name)
+				    && key.equals(fk.key)
+				    && field.equals(fk.field);
+			}
+			return false;
+		}
+		/** Get the SQL to update the field */
+		private String getSql() {
+			return "UPDATE " + table + " SET " + field + " = ?" +
+				" WHERE " + key_name + " = ?;";
+		}
+	}
+
+	/** One pending field update */
+	static private final class Update {
+		private final FieldKey fk;
+		private final String value;
+		private Update(FieldKey k, String v) {
+			fk = k;
+			value = v;
+		}
+	}
+
+	/** Batch writer (interactive lane) */
+	private final BatchWriter writer;
+
+	/** Pending updates, in order of latest update.
+	 * All access must be synchronized on the "lock" lock. */
+	private final LinkedHashMap<FieldKey, String> pending =
+		new LinkedHashMap<FieldKey, String>();
+
+	/** Lock for pending updates and statistics */
+	private final Object lock = new Object();
+
+	/** Flag to indicate a flush job is scheduled */
+	private boolean scheduled = false;
+
+	/** Total number of updates queued */
+	private long n_queued = 0;
+
+	/** Total number of updates written */
+	private long n_written = 0;
+
+	/** Number of batches flushed */
+	private long n_batches = 0;
+
+	/** Total flush time (ms) */
+	private long flush_ms = 0;
+
+	/** Maximum flush time (ms) */
+	private long max_flush_ms = 0;
+
+	/** Maximum queue depth */
+	private int max_depth = 0;
+
+	/** Total number of updates which could not be written */
+	private long n_failed = 0;
+
+	/** Lock to serialize flushing */
+	private final Object flush_lock = new Object();
+
+	/** Create a new write-behind queue */
+	public WriteBehindQueue(SQLConnection s) {
+		writer = new BatchWriter("SQL write", s,
+			SQLConnection.Lane.INTERACTIVE, FLUSH_LOG);
+	}
+
+	/** Add a field update to the queue.
+	 * @param table Table name.
+	 * @param key_name Key column name.
+	 * @param key Record key.
+	 * @param field Field (column) name.
+	 * @param value New value, or null. */
+	public void add(String table, String key_name, String key,
+		String field, String value)
+	{
+		FieldKey fk = new FieldKey(table, key_name, key, field);
+		boolean full;
+		synchronized (lock) {
+			// Remove first, so a coalesced update moves to the
+			// end, keeping updates in order
+			pending.remove(fk);
+			pending.put(fk, value);
+			n_queued++;
+			int depth = pending.size();
+			max_depth = Math.max(max_depth, depth);
+			full = depth >= MAX_PENDING;
+			if (!full && !scheduled) {
+				scheduled = true;
+				WRITER.addJob(new Job(FLUSH_DELAY_MS) {
+					public void perform() {
+						flushScheduled();
+					}
+				});
+			}
+		}
+		// Back-pressure: writer has fallen behind, so write on the
+		// caller's thread
+		if (full)
+			flush();
+	}
+
+	/** Flush pending updates on the writer thread */
+	private void flushScheduled() {
+		synchronized (lock) {
+			scheduled = false;
+		}
+		flush();
+	}
+
+	/** Get the number of pending updates */
+	public int getQueueDepth() {
+		synchronized (lock) {
+			return pending.size();
+		}
+	}
+
+	/** Get the maximum queue depth */
+	public int getMaxQueueDepth() {
+		synchronized (lock) {
+			return max_depth;
+		}
+	}
+
+	/** Get the number of updates coalesced away (never written) */
+	public long getCoalescedCount() {
+		synchronized (lock) {
+			return n_queued - n_written - n_failed - pending.size();
+		}
+	}
+
+	/** Get the number of updates which could not be written */
+	public long getFailedCount() {
+		synchronized (lock) {
+			return n_failed;
+		}
+	}
+
+	/** Get the mean batch flush latency (ms) */
+	public float getMeanFlushMs() {
+		synchronized (lock) {
+			return (n_batches > 0) ? (float) flush_ms / n_batches : 0;
+		}
+	}
+
+	/** Get the maximum batch flush latency (ms) */
+	public long getMaxFlushMs() {
+		synchronized (lock) {
+			return max_flush_ms;
+		}
+	}
+
+	/** Take the next batch of pending updates */
+	private ArrayList<Update> takeBatch() {
+		ArrayList<Update> batch = new ArrayList<Update>();
+		synchronized (lock) {
+			Iterator<Map.Entry<FieldKey, String>> it =
+				pending.entrySet().iterator();
+			while (it.hasNext() && batch.size() < BATCH_SIZE) {
+				Map.Entry<FieldKey, String> e = it.next();
+				batch.add(new Update(e.getKey(), e.getValue()));
+				it.remove();
+			}
+		}
+		return batch;
+	}
+
+	/** Flush all pending updates.  Updates are written in the order they
+	 * were last queued (per batch), and any update queued before this
+	 * call is written before it returns. */
+	public void flush() {
+		synchronized (flush_lock) {
+			while (true) {
+				ArrayList<Update> batch = takeBatch();
+				if (batch.isEmpty())
+					break;
+				long start = TimeSteward.currentTimeMillis();
+				int n_fail = writeBatch(batch);
+				if (n_fail < 0)
+					break;
+				long ms = TimeSteward.currentTimeMillis() - start;
+				logFlush(batch.size(), n_fail, ms);
+			}
+		}
+	}
+
+	/** Record statistics for one flushed batch */
+	private void logFlush(int n, int n_fail, long ms) {
+		int depth;
+		synchronized (lock) {
+			n_written += n - n_fail;
+			n_failed += n_fail;
+			n_batches++;
+			flush_ms += ms;
+			max_flush_ms = Math.max(max_flush_ms, ms);
+			depth = pending.size();
+		}
+		if (FLUSH_LOG.isOpen()) {
+			FLUSH_LOG.log("flushed " + n + " updates in " + ms +
+				" ms, depth: " + depth);
+		}
+	}
+
+	/** Put a batch of updates back at the front of the queue (if not
+	 * superseded by later updates) */
+	private void requeue(ArrayList<Update> batch) {
+		synchronized (lock) {
+			LinkedHashMap<FieldKey, String> later =
+				new LinkedHashMap<FieldKey, String>(pending);
+			pending.clear();
+			for (Update u: batch) {
+				if (!later.containsKey(u.fk))
+					pending.put(u.fk, u.value);
+			}
+			pending.putAll(later);
+		}
+	}
+
+	/** Write one batch of updates.
+	 * @return Number of updates which failed, or -1 if no connection
+	 *         was available. */
+	private int writeBatch(ArrayList<Update> batch) {
+		ArrayList<BatchWriter.Row> rows =
+			new ArrayList<BatchWriter.Row>();
+		for (Update u: batch) {
+			ArrayList<String> params = new ArrayList<String>();
+			params.add(u.value);
+			params.add(u.fk.key);
+			rows.add(new BatchWriter.Row(u.fk.getSql(), params));
+		}
+		int n_fail = writer.write(rows);
+		if (n_fail < 0)
+			requeue(batch);
+		return n_fail;
+	}
+}
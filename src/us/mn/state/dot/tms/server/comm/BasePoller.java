@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2016-2020  Minnesota Department of Transportation
+ * Copyright (C) 2016-2021  Minnesota Department of Transportation
  * Copyright (C) 2017       SRF Consulting Group
  *
  * This program is free software; you can redistribute it and/or modify
@@ -23,7 +23,7 @@ import java.nio.ByteBuffer;
 import java.nio.channels.SelectionKey;
 import java.util.Comparator;
 import java.util.HashSet;
-import java.util.PriorityQueue;
+import java.util.TreeSet;
 import us.mn.state.dot.sched.DebugLog;
 import us.mn.state.dot.sched.ExceptionHandler;
 import us.mn.state.dot.sched.Job;
@@ -49,7 +49,7 @@ abstract public class BasePoller implements DevicePoller {
 	static private final String TIMEOUT = "READ TIMED OUT";
 
 	/** Drain an operation queue */
-	static private void drainQueue(PriorityQueue<Operation> queue) {
+	static private void drainQueue(TreeSet<Operation> queue) {
 		for (Operation op: queue) {
 			op.handleEvent(EventType.QUEUE_DRAINED, "DRAINED");
 			op.destroy();
@@ -111,9 +111,11 @@ abstract public class BasePoller implements DevicePoller {
 	/** Set of owned operations.  All access must be synchronized. */
 	private final HashSet<Operation> op_set = new HashSet<Operation>();
 
-	/** Polling queue.  All access must be guarded by the op_set lock. */
-	private final PriorityQueue<Operation> p_queue =
-		new PriorityQueue<Operation>(11, new Comparator<Operation>()
+	/** Polling queue.  All access must be guarded by the op_set lock.
+	 * A sorted set is used so that removal is O(log n); the op_set
+	 * guarantees that no two "equal" operations are queued. */
+	private final TreeSet<Operation> p_queue =
+		new TreeSet<Operation>(new Comparator<Operation>()
 	{
 		@Override public int compare(Operation a, Operation b) {
 			// NOTE: these mutable values should never change
@@ -131,8 +133,8 @@ abstract public class BasePoller implements DevicePoller {
 	});
 
 	/** Receive queue.  All access must be guarded by the op_set lock. */
-	private final PriorityQueue<Operation> r_queue =
-		new PriorityQueue<Operation>(11, new Comparator<Operation>()
+	private final TreeSet<Operation> r_queue =
+		new TreeSet<Operation>(new Comparator<Operation>()
 	{
 		@Override public int compare(Operation a, Operation b) {
 			// NOTE: the expire time should not change
@@ -145,6 +147,15 @@ abstract public class BasePoller implements DevicePoller {
 		}
 	});
 
+	/** Poll queue statistics */
+	private final OpQueueStats stats = new OpQueueStats();
+
+	/** Get the poll queue statistics */
+	@Override
+	public OpQueueStats getQueueStats() {
+		return stats;
+	}
+
 	/** Transmit buffer */
 	private final ByteBuffer tx_buf;
 
@@ -289,11 +300,13 @@ abstract public class BasePoller implements DevicePoller {
 
 	/** Add an operation to the poll queue */
 	private void addPollQueue(Operation op) {
+		op.setQueued();
 		synchronized (op_set) {
 			if (!p_queue.add(op)) {
 				// This should never happen
 				elog("ERR POLL " + op);
 			}
+			stats.enqueued(p_queue.size());
 		}
 		schedulePoll();
 	}
@@ -498,7 +511,10 @@ abstract public class BasePoller implements DevicePoller {
 	/** Get the first operation on the poll queue */
 	private Operation pollQueue() {
 		synchronized (op_set) {
-			return p_queue.poll();
+			Operation op = p_queue.pollFirst();
+			if (op != null)
+				stats.dequeued(p_queue.size(), op.getQueuedMs());
+			return op;
 		}
 	}
 
@@ -606,7 +622,7 @@ abstract public class BasePoller implements DevicePoller {
 	/** Get the first operation on the receive queue */
 	private Operation recvQueue() {
 		synchronized (op_set) {
-			return r_queue.poll();
+			return r_queue.pollFirst();
 		}
 	}
 
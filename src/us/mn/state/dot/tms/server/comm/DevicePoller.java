@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2014-2020  Minnesota Department of Transportation
+ * Copyright (C) 2014-2021  Minnesota Department of Transportation
  * Copyright (C) 2017       SRF Consulting Group
  *
  * This program is free software; you can redistribute it and/or modify
@@ -36,6 +36,9 @@ public interface DevicePoller {
 	 * (0 indicates indefinite). */
 	int getIdleDisconnectSec();
 
+	/** Get operation queue statistics */
+	OpQueueStats getQueueStats();
+
 	/** Start communication test */
 	void startTesting(ControllerImpl c);
 
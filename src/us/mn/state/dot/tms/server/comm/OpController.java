@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2005-2017  Minnesota Department of Transportation
+ * Copyright (C) 2005-2021  Minnesota Department of Transportation
  * Copyright (C) 2012  Iteris Inc.
  * Copyright (C) 2014-2015  AHMCT, University of California
  *
@@ -17,6 +17,7 @@
 package us.mn.state.dot.tms.server.comm;
 
 import java.io.IOException;
+import us.mn.state.dot.sched.TimeSteward;
 import us.mn.state.dot.tms.EventType;
 import us.mn.state.dot.tms.SystemAttrEnum;
 import us.mn.state.dot.tms.server.ControllerImpl;
@@ -67,9 +68,13 @@ abstract public class OpController<T extends ControllerProperty> {
 	/** Current phase of the operation, or null if done */
 	private Phase<T> phase;
 
+	/** Time the operation began (queued for processing) */
+	private long begin_ms;
+
 	/** Begin the operation.  The operation begins when it is queued for
 	 * processing. */
 	public final void begin() {
+		begin_ms = TimeSteward.currentTimeMillis();
 		phase = phaseOne();
 	}
 
@@ -176,6 +181,13 @@ abstract public class OpController<T extends ControllerProperty> {
 		       ((OpController) o).controller == controller;
 	}
 
+	/** Get the operation hash code.  Subclasses may override equals, but
+	 * "equal" operations must always be for the same controller. */
+	@Override
+	public final int hashCode() {
+		return controller.hashCode();
+	}
+
 	/** Get a string description of the operation */
 	@Override
 	public final String toString() {
@@ -247,7 +259,13 @@ abstract public class OpController<T extends ControllerProperty> {
 	public void cleanup() {
 		updateMaintStatus();
 		updateErrorStatus();
-		controller.completeOperation(id, isSuccess());
+		long b = begin_ms;
+		begin_ms = 0;
+		if (b > 0) {
+			long latency = TimeSteward.currentTimeMillis() - b;
+			controller.completeOperation(id, isSuccess(), latency);
+		} else
+			controller.completeOperation(id, isSuccess());
 	}
 
 	/** Update controller maintenance status */
@@ -15,11 +15,22 @@
  */
 package us.mn.state.dot.tms.server.comm;
 
-import java.io.PrintStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import us.mn.state.dot.sched.TimeSteward;
+import us.mn.state.dot.tms.server.ControllerImpl;
 
 /**
  * A prioritized queue which sorts Operation objects by their priority
- * class.  Operations with the same priority are sorted FIFO.
+ * class.  Each priority class is a bucket containing one FIFO of operations
+ * per controller (drop).  Controllers within a bucket are served
+ * round-robin, so that one busy drop cannot starve the others on a
+ * multi-drop link.  A hash index of queued operations is used for duplicate
+ * detection.
  *
  * @author Douglas Lau
  * @author John L. Stanley
@@ -30,16 +41,98 @@ public final class OpQueue<T extends ControllerProperty> {
 	static private final class Node<T extends ControllerProperty> {
 		final OpController<T> operation;
 		final PriorityLevel priority;
-		Node<T> next;
-		Node(OpController<T> op, Node<T> n) {
+		final long queued;
+		Node(OpController<T> op) {
 			operation = op;
 			priority = op.getPriority();
-			next = n;
+			queued = TimeSteward.currentTimeMillis();
 		}
 	}
 
-	/** Front node in the queue */
-	private Node<T> front = null;
+	/** Priority bucket of nodes, with one FIFO per controller */
+	static private final class Bucket<T extends ControllerProperty> {
+
+		/** Mapping of controller to FIFO of nodes.  Insertion order
+		 * is used to rotate between controllers. */
+		private final LinkedHashMap<ControllerImpl, ArrayDeque<Node<T>>>
+			drops = new LinkedHashMap<ControllerImpl,
+			ArrayDeque<Node<T>>>();
+
+		/** Check if the bucket is empty */
+		boolean isEmpty() {
+			return drops.isEmpty();
+		}
+
+		/** Add a node to the end of its controller FIFO */
+		void add(Node<T> node) {
+			ControllerImpl c = node.operation.getController();
+			ArrayDeque<Node<T>> fifo = drops.get(c);
+			if (fifo == null) {
+				fifo = new ArrayDeque<Node<T>>();
+				drops.put(c, fifo);
+			}
+			fifo.addLast(node);
+		}
+
+		/** Remove the next node.  The controller is moved to the back
+		 * of the rotation if it has more nodes. */
+		Node<T> poll() {
+			Iterator<Map.Entry<ControllerImpl, ArrayDeque<Node<T>>>>
+				it = drops.entrySet().iterator();
+			if (!it.hasNext())
+				return null;
+			Map.Entry<ControllerImpl, ArrayDeque<Node<T>>> ent =
+				it.next();
+			it.remove();
+			ArrayDeque<Node<T>> fifo = ent.getValue();
+			Node<T> node = fifo.pollFirst();
+			if (!fifo.isEmpty())
+				drops.put(ent.getKey(), fifo);
+			return node;
+		}
+
+		/** Remove a specific node */
+		boolean remove(Node<T> node) {
+			ControllerImpl c = node.operation.getController();
+			ArrayDeque<Node<T>> fifo = drops.get(c);
+			if (fifo != null && fifo.removeFirstOccurrence(node)) {
+				if (fifo.isEmpty())
+					drops.remove(c);
+				return true;
+			} else
+				return false;
+		}
+
+		/** Do something to each operation in the bucket */
+		boolean forEach(OpHandler<T> handler) {
+			boolean flag = true;
+			for (ArrayDeque<Node<T>> fifo: drops.values()) {
+				for (Node<T> node: fifo)
+					flag &= handler.handle(node.operation);
+			}
+			return flag;
+		}
+	}
+
+	/** Priority buckets, indexed by priority level ordinal */
+	private final Bucket<T>[] buckets;
+
+	/** Index of queued operations, for duplicate detection.  Each entry
+	 * holds every queued node with an "equal" operation -- more than one
+	 * can be queued only when the earlier ones are done. */
+	private final HashMap<OpController<T>, ArrayList<Node<T>>> index =
+		new HashMap<OpController<T>, ArrayList<Node<T>>>();
+
+	/** Count of queued operations (not including work) */
+	private int n_queued = 0;
+
+	/** Queue statistics */
+	private final OpQueueStats stats = new OpQueueStats();
+
+	/** Get the queue statistics */
+	public OpQueueStats getStats() {
+		return stats;
+	}
 
 	/** Current working operation.  This is needed so that an "equal"
 	 * operation cannot be added while work is in progress. */
@@ -48,6 +141,14 @@ public final class OpQueue<T extends ControllerProperty> {
 	/** Flag to tell when the poller is closing */
 	private boolean closing = false;
 
+	/** Create a new operation queue */
+	@SuppressWarnings("unchecked")
+	public OpQueue() {
+		buckets = new Bucket[PriorityLevel.values().length];
+		for (int i = 0; i < buckets.length; i++)
+			buckets[i] = new Bucket<T>();
+	}
+
 	/** Close the queue for new operations */
 	public synchronized void close() {
 		closing = true;
@@ -60,13 +161,13 @@ public final class OpQueue<T extends ControllerProperty> {
 
 	/** Check if the queue is empty */
 	public synchronized boolean isEmpty() {
-		return (work == null) && (front == null);
+		return (work == null) && (n_queued == 0);
 	}
 
 	/** Check if the queue has any more ops to process.
 	 * (Like isEmpty(), but ignores the current work op.) */
 	public synchronized boolean noMoreOps() {
-		return (front == null);
+		return (n_queued == 0);
 	}
 
 	/** Enqueue a new operation */
@@ -88,32 +189,55 @@ public final class OpQueue<T extends ControllerProperty> {
 	private boolean contains(OpController<T> op) {
 		if (op.equals(work) && !work.isDone())
 			return true;
-		Node<T> node = front;
-		while (node != null) {
-			OpController<T> nop = node.operation;
-			if (op.equals(nop) && !nop.isDone())
-				return true;
-			node = node.next;
+		ArrayList<Node<T>> nodes = index.get(op);
+		if (nodes != null) {
+			for (Node<T> node: nodes) {
+				if (!node.operation.isDone())
+					return true;
+			}
 		}
 		return false;
 	}
 
+	/** Add a node to the index */
+	private void indexNode(Node<T> node) {
+		ArrayList<Node<T>> nodes = index.get(node.operation);
+		if (nodes == null) {
+			nodes = new ArrayList<Node<T>>(1);
+			index.put(node.operation, nodes);
+		}
+		nodes.add(node);
+	}
+
+	/** Remove a node from the index */
+	private void unindexNode(Node<T> node) {
+		ArrayList<Node<T>> nodes = index.get(node.operation);
+		if (nodes != null) {
+			nodes.remove(node);
+			if (nodes.isEmpty())
+				index.remove(node.operation);
+		}
+	}
+
+	/** Find the queued node for an operation (not just an equal one) */
+	private Node<T> findNode(OpController<T> op) {
+		ArrayList<Node<T>> nodes = index.get(op);
+		if (nodes != null) {
+			for (Node<T> node: nodes) {
+				if (node.operation == op)
+					return node;
+			}
+		}
+		return null;
+	}
+
 	/** Add an operation to the queue */
 	private void add(OpController<T> op) {
-		PriorityLevel priority = op.getPriority();
-		Node<T> prev = null;
-		Node<T> node = front;
-		while (node != null) {
-			if (priority.ordinal() < node.priority.ordinal())
-				break;
-			prev = node;
-			node = node.next;
-		}
-		node = new Node<T>(op, node);
-		if (prev == null)
-			front = node;
-		else
-			prev.next = node;
+		Node<T> node = new Node<T>(op);
+		buckets[node.priority.ordinal()].add(node);
+		indexNode(node);
+		n_queued++;
+		stats.enqueued(n_queued);
 		notify();
 	}
 
@@ -132,18 +256,28 @@ public final class OpQueue<T extends ControllerProperty> {
 			work = null;
 			return op;
 		}
-		Node<T> prev = null;
-		Node<T> node = front;
-		while (node != null) {
-			if (node.operation == op) {
-				if (prev == null)
-					front = node;
-				else
-					prev.next = node;
-				return op;
+		Node<T> node = findNode(op);
+		if (node != null) {
+			buckets[node.priority.ordinal()].remove(node);
+			unindexNode(node);
+			n_queued--;
+			return op;
+		}
+		return null;
+	}
+
+	/** Remove the highest priority node from the queue */
+	private Node<T> pollNode() {
+		for (Bucket<T> bucket: buckets) {
+			Node<T> node = bucket.poll();
+			if (node != null) {
+				unindexNode(node);
+				n_queued--;
+				stats.dequeued(n_queued,
+					TimeSteward.currentTimeMillis() -
+					node.queued);
+				return node;
 			}
-			prev = node;
-			node = node.next;
 		}
 		return null;
 	}
@@ -159,20 +293,19 @@ public final class OpQueue<T extends ControllerProperty> {
 		throws DisconnectException
 	{
 		work = null;
-		while (null == front) {
+		while (0 == n_queued) {
 			try {
 				wait(idle_ms);
 			}
 			catch (InterruptedException e) {
 				throw new DisconnectException("DESTROYED");
 			}
-			if (idle_ms > 0 && null == front) {
+			if (idle_ms > 0 && 0 == n_queued) {
 				// Empty msg (status) doesn't fail controllers
 				throw new DisconnectException("");
 			}
 		}
-		work = front.operation;
-		front = front.next;
+		work = pollNode().operation;
 		return work;
 	}
 
@@ -184,23 +317,16 @@ public final class OpQueue<T extends ControllerProperty> {
 			work = null;
 			return w;
 		}
-		OpController<T> op = null;
-		if (front != null) {
-			op = front.operation;
-			front = front.next;
-		}
-		return op;
+		Node<T> node = pollNode();
+		return (node != null) ? node.operation : null;
 	}
 
 	/** Do something to each operation in the queue */
 	public synchronized boolean forEach(OpHandler<T> handler) {
 		OpController<T> w = work;
 		boolean flag = (w != null) ? handler.handle(w) : true;
-		Node<T> node = front;
-		while (node != null) {
-			flag &= handler.handle(node.operation);
-			node = node.next;
-		}
+		for (Bucket<T> bucket: buckets)
+			flag &= bucket.forEach(handler);
 		return flag;
 	}
 }
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2005-2017  Minnesota Department of Transportation
+ * Copyright (C) 2005-2021  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -195,6 +195,19 @@ public final class Operation implements Comparable<Operation> {
 		return n_runs;
 	}
 
+	/** Time added to poll queue */
+	private long queued = 0;
+
+	/** Set the time added to poll queue */
+	public void setQueued() {
+		queued = TimeSteward.currentTimeMillis();
+	}
+
+	/** Get the time spent in poll queue (ms) */
+	public long getQueuedMs() {
+		return TimeSteward.currentTimeMillis() - queued;
+	}
+
 	/** Expiration time */
 	private long expire = 0;
 
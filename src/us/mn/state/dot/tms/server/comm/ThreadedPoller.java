@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2014-2020  Minnesota Department of Transportation
+ * Copyright (C) 2014-2021  Minnesota Department of Transportation
  * Copyright (C) 2015-2017  SRF Consulting Group
  *
  * This program is free software; you can redistribute it and/or modify
@@ -121,6 +121,12 @@ public class ThreadedPoller<T extends ControllerProperty>
 		return not_done.isEmpty();
 	}
 
+	/** Get operation queue statistics */
+	@Override
+	public OpQueueStats getQueueStats() {
+		return queue.getStats();
+	}
+
 	/** Add an operation to the device poller */
 	protected void addOp(OpController<T> op) {
 		if (!isConnected()) {
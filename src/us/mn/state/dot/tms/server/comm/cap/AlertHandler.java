@@ -14,6 +14,9 @@
  */
 package us.mn.state.dot.tms.server.comm.cap;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayDeque;
 import java.util.HashSet;
 import java.util.Set;
@@ -25,7 +28,10 @@ import org.xml.sax.SAXException;
 import org.xml.sax.helpers.DefaultHandler;
 
 /**
- * Class to handle converting alert XML into JSON
+ * Class to handle converting alert XML into JSON.
+ *
+ * While parsing, a digest of each alert's content is computed, so the
+ * processor can skip alerts which have not changed since the last poll.
  *
  * @author Douglas Lau
  */
@@ -66,9 +72,19 @@ public class AlertHandler extends DefaultHandler {
 	/** Alert processor */
 	private final AlertProcessor processor;
 
+	/** Digest of current alert content */
+	private final MessageDigest digest;
+
 	/** Create an alert handler */
 	public AlertHandler(AlertProcessor p) {
 		processor = p;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException e) {
+			// SHA-256 is required for all Java platforms
+			throw new IllegalStateException(e);
+		}
 	}
 
 	/** Start an XML element.
@@ -81,6 +97,8 @@ public class AlertHandler extends DefaultHandler {
 	{
 		// CAP doesn't use attributes, so ignore them
 		stack.push(new JSONObject());
+		if (qName.equals("alert"))
+			digest.reset();
 	}
 
 	/** Handle characters in current node */
@@ -122,6 +140,7 @@ public class AlertHandler extends DefaultHandler {
 			if (obj instanceof JSONObject)
 				processAlert((JSONObject) obj);
 		} else if (ELEMENTS.contains(qName)) {
+			updateDigest(qName, obj);
 			Object parent = stack.peek();
 			if (parent instanceof JSONObject) {
 				JSONObject jo = (JSONObject) parent;
@@ -133,8 +152,18 @@ public class AlertHandler extends DefaultHandler {
 		}
 	}
 
+	/** Update the alert digest with one element.  Leaf elements add
+	 *  their content; branch elements add an end marker, so the digest
+	 *  depends on structure as well as content. */
+	private void updateDigest(String qName, Object obj) {
+		String v = (obj instanceof String)
+		         ? qName + "=" + obj + "\n"
+		         : "/" + qName + "\n";
+		digest.update(v.getBytes(StandardCharsets.UTF_8));
+	}
+
 	/** Process a received alert */
 	private void processAlert(JSONObject alert) {
-		processor.processAlert(alert);
+		processor.processAlert(alert, digest.digest());
 	}
 }
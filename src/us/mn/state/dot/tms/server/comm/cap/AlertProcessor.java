@@ -14,14 +14,22 @@
  */
 package us.mn.state.dot.tms.server.comm.cap;
 
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.Iterator;
 import org.json.JSONObject;
 import us.mn.state.dot.sched.Job;
 import us.mn.state.dot.sched.Scheduler;
+import us.mn.state.dot.sched.TimeSteward;
 import us.mn.state.dot.tms.server.CapAlert;
 
 /**
  * The alert processor stores alerts in the database and processes them.
  *
+ * A content digest is kept for each alert identifier, so alerts which are
+ * unchanged since a previous poll are skipped without being stored or
+ * re-evaluated.
+ *
  * @author Douglas Lau
  */
 public class AlertProcessor {
@@ -29,17 +37,98 @@ public class AlertProcessor {
 	/** Timer thread for CAP jobs */
 	static private final Scheduler SCHED = new Scheduler("cap");
 
-	/** Process one alert */
-	public void processAlert(JSONObject ja) {
+	/** Time to remember an alert after it was last seen (ms) */
+	static private final long SEEN_EXPIRE_MS = 24 * 60 * 60 * 1000;
+
+	/** Digest of an alert seen in a poll */
+	static private final class Seen {
+		private final byte[] digest;
+		private long last_seen;
+		private Seen(byte[] d, long ls) {
+			digest = d;
+			last_seen = ls;
+		}
+	}
+
+	/** Seen alerts, by identifier.
+	 * All access must be synchronized on the "AlertProcessor" lock. */
+	private final HashMap<String, Seen> seen = new HashMap<String, Seen>();
+
+	/** Count of alerts skipped (unchanged) since last poll */
+	private int n_skipped = 0;
+
+	/** Count of alerts processed since last poll */
+	private int n_processed = 0;
+
+	/** Alert change status */
+	static private enum Change { NEW, CHANGED, UNCHANGED }
+
+	/** Check an alert digest against the previous one.
+	 * @param id Alert identifier.
+	 * @param digest Content digest.
+	 * @return Change status. */
+	private synchronized Change checkSeen(String id, byte[] digest) {
+		long now = TimeSteward.currentTimeMillis();
+		Seen prev = seen.get(id);
+		if (prev != null && MessageDigest.isEqual(prev.digest, digest)) {
+			prev.last_seen = now;
+			n_skipped++;
+			return Change.UNCHANGED;
+		} else {
+			seen.put(id, new Seen(digest, now));
+			n_processed++;
+			return (prev != null) ? Change.CHANGED : Change.NEW;
+		}
+	}
+
+	/** Forget an alert, so it will be processed on the next poll */
+	private synchronized void forget(String id) {
+		seen.remove(id);
+	}
+
+	/** Process one alert.
+	 * @param ja Alert in JSON form.
+	 * @param digest Digest of alert content. */
+	public void processAlert(JSONObject ja, byte[] digest) {
 		String id = ja.getString("identifier");
 		if (id != null) {
-			CapAlert ca = new CapAlert(id, ja);
-			SCHED.addJob(new Job() {
-				public void perform() {
-					ca.process();
-				}
-			});
+			Change ch = checkSeen(id, digest);
+			if (ch != Change.UNCHANGED)
+				processAlert(id, ja, ch == Change.CHANGED);
 		} else
 			CapPoller.slog("identifier not found!");
 	}
+
+	/** Schedule processing of an alert */
+	private void processAlert(final String id, JSONObject ja,
+		boolean changed)
+	{
+		final CapAlert ca = new CapAlert(id, ja, changed);
+		schedule(new Job() {
+			public void perform() {
+				if (!ca.process())
+					forget(id);
+			}
+		});
+	}
+
+	/** Schedule a job on the CAP thread */
+	protected void schedule(Job job) {
+		SCHED.addJob(job);
+	}
+
+	/** Finish one poll of the feed.  Alerts which have not been seen
+	 * recently are forgotten. */
+	public synchronized void finishPoll() {
+		long now = TimeSteward.currentTimeMillis();
+		Iterator<Seen> it = seen.values().iterator();
+		while (it.hasNext()) {
+			if (now - it.next().last_seen > SEEN_EXPIRE_MS)
+				it.remove();
+		}
+		CapPoller.slog("poll: " + n_processed + " processed, " +
+			n_skipped + " unchanged, " + seen.size() + " known");
+		n_processed = 0;
+		n_skipped = 0;
+	}
 }
@@ -84,6 +84,7 @@ public class CapReader {
 			SAXParserFactory spf = SAXParserFactory.newInstance();
 			SAXParser parser = spf.newSAXParser();
 			parser.parse(inputStream(), handler);
+			PROCESSOR.finishPoll();
 			REQ_SUCCESS = now;
 		}
 		catch (ParserConfigurationException | SAXException e) {
@@ -20,6 +20,7 @@ import us.mn.state.dot.tms.EventType;
 import us.mn.state.dot.tms.TMSException;
 import us.mn.state.dot.tms.server.SQLConnection;
 import us.mn.state.dot.tms.server.Storable;
+import static us.mn.state.dot.tms.server.SQLConnection.Lane.REPORTS;
 
 /**
  * This is the base class for logging events to a database.
@@ -31,6 +32,26 @@ abstract public class BaseEvent implements Storable {
 	/** SQL connection */
 	static public SQLConnection store;
 
+	/** Purge old records from an event table.  Partitioned tables have
+	 * expired partitions dropped (and new partitions created); other
+	 * tables have old rows deleted.
+	 * @param table Qualified table name.
+	 * @param age Purge age (days), or 0 for no purging. */
+	static protected void purgeTable(String table, int age)
+		throws TMSException
+	{
+		if (null == store)
+			return;
+		EventPartitions ep = new EventPartitions(store);
+		if (ep.isPartitioned(table))
+			ep.maintain(table, TimeSteward.getDateInstance(), age);
+		else if (age > 0) {
+			store.update(REPORTS, "DELETE FROM " + table +
+				" WHERE event_date < now() - '" + age +
+				" days'::interval;");
+		}
+	}
+
 	/** Event type */
 	public final EventType event_type;
 
@@ -0,0 +1,275 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.event;
+
+import java.sql.ResultSet;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import us.mn.state.dot.sched.DebugLog;
+import us.mn.state.dot.tms.TMSException;
+import us.mn.state.dot.tms.server.ResultFactory;
+import us.mn.state.dot.tms.server.SQLConnection;
+import static us.mn.state.dot.tms.server.SQLConnection.Lane.REPORTS;
+
+/**
+ * Partition maintenance for event tables.  A partitioned event table has
+ * one partition per day (named "table_YYYYMMDD"), plus a default partition
+ * for any other rows.  Rows from before a table was partitioned are kept in
+ * a history partition (named "table_before_YYYYMMDD"), bounded by the first
+ * daily partition.  Partitions are created a few days in advance, and
+ * expired partitions are dropped, so purging does not need to delete rows
+ * (except from the default and history partitions).  All maintenance is
+ * done on the reports connection lane.
+ *
+ * @author Douglas Lau
+ */
+public class EventPartitions {
+
+	/** Partition debug log */
+	static private final DebugLog PART_LOG = new DebugLog("partition");
+
+	/** Number of days to create partitions in advance */
+	static public final int DAYS_AHEAD = 7;
+
+	/** Pattern for daily partition names */
+	static private final Pattern DAILY = Pattern.compile(".*_(\\d{8})");
+
+	/** Pattern for history partition names */
+	static private final Pattern HISTORY = Pattern.compile(
+		".*_before_(\\d{8})");
+
+	/** Get a date formatter for partition names */
+	static private SimpleDateFormat nameFormat() {
+		SimpleDateFormat f = new SimpleDateFormat("yyyyMMdd");
+		f.setLenient(false);
+		return f;
+	}
+
+	/** Get a date formatter for partition bounds */
+	static private SimpleDateFormat boundFormat() {
+		return new SimpleDateFormat("yyyy-MM-dd");
+	}
+
+	/** Get the start of the day containing a date */
+	static Calendar startOfDay(Date d) {
+		Calendar cal = Calendar.getInstance();
+		cal.setTime(d);
+		cal.set(Calendar.HOUR_OF_DAY, 0);
+		cal.set(Calendar.MINUTE, 0);
+		cal.set(Calendar.SECOND, 0);
+		cal.set(Calendar.MILLISECOND, 0);
+		return cal;
+	}
+
+	/** Get the name of a daily partition.
+	 * @param table Table name (without schema).
+	 * @param day Start of day. */
+	static String partitionName(String table, Calendar day) {
+		return table + "_" + nameFormat().format(day.getTime());
+	}
+
+	/** Parse the day of a daily partition.
+	 * @return Start of day, or null if not a daily partition. */
+	static Date parseDay(String part) {
+		return HISTORY.matcher(part).matches()
+		      ? null
+		      : parseDate(DAILY.matcher(part));
+	}
+
+	/** Parse the end of a history partition.
+	 * @return Start of day after history, or null if not a history
+	 *         partition. */
+	static Date parseHistoryEnd(String part) {
+		return parseDate(HISTORY.matcher(part));
+	}
+
+	/** Parse the date matched by a partition name pattern */
+	static private Date parseDate(Matcher m) {
+		if (!m.matches())
+			return null;
+		try {
+			return nameFormat().parse(m.group(1));
+		}
+		catch (ParseException e) {
+			return null;
+		}
+	}
+
+	/** Get the daily partitions which are missing.  Days covered by a
+	 * history partition are skipped.
+	 * @param table Table name (without schema).
+	 * @param parts Existing partition names.
+	 * @param now Current time.
+	 * @return Start of each day which needs a partition. */
+	static List<Calendar> findMissing(String table, Set<String> parts,
+		Date now)
+	{
+		Date hist = null;
+		for (String p: parts) {
+			Date end = parseHistoryEnd(p);
+			if (end != null && (null == hist || end.after(hist)))
+				hist = end;
+		}
+		ArrayList<Calendar> days = new ArrayList<Calendar>();
+		for (int i = 0; i <= DAYS_AHEAD; i++) {
+			Calendar day = startOfDay(now);
+			day.add(Calendar.DATE, i);
+			if (hist != null && day.getTime().before(hist))
+				continue;
+			if (!parts.contains(partitionName(table, day)))
+				days.add(day);
+		}
+		return days;
+	}
+
+	/** Get the daily (or history) partitions which have expired.  A
+	 * partition is expired only when every row in it is older than the
+	 * purge age.
+	 * @param parts Existing partition names.
+	 * @param now Current time.
+	 * @param age Purge age (days).
+	 * @return Names of expired partitions. */
+	static List<String> findExpired(Set<String> parts, Date now, int age) {
+		ArrayList<String> expired = new ArrayList<String>();
+		Calendar cutoff = Calendar.getInstance();
+		cutoff.setTime(now);
+		cutoff.add(Calendar.DATE, -age);
+		for (String p: parts) {
+			Calendar end = null;
+			Date d = parseDay(p);
+			if (d != null) {
+				end = startOfDay(d);
+				end.add(Calendar.DATE, 1);
+			}
+			Date h = parseHistoryEnd(p);
+			if (h != null)
+				end = startOfDay(h);
+			if (end != null && !end.after(cutoff))
+				expired.add(p);
+		}
+		return expired;
+	}
+
+	/** Split a qualified table name into schema and table */
+	static private String[] splitName(String table) {
+		int i = table.indexOf('.');
+		return (i > 0)
+		      ? new String[] { table.substring(0, i),
+		                       table.substring(i + 1) }
+		      : new String[] { "public", table };
+	}
+
+	/** SQL connection */
+	private final SQLConnection store;
+
+	/** Create partition maintenance for a database */
+	public EventPartitions(SQLConnection s) {
+		store = s;
+	}
+
+	/** Check if a table is partitioned */
+	public boolean isPartitioned(String table) throws TMSException {
+		final boolean[] found = new boolean[1];
+		store.query(REPORTS, "SELECT 1 FROM pg_partitioned_table pt " +
+			"JOIN pg_class c ON pt.partrelid = c.oid " +
+			"WHERE c.oid = to_regclass('" + table + "');",
+			new ResultFactory()
+		{
+			public void create(ResultSet row) {
+				found[0] = true;
+			}
+		});
+		return found[0];
+	}
+
+	/** Look up the partitions of a table */
+	private Set<String> lookupPartitions(String table)
+		throws TMSException
+	{
+		final HashSet<String> parts = new HashSet<String>();
+		store.query(REPORTS, "SELECT c.relname FROM pg_inherits i " +
+			"JOIN pg_class c ON i.inhrelid = c.oid " +
+			"WHERE i.inhparent = to_regclass('" + table + "');",
+			new ResultFactory()
+		{
+			public void create(ResultSet row) throws Exception {
+				parts.add(row.getString(1));
+			}
+		});
+		return parts;
+	}
+
+	/** Maintain the partitions of an event table.  Missing partitions
+	 * are created, and expired partitions are dropped.
+	 * @param table Qualified table name.
+	 * @param now Current time.
+	 * @param age Purge age (days), or 0 for no purging. */
+	public void maintain(String table, Date now, int age)
+		throws TMSException
+	{
+		String[] sn = splitName(table);
+		Set<String> parts = lookupPartitions(table);
+		SimpleDateFormat bf = boundFormat();
+		for (Calendar day: findMissing(sn[1], parts, now)) {
+			String from = bf.format(day.getTime());
+			day.add(Calendar.DATE, 1);
+			String to = bf.format(day.getTime());
+			day.add(Calendar.DATE, -1);
+			String part = sn[0] + "." + partitionName(sn[1], day);
+			try {
+				store.update(REPORTS, "CREATE TABLE IF NOT " +
+					"EXISTS " + part + " PARTITION OF " +
+					table + " FOR VALUES FROM ('" + from +
+					"') TO ('" + to + "');");
+				PART_LOG.log("created " + part);
+			}
+			catch (TMSException e) {
+				// This fails if the default partition already
+				// has rows for the day -- they stay there.  The
+				// default partition is normally empty (since
+				// partitions are created in advance), so the
+				// check is quick.
+				PART_LOG.log(part + " -> " + e);
+			}
+		}
+		if (age > 0) {
+			List<String> expired = findExpired(parts, now, age);
+			for (String p: expired) {
+				String part = sn[0] + "." + p;
+				store.update(REPORTS, "DROP TABLE " + part + ";");
+				PART_LOG.log("dropped " + part);
+			}
+			// Rows outside of daily partitions must be deleted
+			for (String p: parts) {
+				boolean other = p.equals(sn[1] + "_default") ||
+					parseHistoryEnd(p) != null;
+				if (other && !expired.contains(p)) {
+					store.update(REPORTS, "DELETE FROM " +
+						sn[0] + "." + p + " WHERE " +
+						"event_date < now() - '" + age +
+						" days'::interval;");
+				}
+			}
+		}
+	}
+}
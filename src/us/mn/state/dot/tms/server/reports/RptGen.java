@@ -20,6 +20,8 @@ import us.mn.state.dot.tms.RptGenEnum;
 import us.mn.state.dot.tms.TMSException;
 import us.mn.state.dot.tms.reports.RptRequest;
 import us.mn.state.dot.tms.reports.RptResults;
+import us.mn.state.dot.tms.server.CursorQuery;
+import us.mn.state.dot.tms.server.ResultFactory;
 import us.mn.state.dot.tms.server.SQLConnection;
 
 /**
@@ -30,9 +32,58 @@ import us.mn.state.dot.tms.server.SQLConnection;
  */
 public abstract class RptGen {
 
+	/** Number of rows to fetch from the database at a time */
+	static private final int FETCH_SIZE = 500;
+
 	/** Returns RptGenEnum that corresponds to this class. */
 	abstract public RptGenEnum getEnum();
 
+	//-------------------------------------------
+
+	/** Currently running query */
+	private CursorQuery query = null;
+
+	/** Flag indicating the report was canceled */
+	private boolean canceled = false;
+
+	/** Cancel report generation (stops any running query) */
+	public void cancel() {
+		CursorQuery q;
+		synchronized (this) {
+			canceled = true;
+			q = query;
+		}
+		if (q != null)
+			q.cancel();
+	}
+
+	/** Run a report query on the cursors connection lane,
+	 * using a server-side cursor.  Rows are passed to the
+	 * factory as they are fetched.  The factory can block
+	 * (while a client catches up), so this lane is kept
+	 * separate from the reports lane, which is needed for
+	 * purging and alerts.  Its size is a hard limit on the
+	 * number of reports running at once. */
+	protected void queryCursor(SQLConnection store, String sql,
+		ResultFactory factory) throws TMSException
+	{
+		CursorQuery q = new CursorQuery(store,
+			SQLConnection.Lane.CURSORS, sql, FETCH_SIZE);
+		synchronized (this) {
+			if (canceled)
+				return;
+			query = q;
+		}
+		try {
+			q.run(factory);
+		}
+		finally {
+			synchronized (this) {
+				query = null;
+			}
+		}
+	}
+
 	//-------------------------------------------
 	
 	/** Get report-generator name to be displayed in GUI checklist.
@@ -83,8 +83,9 @@ public class RptGen_SignEvents extends RptGen {
 		if (!str_device_list.isEmpty())
 			sWhere = addWhere(sWhere, "device_id in ('" + str_device_list + "')");
 
-		// run query and gather results
-		store.query("SELECT event_date, description, device_id, multi, owner "
+		// run query, passing results on as they are fetched
+		queryCursor(store,
+			"SELECT event_date, description, device_id, multi, owner "
 				+ "FROM public.sign_event_view"
 				+ sWhere
 				+ " ORDER BY event_date, device_id;",
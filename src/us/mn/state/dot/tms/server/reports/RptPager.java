@@ -0,0 +1,89 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.reports;
+
+import us.mn.state.dot.tms.reports.RptResultItem;
+import us.mn.state.dot.tms.reports.RptResults;
+
+/**
+ * Report results which are sent to the client in pages as they are
+ * generated, so a report is never completely held in memory.
+ *
+ * @author Douglas Lau
+ */
+public class RptPager extends RptResults {
+
+	/** Destination for result pages */
+	public interface PageSink {
+
+		/** Send one page of results.
+		 * @param p Page number (starting with 1).
+		 * @param sPage Page results string.
+		 * @return false if no more pages should be sent. */
+		boolean sendPage(int p, String sPage);
+	}
+
+	/** Number of rows per page */
+	private final int page_rows;
+
+	/** Page sink */
+	private final PageSink sink;
+
+	/** Number of last page sent */
+	private int n_page = 0;
+
+	/** Flag to indicate sending was stopped */
+	private boolean stopped = false;
+
+	/** Create a new report pager */
+	public RptPager(int rows, PageSink s) {
+		page_rows = rows;
+		sink = s;
+	}
+
+	/** Add a record, sending a page when full */
+	@Override
+	public void addRptRecord(RptResultItem item) {
+		if (!stopped) {
+			super.addRptRecord(item);
+			if (resultsSize() >= page_rows)
+				sendPage(true);
+		}
+	}
+
+	/** Send the current page */
+	private void sendPage(boolean more) {
+		n_page++;
+		String sPage = toPageString(n_page, more);
+		clear();
+		if (!sink.sendPage(n_page, sPage))
+			stopped = true;
+	}
+
+	/** Check if sending was stopped */
+	public boolean isStopped() {
+		return stopped;
+	}
+
+	/** Send the last page.  This is sent even if there are no
+	 * records, since the client waits for a page marked "last".
+	 * (The page set also means results always start with '{',
+	 * which the client requires -- replacing the old "{empty: }"
+	 * results.) */
+	public void finish() {
+		if (!stopped)
+			sendPage(false);
+	}
+}
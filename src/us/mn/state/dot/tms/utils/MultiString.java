@@ -439,6 +439,9 @@ public class MultiString {
 	/** MULTI string buffer */
 	private final String multi;
 
+	/** Parsed MULTI string (interned) */
+	private ParsedMulti parsed;
+
 	/** Create a new MULTI string.
 	 * @param m MULTI string, may not be null.
 	 * @throws NullPointerException if m is null. */
@@ -448,6 +451,16 @@ public class MultiString {
 		multi = m;
 	}
 
+	/** Get the parsed MULTI string */
+	private ParsedMulti getParsed() {
+		ParsedMulti pm = parsed;
+		if (null == pm) {
+			pm = ParsedMulti.lookup(multi);
+			parsed = pm;
+		}
+		return pm;
+	}
+
 	/** Test if the MULTI string is equal to another MULTI string */
 	@Override
 	public boolean equals(Object o) {
@@ -476,6 +489,17 @@ public class MultiString {
 
 	/** Validate the MULTI string */
 	public boolean isValid() {
+		ParsedMulti pm = getParsed();
+		Boolean v = pm.valid;
+		if (null == v) {
+			v = checkValid();
+			pm.valid = v;
+		}
+		return v;
+	}
+
+	/** Check if the MULTI string is valid */
+	private boolean checkValid() {
 		final boolean[] valid = new boolean[] { true };
 		parse(new MultiAdapter() {
 			@Override public void unsupportedTag(String t) {
@@ -490,13 +514,21 @@ public class MultiString {
 		return valid[0];
 	}
 
-	/** Parse the MULTI string.
+	/** Parse the MULTI string.  The text is only parsed once; parsed
+	 * tokens are replayed onto the callback.
 	 * @param cb A callback which keeps track of the MULTI state. */
 	public void parse(Multi cb) {
+		getParsed().replay(cb);
+	}
+
+	/** Parse MULTI text.
+	 * @param multi MULTI text.
+	 * @param cb A callback which keeps track of the MULTI state. */
+	static void parseText(String multi, Multi cb) {
 		int i = 0;
 		while (i < multi.length()) {
-			int b0 = findBracket('[', i);
-			int b1 = findBracket(']', i);
+			int b0 = findBracket(multi, '[', i);
+			int b1 = findBracket(multi, ']', i);
 			int bx = Math.max(b0, b1);
 			if (bx < 0) {
 				cb.addSpan(filterSpan(multi.substring(i)));
@@ -523,7 +555,7 @@ public class MultiString {
 	}
 
 	/** Find the next (non-doubled) bracket */
-	private int findBracket(char val, int start) {
+	static private int findBracket(String multi, char val, int start) {
 		int end = multi.length() - 1;
 		for (int i = start; i < end; i++) {
 			if (multi.charAt(i) == val) {
@@ -542,6 +574,17 @@ public class MultiString {
 
 	/** Is the MULTI string blank? */
 	public boolean isBlank() {
+		ParsedMulti pm = getParsed();
+		Boolean b = pm.blank;
+		if (null == b) {
+			b = checkBlank();
+			pm.blank = b;
+		}
+		return b;
+	}
+
+	/** Check if the MULTI string is blank */
+	private boolean checkBlank() {
 		final boolean[] blank = new boolean[] { true };
 		parse(new MultiAdapter() {
 			@Override public void addSpan(String span) {
@@ -571,9 +614,15 @@ public class MultiString {
 	 * @return A normalized MULTI string with invalid characters and
 	 *         invalid tags removed. */
 	public MultiString normalize() {
-		MultiBuilder mb = new MultiNormalizer();
-		parse(mb);
-		return mb.toMultiString();
+		ParsedMulti pm = getParsed();
+		String n = pm.normalized;
+		if (null == n) {
+			MultiBuilder mb = new MultiNormalizer();
+			parse(mb);
+			n = mb.toString();
+			pm.normalized = n;
+		}
+		return new MultiString(n);
 	}
 
 	/** Normalize an incident locator MULTI string */
@@ -645,13 +694,19 @@ public class MultiString {
 
 	/** Get the number of pages in the multistring */
 	public int getNumPages() {
-		final int[] n_pages = new int[] { 1 };
-		parse(new MultiAdapter() {
-			@Override public void addPage() {
-				n_pages[0]++;
-			}
-		});
-		return n_pages[0];
+		ParsedMulti pm = getParsed();
+		int n = pm.n_pages;
+		if (n < 1) {
+			final int[] n_pages = new int[] { 1 };
+			parse(new MultiAdapter() {
+				@Override public void addPage() {
+					n_pages[0]++;
+				}
+			});
+			n = n_pages[0];
+			pm.n_pages = n;
+		}
+		return n;
 	}
 
 	/** Get an array of font numbers.
@@ -0,0 +1,86 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.sched;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import junit.framework.TestCase;
+
+/**
+ * Work test cases
+ *
+ * @author Douglas Lau
+ */
+public class WorkTest extends TestCase {
+
+	/** Work which waits for a latch */
+	static private class BlockedWork extends Work {
+		private final CountDownLatch started = new CountDownLatch(1);
+		private final CountDownLatch release = new CountDownLatch(1);
+		private boolean performed = false;
+		@Override
+		protected void perform() throws Exception {
+			started.countDown();
+			release.await(10, TimeUnit.SECONDS);
+			performed = true;
+		}
+	}
+
+	/** Create a worker */
+	static private Worker createWorker() {
+		return new Worker("test", new ExceptionHandler() {
+			public boolean handle(Exception e) {
+				return true;
+			}
+		});
+	}
+
+	public WorkTest(String name) {
+		super(name);
+	}
+
+	public void testCancel() throws Exception {
+		Worker worker = createWorker();
+		BlockedWork w1 = new BlockedWork();
+		BlockedWork w2 = new BlockedWork();
+		BlockedWork w3 = new BlockedWork();
+		w3.release.countDown();
+		worker.addWork(w1);
+		worker.addWork(w2);
+		worker.addWork(w3);
+		assertTrue(w1.started.await(10, TimeUnit.SECONDS));
+		try {
+			w2.waitForCompletion(50);
+			fail();
+		}
+		catch (TimeoutException e) {
+			// expected
+		}
+		// queued work can be cancelled; started work cannot
+		assertTrue(w2.cancel());
+		assertFalse(w1.cancel());
+		w1.release.countDown();
+		w2.release.countDown();
+		w1.waitForCompletion(10000);
+		w3.waitForCompletion(10000);
+		assertTrue(w1.performed);
+		assertFalse(w2.performed);
+		assertTrue(w3.performed);
+		// completed work cannot be cancelled
+		assertFalse(w3.cancel());
+		worker.dispose();
+	}
+}
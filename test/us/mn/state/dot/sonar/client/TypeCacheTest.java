@@ -0,0 +1,189 @@
+/*
+ * SONAR -- Simple Object Notification And Replication
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.sonar.client;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.KeyStore;
+import java.util.Properties;
+import junit.framework.TestCase;
+import us.mn.state.dot.sched.ExceptionHandler;
+import us.mn.state.dot.sonar.Capability;
+import us.mn.state.dot.sonar.Name;
+import us.mn.state.dot.sonar.SonarObject;
+
+/**
+ * TypeCache test cases
+ *
+ * @author Douglas Lau
+ */
+public class TypeCacheTest extends TestCase {
+
+	/** Keystore password */
+	static private final String PASSWORD = "sonar_test";
+
+	/** Create an empty keystore file */
+	static private File createKeyStore() throws Exception {
+		File f = File.createTempFile("sonar", ".keystore");
+		f.deleteOnExit();
+		KeyStore ks = KeyStore.getInstance("JKS");
+		ks.load(null, null);
+		OutputStream os = new FileOutputStream(f);
+		try {
+			ks.store(os, PASSWORD.toCharArray());
+		}
+		finally {
+			os.close();
+		}
+		return f;
+	}
+
+	/** Client which counts requests instead of sending them */
+	static private class FakeClient extends Client {
+		private int n_populate;
+		private int n_enumerate;
+		private int n_ignore;
+		private FakeClient(Properties props) throws Exception {
+			super(props, new ExceptionHandler() {
+				public boolean handle(Exception e) {
+					return true;
+				}
+			});
+		}
+		@Override
+		public void populate(TypeCache tc) {
+			n_populate++;
+		}
+		@Override
+		void enumerateName(Name name) {
+			n_enumerate++;
+		}
+		@Override
+		void ignoreName(Name name) {
+			n_ignore++;
+		}
+	}
+
+	/** Create a fake client (never connected) */
+	static private FakeClient createClient() throws Exception {
+		Properties props = new Properties();
+		props.setProperty("sonar.host", "127.0.0.1");
+		props.setProperty("sonar.port", "1");
+		props.setProperty("keystore.file",
+			createKeyStore().getAbsolutePath());
+		props.setProperty("keystore.password", PASSWORD);
+		return new FakeClient(props);
+	}
+
+	/** Proxy listener which does nothing */
+	static private class NullListener<T extends SonarObject>
+		implements ProxyListener<T>
+	{
+		public void proxyAdded(T proxy) { }
+		public void enumerationComplete() { }
+		public void proxyRemoved(T proxy) { }
+		public void proxyChanged(T proxy, String a) { }
+	}
+
+	public TypeCacheTest(String name) {
+		super(name);
+	}
+
+	public void testNotLazy() throws Exception {
+		FakeClient c = createClient();
+		TypeCache<Capability> tc = new TypeCache<Capability>(
+			Capability.class, c);
+		assertTrue(tc.size() == 0);
+		assertTrue(tc.lookupObject("a") == null);
+		tc.addProxyListener(new NullListener<Capability>());
+		assertTrue(c.n_populate == 0);
+	}
+
+	public void testLazySize() throws Exception {
+		FakeClient c = createClient();
+		TypeCache<Capability> tc = new TypeCache<Capability>(
+			Capability.class, c);
+		tc.populateOnDemand();
+		assertTrue(c.n_populate == 0);
+		assertTrue(tc.size() == 0);
+		assertTrue(c.n_populate == 1);
+		tc.size();
+		tc.iterator();
+		tc.lookupObject("a");
+		assertTrue(c.n_populate == 1);
+	}
+
+	public void testLazyListener() throws Exception {
+		FakeClient c = createClient();
+		TypeCache<Capability> tc = new TypeCache<Capability>(
+			Capability.class, c);
+		tc.populateOnDemand();
+		tc.addProxyListener(new NullListener<Capability>());
+		assertTrue(c.n_populate == 1);
+		tc.addProxyListener(new NullListener<Capability>());
+		assertTrue(c.n_populate == 1);
+		// requested already, so not on demand again
+		tc.populateOnDemand();
+		tc.iterator();
+		assertTrue(c.n_populate == 1);
+	}
+
+	public void testLazyIterator() throws Exception {
+		FakeClient c = createClient();
+		TypeCache<Capability> tc = new TypeCache<Capability>(
+			Capability.class, c);
+		tc.populateOnDemand();
+		assertFalse(tc.iterator().hasNext());
+		assertTrue(c.n_populate == 1);
+	}
+
+	public void testWatchCount() throws Exception {
+		FakeClient c = createClient();
+		TypeCache<Capability> tc = new TypeCache<Capability>(
+			Capability.class, c);
+		Capability a = tc.add("a");
+		Capability b = tc.add("b");
+		tc.watchObject(a);
+		tc.watchObject(a);
+		tc.watchObject(b);
+		assertTrue(c.n_enumerate == 2);
+		tc.ignoreObject(a);
+		assertTrue(c.n_ignore == 0);
+		tc.ignoreObject(a);
+		assertTrue(c.n_ignore == 1);
+		// not watched any more
+		tc.ignoreObject(a);
+		assertTrue(c.n_ignore == 1);
+		tc.watchObject(a);
+		assertTrue(c.n_enumerate == 3);
+	}
+
+	public void testWatchRemoved() throws Exception {
+		FakeClient c = createClient();
+		TypeCache<Capability> tc = new TypeCache<Capability>(
+			Capability.class, c);
+		Capability a = tc.add("a");
+		tc.watchObject(a);
+		tc.remove("a");
+		// watch count is dropped with the proxy
+		Capability a2 = tc.add("a");
+		tc.ignoreObject(a2);
+		assertTrue(c.n_ignore == 0);
+		tc.watchObject(a2);
+		assertTrue(c.n_enumerate == 2);
+	}
+}
@@ -0,0 +1,137 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms;
+
+import junit.framework.TestCase;
+import us.mn.state.dot.tms.utils.MultiString;
+
+/**
+ * BitmapCache test cases
+ *
+ * @author Douglas Lau
+ */
+public class BitmapCacheTest extends TestCase {
+
+	public BitmapCacheTest(String name) {
+		super(name);
+	}
+
+	/** Raster builder which counts (fake) renders */
+	static private class CountingBuilder extends RasterBuilder {
+		private int n_renders;
+		private boolean invalidate;
+		private CountingBuilder(int w, int h, int df) {
+			super(w, h, 0, 0, df);
+		}
+		@Override
+		public BitmapGraphic[] createBitmaps(MultiString ms) {
+			n_renders++;
+			// simulate a font change while rendering
+			if (invalidate)
+				BitmapCache.invalidate();
+			BitmapGraphic bg = new BitmapGraphic(width, height);
+			bg.setPixel(0, 0, DmsColor.AMBER);
+			return new BitmapGraphic[] { bg };
+		}
+	}
+
+	public void testMessageCached() throws Exception {
+		CountingBuilder rb = new CountingBuilder(16, 8, 1);
+		long hits = BitmapCache.getHits();
+		BitmapGraphic[] b0 = BitmapCache.createBitmaps(rb, "CACHED");
+		BitmapGraphic[] b1 = BitmapCache.createBitmaps(rb, "CACHED");
+		assertTrue(rb.n_renders == 1);
+		assertTrue(BitmapCache.getHits() == hits + 1);
+		assertTrue(b0.length == 1 && b1.length == 1);
+		assertTrue(b1[0].getPixel(0, 0).isLit());
+		// returned bitmaps are copies
+		b1[0].setPixel(1, 1, DmsColor.AMBER);
+		BitmapGraphic[] b2 = BitmapCache.createBitmaps(rb, "CACHED");
+		assertTrue(b2[0].getLitCount() == 1);
+		assertTrue(rb.n_renders == 1);
+	}
+
+	public void testMessageKey() throws Exception {
+		CountingBuilder rb = new CountingBuilder(16, 8, 1);
+		BitmapCache.createBitmaps(rb, "KEY");
+		BitmapCache.createBitmaps(rb, "KEY2");
+		assertTrue(rb.n_renders == 2);
+		// same message on a different size sign
+		CountingBuilder rb2 = new CountingBuilder(24, 8, 1);
+		BitmapCache.createBitmaps(rb2, "KEY");
+		assertTrue(rb2.n_renders == 1);
+		// same message with a different default font
+		CountingBuilder rb3 = new CountingBuilder(16, 8, 2);
+		BitmapCache.createBitmaps(rb3, "KEY");
+		assertTrue(rb3.n_renders == 1);
+		BitmapCache.createBitmaps(rb, "KEY");
+		assertTrue(rb.n_renders == 2);
+	}
+
+	public void testInvalidate() throws Exception {
+		CountingBuilder rb = new CountingBuilder(16, 8, 1);
+		BitmapCache.createBitmaps(rb, "INVALIDATE");
+		BitmapCache.invalidate();
+		BitmapCache.createBitmaps(rb, "INVALIDATE");
+		assertTrue(rb.n_renders == 2);
+		BitmapCache.createBitmaps(rb, "INVALIDATE");
+		assertTrue(rb.n_renders == 2);
+	}
+
+	public void testGenerationGuard() throws Exception {
+		CountingBuilder rb = new CountingBuilder(16, 8, 1);
+		rb.invalidate = true;
+		BitmapGraphic[] b0 = BitmapCache.createBitmaps(rb,
+			"GENERATION");
+		assertTrue(b0.length == 1);
+		// bitmaps rendered across an invalidation are not cached
+		rb.invalidate = false;
+		BitmapCache.createBitmaps(rb, "GENERATION");
+		assertTrue(rb.n_renders == 2);
+		BitmapCache.createBitmaps(rb, "GENERATION");
+		assertTrue(rb.n_renders == 2);
+	}
+
+	/** Create pixel status with one stuck off pixel */
+	private String[] pixelStatus(int w, int h) {
+		BitmapGraphic off = new BitmapGraphic(w, h);
+		BitmapGraphic on = new BitmapGraphic(w, h);
+		off.setPixel(1, 1, DmsColor.AMBER);
+		String[] ps = new String[2];
+		ps[DMS.STUCK_OFF_BITMAP] = off.getEncodedPixels();
+		ps[DMS.STUCK_ON_BITMAP] = on.getEncodedPixels();
+		return ps;
+	}
+
+	public void testStuckBitmaps() throws Exception {
+		String[] ps = pixelStatus(16, 8);
+		BitmapGraphic[] s0 = BitmapCache.createStuckBitmaps(16, 8, ps);
+		assertTrue(s0 != null);
+		assertTrue(s0[DMS.STUCK_OFF_BITMAP].getLitCount() == 1);
+		assertTrue(s0[DMS.STUCK_ON_BITMAP].getLitCount() == 0);
+		// returned bitmaps are copies
+		s0[DMS.STUCK_ON_BITMAP].setPixel(0, 0, DmsColor.AMBER);
+		BitmapGraphic[] s1 = BitmapCache.createStuckBitmaps(16, 8, ps);
+		assertTrue(s1[DMS.STUCK_ON_BITMAP].getLitCount() == 0);
+		assertTrue(s1[DMS.STUCK_OFF_BITMAP].getPixel(1, 1).isLit());
+	}
+
+	public void testStuckSizeMismatch() throws Exception {
+		String[] ps = pixelStatus(16, 8);
+		assertTrue(BitmapCache.createStuckBitmaps(24, 8, ps) == null);
+		ps[DMS.STUCK_ON_BITMAP] = null;
+		assertTrue(BitmapCache.createStuckBitmaps(16, 8, ps) == null);
+	}
+}
@@ -0,0 +1,129 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms;
+
+import java.util.Random;
+
+/**
+ * Raster operation benchmark, on a 200x50 full-color sign.  Each operation
+ * is warmed up, then timed over many iterations.
+ *
+ * Usage: RasterBench [iterations]
+ *
+ * @author Douglas Lau
+ */
+public class RasterBench {
+
+	/** Sign width */
+	static private final int WIDTH = 200;
+
+	/** Sign height */
+	static private final int HEIGHT = 50;
+
+	/** Sink to prevent dead code elimination */
+	static private int sink;
+
+	/** A benchmarked operation */
+	static private abstract class Op {
+		private final String name;
+		private Op(String n) {
+			name = n;
+		}
+		abstract int run();
+	}
+
+	/** Create a random bitmap */
+	static private BitmapGraphic randomBitmap(Random r) {
+		BitmapGraphic bg = new BitmapGraphic(WIDTH, HEIGHT);
+		for (int y = 0; y < HEIGHT; y++) {
+			for (int x = 0; x < WIDTH; x++) {
+				if (r.nextInt(4) == 0)
+					bg.setPixel(x, y, DmsColor.AMBER);
+			}
+		}
+		return bg;
+	}
+
+	/** Time one operation */
+	static private void time(Op op, int n) {
+		for (int i = 0; i < n; i++)
+			sink += op.run();
+		long st = System.nanoTime();
+		for (int i = 0; i < n; i++)
+			sink += op.run();
+		long ns = (System.nanoTime() - st) / n;
+		System.out.printf("%-24s %10d ns/op%n", op.name, ns);
+	}
+
+	/** Main entry point */
+	static public void main(String[] args) {
+		int n = (args.length > 0) ? Integer.parseInt(args[0]) : 20000;
+		Random r = new Random(1);
+		final BitmapGraphic msg = randomBitmap(r);
+		final BitmapGraphic stuck = randomBitmap(r);
+		final BitmapGraphic tmp = msg.createBlankCopy();
+		final PixmapGraphic pix = new PixmapGraphic(WIDTH, HEIGHT);
+		final PixmapGraphic pix2 = new PixmapGraphic(WIDTH, HEIGHT);
+		pix.copy(msg, 0, 0, DmsColor.RED);
+		final BitmapGraphic glyph = new BitmapGraphic(8, 14);
+		glyph.copy(msg);
+		time(new Op("bitmap getLitCount") {
+			int run() {
+				return msg.getLitCount();
+			}
+		}, n);
+		time(new Op("bitmap copy+union") {
+			int run() {
+				tmp.copy(msg);
+				tmp.union(stuck);
+				return tmp.getLitCount();
+			}
+		}, n);
+		time(new Op("bitmap copy+difference") {
+			int run() {
+				tmp.copy(msg);
+				tmp.difference(stuck);
+				return tmp.getLitCount();
+			}
+		}, n);
+		time(new Op("bitmap outline") {
+			int run() {
+				tmp.copy(msg);
+				tmp.outline();
+				return tmp.getLitCount();
+			}
+		}, n / 10);
+		time(new Op("glyph blit (20)") {
+			int run() {
+				for (int i = 0; i < 20; i++)
+					tmp.copy(glyph, i * 9, 20, DmsColor.AMBER);
+				return 0;
+			}
+		}, n);
+		time(new Op("pixmap getLitCount") {
+			int run() {
+				return pix.getLitCount();
+			}
+		}, n);
+		time(new Op("pixmap copy+union") {
+			int run() {
+				pix2.copy(pix);
+				pix2.union(stuck);
+				return pix2.getLitCount();
+			}
+		}, n / 10);
+		System.out.println("(sink " + sink + ")");
+	}
+}
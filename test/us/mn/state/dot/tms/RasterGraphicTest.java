@@ -0,0 +1,134 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms;
+
+import java.util.Random;
+import junit.framework.TestCase;
+
+/**
+ * RasterGraphic test cases.  Bulk operations are checked against
+ * pixel-by-pixel results.
+ *
+ * @author Douglas Lau
+ */
+public class RasterGraphicTest extends TestCase {
+
+	private final Random rand = new Random(42);
+
+	public RasterGraphicTest(String name) {
+		super(name);
+	}
+
+	/** Create a random bitmap (with odd dimensions, to test padding) */
+	private BitmapGraphic randomBitmap(int w, int h) {
+		BitmapGraphic bg = new BitmapGraphic(w, h);
+		for (int y = 0; y < h; y++) {
+			for (int x = 0; x < w; x++) {
+				if (rand.nextBoolean())
+					bg.setPixel(x, y, DmsColor.AMBER);
+			}
+		}
+		return bg;
+	}
+
+	/** Count lit pixels one at a time */
+	private int countLit(RasterGraphic rg) {
+		int n = 0;
+		for (int y = 0; y < rg.getHeight(); y++) {
+			for (int x = 0; x < rg.getWidth(); x++) {
+				if (rg.getPixel(x, y).isLit())
+					n++;
+			}
+		}
+		return n;
+	}
+
+	public void testLitCount() {
+		BitmapGraphic bg = randomBitmap(13, 7);
+		assertTrue(bg.getLitCount() == countLit(bg));
+		// set padding bits, which must not be counted
+		byte[] p = bg.getPixelData().clone();
+		p[p.length - 1] |= 0x07;
+		bg.setPixelData(p);
+		assertTrue(bg.getLitCount() == countLit(bg));
+		PixmapGraphic pg = new PixmapGraphic(13, 7);
+		pg.copy(bg);
+		assertTrue(pg.getLitCount() == countLit(bg));
+	}
+
+	public void testUnionDifference() {
+		BitmapGraphic a = randomBitmap(13, 7);
+		BitmapGraphic b = randomBitmap(13, 7);
+		BitmapGraphic u = a.createBlankCopy();
+		u.copy(a);
+		u.union(b);
+		BitmapGraphic d = a.createBlankCopy();
+		d.copy(a);
+		d.difference(b);
+		for (int y = 0; y < 7; y++) {
+			for (int x = 0; x < 13; x++) {
+				boolean la = a.getPixel(x, y).isLit();
+				boolean lb = b.getPixel(x, y).isLit();
+				assertTrue(u.getPixel(x, y).isLit() == (la && lb));
+				assertTrue(d.getPixel(x, y).isLit() == (la && !lb));
+			}
+		}
+		try {
+			a.union(new BitmapGraphic(12, 7));
+			fail();
+		}
+		catch (IndexOutOfBoundsException e) {
+			// expected
+		}
+	}
+
+	public void testCopyCentered() {
+		BitmapGraphic a = randomBitmap(11, 5);
+		BitmapGraphic b = new BitmapGraphic(15, 3);
+		b.copy(a);
+		for (int y = 0; y < 3; y++) {
+			for (int x = 0; x < 11; x++) {
+				assertTrue(b.getPixel(x + 2, y).isLit() ==
+					a.getPixel(x, y + 1).isLit());
+			}
+		}
+		assertTrue(!b.getPixel(0, 0).isLit());
+		assertTrue(!b.getPixel(14, 2).isLit());
+	}
+
+	public void testCopyAt() {
+		BitmapGraphic g = randomBitmap(3, 4);
+		BitmapGraphic b = new BitmapGraphic(10, 10);
+		b.copy(g, 5, 2, DmsColor.AMBER);
+		assertTrue(b.getLitCount() == g.getLitCount());
+		for (int y = 0; y < 4; y++) {
+			for (int x = 0; x < 3; x++) {
+				assertTrue(b.getPixel(x + 5, y + 2).isLit() ==
+					g.getPixel(x, y).isLit());
+			}
+		}
+		PixmapGraphic p = new PixmapGraphic(10, 10);
+		p.copy(g, 5, 2, DmsColor.RED);
+		assertTrue(p.getLitCount() == g.getLitCount());
+	}
+
+	public void testOutline() {
+		BitmapGraphic b = new BitmapGraphic(5, 5);
+		b.setPixel(2, 2, DmsColor.AMBER);
+		b.outline();
+		assertTrue(b.getLitCount() == 8);
+		assertTrue(!b.getPixel(2, 2).isLit());
+	}
+}
@@ -0,0 +1,74 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import junit.framework.TestCase;
+
+/**
+ * SampleFrameHelper test cases
+ *
+ * @author Douglas Lau
+ */
+public class SampleFrameHelperTest extends TestCase {
+
+	public SampleFrameHelperTest(String name) {
+		super(name);
+	}
+
+	/** Decode a frame into a list of strings */
+	private ArrayList<String> decode(String samples) throws IOException {
+		final ArrayList<String> res = new ArrayList<String>();
+		SampleFrameHelper.decode(samples,
+			new SampleFrameHelper.Receiver()
+		{
+			public void sample(String sensor, int flow, int speed,
+				float occ)
+			{
+				res.add(sensor + "," + flow + "," + speed + "," +
+					occ);
+			}
+		});
+		return res;
+	}
+
+	public void testRoundTrip() throws IOException {
+		SampleFrameHelper.Encoder enc = new SampleFrameHelper.Encoder();
+		enc.add("100", 1200, 55, 12.34f);
+		enc.add("101", -1, -1, -1);
+		enc.add("D102", 40000, 0, 100f);
+		ArrayList<String> res = decode(enc.finish());
+		assertTrue(res.size() == 3);
+		assertTrue(res.get(0).equals("100,1200,55,12.34"));
+		assertTrue(res.get(1).equals("101,-1,-1,-1.0"));
+		assertTrue(res.get(2).equals("D102,32767,0,100.0"));
+	}
+
+	public void testEmpty() throws IOException {
+		SampleFrameHelper.Encoder enc = new SampleFrameHelper.Encoder();
+		assertTrue(decode(enc.finish()).isEmpty());
+	}
+
+	public void testInvalid() {
+		try {
+			decode("AAAA");
+			assertTrue(false);
+		}
+		catch (IOException e) {
+			// expected
+		}
+	}
+}
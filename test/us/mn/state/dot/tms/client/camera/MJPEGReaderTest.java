@@ -0,0 +1,104 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.client.camera;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import javax.imageio.ImageIO;
+import junit.framework.TestCase;
+
+/**
+ * MJPEGReader test cases
+ *
+ * @author Douglas Lau
+ */
+public class MJPEGReaderTest extends TestCase {
+
+	public MJPEGReaderTest(String name) {
+		super(name);
+	}
+
+	/** Create a multipart MJPEG stream */
+	private byte[] createStream(int n_frames) throws IOException {
+		ByteArrayOutputStream jpg = new ByteArrayOutputStream();
+		ImageIO.write(new BufferedImage(64, 48,
+			BufferedImage.TYPE_INT_RGB), "jpeg", jpg);
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		for (int i = 0; i < n_frames; i++) {
+			String h = "--boundary\r\nContent-Type: image/jpeg\r\n" +
+				"Content-Length: " + jpg.size() + "\r\n\r\n";
+			bos.write(h.getBytes("US-ASCII"));
+			jpg.writeTo(bos);
+			bos.write("\r\n".getBytes("US-ASCII"));
+		}
+		return bos.toByteArray();
+	}
+
+	/** Test parsing, dropping and subsampled decoding */
+	public void testFrames() throws Exception {
+		final BufferedImage[] last = new BufferedImage[1];
+		MJPEGReader r = new MJPEGReader(new ByteArrayInputStream(
+			createStream(5)), new MJPEGReader.Listener()
+		{
+			public void frameDecoded(BufferedImage img) {
+				synchronized (last) {
+					last[0] = img;
+				}
+			}
+		});
+		r.setTargetSize(16, 12);
+		for (int i = 0; i < 5; i++)
+			r.readFrame();
+		assertTrue(r.getReceivedCount() == 5);
+		try {
+			r.readFrame();
+			assertTrue(false);
+		}
+		catch (IOException e) {
+			// expected end of stream
+		}
+		for (int i = 0; i < 200; i++) {
+			synchronized (last) {
+				if (last[0] != null)
+					break;
+			}
+			Thread.sleep(10);
+		}
+		synchronized (last) {
+			assertTrue(last[0] != null);
+			assertTrue(last[0].getWidth() == 16);
+			assertTrue(last[0].getHeight() == 12);
+		}
+		assertTrue(r.getDecodedCount() >= 1);
+		assertTrue(r.getDecodedCount() <= 5);
+		r.close();
+	}
+
+	/** Test invalid content-length */
+	public void testInvalid() throws Exception {
+		byte[] s = "--b\r\nContent-Length: x\r\n\r\n".getBytes("US-ASCII");
+		MJPEGReader r = new MJPEGReader(new ByteArrayInputStream(s),
+			null);
+		try {
+			r.readFrame();
+			assertTrue(false);
+		}
+		catch (IOException e) {
+			// expected
+		}
+	}
+}
@@ -0,0 +1,118 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.client.map;
+
+import java.awt.geom.Rectangle2D;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Random;
+import junit.framework.TestCase;
+
+/**
+ * SpatialIndex test cases
+ *
+ * @author Douglas Lau
+ */
+public class SpatialIndexTest extends TestCase {
+
+	public SpatialIndexTest(String name) {
+		super(name);
+	}
+
+	/** Create a random rectangle (some are points) */
+	private Rectangle2D randomRect(Random rnd) {
+		double x = -1e7 + rnd.nextDouble() * 2e7;
+		double y = -1e7 + rnd.nextDouble() * 2e7;
+		double w = rnd.nextBoolean() ? 0 : rnd.nextDouble() * 1e5;
+		double h = rnd.nextBoolean() ? 0 : rnd.nextDouble() * 1e5;
+		return new Rectangle2D.Double(x, y, w, h);
+	}
+
+	/** Check if two rectangles intersect (including edges) */
+	private boolean touches(Rectangle2D a, Rectangle2D b) {
+		return a.getMinX() <= b.getMaxX() && a.getMaxX() >= b.getMinX()
+		    && a.getMinY() <= b.getMaxY() && a.getMaxY() >= b.getMinY();
+	}
+
+	/** Check index search against a linear search */
+	private void checkSearch(SpatialIndex<Integer> idx,
+		HashMap<Integer, Rectangle2D> all, Rectangle2D r)
+	{
+		HashSet<Integer> exp = new HashSet<Integer>();
+		for (Integer i: all.keySet()) {
+			if (touches(all.get(i), r))
+				exp.add(i);
+		}
+		HashSet<Integer> found = new HashSet<Integer>(idx.search(r));
+		assertTrue(exp.equals(found));
+	}
+
+	public void testSearch() {
+		Random rnd = new Random(35);
+		SpatialIndex<Integer> idx = new SpatialIndex<Integer>();
+		HashMap<Integer, Rectangle2D> all =
+			new HashMap<Integer, Rectangle2D>();
+		for (int i = 0; i < 2000; i++) {
+			Rectangle2D b = randomRect(rnd);
+			idx.put(i, b);
+			all.put(i, b);
+		}
+		assertTrue(idx.size() == 2000);
+		for (int i = 0; i < 200; i++) {
+			Rectangle2D r = randomRect(rnd);
+			r.add(r.getX() + rnd.nextDouble() * 2e6,
+			      r.getY() + rnd.nextDouble() * 2e6);
+			checkSearch(idx, all, r);
+		}
+		// Point searches on item corners
+		for (int i = 0; i < 100; i++) {
+			Rectangle2D b = all.get(i);
+			checkSearch(idx, all, new Rectangle2D.Double(
+				b.getMaxX(), b.getMaxY(), 0, 0));
+		}
+	}
+
+	public void testMoveRemove() {
+		Random rnd = new Random(17);
+		SpatialIndex<Integer> idx = new SpatialIndex<Integer>();
+		HashMap<Integer, Rectangle2D> all =
+			new HashMap<Integer, Rectangle2D>();
+		for (int i = 0; i < 500; i++) {
+			Rectangle2D b = randomRect(rnd);
+			idx.put(i, b);
+			all.put(i, b);
+		}
+		for (int i = 0; i < 500; i += 2) {
+			Rectangle2D b = randomRect(rnd);
+			idx.put(i, b);
+			all.put(i, b);
+		}
+		for (int i = 0; i < 500; i += 3) {
+			assertTrue(idx.remove(i));
+			assertFalse(idx.remove(i));
+			all.remove(i);
+		}
+		assertTrue(idx.size() == all.size());
+		for (int i = 0; i < 100; i++) {
+			Rectangle2D r = randomRect(rnd);
+			r.add(r.getX() + 3e6, r.getY() + 3e6);
+			checkSearch(idx, all, r);
+		}
+		idx.clear();
+		assertTrue(idx.size() == 0);
+		assertTrue(idx.search(new Rectangle2D.Double(-1e8, -1e8, 2e8,
+			2e8)).isEmpty());
+	}
+}
@@ -0,0 +1,235 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.client.map;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.imageio.ImageIO;
+import junit.framework.TestCase;
+
+/**
+ * TileCache test cases
+ *
+ * @author Douglas Lau
+ */
+public class TileCacheTest extends TestCase {
+
+	/** Fake image fetcher, which creates PNG tiles in memory */
+	static private class FakeFetcher extends ImageFetcher {
+		private final AtomicInteger n_fetched = new AtomicInteger();
+		private final AtomicInteger n_blocked = new AtomicInteger();
+		private final CountDownLatch gate = new CountDownLatch(1);
+		private FakeFetcher() throws IOException {
+			super("http://localhost/");
+		}
+		@Override
+		public InputStream fetchImage(String n) throws IOException {
+			if (n.startsWith("missing"))
+				throw new FileNotFoundException(n);
+			if (n.startsWith("slow"))
+				block();
+			n_fetched.incrementAndGet();
+			BufferedImage img = new BufferedImage(16, 16,
+				BufferedImage.TYPE_3BYTE_BGR);
+			img.setRGB(0, 0, n.hashCode() & 0xFFFFFF);
+			ByteArrayOutputStream bos = new ByteArrayOutputStream();
+			ImageIO.write(img, "png", bos);
+			return new ByteArrayInputStream(bos.toByteArray());
+		}
+
+		/** Block until the gate is opened */
+		private void block() throws IOException {
+			n_blocked.incrementAndGet();
+			try {
+				gate.await(10, TimeUnit.SECONDS);
+			}
+			catch (InterruptedException e) {
+				throw new IOException(e);
+			}
+		}
+
+		/** Wait until a number of fetches are blocked */
+		private void awaitBlocked(int n) throws InterruptedException {
+			for (int i = 0; i < 100 && n_blocked.get() < n; i++)
+				Thread.sleep(50);
+			assertTrue(n_blocked.get() >= n);
+		}
+	}
+
+	public TileCacheTest(String name) {
+		super(name);
+	}
+
+	/** Request a tile (asynchronously) */
+	private CountDownLatch request(TileCache cache, String n) {
+		final CountDownLatch latch = new CountDownLatch(1);
+		cache.requestTile(n, 0, new Runnable() {
+			public void run() {
+				latch.countDown();
+			}
+		});
+		return latch;
+	}
+
+	/** Request a tile and wait for it to be fetched */
+	private boolean fetch(TileCache cache, String n)
+		throws InterruptedException
+	{
+		return request(cache, n).await(10, TimeUnit.SECONDS);
+	}
+
+	public void testFetch() throws Exception {
+		FakeFetcher f = new FakeFetcher();
+		TileCache cache = new TileCache(f, 10);
+		try {
+			assertTrue(cache.getTile("1/2/3") == null);
+			assertTrue(fetch(cache, "1/2/3"));
+			BufferedImage img = cache.getTile("1/2/3");
+			assertTrue(img != null);
+			assertTrue(img.getType() == BufferedImage.TYPE_INT_RGB);
+			assertTrue(img.getRGB(0, 0) ==
+				(0xFF000000 | ("1/2/3".hashCode() & 0xFFFFFF)));
+			// Decoded image is reused
+			assertTrue(cache.getTile("1/2/3") == img);
+			assertTrue(f.n_fetched.get() == 1);
+		}
+		finally {
+			cache.destroy();
+		}
+	}
+
+	public void testMissing() throws Exception {
+		TileCache cache = new TileCache(new FakeFetcher(), 10);
+		try {
+			cache.requestTile("missing/1", 0, null);
+			for (int i = 0; i < 100; i++) {
+				if (cache.isTileMissing("missing/1"))
+					break;
+				Thread.sleep(100);
+			}
+			assertTrue(cache.isTileMissing("missing/1"));
+			assertFalse(cache.isTileMissing("1/1/1"));
+			assertTrue(cache.getTile("missing/1") == null);
+		}
+		finally {
+			cache.destroy();
+		}
+	}
+
+	public void testLRU() throws Exception {
+		FakeFetcher f = new FakeFetcher();
+		TileCache cache = new TileCache(f, 3);
+		try {
+			cache.lookupTile("a");
+			cache.lookupTile("b");
+			cache.lookupTile("c");
+			// Touch "a", so "b" is least recently used
+			assertTrue(cache.getTempImageFile("a") != null);
+			cache.lookupTile("d");
+			assertTrue(cache.getTempImageFile("a") != null);
+			assertTrue(cache.getTempImageFile("b") == null);
+			assertTrue(cache.getTempImageFile("c") != null);
+			assertTrue(cache.getTempImageFile("d") != null);
+		}
+		finally {
+			cache.destroy();
+		}
+	}
+
+	public void testStalePrefetch() throws Exception {
+		FakeFetcher f = new FakeFetcher();
+		TileCache cache = new TileCache(f, 10);
+		try {
+			// occupy all fetcher threads
+			CountDownLatch[] slow = new CountDownLatch[4];
+			for (int i = 0; i < 4; i++)
+				slow[i] = request(cache, "slow/" + i);
+			f.awaitBlocked(4);
+			cache.prefetchTile("1/1/1", 1);
+			cache.beginViewport();
+			f.gate.countDown();
+			assertTrue(fetch(cache, "1/2/2"));
+			for (CountDownLatch latch: slow)
+				assertTrue(latch.await(10, TimeUnit.SECONDS));
+			// the stale prefetch was dropped
+			assertTrue(f.n_fetched.get() == 5);
+			assertTrue(cache.getTempImageFile("1/1/1") == null);
+		}
+		finally {
+			cache.destroy();
+		}
+	}
+
+	public void testVisiblePrefetch() throws Exception {
+		FakeFetcher f = new FakeFetcher();
+		TileCache cache = new TileCache(f, 10);
+		try {
+			// prefetch in progress, then requested as visible
+			cache.prefetchTile("slow/p", 1);
+			f.awaitBlocked(1);
+			CountDownLatch latch = request(cache, "slow/p");
+			cache.beginViewport();
+			f.gate.countDown();
+			assertTrue(latch.await(10, TimeUnit.SECONDS));
+			assertTrue(f.n_fetched.get() == 1);
+			assertTrue(cache.getTile("slow/p") != null);
+		}
+		finally {
+			cache.destroy();
+		}
+	}
+
+	public void testConcurrentDecode() throws Exception {
+		FakeFetcher f = new FakeFetcher();
+		final TileCache cache = new TileCache(f, 10);
+		try {
+			cache.lookupTile("1/3/3");
+			final TempImageFile tif = cache.getTempImageFile(
+				"1/3/3");
+			final AtomicInteger n_bad = new AtomicInteger();
+			Thread[] threads = new Thread[8];
+			for (int i = 0; i < threads.length; i++) {
+				threads[i] = new Thread() {
+					@Override public void run() {
+						for (int j = 0; j < 50; j++) {
+							try {
+								if (tif.getImage()
+								    == null)
+								    n_bad.incrementAndGet();
+							}
+							catch (IOException e) {
+								n_bad.incrementAndGet();
+							}
+						}
+					}
+				};
+				threads[i].start();
+			}
+			for (Thread t: threads)
+				t.join();
+			assertTrue(n_bad.get() == 0);
+		}
+		finally {
+			cache.destroy();
+		}
+	}
+}
@@ -0,0 +1,269 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.client.proxy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.swing.SwingUtilities;
+import junit.framework.TestCase;
+import us.mn.state.dot.sonar.SonarObject;
+
+/**
+ * ProxyRows test cases
+ *
+ * @author Douglas Lau
+ */
+public class ProxyRowsTest extends TestCase {
+
+	/** Mutable test proxy */
+	static private class Proxy implements SonarObject {
+		private final String name;
+		private int key;
+		private boolean visible = true;
+		private Proxy(String n, int k) {
+			name = n;
+			key = k;
+		}
+		public String getTypeName() {
+			return "test";
+		}
+		public String getName() {
+			return name;
+		}
+		public void destroy() { }
+		public String toString() {
+			return name;
+		}
+	}
+
+	/** Proxy comparator */
+	static private final Comparator<Proxy> COMP = new Comparator<Proxy>() {
+		public int compare(Proxy a, Proxy b) {
+			return Integer.compare(a.key, b.key);
+		}
+	};
+
+	/** Proxy which holds the worker thread in check */
+	private final Proxy hold = new Proxy("hold", 1000);
+
+	/** Latch to release the worker thread */
+	private volatile CountDownLatch release = new CountDownLatch(0);
+
+	/** Test rows, which record row events */
+	private class Rows extends ProxyRows<Proxy> {
+		private final ArrayList<String> events =
+			new ArrayList<String>();
+		private final ArrayList<Integer> sizes =
+			new ArrayList<Integer>();
+		private Rows() {
+			super(COMP);
+		}
+		@Override
+		protected boolean check(Proxy p) {
+			if (p == hold)
+				await(release);
+			return p.visible;
+		}
+		@Override
+		protected void rowsInserted(int r0, int r1) {
+			events.add("I" + r0 + "-" + r1);
+			sizes.add(size());
+		}
+		@Override
+		protected void rowsDeleted(int r0, int r1) {
+			events.add("D" + r0 + "-" + r1);
+			sizes.add(size());
+		}
+		@Override
+		protected void rowsUpdated(int r0, int r1) {
+			events.add("U" + r0 + "-" + r1);
+			sizes.add(size());
+		}
+	}
+
+	public ProxyRowsTest(String name) {
+		super(name);
+	}
+
+	/** Wait for a latch */
+	static private void await(CountDownLatch latch) {
+		try {
+			latch.await(10, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException e) {
+			// test will fail
+		}
+	}
+
+	/** Get the row events, after waiting for a number of rows */
+	private ArrayList<String> events(final Rows rows, final int n)
+		throws Exception
+	{
+		final ArrayList<String> evs = new ArrayList<String>();
+		for (int i = 0; i < 100; i++) {
+			SwingUtilities.invokeAndWait(new Runnable() {
+				public void run() {
+					if (rows.size() == n) {
+						evs.addAll(rows.events);
+						rows.events.clear();
+					}
+				}
+			});
+			if (!evs.isEmpty())
+				return evs;
+			Thread.sleep(50);
+		}
+		fail();
+		return evs;
+	}
+
+	/** Check the rows against a list of proxy names */
+	private void checkRows(final Rows rows, String... names)
+		throws Exception
+	{
+		final ArrayList<String> r = new ArrayList<String>();
+		SwingUtilities.invokeAndWait(new Runnable() {
+			public void run() {
+				for (int i = 0; i < rows.size(); i++)
+					r.add(rows.get(i).getName());
+			}
+		});
+		assertTrue(r.equals(Arrays.asList(names)));
+	}
+
+	/** Create rows with proxies p0 to p(n-1), keyed by 10 * i */
+	private Rows createRows(Proxy[] ps) throws Exception {
+		Rows rows = new Rows();
+		for (int i = 0; i < ps.length; i++) {
+			ps[i] = new Proxy("p" + i, 10 * i);
+			rows.proxyAdded(ps[i]);
+		}
+		rows.proxyAdded(hold);
+		rows.enumerationComplete();
+		assertTrue(events(rows, ps.length + 1).equals(Arrays.asList(
+			"I0-" + ps.length)));
+		return rows;
+	}
+
+	/** Hold the worker thread, so following events are batched */
+	private void holdWorker(Rows rows) {
+		release = new CountDownLatch(1);
+		rows.update(hold);
+	}
+
+	/** Release the worker thread */
+	private void releaseWorker() {
+		release.countDown();
+	}
+
+	public void testReset() throws Exception {
+		Proxy[] ps = new Proxy[3];
+		Rows rows = createRows(ps);
+		checkRows(rows, "p0", "p1", "p2", "hold");
+		rows.dispose();
+	}
+
+	public void testInsert() throws Exception {
+		Proxy[] ps = new Proxy[4];
+		Rows rows = createRows(ps);
+		holdWorker(rows);
+		// inserted in order
+		rows.proxyAdded(new Proxy("a", 11));
+		rows.proxyAdded(new Proxy("b", 12));
+		rows.proxyAdded(new Proxy("c", 13));
+		// inserted in reverse order
+		rows.proxyAdded(new Proxy("f", 33));
+		rows.proxyAdded(new Proxy("e", 32));
+		rows.proxyAdded(new Proxy("d", 31));
+		releaseWorker();
+		assertTrue(events(rows, 11).equals(Arrays.asList("U4-4",
+			"I2-4", "I7-9")));
+		checkRows(rows, "p0", "p1", "a", "b", "c", "p2", "p3", "d",
+			"e", "f", "hold");
+		rows.dispose();
+	}
+
+	public void testDeleteForward() throws Exception {
+		Proxy[] ps = new Proxy[8];
+		Rows rows = createRows(ps);
+		holdWorker(rows);
+		rows.proxyRemoved(ps[3]);
+		rows.proxyRemoved(ps[4]);
+		rows.proxyRemoved(ps[5]);
+		releaseWorker();
+		assertTrue(events(rows, 6).equals(Arrays.asList("U8-8",
+			"D3-5")));
+		checkRows(rows, "p0", "p1", "p2", "p6", "p7", "hold");
+		rows.dispose();
+	}
+
+	public void testDeleteBackward() throws Exception {
+		Proxy[] ps = new Proxy[8];
+		Rows rows = createRows(ps);
+		holdWorker(rows);
+		rows.proxyRemoved(ps[5]);
+		rows.proxyRemoved(ps[4]);
+		rows.proxyRemoved(ps[3]);
+		// not adjacent
+		rows.proxyRemoved(ps[1]);
+		releaseWorker();
+		assertTrue(events(rows, 5).equals(Arrays.asList("U8-8",
+			"D3-5", "D1-1")));
+		checkRows(rows, "p0", "p2", "p6", "p7", "hold");
+		rows.dispose();
+	}
+
+	public void testMove() throws Exception {
+		Proxy[] ps = new Proxy[8];
+		Rows rows = createRows(ps);
+		holdWorker(rows);
+		ps[2].key = 55;
+		rows.update(ps[2]);
+		ps[6].key = 65;
+		rows.update(ps[6]);
+		// filtered out
+		ps[0].visible = false;
+		rows.update(ps[0]);
+		releaseWorker();
+		assertTrue(events(rows, 8).equals(Arrays.asList("U8-8",
+			"U2-6", "D0-0")));
+		checkRows(rows, "p1", "p3", "p4", "p5", "p2", "p6", "p7",
+			"hold");
+		rows.dispose();
+	}
+
+	public void testMixed() throws Exception {
+		Proxy[] ps = new Proxy[8];
+		Rows rows = createRows(ps);
+		holdWorker(rows);
+		rows.proxyAdded(new Proxy("a", 11));
+		rows.proxyRemoved(ps[5]);
+		ps[2].key = 65;
+		rows.update(ps[2]);
+		rows.proxyAdded(new Proxy("b", 5));
+		releaseWorker();
+		assertTrue(events(rows, 10).equals(Arrays.asList("U8-8",
+			"I2-2", "D6-6", "U3-6", "I1-1")));
+		checkRows(rows, "p0", "b", "p1", "a", "p3", "p4", "p6", "p2",
+			"p7", "hold");
+		// each event sees the rows as of that event
+		assertTrue(rows.sizes.equals(Arrays.asList(9, 9, 10, 9, 9,
+			10)));
+		rows.dispose();
+	}
+}
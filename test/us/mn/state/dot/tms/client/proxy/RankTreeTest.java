@@ -0,0 +1,109 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.client.proxy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Random;
+import junit.framework.TestCase;
+
+/**
+ * RankTree test cases
+ *
+ * @author Douglas Lau
+ */
+public class RankTreeTest extends TestCase {
+
+	/** Mutable test item */
+	static private class Item {
+		private int key;
+		private Item(int k) {
+			key = k;
+		}
+	}
+
+	/** Item comparator */
+	static private final Comparator<Item> COMP = new Comparator<Item>() {
+		public int compare(Item a, Item b) {
+			return Integer.compare(a.key, b.key);
+		}
+	};
+
+	public RankTreeTest(String name) {
+		super(name);
+	}
+
+	/** Check that a tree matches a sorted reference list */
+	private void check(RankTree<Item> t, ArrayList<Item> ref) {
+		assertTrue(t.size() == ref.size());
+		for (int i = 0; i < ref.size(); i++) {
+			assertTrue(t.get(i) == ref.get(i));
+			assertTrue(t.indexOf(ref.get(i)) == i);
+		}
+		assertTrue(t.toList().equals(ref));
+	}
+
+	public void testBasic() {
+		RankTree<Item> t = new RankTree<Item>(COMP);
+		Item a = new Item(5);
+		Item b = new Item(2);
+		Item c = new Item(8);
+		assertTrue(t.insert(a) == 0);
+		assertTrue(t.insert(b) == 0);
+		assertTrue(t.insert(c) == 2);
+		assertTrue(t.insert(a) == -1);
+		assertTrue(t.insert(new Item(8)) == -1);
+		assertTrue(t.indexOf(a) == 1);
+		assertTrue(t.indexOf(new Item(5)) == -1);
+		// change a key, then remove by identity
+		a.key = 9;
+		assertTrue(t.remove(a) == 1);
+		assertTrue(t.insert(a) == 2);
+		assertTrue(t.remove(new Item(2)) == -1);
+		assertTrue(t.remove(b) == 0);
+		assertTrue(t.size() == 2);
+		t.clear();
+		assertTrue(t.size() == 0);
+		assertTrue(!t.contains(c));
+	}
+
+	public void testRandom() {
+		Random rnd = new Random(42);
+		RankTree<Item> t = new RankTree<Item>(COMP);
+		ArrayList<Item> ref = new ArrayList<Item>();
+		for (int i = 0; i < 2000; i++) {
+			int k = rnd.nextInt(500);
+			if (rnd.nextInt(3) > 0) {
+				Item it = new Item(k);
+				int pos = Collections.binarySearch(ref, it, COMP);
+				int r = t.insert(it);
+				if (pos >= 0)
+					assertTrue(r == -1);
+				else {
+					assertTrue(r == -pos - 1);
+					ref.add(r, it);
+				}
+			} else if (ref.size() > 0) {
+				int j = rnd.nextInt(ref.size());
+				Item it = ref.remove(j);
+				assertTrue(t.remove(it) == j);
+			}
+			if (i % 100 == 0)
+				check(t, ref);
+		}
+		check(t, ref);
+	}
+}
@@ -0,0 +1,87 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.sql.SQLException;
+import junit.framework.TestCase;
+import org.postgis.MultiPolygon;
+
+/**
+ * AlertArea test cases
+ *
+ * @author Douglas Lau
+ */
+public class AlertAreaTest extends TestCase {
+
+	/** Square from (-93.1, 45.0) to (-93.0, 45.1) */
+	static private final String SQUARE = "(-93.1 45.0,-93.0 45.0," +
+		"-93.0 45.1,-93.1 45.1,-93.1 45.0)";
+
+	/** Hole from (-93.06, 45.04) to (-93.04, 45.06) */
+	static private final String HOLE = "(-93.06 45.04,-93.06 45.06," +
+		"-93.04 45.06,-93.04 45.04,-93.06 45.04)";
+
+	private AlertArea area(String wkt) throws SQLException {
+		return new AlertArea(new MultiPolygon(wkt));
+	}
+
+	public void testContains() throws SQLException {
+		AlertArea a = area("MULTIPOLYGON((" + SQUARE + "))");
+		assertFalse(a.isEmpty());
+		assertTrue(a.isLocal());
+		assertTrue(a.isWithin(45.05, -93.05, 0));
+		assertTrue(a.isWithin(45.01, -93.09, 0));
+		assertFalse(a.isWithin(45.2, -93.05, 0));
+		assertFalse(a.isWithin(45.05, -92.9, 0));
+	}
+
+	public void testDistance() throws SQLException {
+		AlertArea a = area("MULTIPOLYGON((" + SQUARE + "))");
+		// 0.01 degrees of latitude is about 1112 meters
+		assertTrue(a.isWithin(45.11, -93.05, 1200));
+		assertFalse(a.isWithin(45.11, -93.05, 1000));
+		assertFalse(a.isWithin(45.11, -93.05, 0));
+		assertTrue(a.isWithin(44.99, -93.05, 1200));
+		assertFalse(a.isWithin(44.99, -93.05, 1000));
+	}
+
+	public void testHole() throws SQLException {
+		AlertArea a = area("MULTIPOLYGON((" + SQUARE + "," + HOLE +
+			"))");
+		assertFalse(a.isWithin(45.05, -93.05, 0));
+		assertTrue(a.isWithin(45.05, -93.05, 1200));
+		assertTrue(a.isWithin(45.02, -93.08, 0));
+	}
+
+	public void testCentroid() throws SQLException {
+		double[] c = area("MULTIPOLYGON((" + SQUARE + "))")
+			.getCentroid();
+		assertTrue(Math.abs(c[0] - 45.05) < 1e-9);
+		assertTrue(Math.abs(c[1] + 93.05) < 1e-9);
+		c = area("MULTIPOLYGON((" + SQUARE + "," + HOLE + "))")
+			.getCentroid();
+		assertTrue(Math.abs(c[0] - 45.05) < 1e-9);
+		assertTrue(Math.abs(c[1] + 93.05) < 1e-9);
+	}
+
+	public void testBounds() throws SQLException {
+		double[] b = area("MULTIPOLYGON((" + SQUARE + "))")
+			.getBounds(0);
+		assertTrue(Math.abs(b[0] - 45.0) < 1e-9);
+		assertTrue(Math.abs(b[1] + 93.1) < 1e-9);
+		assertTrue(Math.abs(b[2] - 45.1) < 1e-9);
+		assertTrue(Math.abs(b[3] + 93.0) < 1e-9);
+	}
+}
@@ -0,0 +1,79 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import junit.framework.TestCase;
+
+/**
+ * AlertData test cases
+ *
+ * @author Douglas Lau
+ */
+public class AlertDataTest extends TestCase {
+
+	public AlertDataTest(String name) {
+		super(name);
+	}
+
+	public void testParseDate() throws Exception {
+		Date d = AlertData.parseDate("2021-03-04T05:06:07-06:00");
+		assertTrue(d.getTime() == 1614855967000L);
+	}
+
+	public void testParseConcurrent() throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		ArrayList<Future<Boolean>> futures =
+			new ArrayList<Future<Boolean>>();
+		try {
+			for (int t = 0; t < 4; t++)
+				futures.add(pool.submit(parser(t)));
+			for (Future<Boolean> f: futures)
+				assertTrue(f.get());
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	/** Create a task to parse dates for one hour */
+	static private Callable<Boolean> parser(final int h) {
+		return new Callable<Boolean>() {
+			public Boolean call() throws Exception {
+				return parseMany(h);
+			}
+		};
+	}
+
+	/** Parse many dates, checking each result */
+	static private boolean parseMany(int h) throws Exception {
+		long base = AlertData.parseDate("2021-01-01T00:00:00Z")
+			.getTime();
+		for (int i = 0; i < 2000; i++) {
+			int m = i % 60;
+			String d = String.format("2021-01-01T%02d:%02d:00Z",
+				h, m);
+			long ms = AlertData.parseDate(d).getTime();
+			if (ms != base + (h * 60 + m) * 60000L)
+				return false;
+		}
+		return true;
+	}
+}
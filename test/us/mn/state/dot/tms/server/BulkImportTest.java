@@ -0,0 +1,188 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import junit.framework.TestCase;
+import us.mn.state.dot.tms.ChangeVetoException;
+import us.mn.state.dot.tms.DMS;
+import us.mn.state.dot.tms.DmsSignGroup;
+import us.mn.state.dot.tms.DmsSignGroupHelper;
+import us.mn.state.dot.tms.SignGroup;
+import us.mn.state.dot.tms.SignGroupHelper;
+import us.mn.state.dot.tms.TMSException;
+import us.mn.state.dot.tms.utils.NumericAlphaComparator;
+
+/**
+ * BulkImport test cases
+ *
+ * @author Douglas Lau
+ */
+public class BulkImportTest extends TestCase {
+
+	/** Object which fails to initialize */
+	static private class BadObject extends BaseObjectImpl {
+		private BadObject(String n) {
+			super(n);
+		}
+		public String getTable() {
+			return "iris.bad_object";
+		}
+		public String getTypeName() {
+			return "bad_object";
+		}
+		public Map<String, Object> getColumns() {
+			HashMap<String, Object> map =
+				new HashMap<String, Object>();
+			map.put("name", name);
+			return map;
+		}
+		@Override
+		protected void initTransients() throws TMSException {
+			throw new TMSException("init failed");
+		}
+	}
+
+	/** Fake server */
+	private FakeServer server;
+
+	public BulkImportTest(String name) {
+		super(name);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		server = new FakeServer();
+		GeoLocImpl.loadAll();
+		DMSImpl.loadAll();
+		SignGroupImpl.loadAll();
+		DmsSignGroupImpl.loadAll();
+	}
+
+	/** Create some signs */
+	private Set<DMS> createSigns(int n) throws Exception {
+		TreeSet<DMS> signs = new TreeSet<DMS>(
+			new NumericAlphaComparator<DMS>());
+		for (int i = 1; i <= n; i++) {
+			DMSImpl d = new DMSImpl("V" + i);
+			d.notifyCreate();
+			signs.add(d);
+		}
+		server.store.flush();
+		server.store.clearExecuted();
+		return signs;
+	}
+
+	/** Count statements starting with a string */
+	private int count(List<String> ex, String sql) {
+		int c = 0;
+		for (String s: ex) {
+			if (s.startsWith(sql))
+				c++;
+		}
+		return c;
+	}
+
+	public void testSignGroup() throws Exception {
+		Set<DMS> signs = createSigns(3);
+		SignGroupImpl sg = SignGroupImpl.createWithSigns(
+			"PLAN_ALL_%d", signs);
+		assertTrue("PLAN_ALL_1".equals(sg.getName()));
+		assertTrue(SignGroupHelper.lookup("PLAN_ALL_1") == sg);
+		// DMS sign groups have unique names
+		for (int i = 1; i <= 3; i++) {
+			DmsSignGroup dsg = DmsSignGroupHelper.lookup(
+				"PLAN_ALL_" + i);
+			assertTrue(dsg != null);
+			assertTrue(dsg.getSignGroup() == sg);
+		}
+		assertTrue(SignGroupHelper.getAllSigns(sg).equals(signs));
+		List<String> ex = server.store.getExecuted();
+		assertTrue(ex.size() == 4);
+		assertTrue(count(ex, "INSERT INTO iris.sign_group") == 1);
+		assertTrue(count(ex, "INSERT INTO iris.dms_sign_group") == 3);
+		assertTrue(ex.get(0).startsWith("INSERT INTO iris.sign_group"));
+		// a second group gets new names
+		SignGroupImpl sg2 = SignGroupImpl.createWithSigns(
+			"PLAN_ALL_%d", signs);
+		assertTrue("PLAN_ALL_2".equals(sg2.getName()));
+		assertTrue(DmsSignGroupHelper.lookup("PLAN_ALL_6") != null);
+	}
+
+	public void testStoreFailed() throws Exception {
+		Set<DMS> signs = createSigns(3);
+		server.store.setFailOn("V2", "23503");
+		try {
+			SignGroupImpl.createWithSigns("PLAN_ALL_%d", signs);
+			fail();
+		}
+		catch (TMSException e) {
+			// expected
+		}
+		// nothing stored or added
+		assertTrue(server.store.getExecuted().isEmpty());
+		assertTrue(SignGroupHelper.lookup("PLAN_ALL_1") == null);
+		assertTrue(DmsSignGroupHelper.lookup("PLAN_ALL_1") == null);
+	}
+
+	public void testAddFailed() throws Exception {
+		BulkImport bi = new BulkImport();
+		bi.add(new SignGroupImpl("GRP_1"));
+		bi.add(new BadObject("BAD_1"));
+		try {
+			bi.run();
+			fail();
+		}
+		catch (TMSException e) {
+			// expected
+		}
+		// stored rows are deleted, in reverse order
+		List<String> ex = server.store.getExecuted();
+		assertTrue(ex.size() == 4);
+		assertTrue(ex.get(2).startsWith(
+			"DELETE FROM iris.bad_object"));
+		assertTrue(ex.get(3).startsWith(
+			"DELETE FROM iris.sign_group"));
+		assertTrue(SignGroupHelper.lookup("GRP_1") == null);
+	}
+
+	public void testInvalid() throws Exception {
+		BulkImport bi = new BulkImport();
+		bi.add(new SignGroupImpl("GRP_1"));
+		try {
+			bi.add(new SignGroupImpl("GRP_1"));
+			fail();
+		}
+		catch (ChangeVetoException e) {
+			// expected
+		}
+		assertTrue(bi.contains(SignGroup.SONAR_TYPE, "GRP_1"));
+		bi.run();
+		// already in namespace
+		BulkImport bi2 = new BulkImport();
+		bi2.add(new SignGroupImpl("GRP_1"));
+		try {
+			bi2.run();
+			fail();
+		}
+		catch (ChangeVetoException e) {
+			// expected
+		}
+	}
+}
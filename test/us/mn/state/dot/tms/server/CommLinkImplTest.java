@@ -0,0 +1,92 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.util.HashSet;
+import junit.framework.TestCase;
+import us.mn.state.dot.tms.CommProtocol;
+
+/**
+ * CommLinkImpl test cases
+ *
+ * @author Douglas Lau
+ */
+public class CommLinkImplTest extends TestCase {
+
+	/** Fake server */
+	private FakeServer server;
+
+	public CommLinkImplTest(String name) {
+		super(name);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		server = new FakeServer();
+		server.addCommConfig("cfg", CommProtocol.MNDOT_4, 1000, 30);
+		server.addCommLink("link", "127.0.0.1:1", "cfg");
+		server.addController("ctl_1", "link", 1);
+		server.addController("ctl_2", "link", 2);
+		server.loadComm();
+	}
+
+	public void testOffset() {
+		HashSet<Integer> offsets = new HashSet<Integer>();
+		for (int i = 0; i < 100; i++) {
+			int o = CommLinkImpl.pollOffsetSecs("link_" + i, 30);
+			assertTrue(o >= 2 && o < 15);
+			offsets.add(o);
+		}
+		// links are spread across the first half of the period
+		assertTrue(offsets.size() > 5);
+		// same link always has the same offset
+		assertTrue(CommLinkImpl.pollOffsetSecs("link_1", 30) ==
+			CommLinkImpl.pollOffsetSecs("link_1", 30));
+		// short periods are not spread
+		assertTrue(CommLinkImpl.pollOffsetSecs("link_1", 5) == 2);
+	}
+
+	/** Check for a number of skipped polls, then a poll */
+	static private void checkSkip(CommLinkImpl cl, int n) {
+		for (int i = 0; i < n; i++)
+			assertTrue(cl.checkBackoff());
+		assertFalse(cl.checkBackoff());
+	}
+
+	public void testBackoff() {
+		CommLinkImpl cl = server.lookupCommLink("link");
+		ControllerImpl c1 = server.lookupController("ctl_1");
+		ControllerImpl c2 = server.lookupController("ctl_2");
+		checkSkip(cl, 0);
+		checkSkip(cl, 0);
+		// one controller failed; link still polled
+		c1.setFailed(true);
+		checkSkip(cl, 0);
+		// all controllers failed; skipped periods double
+		c2.setFailed(true);
+		checkSkip(cl, 0);
+		checkSkip(cl, 1);
+		checkSkip(cl, 2);
+		checkSkip(cl, 4);
+		checkSkip(cl, 8);
+		// up to a maximum
+		checkSkip(cl, 8);
+		// restored after the current backoff
+		c2.setFailed(false);
+		checkSkip(cl, 8);
+		checkSkip(cl, 0);
+		checkSkip(cl, 0);
+	}
+}
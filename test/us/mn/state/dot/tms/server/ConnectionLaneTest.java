@@ -0,0 +1,137 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.sql.PreparedStatement;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import junit.framework.TestCase;
+import us.mn.state.dot.tms.TMSException;
+
+/**
+ * ConnectionLane test cases
+ *
+ * @author Douglas Lau
+ */
+public class ConnectionLaneTest extends TestCase {
+
+	public ConnectionLaneTest(String name) {
+		super(name);
+	}
+
+	public void testExhausted() throws Exception {
+		FakeSQLConnection store = new FakeSQLConnection();
+		ConnectionLane cl = new ConnectionLane(store, "test", 1, 100,
+			60000);
+		ConnectionLane.Pooled pc = cl.borrow();
+		try {
+			cl.borrow();
+			fail();
+		}
+		catch (TMSException e) {
+			// expected
+		}
+		assertTrue(cl.getTimeoutCount() == 1);
+		// released connection is reused
+		cl.release(pc, 0, true);
+		assertTrue(cl.borrow() == pc);
+		assertTrue(store.getOpened() == 1);
+	}
+
+	public void testWaitRelease() throws Exception {
+		FakeSQLConnection store = new FakeSQLConnection();
+		final ConnectionLane cl = new ConnectionLane(store, "test", 1,
+			60000, 60000);
+		ConnectionLane.Pooled pc = cl.borrow();
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch done = new CountDownLatch(1);
+		final ConnectionLane.Pooled[] got =
+			new ConnectionLane.Pooled[1];
+		Thread t = new Thread() {
+			public void run() {
+				started.countDown();
+				try {
+					got[0] = cl.borrow();
+				}
+				catch (TMSException e) {
+					// got[0] stays null
+				}
+				done.countDown();
+			}
+		};
+		t.start();
+		assertTrue(started.await(10, TimeUnit.SECONDS));
+		assertFalse(done.await(50, TimeUnit.MILLISECONDS));
+		cl.release(pc, 0, true);
+		assertTrue(done.await(10, TimeUnit.SECONDS));
+		assertTrue(got[0] == pc);
+		assertTrue(cl.getTimeoutCount() == 0);
+	}
+
+	public void testFailedRelease() throws Exception {
+		FakeSQLConnection store = new FakeSQLConnection();
+		ConnectionLane cl = new ConnectionLane(store, "test", 1, 100,
+			60000);
+		ConnectionLane.Pooled pc = cl.borrow();
+		cl.release(pc, 0, false);
+		// failed connection is closed, freeing its slot
+		ConnectionLane.Pooled pc2 = cl.borrow();
+		assertTrue(pc2 != pc);
+		assertTrue(store.getOpened() == 2);
+		assertTrue(cl.getErrorCount() == 1);
+	}
+
+	public void testUnhealthy() throws Exception {
+		FakeSQLConnection store = new FakeSQLConnection();
+		// check health on every borrow
+		ConnectionLane cl = new ConnectionLane(store, "test", 1, 100,
+			0);
+		ConnectionLane.Pooled pc = cl.borrow();
+		cl.release(pc, 0, true);
+		assertTrue(cl.borrow() == pc);
+		cl.release(pc, 0, true);
+		store.setValid(false);
+		ConnectionLane.Pooled pc2 = cl.borrow();
+		assertTrue(pc2 != pc);
+		assertTrue(pc.getConnection().isClosed());
+		assertTrue(store.getOpened() == 2);
+		assertTrue(cl.getUnhealthyCount() == 1);
+		// replacement does not leak a slot
+		cl.release(pc2, 0, true);
+		store.setValid(true);
+		assertTrue(cl.borrow() == pc2);
+	}
+
+	public void testPinned() throws Exception {
+		FakeSQLConnection store = new FakeSQLConnection();
+		ConnectionLane cl = new ConnectionLane(store, "test", 1, 100,
+			60000);
+		ConnectionLane.Pooled pc = cl.borrow();
+		PreparedStatement first = pc.prepare("SELECT 0;");
+		pc.pin();
+		for (int i = 1; i <= 70; i++)
+			pc.prepare("SELECT " + i + ";");
+		// statements are not evicted while pinned
+		assertFalse(first.isClosed());
+		pc.unpin();
+		assertTrue(first.isClosed());
+		assertTrue(pc.prepare("SELECT 0;") != first);
+		// without pinning, least-recently used statements are closed
+		PreparedStatement ps = pc.prepare("SELECT 1;");
+		for (int i = 100; i < 200; i++)
+			pc.prepare("SELECT " + i + ";");
+		assertTrue(ps.isClosed());
+	}
+}
@@ -0,0 +1,128 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.util.HashMap;
+import java.util.Map;
+import junit.framework.TestCase;
+import us.mn.state.dot.sched.SystemTimeSource;
+import us.mn.state.dot.sched.TimeSteward;
+import us.mn.state.dot.tms.CommProtocol;
+import us.mn.state.dot.tms.DeviceRequest;
+
+/**
+ * DeviceImpl test cases
+ *
+ * @author Douglas Lau
+ */
+public class DeviceImplTest extends TestCase {
+
+	/** Device which counts pending polls */
+	static private class TestDevice extends DeviceImpl {
+		private int n_polls = 0;
+		private TestDevice(String n, ControllerImpl c, int p) {
+			super(n, c, p, "");
+		}
+		public String getTable() {
+			return "iris.test_device";
+		}
+		public String getTypeName() {
+			return "test_device";
+		}
+		public Map<String, Object> getColumns() {
+			HashMap<String, Object> map =
+				new HashMap<String, Object>();
+			map.put("name", name);
+			return map;
+		}
+		@Override
+		protected void sendDeviceRequest(DeviceRequest dr) { }
+		@Override
+		public void pendingPoll() {
+			n_polls++;
+		}
+	}
+
+	/** Time source which can be moved ahead */
+	static private class OffsetTimeSource extends SystemTimeSource {
+		private long offset = 0;
+		@Override
+		public long currentTimeMillis() {
+			return super.currentTimeMillis() + offset;
+		}
+	}
+
+	/** Controller for testing */
+	private ControllerImpl ctrl;
+
+	public DeviceImplTest(String name) {
+		super(name);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		FakeServer server = new FakeServer();
+		server.addCommConfig("cfg", CommProtocol.MNDOT_4, 1000, 30);
+		server.addCommLink("link", "127.0.0.1:1", "cfg");
+		server.addController("ctl_1", "link", 1);
+		server.loadComm();
+		ctrl = server.lookupController("ctl_1");
+	}
+
+	public void testBoost() {
+		TestDevice d1 = new TestDevice("d1", ctrl, 1);
+		TestDevice d2 = new TestDevice("d2", ctrl, 2);
+		assertFalse(d1.pollPending(true));
+		// one pending poll job per device
+		assertTrue(d1.startBoost());
+		assertFalse(d1.startBoost());
+		assertTrue(d1.pollPending(true));
+		assertTrue(d1.pollPending(true));
+		assertTrue(d1.n_polls == 2);
+		// other devices on the controller are not polled
+		assertFalse(d2.pollPending(true));
+		assertTrue(d2.n_polls == 0);
+		// confirmed change ends boosted polling
+		d1.clearBoost();
+		assertFalse(d1.pollPending(true));
+		assertTrue(d1.n_polls == 2);
+		assertTrue(d1.startBoost());
+		// disabled link ends boosted polling
+		assertFalse(d1.pollPending(false));
+		assertTrue(d1.n_polls == 2);
+		assertTrue(d1.startBoost());
+	}
+
+	public void testBoostExpire() {
+		OffsetTimeSource ts = new OffsetTimeSource();
+		TimeSteward.setTimeSource(ts);
+		try {
+			TestDevice d1 = new TestDevice("d1", ctrl, 1);
+			assertTrue(d1.startBoost());
+			ts.offset = 50 * 1000;
+			assertTrue(d1.pollPending(true));
+			// another change extends boosted polling
+			assertFalse(d1.startBoost());
+			ts.offset = 100 * 1000;
+			assertTrue(d1.pollPending(true));
+			ts.offset = 200 * 1000;
+			assertFalse(d1.pollPending(true));
+			assertTrue(d1.n_polls == 2);
+		}
+		finally {
+			TimeSteward.setTimeSource(new SystemTimeSource());
+		}
+	}
+}
@@ -0,0 +1,113 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.util.List;
+import junit.framework.TestCase;
+import us.mn.state.dot.tms.EventType;
+import us.mn.state.dot.tms.server.event.AlarmEvent;
+import us.mn.state.dot.tms.server.event.ClientEvent;
+
+/**
+ * EventQueue test cases
+ *
+ * @author Douglas Lau
+ */
+public class EventQueueTest extends TestCase {
+
+	/** Client event insert SQL */
+	static private final String INSERT_CLIENT = "INSERT INTO " +
+		"event.client_event (event_date,event_desc_id,host_port," +
+		"iris_user) VALUES (?,?,?,?);";
+
+	/** Alarm event insert SQL */
+	static private final String INSERT_ALARM = "INSERT INTO " +
+		"event.alarm_event (alarm,event_date,event_desc_id) " +
+		"VALUES (?,?,?);";
+
+	/** Create a client event */
+	static private ClientEvent event(String host, String user) {
+		return new ClientEvent(EventType.CLIENT_CONNECT, host, user);
+	}
+
+	/** Check that an executed statement inserts a host */
+	static private boolean inserted(String ex, String sql, String host) {
+		return ex.startsWith(sql) && ex.contains(", " + host + ",");
+	}
+
+	public EventQueueTest(String name) {
+		super(name);
+	}
+
+	public void testWrite() throws Exception {
+		FakeSQLConnection store = new FakeSQLConnection();
+		EventQueue q = new EventQueue(store);
+		assertTrue(q.add(event("h1:1", "u1")));
+		assertTrue(q.add(new AlarmEvent(EventType.ALARM_TRIGGERED,
+			"alarm_1")));
+		assertTrue(q.add(event("h3:3", "u3")));
+		q.flush();
+		List<String> ex = store.getExecuted();
+		assertTrue(ex.size() == 3);
+		// grouped by statement, in order of first use
+		assertTrue(inserted(ex.get(0), INSERT_CLIENT, "h1:1"));
+		assertTrue(inserted(ex.get(1), INSERT_CLIENT, "h3:3"));
+		assertTrue(ex.get(2).startsWith(INSERT_ALARM + " [alarm_1,"));
+		assertTrue(q.getWrittenCount() == 3);
+		assertTrue(q.getDroppedCount() == 0);
+		assertTrue(q.getQueueDepth() == 0);
+	}
+
+	public void testFailure() throws Exception {
+		FakeSQLConnection store = new FakeSQLConnection();
+		EventQueue q = new EventQueue(store);
+		store.setFailOn("bad:1", "22P02");
+		q.add(event("h1:1", "u1"));
+		q.add(event("bad:1", "u2"));
+		q.add(event("h3:3", "u3"));
+		q.flush();
+		// batch rolled back; good events written individually
+		List<String> ex = store.getExecuted();
+		assertTrue(ex.size() == 2);
+		assertTrue(inserted(ex.get(0), INSERT_CLIENT, "h1:1"));
+		assertTrue(inserted(ex.get(1), INSERT_CLIENT, "h3:3"));
+		assertTrue(q.getWrittenCount() == 2);
+		assertTrue(q.getDroppedCount() == 1);
+		// no events left over in cached statements
+		store.setFailOn(null, null);
+		store.clearExecuted();
+		q.add(event("h4:4", "u4"));
+		q.flush();
+		ex = store.getExecuted();
+		assertTrue(ex.size() == 1);
+		assertTrue(inserted(ex.get(0), INSERT_CLIENT, "h4:4"));
+		assertTrue(q.getWrittenCount() == 3);
+	}
+
+	public void testAccessLogger() throws Exception {
+		FakeServer server = new FakeServer();
+		AccessLogger al = new AccessLogger();
+		al.connect("h1:1");
+		al.authenticate("h1:1", "u1");
+		// events are queued, not written on the caller thread
+		assertTrue(BaseObjectImpl.events.getQueueDepth() +
+			server.store.getExecuted().size() == 2);
+		BaseObjectImpl.events.flush();
+		List<String> ex = server.store.getExecuted();
+		assertTrue(ex.size() == 2);
+		assertTrue(inserted(ex.get(0), INSERT_CLIENT, "h1:1"));
+		assertTrue(inserted(ex.get(1), INSERT_CLIENT, "h1:1"));
+	}
+}
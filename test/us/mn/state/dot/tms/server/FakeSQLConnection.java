@@ -0,0 +1,430 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import us.mn.state.dot.tms.TMSException;
+
+/**
+ * A fake SQL connection, for testing without a database server.  JDBC
+ * objects are dynamic proxies which record every statement executed,
+ * return canned rows for queries (by table name), and can be made to fail
+ * any statement containing a given string.
+ *
+ * Statements executed inside a transaction are only recorded when it is
+ * committed.  Prepared statements are recorded with their parameters, as
+ * "SQL [p1, p2]".
+ *
+ * @author Douglas Lau
+ */
+public class FakeSQLConnection extends SQLConnection {
+
+	/** Pattern to find the table name of a query */
+	static private final Pattern FROM = Pattern.compile(
+		"FROM\\s+([\\w.]+)");
+
+	/** Canned rows for queries, by table name */
+	private final HashMap<String, ArrayList<Object[]>> rows =
+		new HashMap<String, ArrayList<Object[]>>();
+
+	/** Executed statements */
+	private final ArrayList<String> executed = new ArrayList<String>();
+
+	/** Flag to record executed statements */
+	private volatile boolean recording = true;
+
+	/** String which causes statements to fail */
+	private volatile String fail_on;
+
+	/** SQL state of failed statements */
+	private volatile String fail_state;
+
+	/** Result of connection validity checks */
+	private volatile boolean valid = true;
+
+	/** Number of connections opened */
+	private int n_opened;
+
+	/** Create a fake SQL connection */
+	public FakeSQLConnection() throws TMSException {
+		super("fake", "fake", "fake", null);
+	}
+
+	/** Add a canned row for queries of a table */
+	public void addRow(String table, Object... cols) {
+		synchronized (rows) {
+			ArrayList<Object[]> tr = rows.get(table);
+			if (null == tr) {
+				tr = new ArrayList<Object[]>();
+				rows.put(table, tr);
+			}
+			tr.add(cols);
+		}
+	}
+
+	/** Get a copy of the rows for a query */
+	private ArrayList<Object[]> lookupRows(String sql) {
+		Matcher m = FROM.matcher(sql);
+		synchronized (rows) {
+			ArrayList<Object[]> tr = m.find()
+				? rows.get(m.group(1))
+				: null;
+			return (tr != null)
+			      ? new ArrayList<Object[]>(tr)
+			      : new ArrayList<Object[]>();
+		}
+	}
+
+	/** Set whether executed statements are recorded */
+	public void setRecording(boolean r) {
+		recording = r;
+	}
+
+	/** Get the executed statements */
+	public List<String> getExecuted() {
+		synchronized (executed) {
+			return new ArrayList<String>(executed);
+		}
+	}
+
+	/** Clear the executed statements */
+	public void clearExecuted() {
+		synchronized (executed) {
+			executed.clear();
+		}
+	}
+
+	/** Make statements fail.
+	 * @param s String to match statements, or null for no failures.
+	 * @param state SQL state of failures. */
+	public void setFailOn(String s, String state) {
+		fail_on = s;
+		fail_state = state;
+	}
+
+	/** Set the result of connection validity checks */
+	public void setValid(boolean v) {
+		valid = v;
+	}
+
+	/** Get the number of connections opened */
+	public synchronized int getOpened() {
+		return n_opened;
+	}
+
+	/** Open a fake connection */
+	@Override
+	Connection openConnection() throws SQLException {
+		synchronized (this) {
+			n_opened++;
+		}
+		return (Connection) proxy(Connection.class, new FakeConn());
+	}
+
+	/** Create a proxy for a JDBC interface */
+	static private Object proxy(Class i, InvocationHandler h) {
+		return Proxy.newProxyInstance(i.getClassLoader(),
+			new Class[] { i }, h);
+	}
+
+	/** Get a default return value for a method */
+	static private Object defaultValue(Object p, Method m,
+		Object[] args)
+	{
+		String n = m.getName();
+		if ("hashCode".equals(n) && null == args)
+			return System.identityHashCode(p);
+		if ("equals".equals(n) && args != null && args.length == 1)
+			return p == args[0];
+		if ("toString".equals(n) && null == args)
+			return m.getDeclaringClass().getSimpleName();
+		Class r = m.getReturnType();
+		if (r == boolean.class)
+			return false;
+		else if (r == int.class)
+			return 0;
+		else if (r == long.class)
+			return 0L;
+		else if (r == short.class)
+			return (short) 0;
+		else if (r == float.class)
+			return 0f;
+		else if (r == double.class)
+			return 0.0;
+		else
+			return null;
+	}
+
+	/** Check if a statement should fail */
+	private void check(String stmt) throws SQLException {
+		String f = fail_on;
+		if (f != null && stmt.contains(f))
+			throw new SQLException("fake failure: " + stmt,
+				fail_state);
+	}
+
+	/** Record executed statements */
+	private void record(List<String> stmts) {
+		if (recording) {
+			synchronized (executed) {
+				executed.addAll(stmts);
+			}
+		}
+	}
+
+	/** Fake JDBC connection */
+	private class FakeConn implements InvocationHandler {
+		private boolean auto_commit = true;
+		private boolean closed = false;
+		private final ArrayList<String> tx = new ArrayList<String>();
+
+		/** Execute one statement */
+		private void execute(String stmt) throws SQLException {
+			check(stmt);
+			if (auto_commit) {
+				ArrayList<String> s = new ArrayList<String>();
+				s.add(stmt);
+				record(s);
+			} else
+				tx.add(stmt);
+		}
+
+		/** Commit the current transaction */
+		private void commit() {
+			record(tx);
+			tx.clear();
+		}
+
+		@Override
+		public Object invoke(Object p, Method m, Object[] args)
+			throws Throwable
+		{
+			String n = m.getName();
+			if ("createStatement".equals(n))
+				return proxy(Statement.class, new FakeStmt(this));
+			if ("prepareStatement".equals(n)) {
+				return proxy(PreparedStatement.class,
+					new FakePrepared(this, (String) args[0]));
+			}
+			if ("setAutoCommit".equals(n)) {
+				boolean ac = (Boolean) args[0];
+				if (ac && !auto_commit)
+					commit();
+				auto_commit = ac;
+				return null;
+			}
+			if ("getAutoCommit".equals(n))
+				return auto_commit;
+			if ("commit".equals(n)) {
+				commit();
+				return null;
+			}
+			if ("rollback".equals(n)) {
+				tx.clear();
+				return null;
+			}
+			if ("isValid".equals(n))
+				return valid && !closed;
+			if ("isClosed".equals(n))
+				return closed;
+			if ("close".equals(n)) {
+				closed = true;
+				return null;
+			}
+			return defaultValue(p, m, args);
+		}
+	}
+
+	/** Fake JDBC statement */
+	private class FakeStmt implements InvocationHandler {
+		protected final FakeConn conn;
+		protected final ArrayList<String> batch =
+			new ArrayList<String>();
+		private boolean closed = false;
+		private FakeStmt(FakeConn c) {
+			conn = c;
+		}
+
+		/** Execute a batch */
+		protected int[] executeBatch() throws SQLException {
+			try {
+				for (String b: batch)
+					conn.execute(b);
+				int[] res = new int[batch.size()];
+				for (int i = 0; i < res.length; i++)
+					res[i] = 1;
+				return res;
+			}
+			finally {
+				batch.clear();
+			}
+		}
+
+		@Override
+		public Object invoke(Object p, Method m, Object[] args)
+			throws Throwable
+		{
+			String n = m.getName();
+			if ("close".equals(n)) {
+				closed = true;
+				return null;
+			}
+			if ("isClosed".equals(n))
+				return closed;
+			if (closed)
+				throw new SQLException("statement closed");
+			if ("executeQuery".equals(n))
+				return query((String) args[0]);
+			if ("executeUpdate".equals(n) || "execute".equals(n)) {
+				conn.execute((String) args[0]);
+				return ("execute".equals(n)) ? (Object) false : 1;
+			}
+			if ("addBatch".equals(n)) {
+				batch.add((String) args[0]);
+				return null;
+			}
+			if ("executeBatch".equals(n))
+				return executeBatch();
+			if ("clearBatch".equals(n)) {
+				batch.clear();
+				return null;
+			}
+			return defaultValue(p, m, args);
+		}
+
+		/** Execute a query */
+		protected ResultSet query(String sql) throws SQLException {
+			check(sql);
+			return (ResultSet) proxy(ResultSet.class,
+				new FakeResults(lookupRows(sql)));
+		}
+	}
+
+	/** Fake JDBC prepared statement */
+	private class FakePrepared extends FakeStmt {
+		private final String sql;
+		private final TreeMap<Integer, Object> params =
+			new TreeMap<Integer, Object>();
+		private FakePrepared(FakeConn c, String s) {
+			super(c);
+			sql = s;
+		}
+
+		/** Format the statement with its parameters */
+		private String format() {
+			return sql + " " + params.values();
+		}
+
+		@Override
+		public Object invoke(Object p, Method m, Object[] args)
+			throws Throwable
+		{
+			String n = m.getName();
+			if (n.startsWith("set") && args != null &&
+			    args.length >= 2 && args[0] instanceof Integer)
+			{
+				params.put((Integer) args[0], "setNull".equals(n)
+					? null : args[1]);
+				return null;
+			}
+			if ("clearParameters".equals(n)) {
+				params.clear();
+				return null;
+			}
+			if ("addBatch".equals(n) && args == null) {
+				batch.add(format());
+				return null;
+			}
+			if ("executeUpdate".equals(n) && args == null) {
+				conn.execute(format());
+				return 1;
+			}
+			if ("executeQuery".equals(n) && args == null)
+				return query(format());
+			return super.invoke(p, m, args);
+		}
+	}
+
+	/** Fake JDBC result set */
+	static private class FakeResults implements InvocationHandler {
+		private final ArrayList<Object[]> res;
+		private int row = -1;
+		private boolean was_null = false;
+		private FakeResults(ArrayList<Object[]> r) {
+			res = r;
+		}
+
+		/** Get a column value */
+		private Object column(Object c) {
+			Object v = res.get(row)[(Integer) c - 1];
+			was_null = (null == v);
+			return v;
+		}
+
+		@Override
+		public Object invoke(Object p, Method m, Object[] args)
+			throws Throwable
+		{
+			String n = m.getName();
+			if ("next".equals(n)) {
+				row++;
+				return row < res.size();
+			}
+			if ("wasNull".equals(n))
+				return was_null;
+			if (n.startsWith("get") && args != null &&
+			    args.length == 1 && args[0] instanceof Integer)
+			{
+				Object v = column(args[0]);
+				if (v instanceof Number)
+					return convert((Number) v, m);
+				return (v != null) ? v : defaultValue(p, m, args);
+			}
+			return defaultValue(p, m, args);
+		}
+
+		/** Convert a number to the return type of a method */
+		private Object convert(Number v, Method m) {
+			Class r = m.getReturnType();
+			if (r == int.class)
+				return v.intValue();
+			else if (r == long.class)
+				return v.longValue();
+			else if (r == short.class)
+				return v.shortValue();
+			else if (r == float.class)
+				return v.floatValue();
+			else if (r == double.class)
+				return v.doubleValue();
+			else if (r == String.class)
+				return v.toString();
+			else
+				return v;
+		}
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import us.mn.state.dot.sonar.server.ServerNamespace;
+import us.mn.state.dot.tms.BaseHelper;
+import us.mn.state.dot.tms.CommProtocol;
+import us.mn.state.dot.tms.CtrlCondition;
+import us.mn.state.dot.tms.LaneType;
+import us.mn.state.dot.tms.TMSException;
+import us.mn.state.dot.tms.server.event.BaseEvent;
+
+/**
+ * A fake IRIS server, for testing without a database server.  A fake SQL
+ * connection and a new namespace are installed, and objects are created
+ * the same way as at server startup -- by loading canned table rows.
+ *
+ * @author Douglas Lau
+ */
+public class FakeServer {
+
+	/** Fake SQL connection */
+	public final FakeSQLConnection store;
+
+	/** Server namespace */
+	public final ServerNamespace namespace;
+
+	/** Create a fake server */
+	public FakeServer() throws TMSException {
+		store = new FakeSQLConnection();
+		namespace = new ServerNamespace();
+		BaseObjectImpl.store = store;
+		BaseObjectImpl.namespace = namespace;
+		BaseObjectImpl.events = new EventQueue(store);
+		BaseHelper.namespace = namespace;
+		BaseEvent.store = store;
+	}
+
+	/** Add a comm config row */
+	public void addCommConfig(String name, CommProtocol cp, int timeout_ms,
+		int period_sec)
+	{
+		store.addRow("iris.comm_config", name, name,
+			(short) cp.ordinal(), false, timeout_ms, period_sec,
+			300, 0, 0);
+	}
+
+	/** Add a comm link row */
+	public void addCommLink(String name, String uri, String comm_config) {
+		store.addRow("iris.comm_link", name, name, uri, true,
+			comm_config);
+	}
+
+	/** Add an active controller row */
+	public void addController(String name, String comm_link, int drop) {
+		store.addRow("iris.controller", name, null, comm_link,
+			(short) drop, CtrlCondition.ACTIVE.ordinal(), null,
+			null, null, null);
+	}
+
+	/** Add a mainline detector row */
+	public void addDetector(String name, String ctrl, int pin, int lane) {
+		store.addRow("iris.detector", name, ctrl, pin, null,
+			(short) LaneType.MAINLINE.ordinal(), (short) lane,
+			false, false, false, 22f, null, null);
+	}
+
+	/** Load comm configs, links, controllers and detectors */
+	public void loadComm() throws TMSException {
+		CommConfigImpl.loadAll();
+		CommLinkImpl.loadAll();
+		ControllerImpl.loadAll();
+		DetectorImpl.loadAll();
+	}
+
+	/** Lookup a comm link */
+	public CommLinkImpl lookupCommLink(String name) {
+		return (CommLinkImpl) namespace.lookupObject(
+			CommLinkImpl.SONAR_TYPE, name);
+	}
+
+	/** Lookup a controller */
+	public ControllerImpl lookupController(String name) {
+		return (ControllerImpl) namespace.lookupObject(
+			ControllerImpl.SONAR_TYPE, name);
+	}
+
+	/** Lookup a detector */
+	public DetectorImpl lookupDetector(String name) {
+		return (DetectorImpl) namespace.lookupObject(
+			DetectorImpl.SONAR_TYPE, name);
+	}
+}
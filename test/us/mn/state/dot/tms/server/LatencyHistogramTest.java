@@ -0,0 +1,76 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import junit.framework.TestCase;
+
+/**
+ * LatencyHistogram test cases
+ *
+ * @author Douglas Lau
+ */
+public class LatencyHistogramTest extends TestCase {
+
+	public LatencyHistogramTest(String name) {
+		super(name);
+	}
+
+	/** Check a percentile is within 12.5% above a value */
+	static private void checkNear(long v, long ms) {
+		assertTrue(ms >= v);
+		assertTrue(ms <= v + v / 8);
+	}
+
+	public void testEmpty() {
+		LatencyHistogram h = new LatencyHistogram();
+		assertTrue(h.getCount() == 0);
+		assertTrue(h.getPercentileMs(0.5) == 0);
+	}
+
+	public void testSmall() {
+		LatencyHistogram h = new LatencyHistogram();
+		for (int i = 0; i < 8; i++)
+			h.record(i);
+		// small latencies are exact
+		assertTrue(h.getPercentileMs(0.5) == 3);
+		assertTrue(h.getPercentileMs(1) == 7);
+	}
+
+	public void testPercentiles() {
+		LatencyHistogram h = new LatencyHistogram();
+		for (int i = 1; i <= 1000; i++)
+			h.record(i);
+		checkNear(500, h.getPercentileMs(0.50));
+		checkNear(950, h.getPercentileMs(0.95));
+		checkNear(990, h.getPercentileMs(0.99));
+		// never above the maximum
+		assertTrue(h.getPercentileMs(1) == 1000);
+	}
+
+	public void testAdd() {
+		LatencyHistogram a = new LatencyHistogram();
+		LatencyHistogram b = new LatencyHistogram();
+		for (int i = 0; i < 90; i++)
+			a.record(10);
+		for (int i = 0; i < 10; i++)
+			b.record(5000);
+		a.add(b);
+		assertTrue(a.getCount() == 100);
+		checkNear(10, a.getPercentileMs(0.50));
+		checkNear(10, a.getPercentileMs(0.90));
+		checkNear(5000, a.getPercentileMs(0.95));
+		assertTrue(a.getPercentileMs(0.99) == 5000);
+	}
+}
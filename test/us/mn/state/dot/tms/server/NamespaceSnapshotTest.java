@@ -0,0 +1,198 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetMetaDataImpl;
+import javax.sql.rowset.RowSetProvider;
+import junit.framework.TestCase;
+
+/**
+ * NamespaceSnapshot test cases
+ *
+ * @author Douglas Lau
+ */
+public class NamespaceSnapshotTest extends TestCase {
+
+	static private final String SQL = "SELECT name, value " +
+		"FROM iris.system_attribute;";
+
+	public void testParseRelation() {
+		assertTrue("iris.system_attribute".equals(
+			NamespaceSnapshot.parseRelation(SQL)));
+		assertTrue("iris.dms".equals(NamespaceSnapshot.parseRelation(
+			"SELECT name FROM iris.dms WHERE hidden = false;")));
+		assertTrue("iris.dms".equals(NamespaceSnapshot.parseRelation(
+			"SELECT name FROM iris.DMS")));
+		assertTrue(null == NamespaceSnapshot.parseRelation(
+			"SELECT a.name FROM iris.a a JOIN iris.b b ON a.x = b.x;"));
+		assertTrue(null == NamespaceSnapshot.parseRelation(
+			"SELECT name FROM iris.a WHERE x IN " +
+			"(SELECT x FROM iris.b);"));
+		assertTrue(null == NamespaceSnapshot.parseRelation(
+			"SELECT name FROM event.sign_event;"));
+	}
+
+	public void testVersions() {
+		HashMap<String, Long> counters = new HashMap<String, Long>();
+		counters.put("iris._dms", 3L);
+		counters.put("iris._device_io", 7L);
+		HashMap<String, List<String>> uses =
+			new HashMap<String, List<String>>();
+		uses.put("iris.dms", Arrays.asList("iris._dms",
+			"iris._device_io"));
+		uses.put("iris.other", Arrays.asList("iris._dms",
+			"public.geo_loc_view"));
+		Map<String, String> v = NamespaceSnapshot.computeVersions(
+			counters, uses);
+		assertTrue("iris._dms:3".equals(v.get("iris._dms")));
+		assertTrue("iris._device_io:7,iris._dms:3".equals(
+			v.get("iris.dms")));
+		assertTrue(!v.containsKey("iris.other"));
+		counters.put("iris._dms", 4L);
+		Map<String, String> v2 = NamespaceSnapshot.computeVersions(
+			counters, uses);
+		assertTrue(!v.get("iris.dms").equals(v2.get("iris.dms")));
+	}
+
+	/** Create a row set with attribute rows */
+	private ResultSet createRows() throws Exception {
+		CachedRowSet crs = RowSetProvider.newFactory()
+			.createCachedRowSet();
+		RowSetMetaDataImpl md = new RowSetMetaDataImpl();
+		md.setColumnCount(2);
+		md.setColumnName(1, "name");
+		md.setColumnType(1, Types.VARCHAR);
+		md.setColumnName(2, "value");
+		md.setColumnType(2, Types.VARCHAR);
+		crs.setMetaData(md);
+		for (int i = 0; i < 3; i++) {
+			crs.moveToInsertRow();
+			crs.updateString(1, "attr_" + i);
+			crs.updateString(2, "value_" + i);
+			crs.insertRow();
+			crs.moveToCurrentRow();
+		}
+		crs.beforeFirst();
+		return crs;
+	}
+
+	/** Read names from a result set */
+	private ArrayList<String> readNames(ResultSet rs) throws Exception {
+		ArrayList<String> names = new ArrayList<String>();
+		while (rs.next())
+			names.add(rs.getString(1));
+		return names;
+	}
+
+	public void testRoundTrip() throws Exception {
+		File f = File.createTempFile("snapshot", ".test");
+		try {
+			HashMap<String, String> v = new HashMap<String, String>();
+			v.put("iris.system_attribute", "iris.system_attribute:1");
+			NamespaceSnapshot snap = new NamespaceSnapshot(f);
+			snap.setVersions(v);
+			assertTrue(snap.lookup(SQL) == null);
+			ResultSet rs = snap.record(SQL, createRows());
+			ArrayList<String> recorded = readNames(rs);
+			assertTrue(recorded.size() == 3);
+			snap.write();
+
+			NamespaceSnapshot s2 = new NamespaceSnapshot(f);
+			s2.setVersions(v);
+			s2.read();
+			ArrayList<String> names = readNames(s2.lookup(SQL));
+			assertTrue(names.equals(recorded));
+			assertTrue(names.contains("attr_2"));
+			assertTrue(s2.getHitCount() == 1);
+
+			NamespaceSnapshot s3 = new NamespaceSnapshot(f);
+			v.put("iris.system_attribute", "iris.system_attribute:2");
+			s3.setVersions(v);
+			s3.read();
+			assertTrue(s3.lookup(SQL) == null);
+			assertTrue(s3.getMissCount() == 1);
+		}
+		finally {
+			f.delete();
+		}
+	}
+
+	public void testCheckTriggers() {
+		HashMap<String, Long> counters = new HashMap<String, Long>();
+		counters.put("iris._dms", 3L);
+		counters.put("iris._device_io", 7L);
+		HashSet<String> triggered = new HashSet<String>();
+		triggered.add("iris._device_io");
+		Map<String, Long> c = NamespaceSnapshot.checkTriggers(counters,
+			triggered);
+		assertTrue(c.size() == 1);
+		assertTrue(c.get("iris._device_io") == 7L);
+		// views using a table without a trigger are not cached
+		HashMap<String, List<String>> uses =
+			new HashMap<String, List<String>>();
+		uses.put("iris.dms", Arrays.asList("iris._dms",
+			"iris._device_io"));
+		Map<String, String> v = NamespaceSnapshot.computeVersions(c,
+			uses);
+		assertFalse(v.containsKey("iris._dms"));
+		assertFalse(v.containsKey("iris.dms"));
+		assertTrue(v.containsKey("iris._device_io"));
+	}
+
+	/** Serialize an object */
+	private ByteBuffer serialize(Object o) throws Exception {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		ObjectOutputStream oos = new ObjectOutputStream(bos);
+		oos.writeObject(o);
+		oos.close();
+		return ByteBuffer.wrap(bos.toByteArray());
+	}
+
+	public void testAllowedClasses() throws Exception {
+		ResultSet rs = NamespaceSnapshot.deserialize(serialize(
+			createRows()));
+		assertTrue(readNames(rs).size() == 3);
+		try {
+			NamespaceSnapshot.deserialize(serialize(
+				new File("unused")));
+			fail();
+		}
+		catch (IOException e) {
+			assertTrue(e.getMessage().contains("java.io.File"));
+		}
+		try {
+			HashSet<String> hs = new HashSet<String>();
+			NamespaceSnapshot.deserialize(serialize(hs));
+			fail();
+		}
+		catch (IOException e) {
+			assertTrue(e.getMessage().contains("HashSet"));
+		}
+	}
+}
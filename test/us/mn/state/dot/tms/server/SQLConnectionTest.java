@@ -0,0 +1,164 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import junit.framework.TestCase;
+import us.mn.state.dot.tms.ChangeVetoException;
+import us.mn.state.dot.tms.TMSException;
+
+/**
+ * SQLConnection test cases
+ *
+ * @author Douglas Lau
+ */
+public class SQLConnectionTest extends TestCase {
+
+	/** Storable record for testing */
+	static private class TestRecord implements Storable {
+		private final String table;
+		private final HashMap<String, Object> columns =
+			new HashMap<String, Object>();
+		private TestRecord(String t) {
+			table = t;
+		}
+		public String getTable() {
+			return table;
+		}
+		public String getKeyName() {
+			return "name";
+		}
+		public String getKey() {
+			return (String) columns.get("name");
+		}
+		public Map<String, Object> getColumns() {
+			return columns;
+		}
+	}
+
+	/** Create a geo_loc record */
+	static private TestRecord geoLoc(String name) {
+		TestRecord r = new TestRecord("iris.geo_loc");
+		r.columns.put("name", name);
+		return r;
+	}
+
+	public SQLConnectionTest(String name) {
+		super(name);
+	}
+
+	public void testInsertSQL() throws ChangeVetoException {
+		TestRecord r = new TestRecord("iris.geo_loc");
+		r.columns.put("name", "loc_1");
+		r.columns.put("roadway", "I-94");
+		r.columns.put("lat", 45.0);
+		r.columns.put("lon", null);
+		ArrayList<String> values = new ArrayList<String>();
+		String sql = SQLConnection.insertSQL(r, values);
+		assertTrue(("INSERT INTO iris.geo_loc (lat,name,roadway) " +
+			"VALUES (?,?,?);").equals(sql));
+		assertTrue(values.size() == 3);
+		assertTrue("45.0".equals(values.get(0)));
+		assertTrue("loc_1".equals(values.get(1)));
+		assertTrue("I-94".equals(values.get(2)));
+		// Quotes are passed as parameters, not escaped
+		r.columns.put("roadway", "O'Brien");
+		values.clear();
+		SQLConnection.insertSQL(r, values);
+		assertTrue("O'Brien".equals(values.get(2)));
+	}
+
+	public void testInsertInvalid() {
+		TestRecord r = new TestRecord("iris.geo_loc; DROP");
+		r.columns.put("name", "loc_1");
+		try {
+			SQLConnection.insertSQL(r, new ArrayList<String>());
+			fail();
+		}
+		catch (ChangeVetoException e) {
+			// expected
+		}
+		r = new TestRecord("iris.geo_loc");
+		r.columns.put("Name", "loc_1");
+		try {
+			SQLConnection.insertSQL(r, new ArrayList<String>());
+			fail();
+		}
+		catch (ChangeVetoException e) {
+			// expected
+		}
+	}
+
+	public void testNoColumns() throws Exception {
+		TestRecord r = new TestRecord("iris.geo_loc");
+		r.columns.put("name", null);
+		try {
+			SQLConnection.insertSQL(r, new ArrayList<String>());
+			fail();
+		}
+		catch (ChangeVetoException e) {
+			// expected
+		}
+		FakeSQLConnection store = new FakeSQLConnection();
+		try {
+			store.create(r);
+			fail();
+		}
+		catch (ChangeVetoException e) {
+			// expected
+		}
+		assertTrue(store.getExecuted().isEmpty());
+	}
+
+	public void testBatch() throws Exception {
+		FakeSQLConnection store = new FakeSQLConnection();
+		ArrayList<TestRecord> recs = new ArrayList<TestRecord>();
+		recs.add(geoLoc("loc_1"));
+		recs.add(geoLoc("loc_2"));
+		store.createBatch(recs);
+		store.destroyBatch(recs);
+		List<String> ex = store.getExecuted();
+		assertTrue(ex.size() == 4);
+		assertTrue(("INSERT INTO iris.geo_loc (name) VALUES (?); " +
+			"[loc_1]").equals(ex.get(0)));
+		assertTrue(("INSERT INTO iris.geo_loc (name) VALUES (?); " +
+			"[loc_2]").equals(ex.get(1)));
+		// deleted in reverse order
+		assertTrue(("DELETE FROM iris.geo_loc WHERE name = ?; " +
+			"[loc_2]").equals(ex.get(2)));
+		assertTrue(("DELETE FROM iris.geo_loc WHERE name = ?; " +
+			"[loc_1]").equals(ex.get(3)));
+	}
+
+	public void testBatchFailed() throws Exception {
+		FakeSQLConnection store = new FakeSQLConnection();
+		ArrayList<TestRecord> recs = new ArrayList<TestRecord>();
+		recs.add(geoLoc("loc_1"));
+		recs.add(geoLoc("loc_2"));
+		store.setFailOn("loc_2", "23505");
+		try {
+			store.createBatch(recs);
+			fail();
+		}
+		catch (TMSException e) {
+			// expected
+		}
+		// transaction rolled back
+		assertTrue(store.getExecuted().isEmpty());
+	}
+}
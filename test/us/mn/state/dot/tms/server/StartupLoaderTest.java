@@ -0,0 +1,161 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.io.File;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import junit.framework.TestCase;
+import us.mn.state.dot.tms.TMSException;
+
+/**
+ * StartupLoader test cases
+ *
+ * @author Douglas Lau
+ */
+public class StartupLoaderTest extends TestCase {
+
+	/** Order of loaded steps */
+	private final ArrayList<Class> loaded = new ArrayList<Class>();
+
+	/** Create a step which records when it is loaded */
+	private StartupLoader.Step step(final Class k, Class... deps) {
+		return new StartupLoader.Step(k, deps) {
+			protected void load() throws Exception {
+				synchronized (loaded) {
+					loaded.add(k);
+				}
+			}
+		};
+	}
+
+	/** Create a step which only loads if run in parallel with others */
+	private StartupLoader.Step parallelStep(Class k,
+		final CountDownLatch latch)
+	{
+		return new StartupLoader.Step(k) {
+			protected void load() throws Exception {
+				latch.countDown();
+				if (!latch.await(10, TimeUnit.SECONDS))
+					throw new TMSException("serial");
+			}
+		};
+	}
+
+	public StartupLoaderTest(String name) {
+		super(name);
+	}
+
+	public void testOrder() throws TMSException {
+		StartupLoader ld = new StartupLoader(3);
+		ld.add(step(Integer.class, String.class, Long.class));
+		ld.add(step(String.class));
+		ld.add(step(Long.class, String.class));
+		ld.add(step(Short.class));
+		ld.add(step(Byte.class, Integer.class, Short.class));
+		ld.run();
+		assertTrue(loaded.size() == 5);
+		assertTrue(loaded.indexOf(String.class) <
+		           loaded.indexOf(Long.class));
+		assertTrue(loaded.indexOf(Long.class) <
+		           loaded.indexOf(Integer.class));
+		assertTrue(loaded.indexOf(Integer.class) <
+		           loaded.indexOf(Byte.class));
+		assertTrue(loaded.indexOf(Short.class) <
+		           loaded.indexOf(Byte.class));
+	}
+
+	public void testCycle() {
+		StartupLoader ld = new StartupLoader(2);
+		ld.add(step(String.class));
+		ld.add(step(Integer.class, Long.class));
+		ld.add(step(Long.class, Integer.class));
+		try {
+			ld.run();
+			assertTrue(false);
+		}
+		catch (TMSException e) {
+			// expected
+		}
+		assertTrue(loaded.size() == 1);
+	}
+
+	public void testFailure() {
+		StartupLoader ld = new StartupLoader(2);
+		ld.add(new StartupLoader.Step(String.class) {
+			protected void load() throws Exception {
+				throw new TMSException("failed");
+			}
+		});
+		ld.add(step(Integer.class, String.class));
+		try {
+			ld.run();
+			assertTrue(false);
+		}
+		catch (TMSException e) {
+			assertTrue("failed".equals(e.getMessage()));
+		}
+		assertTrue(loaded.isEmpty());
+	}
+
+	public void testParallel() throws TMSException {
+		CountDownLatch both = new CountDownLatch(2);
+		StartupLoader ld = new StartupLoader(2);
+		ld.add(parallelStep(String.class, both));
+		ld.add(parallelStep(Long.class, both));
+		ld.add(step(Integer.class, String.class, Long.class));
+		ld.run();
+		assertTrue(loaded.size() == 1);
+	}
+
+	public void testNestedQueries() throws Exception {
+		final FakeSQLConnection store = new FakeSQLConnection();
+		store.addRow("iris.outer", "a");
+		store.addRow("iris.inner", "b");
+		store.setSnapshot(new NamespaceSnapshot(new File("unused")));
+		final int n_threads = 3;
+		// every outer query holds a connection before nesting
+		final CyclicBarrier barrier = new CyclicBarrier(n_threads);
+		final AtomicInteger n_inner = new AtomicInteger();
+		final ResultFactory inner = new ResultFactory() {
+			public void create(ResultSet row) {
+				n_inner.incrementAndGet();
+			}
+		};
+		final ResultFactory outer = new ResultFactory() {
+			public void create(ResultSet row) throws Exception {
+				barrier.await(10, TimeUnit.SECONDS);
+				store.query("SELECT name FROM iris.inner;",
+					inner);
+			}
+		};
+		StartupLoader ld = new StartupLoader(n_threads);
+		Class[] keys = { String.class, Long.class, Integer.class };
+		for (Class k: keys) {
+			ld.add(new StartupLoader.Step(k) {
+				protected void load() throws Exception {
+					store.query("SELECT name FROM " +
+						"iris.outer;", outer);
+				}
+			});
+		}
+		ld.run();
+		assertTrue(n_inner.get() == n_threads);
+	}
+}
@@ -0,0 +1,107 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.util.Arrays;
+import junit.framework.TestCase;
+
+/**
+ * WriteBehindQueue test cases
+ *
+ * @author Douglas Lau
+ */
+public class WriteBehindQueueTest extends TestCase {
+
+	/** Get the SQL recorded for an update */
+	static private String update(String field, String value, String key) {
+		return "UPDATE iris.t SET " + field + " = ? WHERE name = ?; [" +
+			value + ", " + key + "]";
+	}
+
+	public WriteBehindQueueTest(String name) {
+		super(name);
+	}
+
+	public void testCoalesce() throws Exception {
+		FakeSQLConnection store = new FakeSQLConnection();
+		WriteBehindQueue q = new WriteBehindQueue(store);
+		q.add("iris.t", "name", "a", "x", "1");
+		q.add("iris.t", "name", "a", "x", "2");
+		q.add("iris.t", "name", "a", "y", "3");
+		q.add("iris.t", "name", "a", "x", "4");
+		q.flush();
+		assertTrue(store.getExecuted().equals(Arrays.asList(
+			update("y", "3", "a"),
+			update("x", "4", "a"))));
+		assertTrue(q.getCoalescedCount() == 2);
+		assertTrue(q.getQueueDepth() == 0);
+	}
+
+	public void testOrder() throws Exception {
+		FakeSQLConnection store = new FakeSQLConnection();
+		WriteBehindQueue q = new WriteBehindQueue(store);
+		q.add("iris.t", "name", "a", "x", "1");
+		q.add("iris.t", "name", "b", "x", "2");
+		q.add("iris.t", "name", "a", "x", "3");
+		q.add("iris.t", "name", "c", "x", null);
+		q.flush();
+		assertTrue(store.getExecuted().equals(Arrays.asList(
+			update("x", "2", "b"),
+			update("x", "3", "a"),
+			update("x", "null", "c"))));
+	}
+
+	public void testFailure() throws Exception {
+		FakeSQLConnection store = new FakeSQLConnection();
+		WriteBehindQueue q = new WriteBehindQueue(store);
+		store.setFailOn("SET bad", "22P02");
+		q.add("iris.t", "name", "a", "x", "1");
+		q.add("iris.t", "name", "a", "bad", "2");
+		q.add("iris.t", "name", "b", "x", "3");
+		q.flush();
+		// batch rolled back; good updates written individually
+		assertTrue(store.getExecuted().equals(Arrays.asList(
+			update("x", "1", "a"),
+			update("x", "3", "b"))));
+		assertTrue(q.getFailedCount() == 1);
+		assertTrue(q.getCoalescedCount() == 0);
+		// no updates left over in cached statements
+		store.setFailOn(null, null);
+		store.clearExecuted();
+		q.add("iris.t", "name", "c", "x", "4");
+		q.flush();
+		assertTrue(store.getExecuted().equals(Arrays.asList(
+			update("x", "4", "c"))));
+		assertTrue(q.getFailedCount() == 1);
+	}
+
+	public void testFailureLeftover() throws Exception {
+		FakeSQLConnection store = new FakeSQLConnection();
+		WriteBehindQueue q = new WriteBehindQueue(store);
+		// first statement fails before the second is executed
+		store.setFailOn("SET bad", "22P02");
+		q.add("iris.t", "name", "a", "bad", "1");
+		q.add("iris.t", "name", "a", "x", "2");
+		q.flush();
+		assertTrue(store.getExecuted().equals(Arrays.asList(
+			update("x", "2", "a"))));
+		store.setFailOn(null, null);
+		store.clearExecuted();
+		q.add("iris.t", "name", "b", "x", "3");
+		q.flush();
+		assertTrue(store.getExecuted().equals(Arrays.asList(
+			update("x", "3", "b"))));
+	}
+}
@@ -0,0 +1,178 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm;
+
+import junit.framework.TestCase;
+import us.mn.state.dot.tms.CommProtocol;
+import us.mn.state.dot.tms.server.ControllerImpl;
+import us.mn.state.dot.tms.server.FakeServer;
+
+/**
+ * OpQueue test cases
+ *
+ * @author Douglas Lau
+ */
+public class OpQueueTest extends TestCase {
+
+	/** Operation for testing.  Operations are equal if they have the
+	 * same controller and key. */
+	static private class TestOp extends OpController<ControllerProperty> {
+		private final String key;
+		private TestOp(PriorityLevel p, ControllerImpl c, String k) {
+			super(p, c);
+			key = k;
+		}
+		@Override
+		protected Phase<ControllerProperty> phaseOne() {
+			return new Idle();
+		}
+		private class Idle extends Phase<ControllerProperty> {
+			protected Phase<ControllerProperty> poll(
+				CommMessage<ControllerProperty> mess)
+			{
+				return null;
+			}
+		}
+		@Override
+		public boolean equals(Object o) {
+			return super.equals(o) && key.equals(((TestOp) o).key);
+		}
+	}
+
+	/** Controllers for testing */
+	private ControllerImpl c1, c2, c3;
+
+	public OpQueueTest(String name) {
+		super(name);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		FakeServer server = new FakeServer();
+		server.addCommConfig("cfg", CommProtocol.MNDOT_4, 1000, 30);
+		server.addCommLink("link", "127.0.0.1:1", "cfg");
+		server.addController("ctl_1", "link", 1);
+		server.addController("ctl_2", "link", 2);
+		server.addController("ctl_3", "link", 3);
+		server.loadComm();
+		c1 = server.lookupController("ctl_1");
+		c2 = server.lookupController("ctl_2");
+		c3 = server.lookupController("ctl_3");
+	}
+
+	/** Create a queue */
+	static private OpQueue<ControllerProperty> queue() {
+		return new OpQueue<ControllerProperty>();
+	}
+
+	/** Create an operation */
+	static private TestOp op(PriorityLevel p, ControllerImpl c, String k)
+	{
+		return new TestOp(p, c, k);
+	}
+
+	public void testPriority() throws Exception {
+		OpQueue<ControllerProperty> q = queue();
+		TestOp lp = op(PriorityLevel.LONG_POLL, c1, "a");
+		TestOp sp = op(PriorityLevel.SHORT_POLL, c1, "b");
+		TestOp cmd = op(PriorityLevel.COMMAND, c2, "c");
+		assertTrue(q.enqueue(lp));
+		assertTrue(q.enqueue(sp));
+		assertTrue(q.enqueue(cmd));
+		assertTrue(q.tryNext() == cmd);
+		assertTrue(q.tryNext() == sp);
+		assertTrue(q.tryNext() == lp);
+		assertTrue(q.tryNext() == null);
+		assertTrue(q.noMoreOps());
+	}
+
+	public void testRoundRobin() throws Exception {
+		OpQueue<ControllerProperty> q = queue();
+		PriorityLevel p = PriorityLevel.SHORT_POLL;
+		TestOp a1 = op(p, c1, "1");
+		TestOp a2 = op(p, c1, "2");
+		TestOp a3 = op(p, c1, "3");
+		TestOp b1 = op(p, c2, "1");
+		TestOp d1 = op(p, c3, "1");
+		q.enqueue(a1);
+		q.enqueue(a2);
+		q.enqueue(a3);
+		q.enqueue(b1);
+		q.enqueue(d1);
+		// busy controller does not starve the others
+		assertTrue(q.tryNext() == a1);
+		assertTrue(q.tryNext() == b1);
+		assertTrue(q.tryNext() == d1);
+		assertTrue(q.tryNext() == a2);
+		assertTrue(q.tryNext() == a3);
+	}
+
+	public void testDuplicate() throws Exception {
+		OpQueue<ControllerProperty> q = queue();
+		PriorityLevel p = PriorityLevel.SHORT_POLL;
+		TestOp a = op(p, c1, "a");
+		assertTrue(q.enqueue(a));
+		// equal operation is not added
+		assertFalse(q.enqueue(op(p, c1, "a")));
+		assertTrue(q.enqueue(op(p, c1, "b")));
+		assertTrue(q.enqueue(op(p, c2, "a")));
+		// in-progress work is also checked
+		assertTrue(q.next(0) == a);
+		assertFalse(q.enqueue(op(p, c1, "a")));
+		// once done, an equal operation can be added
+		a.setSucceeded();
+		assertTrue(q.enqueue(op(p, c1, "a")));
+	}
+
+	public void testRemove() throws Exception {
+		OpQueue<ControllerProperty> q = queue();
+		PriorityLevel p = PriorityLevel.SHORT_POLL;
+		TestOp a = op(p, c1, "a");
+		TestOp b = op(p, c1, "b");
+		q.enqueue(a);
+		q.enqueue(b);
+		// requeue moves an operation to the back of its FIFO
+		assertTrue(q.requeue(a));
+		assertTrue(q.tryNext() == b);
+		assertTrue(q.tryNext() == a);
+		assertTrue(q.noMoreOps());
+		// an operation which is not queued cannot be requeued
+		assertFalse(q.requeue(op(p, c1, "c")));
+		assertTrue(q.noMoreOps());
+	}
+
+	public void testRemoveEqual() throws Exception {
+		OpQueue<ControllerProperty> q = queue();
+		PriorityLevel p = PriorityLevel.SHORT_POLL;
+		TestOp a1 = op(p, c1, "a");
+		TestOp b = op(p, c2, "b");
+		q.enqueue(a1);
+		q.enqueue(b);
+		a1.setSucceeded();
+		TestOp a2 = op(p, c1, "a");
+		assertTrue(q.enqueue(a2));
+		// the earlier (done) operation can still be removed, even
+		// though a later equal one is queued
+		assertTrue(q.requeue(a1));
+		assertTrue(q.tryNext() == a2);
+		assertTrue(q.tryNext() == b);
+		assertTrue(q.tryNext() == a1);
+		assertTrue(q.noMoreOps());
+		// no stale entries block an equal operation
+		a2.setSucceeded();
+		assertTrue(q.enqueue(op(p, c1, "a")));
+		assertFalse(q.enqueue(op(p, c1, "a")));
+	}
+}
@@ -0,0 +1,84 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm.cap;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import javax.xml.parsers.SAXParserFactory;
+import junit.framework.TestCase;
+import org.json.JSONObject;
+
+/**
+ * AlertHandler test cases
+ *
+ * @author Douglas Lau
+ */
+public class AlertHandlerTest extends TestCase {
+
+	/** Alert processor which records digests */
+	static private class TestProcessor extends AlertProcessor {
+		private final ArrayList<String> ids = new ArrayList<String>();
+		private final ArrayList<byte[]> digests =
+			new ArrayList<byte[]>();
+		@Override
+		public void processAlert(JSONObject ja, byte[] digest) {
+			ids.add(ja.getString("identifier"));
+			digests.add(digest);
+		}
+	}
+
+	/** Create a CAP alert */
+	private String alert(String id, String sent, String area) {
+		return "<alert><identifier>" + id + "</identifier><sent>" +
+			sent + "</sent><msgType>Alert</msgType><info>" +
+			"<event>Winter Storm Warning</event><area><areaDesc>" +
+			area + "</areaDesc><geocode><valueName>UGC" +
+			"</valueName><value>MNZ060</value></geocode></area>" +
+			"</info></alert>";
+	}
+
+	/** Parse a feed */
+	private TestProcessor parse(String xml) throws Exception {
+		TestProcessor tp = new TestProcessor();
+		SAXParserFactory.newInstance().newSAXParser().parse(
+			new ByteArrayInputStream(xml.getBytes(
+			StandardCharsets.UTF_8)), new AlertHandler(tp));
+		return tp;
+	}
+
+	public void testDigest() throws Exception {
+		String a = alert("A1", "2021-01-05T10:00:00-06:00", "Hennepin");
+		String b = alert("A2", "2021-01-05T11:00:00-06:00", "Ramsey");
+		TestProcessor p1 = parse("<feed>" + a + b + "</feed>");
+		assertTrue(p1.ids.size() == 2);
+		assertTrue("A1".equals(p1.ids.get(0)));
+		assertTrue("A2".equals(p1.ids.get(1)));
+		assertFalse(MessageDigest.isEqual(p1.digests.get(0),
+			p1.digests.get(1)));
+		// Same content in a later poll has the same digest
+		TestProcessor p2 = parse("<feed>" + b + a + "</feed>");
+		assertTrue(MessageDigest.isEqual(p1.digests.get(0),
+			p2.digests.get(1)));
+		assertTrue(MessageDigest.isEqual(p1.digests.get(1),
+			p2.digests.get(0)));
+		// Changed area content has a different digest
+		TestProcessor p3 = parse(alert("A1",
+			"2021-01-05T10:00:00-06:00", "Anoka"));
+		assertFalse(MessageDigest.isEqual(p1.digests.get(0),
+			p3.digests.get(0)));
+	}
+}
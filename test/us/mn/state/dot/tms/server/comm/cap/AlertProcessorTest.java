@@ -0,0 +1,173 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm.cap;
+
+import java.nio.charset.StandardCharsets;
+import junit.framework.TestCase;
+import org.json.JSONObject;
+import us.mn.state.dot.sched.Job;
+import us.mn.state.dot.sched.SystemTimeSource;
+import us.mn.state.dot.sched.TimeSteward;
+import us.mn.state.dot.tms.server.FakeServer;
+
+/**
+ * AlertProcessor test cases
+ *
+ * @author Douglas Lau
+ */
+public class AlertProcessorTest extends TestCase {
+
+	/** Alert insert SQL */
+	static private final String INSERT = "INSERT INTO cap.alert";
+
+	/** Alert update SQL */
+	static private final String UPDATE = "UPDATE cap.alert";
+
+	/** Alert processor which performs jobs immediately */
+	static private class TestProcessor extends AlertProcessor {
+		@Override
+		protected void schedule(Job job) {
+			try {
+				job.perform();
+			}
+			catch (Exception e) {
+				fail(e.getMessage());
+			}
+		}
+	}
+
+	/** Time source which can be moved ahead */
+	static private class OffsetTimeSource extends SystemTimeSource {
+		private long offset = 0;
+		@Override
+		public long currentTimeMillis() {
+			return super.currentTimeMillis() + offset;
+		}
+	}
+
+	/** Create an alert (test status, so infos are not processed) */
+	static private JSONObject alert(String id, String area) {
+		JSONObject ja = new JSONObject();
+		ja.put("identifier", id);
+		ja.put("status", "Test");
+		ja.put("scope", "Public");
+		ja.put("area", area);
+		return ja;
+	}
+
+	/** Create a fake digest of alert content */
+	static private byte[] digest(String area) {
+		return area.getBytes(StandardCharsets.UTF_8);
+	}
+
+	/** Process an alert */
+	static private void process(AlertProcessor ap, String id,
+		String area)
+	{
+		ap.processAlert(alert(id, area), digest(area));
+	}
+
+	/** Fake server */
+	private FakeServer server;
+
+	public AlertProcessorTest(String name) {
+		super(name);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		server = new FakeServer();
+	}
+
+	/** Count executed statements starting with a string */
+	private int count(String sql) {
+		server.store.flush();
+		int n = 0;
+		for (String ex: server.store.getExecuted()) {
+			if (ex.startsWith(sql))
+				n++;
+		}
+		return n;
+	}
+
+	public void testSkip() throws Exception {
+		AlertProcessor ap = new TestProcessor();
+		process(ap, "A1", "Hennepin");
+		process(ap, "A2", "Ramsey");
+		process(ap, "A1", "Hennepin");
+		process(ap, "A2", "Ramsey");
+		// unchanged alerts are not stored again
+		assertTrue(count(INSERT) == 2);
+		assertTrue(count(UPDATE) == 0);
+	}
+
+	public void testChanged() throws Exception {
+		AlertProcessor ap = new TestProcessor();
+		process(ap, "A1", "Hennepin");
+		process(ap, "A1", "Anoka");
+		assertTrue(count(INSERT) == 1);
+		assertTrue(count(UPDATE) == 1);
+		// the changed content is now the known content
+		process(ap, "A1", "Anoka");
+		assertTrue(count(UPDATE) == 1);
+	}
+
+	public void testForget() throws Exception {
+		AlertProcessor ap = new TestProcessor();
+		server.store.setFailOn(INSERT, "08006");
+		process(ap, "A1", "Hennepin");
+		assertTrue(count(INSERT) == 0);
+		// alert which could not be stored is retried
+		server.store.setFailOn(null, null);
+		process(ap, "A1", "Hennepin");
+		assertTrue(count(INSERT) == 1);
+	}
+
+	public void testExpire() throws Exception {
+		OffsetTimeSource ts = new OffsetTimeSource();
+		TimeSteward.setTimeSource(ts);
+		try {
+			AlertProcessor ap = new TestProcessor();
+			process(ap, "A1", "Hennepin");
+			process(ap, "A2", "Ramsey");
+			ts.offset = 23 * 60 * 60 * 1000;
+			process(ap, "A2", "Ramsey");
+			ap.finishPoll();
+			// A2 was seen recently; A1 is forgotten
+			ts.offset = 25 * 60 * 60 * 1000;
+			ap.finishPoll();
+			process(ap, "A1", "Hennepin");
+			process(ap, "A2", "Ramsey");
+			assertTrue(count(INSERT) == 3);
+		}
+		finally {
+			TimeSteward.setTimeSource(new SystemTimeSource());
+		}
+	}
+
+	public void testRestart() throws Exception {
+		// alerts stored before a restart are not in memory
+		server.store.setFailOn(INSERT, "23505");
+		server.store.addRow("cap.alert",
+			alert("A1", "Hennepin").toString());
+		AlertProcessor ap = new TestProcessor();
+		process(ap, "A1", "Hennepin");
+		assertTrue(count(UPDATE) == 0);
+		// changed content is updated
+		AlertProcessor ap2 = new TestProcessor();
+		process(ap2, "A1", "Anoka");
+		assertTrue(count(UPDATE) == 1);
+	}
+}
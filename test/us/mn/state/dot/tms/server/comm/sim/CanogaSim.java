@@ -0,0 +1,109 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm.sim;
+
+/**
+ * Simulated line of Canoga detector cards.  Binary detection requests are
+ * answered with one vehicle event per input every headway interval; other
+ * requests are not answered.
+ *
+ * @author Douglas Lau
+ */
+public class CanogaSim extends SimDevice {
+
+	/** Offset for message length field */
+	static private final int OFF_LENGTH = 1;
+
+	/** Offset for message address field */
+	static private final int OFF_ADDRESS = 3;
+
+	/** Offset for message type field */
+	static private final int OFF_MTYPE = 4;
+
+	/** Number of inputs per card */
+	static private final int N_INPUTS = 4;
+
+	/** Length of binary detection response */
+	static private final int DETECTION_LEN = 37;
+
+	/** Vehicle duration (ms) */
+	static private final int DURATION_MS = 300;
+
+	/** Parse one ASCII hex digit */
+	static private int parseHex(byte b) {
+		return (b >= 'A') ? (b - 'A' + 10) : (b - '0');
+	}
+
+	/** Number of drops (cards) on the line */
+	private final int n_drops;
+
+	/** Headway between vehicles (ms) */
+	private final int headway_ms;
+
+	/** Time of last card reset */
+	private final long reset = System.currentTimeMillis();
+
+	/** Create a simulated line of Canoga cards.
+	 * @param n Number of cards (drops 0 to n - 1).
+	 * @param h Headway between vehicles (ms). */
+	public CanogaSim(int n, int h) {
+		n_drops = n;
+		headway_ms = h;
+	}
+
+	/** Get the request frame length */
+	@Override
+	public int frameLength(byte[] buf, int len) {
+		if (len <= OFF_LENGTH + 1)
+			return -1;
+		return (parseHex(buf[OFF_LENGTH]) << 4) |
+			parseHex(buf[OFF_LENGTH + 1]);
+	}
+
+	/** Create a response to a request frame */
+	@Override
+	protected byte[] respond(byte[] req) {
+		if (req.length < 8 || req[0] != '<')
+			return null;
+		int drop = req[OFF_ADDRESS] & 0xFF;
+		if (drop >= n_drops || req[OFF_MTYPE] != '*')
+			return null;
+		return detection();
+	}
+
+	/** Create a binary detection response */
+	private byte[] detection() {
+		int elapsed = (int) (System.currentTimeMillis() - reset);
+		int n_veh = elapsed / headway_ms;
+		int start = n_veh * headway_ms;
+		byte[] res = new byte[DETECTION_LEN];
+		for (int i = 0; i < N_INPUTS; i++) {
+			int b = i * 9;
+			res[b] = (byte) (DURATION_MS >> 16);
+			res[b + 1] = (byte) (DURATION_MS >> 8);
+			res[b + 2] = (byte) DURATION_MS;
+			res[b + 3] = (byte) (start >> 24);
+			res[b + 4] = (byte) (start >> 16);
+			res[b + 5] = (byte) (start >> 8);
+			res[b + 6] = (byte) start;
+			res[b + 7] = (byte) n_veh;
+		}
+		byte xsum = 0;
+		for (int i = 0; i < DETECTION_LEN - 1; i++)
+			xsum ^= res[i];
+		res[DETECTION_LEN - 1] = xsum;
+		return res;
+	}
+}
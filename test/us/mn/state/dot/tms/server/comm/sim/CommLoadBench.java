@@ -0,0 +1,267 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm.sim;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.HashMap;
+import us.mn.state.dot.tms.CommProtocol;
+import us.mn.state.dot.tms.server.CommLinkImpl;
+import us.mn.state.dot.tms.server.FakeServer;
+import us.mn.state.dot.tms.server.LatencyHistogram;
+import us.mn.state.dot.tms.server.PollStats;
+import us.mn.state.dot.tms.server.comm.DevicePoller;
+
+/**
+ * Comm layer load benchmark.  A SimFarm of field devices is started on
+ * loopback ports, and comm links, controllers and detectors for them are
+ * loaded into a fake server (with no database).  The real poll jobs,
+ * device pollers, operation queues and comm threads then poll the
+ * simulated devices.  Operation counts and latency (mean, max and
+ * percentiles of per-operation latencies from link poll statistics),
+ * thread count and heap usage are reported at the end.
+ *
+ * Usage: CommLoadBench [name=value ...]
+ *   mndot=N     Number of MnDOT 170 lines, default 100
+ *   drops=N     Drops per 170 line (1-15), default 4
+ *   ss125=N     Number of SS125 sensors, default 50
+ *   g4=N        Number of G4 sensors, default 50
+ *   canoga=N    Number of Canoga lines (4 cards each), default 10
+ *   lanes=N     Lanes per sensor (1-8), default 4
+ *   period=N    Poll period (seconds), default 30
+ *   duration=N  Benchmark duration (seconds), default 120
+ *   latency=N   Simulated response latency (ms), default 20
+ *   loss=N      Simulated response loss (percent), default 0
+ *   timeout=N   Receive timeout (ms), default 750
+ *
+ * @author Douglas Lau
+ */
+public class CommLoadBench {
+
+	/** Number of Canoga cards per line */
+	static private final int CANOGA_CARDS = 4;
+
+	/** Canoga vehicle headway (ms) */
+	static private final int CANOGA_HEADWAY_MS = 2000;
+
+	/** First detector pin for MnDOT 170 controllers */
+	static private final int MNDOT_DET_PIN = 39;
+
+	/** Parse benchmark arguments */
+	static private HashMap<String, Integer> parseArgs(String[] args) {
+		HashMap<String, Integer> a = new HashMap<String, Integer>();
+		a.put("mndot", 100);
+		a.put("drops", 4);
+		a.put("ss125", 50);
+		a.put("g4", 50);
+		a.put("canoga", 10);
+		a.put("lanes", 4);
+		a.put("period", 30);
+		a.put("duration", 120);
+		a.put("latency", 20);
+		a.put("loss", 0);
+		a.put("timeout", 750);
+		for (String arg: args) {
+			String[] kv = arg.split("=", 2);
+			if (kv.length != 2 || !a.containsKey(kv[0]))
+				throw new IllegalArgumentException(arg);
+			a.put(kv[0], Integer.parseInt(kv[1]));
+		}
+		return a;
+	}
+
+	/** Main entry point */
+	static public void main(String[] args) throws Exception {
+		HashMap<String, Integer> a = parseArgs(args);
+		SimFarm farm = new SimFarm(a.get("latency"),
+			a.get("loss") / 100.0);
+		try {
+			CommLoadBench b = new CommLoadBench(farm,
+				a.get("period"), a.get("timeout"));
+			b.addLinks(a);
+			b.run(a.get("duration"));
+		}
+		finally {
+			farm.close();
+		}
+	}
+
+	/** Simulated device farm */
+	private final SimFarm farm;
+
+	/** Fake server */
+	private final FakeServer server;
+
+	/** Poll period (seconds) */
+	private final int period;
+
+	/** Receive timeout (ms) */
+	private final int timeout_ms;
+
+	/** Groups of links, by protocol */
+	private final ArrayList<Group> groups = new ArrayList<Group>();
+
+	/** Create a new benchmark */
+	private CommLoadBench(SimFarm f, int p, int t) throws Exception {
+		farm = f;
+		server = new FakeServer();
+		server.store.setRecording(false);
+		period = p;
+		timeout_ms = t;
+	}
+
+	/** A group of links with one protocol */
+	private final class Group {
+		private final String name;
+		private final ArrayList<String> links = new ArrayList<String>();
+		private final ArrayList<SimDevice> sims =
+			new ArrayList<SimDevice>();
+		private int n_ctrl;
+		private Group(String n, CommProtocol cp) {
+			name = n;
+			server.addCommConfig(n, cp, timeout_ms, period);
+			groups.add(this);
+		}
+
+		/** Add a link with its simulated device.
+		 * @return Link name. */
+		private String addLink(SimDevice sim) throws IOException {
+			int port = farm.addTcp(sim);
+			String ln = name + "_" + links.size();
+			server.addCommLink(ln, "127.0.0.1:" + port, name);
+			links.add(ln);
+			sims.add(sim);
+			return ln;
+		}
+
+		/** Add a controller with detectors.
+		 * @param ln Link name.
+		 * @param drop Drop address.
+		 * @param pin First detector pin.
+		 * @param n_det Number of detectors. */
+		private void addController(String ln, int drop, int pin,
+			int n_det)
+		{
+			String cn = ln + "_" + drop;
+			server.addController(cn, ln, drop);
+			for (int i = 0; i < n_det; i++) {
+				server.addDetector(cn + "_" + i, cn, pin + i,
+					i + 1);
+			}
+			n_ctrl++;
+		}
+	}
+
+	/** Add all links, controllers and detectors */
+	private void addLinks(HashMap<String, Integer> a) throws Exception {
+		int drops = a.get("drops");
+		int lanes = a.get("lanes");
+		Group mndot = new Group("mndot", CommProtocol.MNDOT_4);
+		for (int i = 0; i < a.get("mndot"); i++) {
+			String ln = mndot.addLink(new Mndot170Sim(drops));
+			for (int d = 1; d <= drops; d++)
+				mndot.addController(ln, d, MNDOT_DET_PIN, 4);
+		}
+		Group ss125 = new Group("ss125", CommProtocol.SS_125);
+		for (int i = 0; i < a.get("ss125"); i++) {
+			String ln = ss125.addLink(new SS125Sim(lanes, period));
+			ss125.addController(ln, 1, 1, lanes);
+		}
+		Group g4 = new Group("g4", CommProtocol.RTMS_G4);
+		for (int i = 0; i < a.get("g4"); i++) {
+			String ln = g4.addLink(new G4Sim(lanes, period));
+			g4.addController(ln, 1, 1, lanes);
+		}
+		Group canoga = new Group("canoga", CommProtocol.CANOGA);
+		for (int i = 0; i < a.get("canoga"); i++) {
+			String ln = canoga.addLink(new CanogaSim(CANOGA_CARDS,
+				CANOGA_HEADWAY_MS));
+			for (int d = 0; d < CANOGA_CARDS; d++)
+				canoga.addController(ln, d, 1, 4);
+		}
+		server.loadComm();
+	}
+
+	/** Run the benchmark */
+	private void run(int duration) throws InterruptedException {
+		long start = System.currentTimeMillis();
+		Thread.sleep(duration * 1000L);
+		long elapsed = System.currentTimeMillis() - start;
+		report(elapsed);
+	}
+
+	/** Report benchmark results */
+	private void report(long elapsed) {
+		System.out.println("elapsed:     " + elapsed + " ms");
+		for (Group g: groups)
+			report(g, elapsed);
+		ThreadMXBean tb = ManagementFactory.getThreadMXBean();
+		Runtime rt = Runtime.getRuntime();
+		System.out.println("threads:     " + tb.getThreadCount() +
+			" (peak " + tb.getPeakThreadCount() + ")");
+		System.out.println("heap used:   " +
+			((rt.totalMemory() - rt.freeMemory()) >> 20) + " MiB");
+	}
+
+	/** Report results for one group */
+	private void report(Group g, long elapsed) {
+		if (g.links.isEmpty())
+			return;
+		long n_req = 0;
+		for (SimDevice sim: g.sims)
+			n_req += sim.getRequests();
+		long n_ok = 0;
+		long n_fail = 0;
+		long n_timed = 0;
+		long lat_ms = 0;
+		long max_ms = 0;
+		LatencyHistogram hist = new LatencyHistogram();
+		int depth = 0;
+		long wait_ms = 0;
+		for (String ln: g.links) {
+			CommLinkImpl cl = server.lookupCommLink(ln);
+			PollStats ps = cl.getPollStats();
+			n_ok += ps.getTotalSuccess();
+			n_fail += ps.getTotalFailed();
+			n_timed += ps.getTotalTimed();
+			lat_ms += ps.getTotalLatencyMs();
+			max_ms = Math.max(max_ms, ps.getTotalMaxMs());
+			hist.add(ps.getTotalHistogram());
+			DevicePoller dp = cl.getPoller();
+			if (dp != null) {
+				depth += dp.getQueueStats().getDepth();
+				wait_ms = Math.max(wait_ms,
+					dp.getQueueStats().getMeanWaitMs());
+			}
+		}
+		System.out.println(g.name + ": " + g.links.size() +
+			" links, " + g.n_ctrl + " controllers");
+		System.out.println("  requests:    " + n_req + " (" +
+			(n_req * 1000L / Math.max(1, elapsed)) + "/s)");
+		System.out.println("  operations:  " + n_ok + " ok, " +
+			n_fail + " failed");
+		System.out.println("  latency:     mean " +
+			(lat_ms / Math.max(1, n_timed)) + " ms, max " +
+			max_ms + " ms");
+		System.out.println("  percentile:  p50 " +
+			hist.getPercentileMs(0.50) + " ms, p95 " +
+			hist.getPercentileMs(0.95) + " ms, p99 " +
+			hist.getPercentileMs(0.99) + " ms");
+		System.out.println("  queue:       depth " + depth +
+			", worst mean wait " + wait_ms + " ms");
+	}
+}
@@ -0,0 +1,182 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm.sim;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Calendar;
+import java.util.TimeZone;
+
+/**
+ * Simulated RTMS G4 sensor.  Statistical polls are answered with header,
+ * count, occupancy, speed and footer frames for the most recent binning
+ * interval.  All other requests get an ACK.
+ *
+ * @author Douglas Lau
+ */
+public class G4Sim extends SimDevice {
+
+	/** Frame sentinel value */
+	static private final int SENTINEL = 0xFFAA;
+
+	/** Byte offsets from beginning of frame */
+	static private final int OFF_QUAL = 2;
+	static private final int OFF_LENGTH = 3;
+	static private final int OFF_SENSOR_ID = 4;
+
+	/** Qualifier codes */
+	static private final int Q_VEH_COUNT = 0x10;
+	static private final int Q_OCCUPANCY = 0x11;
+	static private final int Q_SPEED = 0x12;
+	static private final int Q_ACK = 0x1C;
+	static private final int Q_STAT_POLL = 0x53;
+	static private final int Q_STAT_HEADER = 0x80;
+	static private final int Q_STAT_FOOTER = 0x81;
+
+	/** Status flag for MPH units */
+	static private final int FLAG_MPH = 1 << 0;
+
+	/** Composition code for 2 vehicle classes */
+	static private final int COMP_CLASSES_2 = 1 << 3;
+
+	/** Calculate a checksum */
+	static private int checksum(byte[] buf, int pos, int len) {
+		int c = 0;
+		for (int i = pos; i < pos + len; i++)
+			c += buf[i] & 0xFF;
+		return c & 0xFFFF;
+	}
+
+	/** Number of lanes (zones) */
+	private final int n_lanes;
+
+	/** Binning period (seconds) */
+	private final int period;
+
+	/** Message number */
+	private int msg_num;
+
+	/** Create a simulated G4 sensor.
+	 * @param l Number of lanes.
+	 * @param p Binning period (seconds). */
+	public G4Sim(int l, int p) {
+		n_lanes = l;
+		period = p;
+	}
+
+	/** Get the request frame length */
+	@Override
+	public int frameLength(byte[] buf, int len) {
+		return (len > OFF_LENGTH)
+		      ? OFF_SENSOR_ID + 2 + (buf[OFF_LENGTH] & 0xFF)
+		      : -1;
+	}
+
+	/** Create a response to a request frame */
+	@Override
+	protected byte[] respond(byte[] req) {
+		if (req.length < OFF_SENSOR_ID + 4)
+			return null;
+		int sid = ((req[OFF_SENSOR_ID] & 0xFF) << 8) |
+			(req[OFF_SENSOR_ID + 1] & 0xFF);
+		int cs = ((req[req.length - 2] & 0xFF) << 8) |
+			(req[req.length - 1] & 0xFF);
+		if (cs != checksum(req, OFF_SENSOR_ID, req.length - 6))
+			return null;
+		if ((req[OFF_QUAL] & 0xFF) == Q_STAT_POLL)
+			return statData(sid);
+		else
+			return frame(Q_ACK, sid, new byte[0]);
+	}
+
+	/** Create statistical data frames */
+	private byte[] statData(int sid) {
+		int pms = period * 1000;
+		long stamp = System.currentTimeMillis() / pms * pms;
+		int mn;
+		synchronized (this) {
+			mn = msg_num;
+			msg_num = (msg_num + 1) & 0xFF;
+		}
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		byte[] head = new byte[22];
+		head[0] = (byte) mn;
+		head[3] = (byte) FLAG_MPH;
+		formatStamp(head, 4, stamp);
+		head[11] = (byte) n_lanes;
+		head[12] = (byte) COMP_CLASSES_2;
+		head[13] = (byte) (period >> 8);
+		head[14] = (byte) period;
+		head[15] = (byte) 120;	// 12.0 volts
+		head[16] = (byte) 0x10;	// health
+		write(bos, frame(Q_STAT_HEADER, sid, head));
+		write(bos, frame(Q_VEH_COUNT, sid, laneData(8)));
+		write(bos, frame(Q_OCCUPANCY, sid, laneData(100)));
+		write(bos, frame(Q_SPEED, sid, laneData(55)));
+		write(bos, frame(Q_STAT_FOOTER, sid, new byte[] {
+			(byte) mn
+		}));
+		return bos.toByteArray();
+	}
+
+	/** Create data with one 16-bit value per lane */
+	private byte[] laneData(int v) {
+		byte[] data = new byte[n_lanes * 2];
+		for (int i = 0; i < n_lanes; i++) {
+			data[i * 2] = (byte) (v >> 8);
+			data[i * 2 + 1] = (byte) v;
+		}
+		return data;
+	}
+
+	/** Write a frame to a stream */
+	static private void write(ByteArrayOutputStream bos, byte[] f) {
+		bos.write(f, 0, f.length);
+	}
+
+	/** Create a response frame */
+	static private byte[] frame(int qual, int sid, byte[] data) {
+		byte[] f = new byte[OFF_SENSOR_ID + 2 + data.length + 2];
+		f[0] = (byte) (SENTINEL >> 8);
+		f[1] = (byte) SENTINEL;
+		f[OFF_QUAL] = (byte) qual;
+		f[OFF_LENGTH] = (byte) (data.length + 2);
+		f[OFF_SENSOR_ID] = (byte) (sid >> 8);
+		f[OFF_SENSOR_ID + 1] = (byte) sid;
+		System.arraycopy(data, 0, f, OFF_SENSOR_ID + 2, data.length);
+		int cs = checksum(f, OFF_SENSOR_ID, data.length + 2);
+		f[f.length - 2] = (byte) (cs >> 8);
+		f[f.length - 1] = (byte) cs;
+		return f;
+	}
+
+	/** Format a BCD value (2 digits) */
+	static private byte bcd(int v) {
+		return (byte) (((v / 10) << 4) | (v % 10));
+	}
+
+	/** Format a time stamp */
+	static private void formatStamp(byte[] data, int pos, long stamp) {
+		Calendar cal = Calendar.getInstance(
+			TimeZone.getTimeZone("GMT"));
+		cal.setTimeInMillis(stamp);
+		data[pos] = bcd(cal.get(Calendar.SECOND));
+		data[pos + 1] = bcd(cal.get(Calendar.MINUTE));
+		data[pos + 2] = bcd(cal.get(Calendar.HOUR_OF_DAY));
+		data[pos + 3] = bcd(cal.get(Calendar.DAY_OF_WEEK));
+		data[pos + 4] = bcd(cal.get(Calendar.DATE));
+		data[pos + 5] = bcd(cal.get(Calendar.MONTH) + 1);
+		data[pos + 6] = bcd(cal.get(Calendar.YEAR) % 100);
+	}
+}
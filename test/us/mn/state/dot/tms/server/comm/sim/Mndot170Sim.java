@@ -0,0 +1,112 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm.sim;
+
+import java.util.Arrays;
+import us.mn.state.dot.tms.server.comm.mndot.CatCode;
+import us.mn.state.dot.tms.server.comm.mndot.StatCode;
+
+/**
+ * Simulated line of MnDOT 170 controllers (4-bit drop addressing), with
+ * drops numbered from 1.  Memory reads return zeroed data; all other
+ * requests get an empty OK response.
+ *
+ * @author Douglas Lau
+ */
+public class Mndot170Sim extends SimDevice {
+
+	/** Offset for message length field */
+	static private final int OFF_LENGTH = 1;
+
+	/** Offset for message payload field */
+	static private final int OFF_PAYLOAD = 2;
+
+	/** Offset of read length in a READ_MEMORY request */
+	static private final int OFF_READ_LENGTH = 4;
+
+	/** Calculate the checksum of a packet */
+	static private byte checksum(byte[] pkt) {
+		byte xsum = 0;
+		for (int i = 0; i < pkt.length - 1; i++)
+			xsum ^= pkt[i];
+		return xsum;
+	}
+
+	/** Create a request packet (for a poller) */
+	static public byte[] createRequest(int drop, CatCode cat, byte[] data) {
+		byte[] pkt = new byte[3 + data.length];
+		pkt[0] = (byte) (drop << 4 | cat.ordinal());
+		pkt[OFF_LENGTH] = (byte) data.length;
+		System.arraycopy(data, 0, pkt, OFF_PAYLOAD, data.length);
+		pkt[pkt.length - 1] = checksum(pkt);
+		return pkt;
+	}
+
+	/** Create a READ_MEMORY request packet (for a poller) */
+	static public byte[] createReadRequest(int drop, int address, int len) {
+		return createRequest(drop, CatCode.READ_MEMORY, new byte[] {
+			(byte) (address >> 8), (byte) address, (byte) len
+		});
+	}
+
+	/** Check if a response packet is valid for a drop */
+	static public boolean isValidResponse(byte[] pkt, int len, int drop) {
+		return len >= 3 &&
+		       len == (pkt[OFF_LENGTH] & 0xFF) + 3 &&
+		       (pkt[0] & 0xFF) == (drop << 4 | StatCode.OK.ordinal()) &&
+		       pkt[len - 1] == checksum(Arrays.copyOf(pkt, len));
+	}
+
+	/** Number of drops on the line */
+	private final int n_drops;
+
+	/** Create a simulated line of 170 controllers */
+	public Mndot170Sim(int n) {
+		n_drops = n;
+	}
+
+	/** Get the request frame length */
+	@Override
+	public int frameLength(byte[] buf, int len) {
+		return (len > OFF_LENGTH) ? 3 + (buf[OFF_LENGTH] & 0xFF) : -1;
+	}
+
+	/** Create a response to a request frame */
+	@Override
+	protected byte[] respond(byte[] req) {
+		int drop = (req[0] & 0xFF) >> 4;
+		if (drop < 1 || drop > n_drops)
+			return null;
+		if (req.length < 3 || req[req.length - 1] != checksum(req))
+			return createResponse(drop, StatCode.BAD_POLL_CHECKSUM,0);
+		int cat = req[0] & 0x0F;
+		if (cat == CatCode.READ_MEMORY.ordinal() && req.length == 6) {
+			return createResponse(drop, StatCode.OK,
+				req[OFF_READ_LENGTH] & 0xFF);
+		} else
+			return createResponse(drop, StatCode.OK, 0);
+	}
+
+	/** Create a response packet */
+	static private byte[] createResponse(int drop, StatCode stat,
+		int n_bytes)
+	{
+		byte[] pkt = new byte[3 + n_bytes];
+		pkt[0] = (byte) (drop << 4 | stat.ordinal());
+		pkt[OFF_LENGTH] = (byte) n_bytes;
+		pkt[pkt.length - 1] = checksum(pkt);
+		return pkt;
+	}
+}
@@ -0,0 +1,169 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm.sim;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Calendar;
+import java.util.TimeZone;
+import us.mn.state.dot.tms.server.comm.CRC;
+
+/**
+ * Simulated Wavetronix SS125 sensor.  Interval data requests are answered
+ * with one packet per lane, for the most recent binning interval (so no
+ * clock correction is needed).  Write requests get a "no errors" result.
+ *
+ * @author Douglas Lau
+ */
+public class SS125Sim extends SimDevice {
+
+	/** Header length */
+	static private final int HEADER_LEN = 11;
+
+	/** Byte offsets in header */
+	static private final int OFF_DEST_ID = 3;
+	static private final int OFF_SEQUENCE = 8;
+	static private final int OFF_BODY_SIZE = 9;
+
+	/** Message ID for interval data */
+	static private final int MSG_INTERVAL = 0x71;
+
+	/** Message types */
+	static private final int MT_READ = 0;
+	static private final int MT_RESULT = 2;
+
+	/** Length of interval data body (including CRC) */
+	static private final int INTERVAL_LEN = 46;
+
+	/** CRC calculator */
+	static private final CRC crc = new CRC(8, 0x1C, 0x00, false);
+
+	/** Calculate the CRC of a packet (excluding last byte) */
+	static private int calculate(byte[] buf) {
+		return crc.calculate(buf, buf.length - 1);
+	}
+
+	/** Number of lanes */
+	private final int n_lanes;
+
+	/** Binning period (seconds) */
+	private final int period;
+
+	/** Create a simulated SS125 sensor.
+	 * @param l Number of lanes.
+	 * @param p Binning period (seconds). */
+	public SS125Sim(int l, int p) {
+		n_lanes = l;
+		period = p;
+	}
+
+	/** Get the request frame length */
+	@Override
+	public int frameLength(byte[] buf, int len) {
+		return (len >= HEADER_LEN)
+		      ? HEADER_LEN + (buf[OFF_BODY_SIZE] & 0xFF) + 1
+		      : -1;
+	}
+
+	/** Create a response to a request frame */
+	@Override
+	protected byte[] respond(byte[] req) {
+		if (req.length < HEADER_LEN + 4)
+			return null;
+		byte[] head = new byte[HEADER_LEN];
+		System.arraycopy(req, 0, head, 0, HEADER_LEN);
+		if ((head[HEADER_LEN - 1] & 0xFF) != calculate(head))
+			return null;
+		int drop = ((req[OFF_DEST_ID] & 0xFF) << 8) |
+			(req[OFF_DEST_ID + 1] & 0xFF);
+		int seq = req[OFF_SEQUENCE] & 0xFF;
+		int msg_id = req[HEADER_LEN] & 0xFF;
+		int mt = req[HEADER_LEN + 2] & 0xFF;
+		if (msg_id == MSG_INTERVAL && mt == MT_READ)
+			return intervalData(drop, seq);
+		byte[] body = new byte[6];
+		body[0] = (byte) msg_id;
+		body[2] = (byte) MT_RESULT;
+		return packet(drop, seq + 1, body);
+	}
+
+	/** Create interval data packets (one per lane) */
+	private byte[] intervalData(int drop, int seq) {
+		int pms = period * 1000;
+		long stamp = System.currentTimeMillis() / pms * pms;
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		for (int ln = 0; ln < n_lanes; ln++) {
+			byte[] body = new byte[INTERVAL_LEN];
+			body[0] = (byte) MSG_INTERVAL;
+			body[1] = (byte) ln;
+			body[2] = (byte) MT_READ;
+			formatDate(body, 6, stamp);
+			format24(body, 14, 0x800000 | (55 << 8));  // speed
+			format24(body, 17, 8 + ln);                // veh count
+			body[20] = 10;                             // scans
+			format24(body, 22, 8 + ln);                // class 1
+			format24(body, 34, 0x800000 | (62 << 8));  // speed 85
+			body[43] = (byte) n_lanes;
+			byte[] pkt = packet(drop, seq + 1 + ln, body);
+			bos.write(pkt, 0, pkt.length);
+		}
+		return bos.toByteArray();
+	}
+
+	/** Create a response packet (header and body) */
+	private byte[] packet(int drop, int seq, byte[] body) {
+		byte[] pkt = new byte[HEADER_LEN + body.length];
+		pkt[0] = 'Z';
+		pkt[1] = '1';
+		pkt[6] = (byte) (drop >> 8);
+		pkt[7] = (byte) drop;
+		pkt[OFF_SEQUENCE] = (byte) seq;
+		pkt[OFF_BODY_SIZE] = (byte) (body.length - 1);
+		byte[] head = new byte[HEADER_LEN];
+		System.arraycopy(pkt, 0, head, 0, HEADER_LEN);
+		pkt[HEADER_LEN - 1] = (byte) calculate(head);
+		body[body.length - 1] = (byte) calculate(body);
+		System.arraycopy(body, 0, pkt, HEADER_LEN, body.length);
+		return pkt;
+	}
+
+	/** Format a 24-bit value */
+	static private void format24(byte[] buf, int pos, int v) {
+		buf[pos] = (byte) (v >> 16);
+		buf[pos + 1] = (byte) (v >> 8);
+		buf[pos + 2] = (byte) v;
+	}
+
+	/** Format a 32-bit value */
+	static private void format32(byte[] buf, int pos, int v) {
+		buf[pos] = (byte) (v >> 24);
+		format24(buf, pos + 1, v);
+	}
+
+	/** Format a date / time stamp */
+	static private void formatDate(byte[] buf, int pos, long stamp) {
+		Calendar cal = Calendar.getInstance(
+			TimeZone.getTimeZone("GMT"));
+		cal.setTimeInMillis(stamp);
+		int date = (cal.get(Calendar.YEAR) << 9) |
+			((cal.get(Calendar.MONTH) + 1) << 5) |
+			cal.get(Calendar.DATE);
+		int time = (cal.get(Calendar.HOUR_OF_DAY) << 22) |
+			(cal.get(Calendar.MINUTE) << 16) |
+			(cal.get(Calendar.SECOND) << 10) |
+			cal.get(Calendar.MILLISECOND);
+		format32(buf, pos, date);
+		format32(buf, pos + 4, time);
+	}
+}
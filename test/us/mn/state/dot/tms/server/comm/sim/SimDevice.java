@@ -0,0 +1,55 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm.sim;
+
+/**
+ * A simulated field device, which responds to request packets.
+ *
+ * @author Douglas Lau
+ */
+abstract public class SimDevice {
+
+	/** Count of requests received */
+	private int n_requests;
+
+	/** Get the count of requests received */
+	public synchronized int getRequests() {
+		return n_requests;
+	}
+
+	/** Get the length of the request frame at the start of a buffer.
+	 * This is only needed for stream (TCP) devices.
+	 * @param buf Received data.
+	 * @param len Number of bytes received.
+	 * @return Frame length, or -1 if more data is needed. */
+	public int frameLength(byte[] buf, int len) {
+		return len;
+	}
+
+	/** Handle a request frame.
+	 * @param req Request frame.
+	 * @return Response packet, or null for no response. */
+	public final byte[] handle(byte[] req) {
+		synchronized (this) {
+			n_requests++;
+		}
+		return respond(req);
+	}
+
+	/** Create a response to a request frame.
+	 * @param req Request frame.
+	 * @return Response packet, or null for no response. */
+	abstract protected byte[] respond(byte[] req);
+}
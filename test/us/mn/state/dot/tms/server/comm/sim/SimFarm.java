@@ -0,0 +1,332 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm.sim;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A farm of simulated field devices listening on loopback TCP and UDP
+ * ports.  All devices are served by a single selector thread, so thousands
+ * of devices can be simulated in-process.  Responses can be delayed by a
+ * fixed latency and dropped with a loss probability.
+ *
+ * @author Douglas Lau
+ */
+public class SimFarm implements Closeable {
+
+	/** Maximum packet size */
+	static private final int MAX_PKT = 1 << 12;
+
+	/** Loopback address */
+	static private final InetAddress LOOPBACK =
+		InetAddress.getLoopbackAddress();
+
+	/** TCP connection state */
+	static private final class Conn {
+		final SimDevice dev;
+		final ByteBuffer rx = ByteBuffer.allocate(MAX_PKT);
+		final ConcurrentLinkedQueue<ByteBuffer> tx =
+			new ConcurrentLinkedQueue<ByteBuffer>();
+		Conn(SimDevice d) {
+			dev = d;
+		}
+	}
+
+	/** Selector for all channels */
+	private final Selector selector;
+
+	/** Scheduler for delayed responses */
+	private final ScheduledExecutorService delay =
+		Executors.newSingleThreadScheduledExecutor();
+
+	/** Tasks to run on the selector thread (registration and write
+	 * interest changes) */
+	private final ConcurrentLinkedQueue<Runnable> pending =
+		new ConcurrentLinkedQueue<Runnable>();
+
+	/** Selector thread */
+	private final Thread thread;
+
+	/** Response latency (ms) */
+	private final int latency_ms;
+
+	/** Probability of dropping a response (0 to 1) */
+	private final double loss;
+
+	/** Random number generator for losses */
+	private final Random random = new Random();
+
+	/** Create a new simulated device farm.
+	 * @param lat Response latency (ms).
+	 * @param l Probability of dropping a response (0 to 1). */
+	public SimFarm(int lat, double l) throws IOException {
+		latency_ms = lat;
+		loss = l;
+		selector = Selector.open();
+		thread = new Thread("sim_farm") {
+			@Override public void run() {
+				doSelect();
+			}
+		};
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/** Add a device listening on a TCP port.
+	 * @return Port number. */
+	public int addTcp(final SimDevice dev) throws IOException {
+		final ServerSocketChannel ch = ServerSocketChannel.open();
+		ch.bind(new InetSocketAddress(LOOPBACK, 0), 64);
+		ch.configureBlocking(false);
+		register(ch, SelectionKey.OP_ACCEPT, dev);
+		return ch.socket().getLocalPort();
+	}
+
+	/** Add a device listening on a UDP port.
+	 * @return Port number. */
+	public int addUdp(final SimDevice dev) throws IOException {
+		final DatagramChannel ch = DatagramChannel.open();
+		ch.bind(new InetSocketAddress(LOOPBACK, 0));
+		ch.configureBlocking(false);
+		register(ch, SelectionKey.OP_READ, dev);
+		return ch.socket().getLocalPort();
+	}
+
+	/** Register a channel with the selector thread */
+	private void register(final SelectableChannel ch,
+		final int ops, final Object att)
+	{
+		pending.add(new Runnable() {
+			@Override public void run() {
+				try {
+					ch.register(selector, ops, att);
+				}
+				catch (IOException e) {
+					e.printStackTrace();
+				}
+			}
+		});
+		selector.wakeup();
+	}
+
+	/** Select and service channels until closed */
+	private void doSelect() {
+		try {
+			while (selector.isOpen()) {
+				selector.select();
+				Runnable r = pending.poll();
+				while (r != null) {
+					r.run();
+					r = pending.poll();
+				}
+				Iterator<SelectionKey> it =
+					selector.selectedKeys().iterator();
+				while (it.hasNext()) {
+					SelectionKey key = it.next();
+					it.remove();
+					service(key);
+				}
+			}
+		}
+		catch (IOException | ClosedSelectorException e) {
+			// farm closed
+		}
+	}
+
+	/** Service one selection key */
+	private void service(SelectionKey key) {
+		try {
+			if (!key.isValid())
+				return;
+			if (key.isAcceptable())
+				accept(key);
+			else if (key.channel() instanceof DatagramChannel)
+				readUdp(key);
+			else {
+				if (key.isWritable())
+					writeTcp(key);
+				if (key.isValid() && key.isReadable())
+					readTcp(key);
+			}
+		}
+		catch (IOException e) {
+			closeKey(key);
+		}
+	}
+
+	/** Accept a TCP connection */
+	private void accept(SelectionKey key) throws IOException {
+		ServerSocketChannel sch = (ServerSocketChannel) key.channel();
+		SocketChannel ch = sch.accept();
+		if (ch != null) {
+			ch.configureBlocking(false);
+			ch.register(selector, SelectionKey.OP_READ,
+				new Conn((SimDevice) key.attachment()));
+		}
+	}
+
+	/** Read from a TCP connection */
+	private void readTcp(SelectionKey key) throws IOException {
+		SocketChannel ch = (SocketChannel) key.channel();
+		Conn conn = (Conn) key.attachment();
+		if (ch.read(conn.rx) < 0) {
+			closeKey(key);
+			return;
+		}
+		while (true) {
+			byte[] buf = conn.rx.array();
+			int n = conn.rx.position();
+			int len = conn.dev.frameLength(buf, n);
+			if (len <= 0 || len > n)
+				break;
+			byte[] req = new byte[len];
+			System.arraycopy(buf, 0, req, 0, len);
+			conn.rx.flip();
+			conn.rx.position(len);
+			conn.rx.compact();
+			respondTcp(key, conn, conn.dev.handle(req));
+		}
+	}
+
+	/** Send a TCP response (after latency).  The response is queued on
+	 * the connection, and written by the selector thread when the channel
+	 * is writable. */
+	private void respondTcp(final SelectionKey key, final Conn conn,
+		byte[] res)
+	{
+		if (res == null || isLost())
+			return;
+		final ByteBuffer buf = ByteBuffer.wrap(res);
+		schedule(new Runnable() {
+			@Override public void run() {
+				conn.tx.add(buf);
+				pending.add(new Runnable() {
+					@Override public void run() {
+						if (key.isValid()) {
+							key.interestOps(
+							SelectionKey.OP_READ |
+							SelectionKey.OP_WRITE);
+						}
+					}
+				});
+				selector.wakeup();
+			}
+		});
+	}
+
+	/** Write queued responses to a TCP connection */
+	private void writeTcp(SelectionKey key) throws IOException {
+		SocketChannel ch = (SocketChannel) key.channel();
+		Conn conn = (Conn) key.attachment();
+		ByteBuffer buf = conn.tx.peek();
+		while (buf != null) {
+			ch.write(buf);
+			if (buf.hasRemaining())
+				return;
+			conn.tx.poll();
+			buf = conn.tx.peek();
+		}
+		key.interestOps(SelectionKey.OP_READ);
+	}
+
+	/** Read from a UDP channel */
+	private void readUdp(SelectionKey key) throws IOException {
+		DatagramChannel ch = (DatagramChannel) key.channel();
+		SimDevice dev = (SimDevice) key.attachment();
+		ByteBuffer buf = ByteBuffer.allocate(MAX_PKT);
+		SocketAddress src = ch.receive(buf);
+		while (src != null) {
+			buf.flip();
+			byte[] req = new byte[buf.remaining()];
+			buf.get(req);
+			respondUdp(ch, src, dev.handle(req));
+			buf.clear();
+			src = ch.receive(buf);
+		}
+	}
+
+	/** Send a UDP response (after latency) */
+	private void respondUdp(final DatagramChannel ch,
+		final SocketAddress dst, byte[] res)
+	{
+		if (res == null || isLost())
+			return;
+		final ByteBuffer buf = ByteBuffer.wrap(res);
+		schedule(new Runnable() {
+			@Override public void run() {
+				try {
+					ch.send(buf, dst);
+				}
+				catch (IOException e) {
+					// ignore
+				}
+			}
+		});
+	}
+
+	/** Schedule a response task (after latency) */
+	private void schedule(Runnable r) {
+		try {
+			delay.schedule(r, latency_ms, TimeUnit.MILLISECONDS);
+		}
+		catch (RejectedExecutionException e) {
+			// farm has been closed
+		}
+	}
+
+	/** Check if a response should be lost */
+	private boolean isLost() {
+		return loss > 0 && random.nextDouble() < loss;
+	}
+
+	/** Close a selection key */
+	private void closeKey(SelectionKey key) {
+		key.cancel();
+		try {
+			key.channel().close();
+		}
+		catch (IOException e) {
+			// ignore
+		}
+	}
+
+	/** Close the farm and all channels */
+	@Override
+	public void close() throws IOException {
+		delay.shutdownNow();
+		for (SelectionKey key: selector.keys())
+			key.channel().close();
+		selector.close();
+	}
+}
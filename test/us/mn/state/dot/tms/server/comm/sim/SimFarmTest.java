@@ -0,0 +1,197 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm.sim;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import junit.framework.TestCase;
+import us.mn.state.dot.tms.CommProtocol;
+import us.mn.state.dot.tms.server.CommLinkImpl;
+import us.mn.state.dot.tms.server.ControllerImpl;
+import us.mn.state.dot.tms.server.DetectorImpl;
+import us.mn.state.dot.tms.server.FakeServer;
+import us.mn.state.dot.tms.server.comm.Messenger;
+import us.mn.state.dot.tms.server.comm.SamplePoller;
+import us.mn.state.dot.tms.server.comm.mndot.Address;
+import us.mn.state.dot.tms.server.comm.ntcip.mib1201.MIB1201;
+import us.mn.state.dot.tms.server.comm.snmp.ASN1Integer;
+import us.mn.state.dot.tms.server.comm.snmp.SNMP;
+import us.mn.state.dot.tms.utils.URIUtil;
+
+/**
+ * SimFarm test cases
+ *
+ * @author Douglas Lau
+ */
+public class SimFarmTest extends TestCase {
+
+	public SimFarmTest(String name) {
+		super(name);
+	}
+
+	public void testMndot170() throws Exception {
+		SimFarm farm = new SimFarm(0, 0);
+		try {
+			Mndot170Sim sim = new Mndot170Sim(2);
+			int port = farm.addTcp(sim);
+			Messenger m = Messenger.create(URIUtil.TCP,
+				"127.0.0.1:" + port, 2000, 0);
+			OutputStream os = m.getOutputStream();
+			os.write(Mndot170Sim.createReadRequest(2,
+				Address.DATA_BUFFER_30_SECOND, 72));
+			os.flush();
+			InputStream is = m.getInputStream("");
+			byte[] rx = new byte[75];
+			int n = 0;
+			while (n < rx.length)
+				n += is.read(rx, n, rx.length - n);
+			assertTrue(Mndot170Sim.isValidResponse(rx, n, 2));
+			assertFalse(Mndot170Sim.isValidResponse(rx, n, 1));
+			assertTrue(sim.getRequests() == 1);
+			m.close();
+		}
+		finally {
+			farm.close();
+		}
+	}
+
+	public void testSnmpAgent() throws Exception {
+		SimFarm farm = new SimFarm(0, 0);
+		try {
+			int port = farm.addUdp(new SnmpAgentSim());
+			Messenger m = Messenger.create(URIUtil.UDP,
+				"127.0.0.1:" + port, 2000, 0);
+			SNMP snmp = new SNMP();
+			SNMP.Message mess = snmp.new Message(
+				m.getOutputStream(), m.getInputStream(""),
+				null);
+			ASN1Integer max_mods = MIB1201.globalMaxModules
+				.makeInt();
+			max_mods.setInteger(7);
+			mess.add(max_mods);
+			mess.queryProps();
+			assertTrue(max_mods.getInteger() == 0);
+			m.close();
+		}
+		finally {
+			farm.close();
+		}
+	}
+
+	public void testTcpLargeResponse() throws Exception {
+		final byte[] big = new byte[1 << 20];
+		for (int i = 0; i < big.length; i++)
+			big[i] = (byte) i;
+		SimFarm farm = new SimFarm(0, 0);
+		try {
+			int port = farm.addTcp(new SimDevice() {
+				protected byte[] respond(byte[] req) {
+					return big;
+				}
+			});
+			Messenger m = Messenger.create(URIUtil.TCP,
+				"127.0.0.1:" + port, 2000, 0);
+			OutputStream os = m.getOutputStream();
+			os.write(1);
+			os.flush();
+			InputStream is = m.getInputStream("");
+			byte[] rx = new byte[big.length];
+			int n = 0;
+			while (n < rx.length) {
+				int b = is.read(rx, n, rx.length - n);
+				assertTrue(b > 0);
+				n += b;
+			}
+			for (int i = 0; i < rx.length; i++)
+				assertTrue(rx[i] == big[i]);
+			m.close();
+		}
+		finally {
+			farm.close();
+		}
+	}
+
+	/** Poll one controller through its comm link poller, and check that
+	 * a vehicle count is stored for its first detector.
+	 * @param cp Comm protocol.
+	 * @param sim Simulated device.
+	 * @param drop Drop address.
+	 * @param pin Detector pin.
+	 * @param veh Expected vehicle count (or -1 for any). */
+	private void checkPoll(CommProtocol cp, SimDevice sim, int drop,
+		int pin, int veh) throws Exception
+	{
+		SimFarm farm = new SimFarm(1, 0);
+		try {
+			FakeServer srv = new FakeServer();
+			int port = farm.addTcp(sim);
+			srv.addCommConfig("cfg", cp, 1000, 30);
+			srv.addCommLink("lnk", "127.0.0.1:" + port, "cfg");
+			srv.addController("ctl", "lnk", drop);
+			srv.addDetector("det", "ctl", pin, 1);
+			srv.loadComm();
+			CommLinkImpl cl = srv.lookupCommLink("lnk");
+			ControllerImpl c = srv.lookupController("ctl");
+			DetectorImpl det = srv.lookupDetector("det");
+			try {
+				SamplePoller sp = (SamplePoller) cl.getPoller();
+				long stamp = System.currentTimeMillis() / 30000 *
+					30000;
+				sp.querySamples(c, 30);
+				for (int i = 1; i <= 100; i++) {
+					if (cl.getPollStats().getTotalSuccess() > 0)
+						break;
+					Thread.sleep(50);
+					// continuous operations are only counted
+					// on the next sample query
+					if (i % 10 == 0)
+						sp.querySamples(c, 30);
+				}
+				assertTrue(sim.getRequests() > 0);
+				assertTrue(cl.getPollStats().getTotalSuccess() > 0);
+				if (veh >= 0) {
+					int v = det.getVehCount(stamp, 30000);
+					if (v < 0)
+						v = det.getVehCount(stamp + 30000,
+							30000);
+					assertTrue(v == veh);
+				}
+			}
+			finally {
+				cl.doSetPollEnabled(false);
+			}
+		}
+		finally {
+			farm.close();
+		}
+	}
+
+	public void testMndotPoll() throws Exception {
+		checkPoll(CommProtocol.MNDOT_4, new Mndot170Sim(1), 1, 39, 0);
+	}
+
+	public void testSS125Poll() throws Exception {
+		checkPoll(CommProtocol.SS_125, new SS125Sim(2, 30), 1, 1, 8);
+	}
+
+	public void testG4Poll() throws Exception {
+		checkPoll(CommProtocol.RTMS_G4, new G4Sim(2, 30), 1, 1, 8);
+	}
+
+	public void testCanogaPoll() throws Exception {
+		checkPoll(CommProtocol.CANOGA, new CanogaSim(1, 100), 0, 1,
+			-1);
+	}
+}
@@ -0,0 +1,143 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm.sim;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Simulated SNMP (NTCIP) agent.  Every get-request is answered with
+ * INTEGER 0 for each variable binding, and set-requests are echoed back in
+ * the get-response.
+ *
+ * @author Douglas Lau
+ */
+public class SnmpAgentSim extends SimDevice {
+
+	/** BER tags */
+	static private final int INTEGER = 0x02;
+	static private final int NULL = 0x05;
+	static private final int SEQUENCE = 0x30;
+	static private final int GET_REQUEST = 0xA0;
+	static private final int GET_RESPONSE = 0xA2;
+	static private final int SET_REQUEST = 0xA3;
+
+	/** Simple BER reader */
+	static private final class Reader {
+		private final byte[] buf;
+		private int pos;
+		private Reader(byte[] b) {
+			buf = b;
+		}
+		private int tag() {
+			return buf[pos++] & 0xFF;
+		}
+		private int length() {
+			int len = buf[pos++] & 0xFF;
+			if (len < 0x80)
+				return len;
+			int n = len & 0x7F;
+			len = 0;
+			for (int i = 0; i < n; i++)
+				len = (len << 8) | (buf[pos++] & 0xFF);
+			return len;
+		}
+		private byte[] element() {
+			int start = pos;
+			tag();
+			int len = length();
+			pos += len;
+			byte[] e = new byte[pos - start];
+			System.arraycopy(buf, start, e, 0, e.length);
+			return e;
+		}
+	}
+
+	/** Write a BER element */
+	static private void write(ByteArrayOutputStream os, int tag,
+		byte[] value)
+	{
+		os.write(tag);
+		int len = value.length;
+		if (len < 0x80)
+			os.write(len);
+		else if (len < 0x100) {
+			os.write(0x81);
+			os.write(len);
+		} else {
+			os.write(0x82);
+			os.write(len >> 8);
+			os.write(len);
+		}
+		os.write(value, 0, len);
+	}
+
+	/** Encoded INTEGER 0 */
+	static private final byte[] ZERO = new byte[] { INTEGER, 1, 0 };
+
+	/** Create a response to a request frame */
+	@Override
+	protected byte[] respond(byte[] req) {
+		try {
+			return createResponse(new Reader(req));
+		}
+		catch (ArrayIndexOutOfBoundsException e) {
+			return null;
+		}
+	}
+
+	/** Create a response to a request */
+	private byte[] createResponse(Reader r) {
+		if (r.tag() != SEQUENCE)
+			return null;
+		r.length();
+		byte[] version = r.element();
+		byte[] community = r.element();
+		int pdu = r.tag();
+		if (pdu != GET_REQUEST && pdu != SET_REQUEST)
+			return null;
+		r.length();
+		byte[] request_id = r.element();
+		r.element();	// error-status
+		r.element();	// error-index
+		if (r.tag() != SEQUENCE)
+			return null;
+		int end = r.length() + r.pos;
+		ByteArrayOutputStream vbl = new ByteArrayOutputStream();
+		while (r.pos < end) {
+			r.tag();
+			r.length();
+			byte[] oid = r.element();
+			byte[] value = r.element();
+			if (value[0] == NULL)
+				value = ZERO;
+			ByteArrayOutputStream vb = new ByteArrayOutputStream();
+			vb.write(oid, 0, oid.length);
+			vb.write(value, 0, value.length);
+			write(vbl, SEQUENCE, vb.toByteArray());
+		}
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		body.write(request_id, 0, request_id.length);
+		body.write(ZERO, 0, ZERO.length);
+		body.write(ZERO, 0, ZERO.length);
+		write(body, SEQUENCE, vbl.toByteArray());
+		ByteArrayOutputStream msg = new ByteArrayOutputStream();
+		msg.write(version, 0, version.length);
+		msg.write(community, 0, community.length);
+		write(msg, GET_RESPONSE, body.toByteArray());
+		ByteArrayOutputStream res = new ByteArrayOutputStream();
+		write(res, SEQUENCE, msg.toByteArray());
+		return res.toByteArray();
+	}
+}
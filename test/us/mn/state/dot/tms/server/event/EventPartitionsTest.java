@@ -0,0 +1,127 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.event;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import junit.framework.TestCase;
+import us.mn.state.dot.tms.server.FakeSQLConnection;
+
+/**
+ * EventPartitions test cases
+ *
+ * @author Douglas Lau
+ */
+public class EventPartitionsTest extends TestCase {
+
+	/** Create a date */
+	private Date date(int y, int m, int d, int h) {
+		Calendar cal = Calendar.getInstance();
+		cal.clear();
+		cal.set(y, m - 1, d, h, 0);
+		return cal.getTime();
+	}
+
+	public void testNames() {
+		Calendar day = EventPartitions.startOfDay(date(2021, 3, 5, 13));
+		assertTrue("sign_event_20210305".equals(
+			EventPartitions.partitionName("sign_event", day)));
+		assertTrue(date(2021, 3, 5, 0).equals(EventPartitions.parseDay(
+			"sign_event_20210305")));
+		assertTrue(null == EventPartitions.parseDay(
+			"sign_event_default"));
+		assertTrue(null == EventPartitions.parseDay(
+			"sign_event_20211305"));
+	}
+
+	public void testMissing() {
+		HashSet<String> parts = new HashSet<String>();
+		parts.add("comm_event_default");
+		parts.add("comm_event_20210305");
+		parts.add("comm_event_20210306");
+		List<Calendar> days = EventPartitions.findMissing("comm_event",
+			parts, date(2021, 3, 5, 2));
+		assertTrue(days.size() == EventPartitions.DAYS_AHEAD - 1);
+		assertTrue(date(2021, 3, 7, 0).equals(days.get(0).getTime()));
+	}
+
+	public void testExpired() {
+		HashSet<String> parts = new HashSet<String>();
+		parts.add("comm_event_default");
+		parts.add("comm_event_20210301");
+		parts.add("comm_event_20210302");
+		parts.add("comm_event_20210303");
+		// Cutoff is 2021-03-03 02:00
+		List<String> expired = EventPartitions.findExpired(parts,
+			date(2021, 3, 5, 2), 2);
+		assertTrue(expired.size() == 2);
+		assertTrue(expired.contains("comm_event_20210301"));
+		assertTrue(expired.contains("comm_event_20210302"));
+	}
+
+	public void testHistory() {
+		assertTrue(null == EventPartitions.parseDay(
+			"sign_event_before_20210305"));
+		assertTrue(date(2021, 3, 5, 0).equals(
+			EventPartitions.parseHistoryEnd(
+			"sign_event_before_20210305")));
+		assertTrue(null == EventPartitions.parseHistoryEnd(
+			"sign_event_20210305"));
+		HashSet<String> parts = new HashSet<String>();
+		parts.add("comm_event_default");
+		parts.add("comm_event_before_20210307");
+		// Days before the history end are not created
+		List<Calendar> days = EventPartitions.findMissing("comm_event",
+			parts, date(2021, 3, 5, 2));
+		assertTrue(days.size() == EventPartitions.DAYS_AHEAD - 1);
+		assertTrue(date(2021, 3, 7, 0).equals(days.get(0).getTime()));
+		// Cutoff is 2021-03-06 02:00
+		assertTrue(EventPartitions.findExpired(parts,
+			date(2021, 3, 8, 2), 2).isEmpty());
+		// Cutoff is 2021-03-07 02:00
+		List<String> expired = EventPartitions.findExpired(parts,
+			date(2021, 3, 9, 2), 2);
+		assertTrue(expired.size() == 1);
+		assertTrue(expired.contains("comm_event_before_20210307"));
+	}
+
+	public void testMaintain() throws Exception {
+		FakeSQLConnection store = new FakeSQLConnection();
+		store.addRow("pg_inherits", "comm_event_default");
+		store.addRow("pg_inherits", "comm_event_before_20210306");
+		store.addRow("pg_inherits", "comm_event_20210301");
+		EventPartitions ep = new EventPartitions(store);
+		ep.maintain("event.comm_event", date(2021, 3, 5, 2), 2);
+		List<String> ex = store.getExecuted();
+		assertTrue(ex.contains("DROP TABLE " +
+			"event.comm_event_20210301;"));
+		// Old rows are deleted from default and history partitions
+		int n_create = 0;
+		int n_delete = 0;
+		for (String e: ex) {
+			if (e.startsWith("CREATE TABLE"))
+				n_create++;
+			if (e.startsWith("DELETE FROM event.comm_event_default") ||
+			    e.startsWith("DELETE FROM event.comm_event_before"))
+				n_delete++;
+		}
+		assertTrue(n_create == EventPartitions.DAYS_AHEAD);
+		assertTrue(n_delete == 2);
+		assertFalse(ex.contains("DROP TABLE " +
+			"event.comm_event_before_20210306;"));
+	}
+}
@@ -0,0 +1,87 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.reports;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import junit.framework.TestCase;
+import us.mn.state.dot.tms.reports.RptResultItem;
+import us.mn.state.dot.tms.reports.RptResults;
+
+/**
+ * RptPager test cases
+ *
+ * @author Douglas Lau
+ */
+public class RptPagerTest extends TestCase {
+
+	/** Pages sent */
+	private final ArrayList<String> pages = new ArrayList<String>();
+
+	/** Create a pager which stops after a number of pages */
+	private RptPager createPager(int rows, final int max_pages) {
+		return new RptPager(rows, new RptPager.PageSink() {
+			public boolean sendPage(int p, String sPage) {
+				pages.add(sPage);
+				return p < max_pages;
+			}
+		});
+	}
+
+	/** Add some records to a pager */
+	private void addRecords(RptPager pager, int n) {
+		for (int i = 0; i < n; i++) {
+			pager.addRptRecord(new RptResultItem(1000L * i,
+				"V" + i, "user", "event " + i));
+		}
+	}
+
+	public void testPages() throws IOException {
+		RptPager pager = createPager(10, 100);
+		addRecords(pager, 25);
+		pager.finish();
+		assertTrue(pages.size() == 3);
+		RptResults all = new RptResults();
+		for (int i = 0; i < pages.size(); i++) {
+			RptResults res = new RptResults(pages.get(i));
+			assertTrue(res.getPage() == i + 1);
+			assertTrue(res.hasMore() == (i < 2));
+			all.addRptResults(res);
+		}
+		assertTrue(all.resultsSize() == 25);
+		assertTrue("V24".equals(all.getRptResults().get(24)
+			.getName()));
+	}
+
+	public void testEmpty() throws IOException {
+		RptPager pager = createPager(10, 100);
+		pager.finish();
+		assertTrue(pages.size() == 1);
+		// client only reads results starting with '{'
+		assertTrue(pages.get(0).charAt(0) == '{');
+		RptResults res = new RptResults(pages.get(0));
+		assertTrue(res.getPage() == 1);
+		assertTrue(!res.hasMore());
+		assertTrue(res.resultsSize() == 0);
+	}
+
+	public void testStopped() {
+		RptPager pager = createPager(10, 2);
+		addRecords(pager, 45);
+		pager.finish();
+		assertTrue(pager.isStopped());
+		assertTrue(pages.size() == 2);
+	}
+}
@@ -0,0 +1,100 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.utils;
+
+/**
+ * MULTI benchmark, over a corpus of typical deployed messages.  The query
+ * chain used when deploying a message (valid, blank, normalize, pages) is
+ * timed with a fresh parse of the text each time, and then with the parsed
+ * (interned) representation.
+ *
+ * Usage: MultiBench [iterations]
+ *
+ * @author Douglas Lau
+ */
+public class MultiBench {
+
+	/** Corpus of typical messages */
+	static private final String[] CORPUS = {
+		"",
+		"[jl2]SNOW PLOWS[nl]AHEAD",
+		"[pt30o0]CRASH AHEAD[nl]LEFT LANE CLOSED[nl]USE CAUTION",
+		"[cf250,250,250][fo3]I-94 E[nl]TO I-35E[nl][tt1234,prepend," +
+			"OVER ]MIN",
+		"[fo2][jp3]DOWNTOWN [tt10,20]MIN[nl]ST PAUL [tt30]MIN",
+		"[cr1,1,144,32,0,0,0][tr1,1,144,16][cf255,208,0]EXPRESS LANE" +
+			"[tr1,17,144,16][cf255,255,255]OPEN",
+		"[tzp,VT1,VT2]TO I-694[nl]$[tzo,VT1,VT2]",
+		"[g7,1,1][tr40,1,104,32]AMBER ALERT[nl]TUNE TO RADIO",
+		"[pt25o5]ROAD WORK[nl]NEXT 2 MILES[np]EXPECT[nl]DELAYS",
+		"[slow45,10,dist]SLOW TRAFFIC[nl]AHEAD",
+		"[vsa][nl]SPEED ADVISORY",
+		"[pa1,LOW,CLOSED] SPACES[nl]AT PARK & RIDE",
+		"[loc_rd] AT [loc_md][nl]LANE CLOSED",
+		"[fo1]EVENT TRAFFIC[nl]USE [[ALT]] ROUTE",
+		"[feedabc]",
+	};
+
+	/** Sink to prevent dead code elimination */
+	static private int sink;
+
+	/** Run the query chain with a fresh parse each time */
+	static private void queryParse(String m) {
+		final boolean[] valid = new boolean[] { true };
+		final int[] n_pages = new int[] { 1 };
+		MultiBuilder mb = new MultiBuilder() {
+			@Override public void unsupportedTag(String t) {
+				valid[0] = false;
+			}
+			@Override public void addPage() {
+				super.addPage();
+				n_pages[0]++;
+			}
+		};
+		MultiString.parseText(m, mb);
+		MultiString.parseText(m, new MultiAdapter());
+		MultiString.parseText(m, new MultiAdapter());
+		sink += mb.toString().length() + n_pages[0];
+	}
+
+	/** Run the query chain on a MultiString */
+	static private void queryCached(String m) {
+		MultiString ms = new MultiString(m);
+		if (ms.isValid() && !ms.isBlank())
+			sink++;
+		sink += ms.normalize().toString().length();
+		sink += ms.getNumPages();
+	}
+
+	/** Main entry point */
+	static public void main(String[] args) {
+		int n = (args.length > 0) ? Integer.parseInt(args[0]) : 200000;
+		for (int r = 0; r < 2; r++) {
+			long st = System.nanoTime();
+			for (int i = 0; i < n; i++)
+				queryParse(CORPUS[i % CORPUS.length]);
+			long p_ns = (System.nanoTime() - st) / n;
+			st = System.nanoTime();
+			for (int i = 0; i < n; i++)
+				queryCached(CORPUS[i % CORPUS.length]);
+			long c_ns = (System.nanoTime() - st) / n;
+			System.out.printf("parse each query: %6d ns/msg%n", p_ns);
+			System.out.printf("parsed (interned): %5d ns/msg%n", c_ns);
+		}
+		System.out.printf("interned hit rate: %.3f%n",
+			ParsedMulti.getHitRate());
+		System.out.println("(sink " + sink + ")");
+	}
+}
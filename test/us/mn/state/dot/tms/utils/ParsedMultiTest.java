@@ -0,0 +1,65 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.utils;
+
+import junit.framework.TestCase;
+
+/**
+ * ParsedMulti test cases
+ *
+ * @author Douglas Lau
+ */
+public class ParsedMultiTest extends TestCase {
+
+	public ParsedMultiTest(String name) {
+		super(name);
+	}
+
+	/** Check that replayed tokens match a fresh parse */
+	private void checkReplay(String m) {
+		MultiBuilder raw = new MultiBuilder();
+		MultiString.parseText(m, raw);
+		MultiBuilder rep = new MultiBuilder();
+		new MultiString(m).parse(rep);
+		assertTrue(m, raw.toString().equals(rep.toString()));
+	}
+
+	public void testReplay() {
+		checkReplay("");
+		checkReplay("ABC[nl]DEF[np]GHI");
+		checkReplay("[cb1][pb2][pb1,2,3][cf4][cf5,6,7]X");
+		checkReplay("[cr1,2,3,4,5][cr1,2,3,4,5,6,7][fo2][fo3,abcd]X");
+		checkReplay("[g1][g2,3,4][g5,6,7,abcd][jl2][jp3][nl5]X");
+		checkReplay("[pt10o2][sc3]X[/sc][tr1,2,3,4]Y");
+		checkReplay("[tt1,prepend,OVER ][vsa][slow45,10,dist]");
+		checkReplay("[feedabc][tzp,VT1,VT2][pa1,LOW,CLOSED]");
+		checkReplay("[loc_rd][tadep,h:mm]");
+		checkReplay("[[X]] [bad] ] [");
+	}
+
+	public void testMemoized() {
+		MultiString ms = new MultiString("[fo1]ABC[np]DEF[bad]");
+		assertFalse(ms.isValid());
+		assertFalse(ms.isValid());
+		assertFalse(ms.isBlank());
+		assertTrue(ms.getNumPages() == 2);
+		assertTrue(ms.getNumPages() == 2);
+		assertTrue(ms.normalize().toString().equals(
+			"[fo1]ABC[np]DEF"));
+		assertTrue(new MultiString("[fo1]ABC[np]DEF[bad]").normalize()
+			.toString().equals("[fo1]ABC[np]DEF"));
+		assertTrue(new MultiString("[np] ").isBlank());
+	}
+}